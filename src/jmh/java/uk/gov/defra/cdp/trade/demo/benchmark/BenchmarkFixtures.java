@@ -0,0 +1,140 @@
+package uk.gov.defra.cdp.trade.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.defra.cdp.trade.demo.domain.Commodity;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.Species;
+import uk.gov.defra.cdp.trade.demo.domain.Transport;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmData;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmOrganisationDto;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmPoeDto;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmResponse;
+
+/**
+ * Shared, deterministic inputs for the JMH benchmarks.
+ * <p>
+ * MDM payloads are built from the recorded response used by the integration tests
+ * ({@code integration/mdm-response.json}) so the projections run over realistic data, and can
+ * be scaled up to approximate the production register size.
+ */
+final class BenchmarkFixtures {
+
+    private static final String MDM_RESPONSE_RESOURCE = "/integration/mdm-response.json";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * The ObjectMapper as Spring Boot would build it (JavaTimeModule, lenient unknown fields).
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    /**
+     * Load the recorded MDM response and replicate its organisations {@code scale} times, giving
+     * each copy unique BCP/POE codes so the distinct() projections are not short-circuited.
+     */
+    static MdmResponse mdmResponse(ObjectMapper objectMapper, int scale) throws IOException {
+        MdmResponse recorded;
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream(MDM_RESPONSE_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(MDM_RESPONSE_RESOURCE + " not on the classpath");
+            }
+            recorded = objectMapper.readValue(in, MdmResponse.class);
+        }
+
+        List<MdmOrganisationDto> organisations = new ArrayList<>();
+        for (int copy = 0; copy < scale; copy++) {
+            for (MdmOrganisationDto source : recorded.getData().getResult()) {
+                organisations.add(copyOf(source, copy));
+            }
+        }
+
+        return MdmResponse.builder()
+            .data(MdmData.builder().result(organisations).build())
+            .timestamp(LocalDateTime.of(2025, 12, 5, 10, 15))
+            .build();
+    }
+
+    private static MdmOrganisationDto copyOf(MdmOrganisationDto source, int copy) {
+        String suffix = copy == 0 ? "" : "-" + copy;
+        List<MdmPoeDto> pointsOfEntry = new ArrayList<>();
+        if (source.getPointsOfEntry() != null) {
+            for (MdmPoeDto poe : source.getPointsOfEntry()) {
+                pointsOfEntry.add(MdmPoeDto.builder()
+                    .pointOfEntryUUID(poe.getPointOfEntryUUID())
+                    .code(poe.getCode() == null ? null : poe.getCode() + suffix)
+                    .name(poe.getName())
+                    .status(poe.getStatus())
+                    .build());
+            }
+        }
+        return MdmOrganisationDto.builder()
+            .organisationUUID(source.getOrganisationUUID())
+            .name(source.getName())
+            .code(source.getCode() == null ? null : source.getCode() + suffix)
+            .categoryCodes(source.getCategoryCodes())
+            .countryCode(source.getCountryCode())
+            .status(source.getStatus())
+            .organisationType(source.getOrganisationType())
+            .certificateCodes(source.getCertificateCodes())
+            .pointsOfEntry(pointsOfEntry)
+            .facilities(source.getFacilities())
+            .build();
+    }
+
+    /**
+     * A fully populated draft notification, as produced by the frontend import journey.
+     */
+    static Notification notification(int speciesCount) {
+        List<Species> species = new ArrayList<>();
+        for (int i = 0; i < speciesCount; i++) {
+            species.add(new Species("Bos taurus " + i, "BOV" + i, 10 + i, 2 + i));
+        }
+
+        Notification notification = new Notification();
+        notification.setId("CDP.2025.12.05.42");
+        notification.setStatus("DRAFT");
+        notification.setOriginCountry("FR");
+        notification.setCommodity(new Commodity("0102", "Live bovine animals", "Domestic", species));
+        notification.setImportReason("internalmarket");
+        notification.setInternalMarketPurpose("breeding");
+        notification.setTransport(new Transport("GBFXT1", "Road Vehicle", "AB12 CDE"));
+        notification.setCreated(LocalDateTime.of(2025, 12, 5, 9, 30));
+        notification.setUpdated(LocalDateTime.of(2025, 12, 5, 9, 45));
+        return notification;
+    }
+
+    /**
+     * An HS256-signed JWT expiring {@code validForSeconds} from now, shaped like an STS web
+     * identity token.
+     */
+    static String signedJwt(long validForSeconds) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .subject("arn:aws:iam::000000000000:role/trade-demo-backend")
+            .audience("urn:ipaffs:api:dev")
+            .issueTime(new Date())
+            .expirationTime(Date.from(Instant.now().plusSeconds(validForSeconds)))
+            .jwtID(UUID.randomUUID().toString())
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner("benchmark-secret-benchmark-secret-0123456789"));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,74 @@
+package uk.gov.defra.cdp.trade.demo.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import uk.gov.defra.cdp.trade.demo.controller.BorderEntitiesController;
+import uk.gov.defra.cdp.trade.demo.domain.BcpDto;
+import uk.gov.defra.cdp.trade.demo.domain.PoeDto;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmResponse;
+import uk.gov.defra.cdp.trade.demo.service.MdmService;
+
+/**
+ * BCP and POE projections performed by {@link BorderEntitiesController} over an MDM payload.
+ * <p>
+ * The MDM call itself is stubbed out so only the filtering/mapping/distinct work is measured;
+ * {@code scale} multiplies the recorded register to approximate larger payloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BorderEntitiesProjectionBenchmark {
+
+    @Param({"1", "10"})
+    int scale;
+
+    private BorderEntitiesController controller;
+
+    @Setup
+    public void setUp() throws IOException {
+        MdmResponse mdmResponse = BenchmarkFixtures.mdmResponse(
+            BenchmarkFixtures.objectMapper(), scale);
+        controller = new BorderEntitiesController(new StubMdmService(mdmResponse));
+    }
+
+    @Benchmark
+    public ResponseEntity<List<BcpDto>> getBcps() {
+        return controller.getBcps();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<PoeDto>> getPoes() {
+        return controller.getPoes();
+    }
+
+    private static final class StubMdmService extends MdmService {
+
+        private final MdmResponse response;
+
+        StubMdmService(MdmResponse response) {
+            super(null, null);
+            this.response = response;
+        }
+
+        @Override
+        public MdmResponse getBcps() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package uk.gov.defra.cdp.trade.demo.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import uk.gov.defra.cdp.trade.demo.client.MockIpaffsNotificationClient;
+import uk.gov.defra.cdp.trade.demo.domain.ipaffs.ExternalReference;
+import uk.gov.defra.cdp.trade.demo.domain.ipaffs.IpaffsNotification;
+
+/**
+ * CHED reference generation in {@link MockIpaffsNotificationClient}, reached through
+ * {@code submitNotification} since the parser itself is private to the client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChedReferenceBenchmark {
+
+    private MockIpaffsNotificationClient client;
+    private IpaffsNotification notification;
+
+    @Setup
+    public void setUp() {
+        client = new MockIpaffsNotificationClient();
+
+        ExternalReference reference = new ExternalReference();
+        reference.setSystem("E-NOTIFICATION");
+        reference.setReference("CDP.2025.12.05.6");
+        notification = new IpaffsNotification();
+        notification.setExternalReferences(List.of(reference));
+    }
+
+    @Benchmark
+    public ResponseEntity<String> generateChedReference() {
+        return client.submitNotification(notification, "benchmark-conversation");
+    }
+}
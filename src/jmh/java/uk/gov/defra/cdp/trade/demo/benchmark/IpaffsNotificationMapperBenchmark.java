@@ -0,0 +1,46 @@
+package uk.gov.defra.cdp.trade.demo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.ipaffs.IpaffsNotification;
+import uk.gov.defra.cdp.trade.demo.mapper.IpaffsNotificationMapper;
+
+/**
+ * Cost of mapping a CDP notification to the IPAFFS CHEDA payload on submit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IpaffsNotificationMapperBenchmark {
+
+    @Param({"1", "5", "20"})
+    int speciesCount;
+
+    private IpaffsNotificationMapper mapper;
+    private Notification notification;
+
+    @Setup
+    public void setUp() {
+        mapper = new IpaffsNotificationMapper();
+        notification = BenchmarkFixtures.notification(speciesCount);
+    }
+
+    @Benchmark
+    public IpaffsNotification mapToIpaffsNotification() {
+        return mapper.mapToIpaffsNotification(notification);
+    }
+}
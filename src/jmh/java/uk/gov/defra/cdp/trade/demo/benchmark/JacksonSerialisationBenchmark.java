@@ -0,0 +1,77 @@
+package uk.gov.defra.cdp.trade.demo.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmResponse;
+
+/**
+ * Jackson (de)serialisation of the payloads that cross the wire on every request: the
+ * {@link Notification} API body and the MDM register returned by {@code /mdm/bcps}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonSerialisationBenchmark {
+
+    private ObjectWriter notificationWriter;
+    private ObjectReader notificationReader;
+    private ObjectWriter mdmWriter;
+    private ObjectReader mdmReader;
+
+    private Notification notification;
+    private byte[] notificationJson;
+    private MdmResponse mdmResponse;
+    private byte[] mdmJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        notificationWriter = objectMapper.writerFor(Notification.class);
+        notificationReader = objectMapper.readerFor(Notification.class);
+        mdmWriter = objectMapper.writerFor(MdmResponse.class);
+        mdmReader = objectMapper.readerFor(MdmResponse.class);
+
+        notification = BenchmarkFixtures.notification(3);
+        notificationJson = notificationWriter.writeValueAsBytes(notification);
+        mdmResponse = BenchmarkFixtures.mdmResponse(objectMapper, 1);
+        mdmJson = mdmWriter.writeValueAsBytes(mdmResponse);
+    }
+
+    @Benchmark
+    public byte[] serialiseNotification() throws JsonProcessingException {
+        return notificationWriter.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public Notification deserialiseNotification() throws IOException {
+        return notificationReader.readValue(notificationJson);
+    }
+
+    @Benchmark
+    public byte[] serialiseMdmResponse() throws JsonProcessingException {
+        return mdmWriter.writeValueAsBytes(mdmResponse);
+    }
+
+    @Benchmark
+    public MdmResponse deserialiseMdmResponse() throws IOException {
+        return mdmReader.readValue(mdmJson);
+    }
+}
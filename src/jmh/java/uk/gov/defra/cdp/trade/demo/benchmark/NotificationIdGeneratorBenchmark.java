@@ -0,0 +1,83 @@
+package uk.gov.defra.cdp.trade.demo.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationIdConfig;
+import uk.gov.defra.cdp.trade.demo.domain.IdSequence;
+import uk.gov.defra.cdp.trade.demo.service.MongoDailySequenceSource;
+import uk.gov.defra.cdp.trade.demo.service.NotificationIdFormatter;
+import uk.gov.defra.cdp.trade.demo.service.NotificationIdGeneratorService;
+
+/**
+ * Client-side cost of {@link NotificationIdGeneratorService#generateId()}: day key formatting,
+ * building the findAndModify command objects and formatting the final ID.
+ * <p>
+ * The Mongo round trip is replaced by an in-memory counter so the figures isolate the CPU and
+ * allocation overhead that every notification create pays on top of the database call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationIdGeneratorBenchmark {
+
+    private MongoClient mongoClient;
+    private NotificationIdGeneratorService generator;
+
+    @Setup
+    public void setUp() {
+        // The driver connects lazily, so no server is needed as long as no command is sent
+        mongoClient = MongoClients.create("mongodb://localhost:27017");
+        generator = new NotificationIdGeneratorService(
+            new MongoDailySequenceSource(new InMemorySequenceTemplate(mongoClient)),
+            new NotificationIdFormatter(Clock.systemUTC(), new NotificationIdConfig()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoClient.close();
+    }
+
+    @Benchmark
+    public String generateId() {
+        return generator.generateId();
+    }
+
+    private static final class InMemorySequenceTemplate extends MongoTemplate {
+
+        private final AtomicLong sequence = new AtomicLong();
+
+        InMemorySequenceTemplate(MongoClient mongoClient) {
+            super(mongoClient, "benchmark");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T findAndModify(Query query, UpdateDefinition update,
+            FindAndModifyOptions options, Class<T> entityClass) {
+            // Touch the query like the real template does when it renders the command
+            String id = query.getQueryObject().getString("id");
+            return (T) new IdSequence(id, sequence.incrementAndGet());
+        }
+    }
+}
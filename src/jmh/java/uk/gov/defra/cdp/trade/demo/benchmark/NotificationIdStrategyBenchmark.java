@@ -0,0 +1,141 @@
+package uk.gov.defra.cdp.trade.demo.benchmark;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationIdConfig;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationIdConfig.Strategy;
+import uk.gov.defra.cdp.trade.demo.domain.IdNodeLease;
+import uk.gov.defra.cdp.trade.demo.domain.IdSequence;
+import uk.gov.defra.cdp.trade.demo.service.LeasedRangeSequenceSource;
+import uk.gov.defra.cdp.trade.demo.service.MongoDailySequenceSource;
+import uk.gov.defra.cdp.trade.demo.service.NotificationIdFormatter;
+import uk.gov.defra.cdp.trade.demo.service.NotificationIdGeneratorService;
+import uk.gov.defra.cdp.trade.demo.service.NotificationSequenceSource;
+
+/**
+ * Cluster-wide notification ID throughput for the {@code sequence} and {@code leased} strategies
+ * against a real Mongo.
+ * <p>
+ * Each simulated node has its own MongoClient, as separate instances would, and benchmark threads
+ * are spread round-robin across the nodes. Mongo is started with Testcontainers unless
+ * {@code -Dbenchmark.mongo.uri=...} points at an existing replica set (recommended, so the numbers
+ * include real network and majority write latency):
+ * <pre>
+ * mvn -Pbenchmarks -DskipTests test-compile exec:exec@jmh -Djmh.includes=NotificationIdStrategy \
+ *     -Djmh.args="-jvmArgs -Dbenchmark.mongo.uri=mongodb://..."
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class NotificationIdStrategyBenchmark {
+
+    private static final String DATABASE = "id-strategy-benchmark";
+
+    @Param({"sequence", "leased"})
+    String strategy;
+
+    @Param({"1", "4"})
+    int nodes;
+
+    private MongoDBContainer mongoContainer;
+    private final List<MongoClient> clients = new ArrayList<>();
+    private final List<NotificationSequenceSource> sources = new ArrayList<>();
+    private final List<NotificationIdGeneratorService> generators = new ArrayList<>();
+    private final AtomicInteger nextNode = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getProperty("benchmark.mongo.uri");
+        if (uri == null) {
+            mongoContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+            mongoContainer.start();
+            uri = mongoContainer.getReplicaSetUrl();
+        }
+
+        NotificationIdConfig config = new NotificationIdConfig();
+        config.setStrategy(Strategy.valueOf(strategy.toUpperCase()));
+        Clock clock = Clock.systemUTC();
+
+        for (int node = 0; node < nodes; node++) {
+            MongoClient client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .writeConcern(WriteConcern.MAJORITY)
+                .build());
+            clients.add(client);
+            MongoTemplate template = new MongoTemplate(client, DATABASE);
+            if (node == 0) {
+                template.dropCollection(IdSequence.class);
+                template.dropCollection(IdNodeLease.class);
+            }
+
+            // No scheduler runs the lease heartbeat here; an expired lease is simply re-claimed
+            NotificationSequenceSource source = config.getStrategy() == Strategy.LEASED
+                ? new LeasedRangeSequenceSource(template, clock, config)
+                : new MongoDailySequenceSource(template);
+            sources.add(source);
+            generators.add(new NotificationIdGeneratorService(source,
+                new NotificationIdFormatter(clock, config)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sources.stream()
+            .filter(LeasedRangeSequenceSource.class::isInstance)
+            .map(LeasedRangeSequenceSource.class::cast)
+            .forEach(LeasedRangeSequenceSource::release);
+        clients.forEach(MongoClient::close);
+        if (mongoContainer != null) {
+            mongoContainer.stop();
+        }
+    }
+
+    /**
+     * Pins each benchmark thread to one simulated node.
+     */
+    @State(Scope.Thread)
+    public static class Node {
+
+        int index;
+
+        @Setup(Level.Trial)
+        public void assign(NotificationIdStrategyBenchmark cluster) {
+            index = cluster.nextNode.getAndIncrement() % cluster.nodes;
+        }
+    }
+
+    @Benchmark
+    public String generateId(Node node) {
+        return generators.get(node.index).generateId();
+    }
+}
@@ -0,0 +1,60 @@
+package uk.gov.defra.cdp.trade.demo.benchmark;
+
+import jakarta.servlet.FilterChain;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.gov.defra.cdp.trade.demo.filter.RequestTracingFilter;
+
+/**
+ * Per-request cost of {@link RequestTracingFilter} for a traced request and a skipped health
+ * check. Run with {@code -prof gc} to see the bytes allocated per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestTracingFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    private RequestTracingFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest healthCheck;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        filter = new RequestTracingFilter("x-cdp-request-id", List.of("/health"));
+
+        request = new MockHttpServletRequest("GET", "/notifications/CDP.2025.12.09.1");
+        request.addHeader("x-cdp-request-id", "0b4b3c2e-6f7a-4d7e-9a55-3c1f1f0c9d21");
+        healthCheck = new MockHttpServletRequest("GET", "/health");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse tracedRequest() throws Exception {
+        filter.doFilter(request, response, NO_OP);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse healthCheck() throws Exception {
+        filter.doFilter(healthCheck, response, NO_OP);
+        return response;
+    }
+}
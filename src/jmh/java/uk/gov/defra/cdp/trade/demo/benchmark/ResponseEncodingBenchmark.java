@@ -0,0 +1,93 @@
+package uk.gov.defra.cdp.trade.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.defra.cdp.trade.demo.configuration.ContentNegotiationConfig;
+import uk.gov.defra.cdp.trade.demo.domain.BcpDto;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmResponse;
+
+/**
+ * CPU cost of encoding the list endpoint bodies in each format a client can negotiate: JSON or
+ * CBOR, with or without gzip. The encoded size of each combination is printed once per trial,
+ * so a run reports both sides of the trade-off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    /**
+     * {@code notifications}: GET /notifications with 200 drafts. {@code bcps}: the
+     * /border-entities/bcps projection. {@code mdm}: the /mdm/bcps passthrough.
+     */
+    @Param({"notifications", "bcps", "mdm"})
+    public String payload;
+
+    @Param({"json", "json+gzip", "cbor", "cbor+gzip"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private Object body;
+    private boolean cbor;
+    private boolean gzip;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        cborMapper = ContentNegotiationConfig.cborMapper(objectMapper);
+        cbor = format.startsWith("cbor");
+        gzip = format.endsWith("+gzip");
+
+        MdmResponse mdmResponse = BenchmarkFixtures.mdmResponse(objectMapper, 10);
+        body = switch (payload) {
+            case "notifications" -> notifications(200);
+            case "bcps" -> mdmResponse.getData().getResult().stream()
+                .map(org -> BcpDto.builder().code(org.getCode()).name(org.getName()).build())
+                .toList();
+            default -> mdmResponse;
+        };
+
+        System.out.printf("%n%s as %s: %,d bytes%n", payload, format, encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        OutputStream out = gzip ? new GZIPOutputStream(buffer, 8192) : buffer;
+        (cbor ? cborMapper : objectMapper).writeValue(out, body);
+        out.close();
+        return buffer.toByteArray();
+    }
+
+    private static List<Notification> notifications(int count) {
+        List<Notification> notifications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Notification notification = BenchmarkFixtures.notification(3);
+            notification.setId("CDP.2025.12.05." + i);
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+}
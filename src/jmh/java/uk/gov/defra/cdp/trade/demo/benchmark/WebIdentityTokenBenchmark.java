@@ -0,0 +1,42 @@
+package uk.gov.defra.cdp.trade.demo.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.defra.cdp.trade.demo.service.WebIdentityTokenService;
+
+/**
+ * Token expiry check performed by {@link WebIdentityTokenService} on every IPAFFS call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebIdentityTokenBenchmark {
+
+    private WebIdentityTokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        // Neither the STS client, the cache nor the meter registry is touched by the expiry check
+        tokenService = new WebIdentityTokenService(null, null, null);
+        token = BenchmarkFixtures.signedJwt(3600);
+    }
+
+    @Benchmark
+    public boolean isTokenNotExpired() {
+        return tokenService.isTokenNotExpired(token);
+    }
+}
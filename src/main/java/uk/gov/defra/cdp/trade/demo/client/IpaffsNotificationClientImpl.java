@@ -13,7 +13,6 @@ import uk.gov.defra.cdp.trade.demo.interceptor.IpaffsApiClientInterceptor;
 @Profile("!local & !integration-test")
 @FeignClient(
     name = "ipaffs-client",
-    url="${ipaffs.api.baseUrl}",
     configuration = IpaffsApiClientInterceptor.class
 )
 public interface IpaffsNotificationClientImpl extends IpaffsNotificationClient {
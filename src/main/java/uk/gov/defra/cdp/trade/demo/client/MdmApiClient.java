@@ -8,8 +8,7 @@ import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmResponse;
 import uk.gov.defra.cdp.trade.demo.interceptor.MdmApiClientInterceptor;
 
 @FeignClient(
-    name = "mdm-client", 
-    url="${mdm-service.url}", 
+    name = "mdm-client",
     configuration = MdmApiClientInterceptor.class
 )
 public interface MdmApiClient {
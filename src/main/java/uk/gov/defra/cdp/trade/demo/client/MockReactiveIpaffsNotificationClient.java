@@ -0,0 +1,29 @@
+package uk.gov.defra.cdp.trade.demo.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import uk.gov.defra.cdp.trade.demo.domain.ipaffs.IpaffsNotification;
+
+/**
+ * Reactive view of {@link MockIpaffsNotificationClient}, which answers without any I/O.
+ */
+@Component
+@Profile("local | integration-test")
+@ConditionalOnBooleanProperty("cdp.reactive.enabled")
+public class MockReactiveIpaffsNotificationClient implements ReactiveIpaffsNotificationClient {
+
+    private final MockIpaffsNotificationClient delegate;
+
+    public MockReactiveIpaffsNotificationClient(MockIpaffsNotificationClient delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<ResponseEntity<String>> submitNotification(IpaffsNotification notification,
+        String conversationId) {
+        return Mono.fromSupplier(() -> delegate.submitNotification(notification, conversationId));
+    }
+}
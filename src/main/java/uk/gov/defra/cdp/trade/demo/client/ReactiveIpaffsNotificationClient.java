@@ -0,0 +1,27 @@
+package uk.gov.defra.cdp.trade.demo.client;
+
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import uk.gov.defra.cdp.trade.demo.domain.ipaffs.IpaffsNotification;
+
+/**
+ * Non-blocking client for submitting notifications to the IPAFFS Notification API, used by the
+ * reactive notification API.
+ */
+public interface ReactiveIpaffsNotificationClient {
+
+    /**
+     * Key in the subscriber context holding the trace ID to propagate.
+     */
+    String TRACE_ID_CONTEXT_KEY = "trace.id";
+
+    /**
+     * Submit a notification to IPAFFS.
+     *
+     * @param notification   the IPAFFS notification to submit
+     * @param conversationId sent as the {@code INS-ConversationId} header
+     * @return the response, whose body is the CHED reference
+     */
+    Mono<ResponseEntity<String>> submitNotification(IpaffsNotification notification,
+        String conversationId);
+}
@@ -6,8 +6,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
 @FeignClient(
-    name = "trade-client", 
-    url="${trade-auth.api.url}"
+    name = "trade-client"
 )
 public interface TradeApiClient {
     
@@ -0,0 +1,77 @@
+package uk.gov.defra.cdp.trade.demo.client;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static uk.gov.defra.cdp.trade.demo.client.IpaffsNotificationClient.INS_CONVERSATION_ID_HEADER_KEY;
+
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.IdentityCipherSuiteFilter;
+import io.netty.handler.ssl.JdkSslContext;
+import java.time.Duration;
+import javax.net.ssl.SSLContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import uk.gov.defra.cdp.trade.demo.domain.ipaffs.IpaffsNotification;
+import uk.gov.defra.cdp.trade.demo.service.WebIdentityTokenService;
+
+/**
+ * {@link ReactiveIpaffsNotificationClient} over WebClient and Reactor Netty, so a submission
+ * holds no thread while IPAFFS responds.
+ * <p>
+ * Uses the shared SSLContext, so its TLS sessions are resumed alongside the other clients', and
+ * the proxy set up by {@code ProxyConfig}. The token comes from {@link WebIdentityTokenService}
+ * as for the Feign client; it is cached, and fetched off the event loop when it is not.
+ */
+@Component
+@Profile("!local & !integration-test")
+@ConditionalOnBooleanProperty("cdp.reactive.enabled")
+public class WebClientIpaffsNotificationClient implements ReactiveIpaffsNotificationClient {
+
+    private static final String SUBMIT_PATH = "/notificationapi/vnet/notificationapi";
+
+    private final WebClient webClient;
+    private final WebIdentityTokenService webIdentityTokenService;
+    private final String tracingHeader;
+
+    public WebClientIpaffsNotificationClient(WebClient.Builder builder,
+        SSLContext customSslContext, WebIdentityTokenService webIdentityTokenService,
+        @Value("${ipaffs.api.baseUrl}") String baseUrl,
+        @Value("${cdp.tracing.header-name}") String tracingHeader) {
+        HttpClient httpClient = HttpClient.create()
+            .secure(ssl -> ssl.sslContext(new JdkSslContext(customSslContext, true, null,
+                IdentityCipherSuiteFilter.INSTANCE, ApplicationProtocolConfig.DISABLED,
+                ClientAuth.NONE, null, false)))
+            .proxyWithSystemProperties()
+            .responseTimeout(Duration.ofSeconds(30));
+        this.webClient = builder
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+        this.webIdentityTokenService = webIdentityTokenService;
+        this.tracingHeader = tracingHeader;
+    }
+
+    @Override
+    public Mono<ResponseEntity<String>> submitNotification(IpaffsNotification notification,
+        String conversationId) {
+        Mono<String> token = Mono.fromCallable(webIdentityTokenService::getWebIdentityToken)
+            .subscribeOn(Schedulers.boundedElastic());
+        return Mono.deferContextual(context -> token.flatMap(accessToken -> webClient.post()
+            .uri(SUBMIT_PATH)
+            .header(AUTHORIZATION, "Bearer " + accessToken)
+            .header(INS_CONVERSATION_ID_HEADER_KEY, conversationId)
+            .headers(headers -> context.<String>getOrEmpty(TRACE_ID_CONTEXT_KEY)
+                .ifPresent(traceId -> headers.set(tracingHeader, traceId)))
+            .bodyValue(notification)
+            .retrieve()
+            .toEntity(String.class)));
+    }
+}
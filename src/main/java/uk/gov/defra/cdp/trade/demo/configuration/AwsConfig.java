@@ -1,10 +1,14 @@
 package uk.gov.defra.cdp.trade.demo.configuration;
 
+import jakarta.annotation.PreDestroy;
 import java.time.LocalDateTime;
+import javax.net.ssl.SSLContext;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sts.StsClient;
 import software.amazon.awssdk.services.sts.model.GetWebIdentityTokenRequest;
@@ -24,26 +28,50 @@ public class AwsConfig {
 
     @Value("${aws.sts.token.expiration}")
     private Integer expiration; 
-    
+
+    private final SSLContext customSslContext;
+
+    // Built once and kept, so its connection pool and TLS sessions are reused between calls
+    private volatile StsClient stsClient;
+
+    public AwsConfig(SSLContext customSslContext) {
+        this.customSslContext = customSslContext;
+    }
     
     private StsClient stsClient() {
-        
-        return StsClient.builder()
-            .region(Region.of(region))
-            .credentialsProvider(DefaultCredentialsProvider.builder().build())
-            .build();
-        
+        StsClient client = stsClient;
+        if (client == null) {
+            synchronized (this) {
+                client = stsClient;
+                if (client == null) {
+                    client = StsClient.builder()
+                        .region(Region.of(region))
+                        .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                        .httpClientBuilder(ApacheHttpClient.builder()
+                            .socketFactory(new SSLConnectionSocketFactory(customSslContext)))
+                        .build();
+                    stsClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    @PreDestroy
+    void closeStsClient() {
+        if (stsClient != null) {
+            stsClient.close();
+        }
     }
     
     public String getWebIdentityToken() {
-        try(StsClient stsClient = stsClient()) {
-
+        try {
             GetWebIdentityTokenRequest request = GetWebIdentityTokenRequest.builder()
                 .audience(audience)
                 .signingAlgorithm("RS256")
                 .durationSeconds(expiration)
                 .build();
-            GetWebIdentityTokenResponse response = stsClient.getWebIdentityToken(request);
+            GetWebIdentityTokenResponse response = stsClient().getWebIdentityToken(request);
 
             log.info("STS WebIdentityToken issued at: {}", LocalDateTime.now());
 
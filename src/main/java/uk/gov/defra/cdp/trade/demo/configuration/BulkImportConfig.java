@@ -0,0 +1,27 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits for {@code POST /notifications/bulk}.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "notification-bulk-import")
+public class BulkImportConfig {
+
+    /**
+     * Items written per unordered bulk write.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Items read per request. Anything after them is not read, and is reported as one rejected
+     * entry.
+     */
+    private int maxItems = 50_000;
+}
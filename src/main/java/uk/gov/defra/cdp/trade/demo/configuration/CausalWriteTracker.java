@@ -0,0 +1,139 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.client.ClientSession;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+
+/**
+ * Remembers the cluster and operation time of the latest write this instance made to each
+ * document, taken from successful write command replies. A causally consistent session advanced
+ * to that point reads from a secondary only once the secondary has applied the write, so a GET
+ * after a PUT sees it even with read preference {@code secondary}, while reads of documents this
+ * instance has not written recently do not wait for unrelated writes.
+ *
+ * <p>Only writes to the given collections that name their documents by {@code _id} (or
+ * {@code _id $in}) are tracked, and only the most recently written {@code maxDocuments}
+ * documents are remembered. Standalone servers do not report operation times, so sessions are
+ * left as they are.
+ */
+public class CausalWriteTracker implements CommandListener {
+
+    static final int DEFAULT_MAX_DOCUMENTS = 10_000;
+
+    private static final Set<String> WRITE_COMMANDS =
+        Set.of("insert", "update", "delete", "findAndModify");
+
+    private final Set<String> collections;
+    private final Map<Integer, List<String>> pending = new ConcurrentHashMap<>();
+    private final Cache<String, Point> points;
+
+    public CausalWriteTracker(Set<String> collections) {
+        this(collections, DEFAULT_MAX_DOCUMENTS);
+    }
+
+    CausalWriteTracker(Set<String> collections, long maxDocuments) {
+        this.collections = collections;
+        this.points = Caffeine.newBuilder().maximumSize(maxDocuments).build();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String name = event.getCommandName();
+        if (!WRITE_COMMANDS.contains(name)) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        BsonValue collection = command.get(name);
+        if (collection == null || !collection.isString()
+            || !collections.contains(collection.asString().getValue())) {
+            return;
+        }
+        List<String> ids = new ArrayList<>();
+        switch (name) {
+            case "insert" -> command.getArray("documents").forEach(document ->
+                addId(ids, document.asDocument().get("_id")));
+            case "update" -> command.getArray("updates").forEach(update ->
+                addIds(ids, update.asDocument().getDocument("q")));
+            case "delete" -> command.getArray("deletes").forEach(delete ->
+                addIds(ids, delete.asDocument().getDocument("q")));
+            default -> addIds(ids, command.getDocument("query"));
+        }
+        if (!ids.isEmpty()) {
+            pending.put(event.getRequestId(), ids);
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        List<String> ids = pending.remove(event.getRequestId());
+        if (ids == null) {
+            return;
+        }
+        BsonDocument response = event.getResponse();
+        if (!response.isTimestamp("operationTime") || !response.isDocument("$clusterTime")) {
+            return;
+        }
+        Point point = new Point(response.getTimestamp("operationTime"),
+            response.getDocument("$clusterTime"));
+        for (String id : ids) {
+            points.asMap().merge(id, point, (current, next) ->
+                next.operationTime().compareTo(current.operationTime()) > 0 ? next : current);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        pending.remove(event.getRequestId());
+    }
+
+    /**
+     * Moves the session past the latest write seen to the document, if any.
+     */
+    public void advance(ClientSession session, String id) {
+        Point point = points.getIfPresent(id);
+        if (point != null) {
+            session.advanceClusterTime(point.clusterTime());
+            session.advanceOperationTime(point.operationTime());
+        }
+    }
+
+    BsonTimestamp operationTime(String id) {
+        Point point = points.getIfPresent(id);
+        return point == null ? null : point.operationTime();
+    }
+
+    long trackedDocuments() {
+        points.cleanUp();
+        return points.estimatedSize();
+    }
+
+    private static void addIds(List<String> ids, BsonDocument filter) {
+        BsonValue id = filter.get("_id");
+        if (id != null && id.isDocument() && id.asDocument().isArray("$in")) {
+            id.asDocument().getArray("$in").forEach(value -> addId(ids, value));
+        } else {
+            addId(ids, id);
+        }
+    }
+
+    private static void addId(List<String> ids, BsonValue id) {
+        if (id != null && id.isString()) {
+            ids.add(id.asString().getValue());
+        }
+    }
+
+    private record Point(BsonTimestamp operationTime, BsonDocument clusterTime) {
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.time.Clock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the application {@link Clock} so time-dependent logic can be driven by a fixed clock in
+ * tests.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
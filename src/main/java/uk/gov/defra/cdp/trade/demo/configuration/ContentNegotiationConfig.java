@@ -0,0 +1,77 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Offers CBOR responses to machine-to-machine clients that ask for {@code application/cbor}.
+ * <p>
+ * The converter is appended after the defaults rather than registered as a bean, which Spring
+ * Boot would put first: requests that accept anything keep getting JSON. It encodes with a copy
+ * of the application's {@link ObjectMapper}, so CBOR and JSON bodies have the same fields and
+ * date formats.
+ * <p>
+ * The String converter comes first and writes any media type, so it would send plain text
+ * labelled {@code application/cbor}. It is swapped for one that leaves CBOR to the CBOR converter.
+ * The byte[] converter is left alone: handlers such as the MDM endpoint return bodies that are
+ * already encoded as the content type they set, and must be written as-is.
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final boolean cborEnabled;
+
+    public ContentNegotiationConfig(ObjectMapper objectMapper,
+        @Value("${cdp.cbor.enabled:true}") boolean cborEnabled) {
+        this.objectMapper = objectMapper;
+        this.cborEnabled = cborEnabled;
+    }
+
+    /**
+     * A CBOR mapper with the same configuration and modules as the given JSON mapper.
+     */
+    public static ObjectMapper cborMapper(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(new CBORFactory());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring adds its own when jackson-dataformat-cbor is present, with a bare mapper and
+        // regardless of cdp.cbor.enabled
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        if (!cborEnabled) {
+            return;
+        }
+        converters.replaceAll(ContentNegotiationConfig::withoutCborText);
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper(objectMapper)));
+    }
+
+    private static HttpMessageConverter<?> withoutCborText(HttpMessageConverter<?> converter) {
+        if (!(converter instanceof StringHttpMessageConverter string)) {
+            return converter;
+        }
+        StringHttpMessageConverter replacement = new StringHttpMessageConverter(
+            string.getDefaultCharset()) {
+            @Override
+            protected boolean canWrite(MediaType mediaType) {
+                return !isCbor(mediaType) && super.canWrite(mediaType);
+            }
+        };
+        // Spring Boot's String converter does not list every charset in Accept-Charset
+        replacement.setWriteAcceptCharset(false);
+        return replacement;
+    }
+
+    private static boolean isCbor(MediaType mediaType) {
+        return MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType);
+    }
+}
@@ -0,0 +1,85 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import io.micrometer.core.instrument.step.StepRegistryConfig;
+import java.time.Duration;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the EMF step registry ({@code EmfMeterRegistry}).
+ * <p>
+ * When enabled the registry replaces the scheduled {@code EmfMetricsPublisher}. Documents go to
+ * the CloudWatch agent at {@code cdp.cloudwatch.endpoint} when that is a {@code tcp://} or
+ * {@code udp://} address, otherwise to stdout.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "aws.emf.registry")
+public class EmfRegistryConfig implements StepRegistryConfig {
+
+    private boolean enabled = false;
+
+    /**
+     * How often meters are rolled over and published.
+     */
+    private Duration step = Duration.ofMinutes(1);
+
+    /**
+     * Documents buffered for the writer thread; when full, new documents are dropped and counted
+     * in {@code emf.registry.dropped}.
+     */
+    private int queueCapacity = 1_000;
+
+    /**
+     * Meter tags published as EMF dimensions, in addition to ServiceName and ServiceType.
+     */
+    private List<String> dimensionTags = List.of("uri", "status", "outcome");
+
+    /**
+     * Meter name prefixes to register, or empty for all. Meters outside the allowlist are no-ops.
+     */
+    private List<String> allow = List.of();
+
+    /**
+     * Percentiles published for every timer and distribution summary, unless
+     * {@code management.metrics.distribution.percentiles} sets them for that meter.
+     */
+    private List<Double> percentiles = List.of();
+
+    /**
+     * Histogram bucket boundaries for every timer, unless
+     * {@code management.metrics.distribution.slo} sets them for that meter.
+     */
+    private List<Duration> serviceLevelObjectives = List.of();
+
+    /**
+     * Publish histogram bucket counts as {@code <name>.le.<bound>}. Leave
+     * {@code percentiles-histogram} off when this is on, it adds hundreds of buckets per timer.
+     */
+    private boolean publishHistogramBuckets = true;
+
+    @Override
+    public String prefix() {
+        return "aws.emf.registry";
+    }
+
+    @Override
+    public String get(String key) {
+        // Bound by Spring rather than looked up by key
+        return null;
+    }
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public Duration step() {
+        return step;
+    }
+}
@@ -1,6 +1,7 @@
 package uk.gov.defra.cdp.trade.demo.configuration;
 
 import feign.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,11 +12,12 @@ import org.springframework.context.annotation.Configuration;
  * BASIC - Log only the request method and URL and the response status code and execution time.
  * HEADERS - Log the basic information along with request and response headers.
  * FULL - Log the headers, body, and metadata for both requests and responses.
+ * Set with {@code feign-logging.level}; FULL in the local profile only.
  */
 @Configuration
 public class FeignLoggingConfig {
     @Bean
-    Logger.Level feignLoggerLevel() {
-        return Logger.Level.FULL;
+    Logger.Level feignLoggerLevel(@Value("${feign-logging.level:BASIC}") Logger.Level level) {
+        return level;
     }
 }
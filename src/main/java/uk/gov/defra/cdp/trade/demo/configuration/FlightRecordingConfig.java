@@ -0,0 +1,38 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bounds for recordings started through the {@code flightrecording} actuator endpoint.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "profiling.flight-recording")
+public class FlightRecordingConfig {
+
+    /**
+     * Duration used when the caller does not ask for one.
+     */
+    private Duration defaultDuration = Duration.ofMinutes(1);
+
+    /**
+     * Longest recording that can be requested; longer requests are capped.
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /**
+     * Disk space a recording may use before older chunks are discarded.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+
+    /**
+     * JFR settings used when the caller does not name one: {@code default} or {@code profile}.
+     */
+    private String settings = "profile";
+}
@@ -0,0 +1,29 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registers the {@link LazyInitializationPostProcessor} for the types listed under
+ * {@code lazy-init.types}.
+ * <p>
+ * The post-processor runs before any {@code @ConfigurationProperties} bean exists, so the list is
+ * bound straight from the environment.
+ */
+@Configuration
+@ConditionalOnBooleanProperty(name = "lazy-init.enabled", matchIfMissing = true)
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationPostProcessor lazyInitializationPostProcessor(Environment environment) {
+        List<String> types = Binder.get(environment)
+            .bind("lazy-init.types", Bindable.listOf(String.class))
+            .orElse(List.of());
+        return new LazyInitializationPostProcessor(types);
+    }
+}
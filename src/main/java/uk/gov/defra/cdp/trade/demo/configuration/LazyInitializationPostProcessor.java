@@ -0,0 +1,73 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.type.MethodMetadata;
+
+/**
+ * Marks beans off the request critical path as lazy, so they are created on first use rather
+ * than while the context starts.
+ * <p>
+ * A bean is matched by its type, taken from its {@code @Bean} method's return type, the object
+ * type of a {@link FactoryBean} (as for Feign clients) or its bean class, against a list of class
+ * names. An entry ending in {@code .} matches a whole package. Beans that are injected into eager
+ * singletons are still created at startup unless the injection point is {@code @Lazy}.
+ */
+@Slf4j
+public class LazyInitializationPostProcessor implements BeanFactoryPostProcessor {
+
+    private final List<String> types;
+
+    public LazyInitializationPostProcessor(List<String> types) {
+        this.types = List.copyOf(types);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        List<String> lazy = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (definition.isLazyInit() || definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                continue;
+            }
+            String type = typeName(definition);
+            if (type != null && matches(type)) {
+                definition.setLazyInit(true);
+                lazy.add(beanName);
+            }
+        }
+        log.info("Initialising {} beans on first use: {}", lazy.size(), lazy);
+    }
+
+    boolean matches(String type) {
+        for (String candidate : types) {
+            if (candidate.endsWith(".") ? type.startsWith(candidate) : type.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String typeName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getReturnTypeName();
+            }
+        }
+        Object objectType = definition.getAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE);
+        if (objectType instanceof Class<?> type) {
+            return type.getName();
+        }
+        if (objectType instanceof String type) {
+            return type;
+        }
+        return definition.getBeanClassName();
+    }
+}
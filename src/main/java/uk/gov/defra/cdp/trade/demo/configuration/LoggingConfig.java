@@ -2,7 +2,10 @@ package uk.gov.defra.cdp.trade.demo.configuration;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.info.BuildProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import uk.gov.defra.cdp.trade.demo.logging.MdcTaskDecorator;
 
 import jakarta.annotation.PostConstruct;
 import java.util.Optional;
@@ -10,6 +13,8 @@ import java.util.Optional;
 /**
  * Configuration for structured logging with ECS (Elastic Common Schema) format.
  * Sets up service version in MDC for inclusion in all log entries.
+ * Also provides the {@link TaskDecorator} Spring Boot applies to its task executors so async
+ * work logs with the request's trace ID.
  */
 @Configuration
 public class LoggingConfig {
@@ -24,4 +29,9 @@ public class LoggingConfig {
         // Set service version as system property so Logback can access it
         System.setProperty(MDC_SERVICE_VERSION, serviceVersion);
     }
+
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return new MdcTaskDecorator();
+    }
 }
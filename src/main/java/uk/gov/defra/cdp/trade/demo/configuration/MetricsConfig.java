@@ -2,6 +2,7 @@ package uk.gov.defra.cdp.trade.demo.configuration;
 
 import io.micrometer.core.aop.CountedAspect;
 import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.FunctionCounter;
@@ -13,16 +14,25 @@ import io.micrometer.core.instrument.Meter.Id;
 import io.micrometer.core.instrument.Meter.Type;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.pause.PauseDetector;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToLongFunction;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import uk.gov.defra.cdp.trade.demo.metrics.AsyncLoggingMetrics;
+import uk.gov.defra.cdp.trade.demo.metrics.EmfMeterRegistry;
+import uk.gov.defra.cdp.trade.demo.metrics.EmfSink;
+import uk.gov.defra.cdp.trade.demo.metrics.EmfWriter;
+import uk.gov.defra.cdp.trade.demo.metrics.FeignMetricsCapability;
 
 /**
  * Configuration for Micrometer metrics.
@@ -35,7 +45,8 @@ import org.springframework.context.annotation.Configuration;
  * - Custom business metrics: AWS Embedded Metrics Format (EMF)
  * <p>
  * This configuration only provides a fallback SimpleMeterRegistry when metrics are disabled.
- * When enabled, Spring Boot Actuator auto-configures appropriate registries.
+ * When enabled, Spring Boot Actuator auto-configures appropriate registries, or with
+ * {@code aws.emf.registry.enabled} the registry is an {@link EmfMeterRegistry}.
  */
 @Slf4j
 @Configuration
@@ -51,5 +62,48 @@ public class MetricsConfig {
     CountedAspect countedAspect(MeterRegistry registry) {
         return new CountedAspect(registry);
     }
- 
+
+    /**
+     * Times every Feign client call; picked up by all clients from the parent context.
+     */
+    @Bean
+    public FeignMetricsCapability feignMetricsCapability(MeterRegistry meterRegistry) {
+        return new FeignMetricsCapability(meterRegistry);
+    }
+
+    /**
+     * Drop counters and buffer space for the async logging appender.
+     */
+    @Bean
+    public AsyncLoggingMetrics asyncLoggingMetrics() {
+        return new AsyncLoggingMetrics();
+    }
+
+    /**
+     * Publishes the registry as EMF documents every step, replacing {@code EmfMetricsPublisher}.
+     */
+    @Bean(initMethod = "startPublishing", destroyMethod = "close")
+    @ConditionalOnProperty(name = "aws.emf.registry.enabled", havingValue = "true")
+    public EmfMeterRegistry emfMeterRegistry(
+        EmfRegistryConfig config,
+        @Value("${aws.emf.namespace}") String namespace,
+        @Value("${aws.emf.service.name}") String serviceName,
+        @Value("${aws.emf.service.type}") String serviceType,
+        @Value("${cdp.cloudwatch.endpoint:}") String endpoint) {
+        EmfSink sink = EmfSink.forEndpoint(endpoint);
+        log.info("Publishing EMF metrics every {} to {}", config.step(), sink);
+        return new EmfMeterRegistry(config, Clock.SYSTEM, namespace,
+            Map.of("ServiceName", serviceName, "ServiceType", serviceType),
+            new EmfWriter(sink, config.getQueueCapacity()));
+    }
+
+    /**
+     * Documents dropped by the EMF registry's writer.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "aws.emf.registry.enabled", havingValue = "true")
+    public MeterBinder emfWriterMetrics(EmfMeterRegistry emfMeterRegistry) {
+        return emfMeterRegistry.writerMetrics();
+    }
+
 }
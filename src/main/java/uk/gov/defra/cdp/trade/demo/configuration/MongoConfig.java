@@ -2,26 +2,46 @@ package uk.gov.defra.cdp.trade.demo.configuration;
 
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
 import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.connection.ConnectionPoolSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.util.ClassUtils;
+import uk.gov.defra.cdp.trade.demo.metrics.MongoPoolMetricsListener;
+import uk.gov.defra.cdp.trade.demo.metrics.WriteTierCommandTagsProvider;
 import javax.net.ssl.SSLContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import uk.gov.defra.cdp.trade.demo.configuration.tls.TrustStoreConfiguration;
+import java.util.function.Supplier;
 
 /**
  * MongoDB configuration for CDP Java Backend Template.
  *
  * <p>Configures MongoDB connection with: - AWS IAM authentication (via connection string
  * authMechanism=MONGODB-AWS) - Custom SSL/TLS certificates from TRUSTSTORE_* environment variables
- * - Read preference: secondary (configurable) - Write concern: majority (configurable) - Connection
- * pooling - Graceful shutdown
+ * - Read preference: secondary (configurable) - Write concern: majority (configurable) -
+ * Per-operation write concern tiers ({@link WriteConcernTiers}) - Majority read concern on the
+ * reads that follow writes ({@link CausalWriteTracker}), server default elsewhere
+ * - Wire compression - Connection pooling and pool metrics
+ * (mongodb.driver.pool) - Command timings (mongodb.driver.commands) - Graceful shutdown
+ *
+ * <p>Compressors are offered to the server in the configured order and the first one it also
+ * supports is used. zstd and snappy need zstd-jni and snappy-java on the classpath; when they are
+ * missing they are skipped and zlib, which ships with the JDK, is used instead.
  *
  * <p>Connection string format for AWS IAM auth:
  * mongodb://host:port/database?authMechanism=MONGODB-AWS&authSource=$external
@@ -46,24 +66,48 @@ public class MongoConfig {
         .build();
   }
 
+  @Bean
+  CausalWriteTracker causalWriteTracker() {
+    // The collections read by ID after writes
+    return new CausalWriteTracker(Set.of("notifications", "notifications_archive"));
+  }
+
+  @Bean
+  MongoPoolMetricsListener mongoPoolMetricsListener(MeterRegistry meterRegistry) {
+    return new MongoPoolMetricsListener(meterRegistry);
+  }
+
   @Bean
   MongoClientSettings mongoClientSettings(
       @Value("${spring.data.mongodb.ssl.enabled}") boolean sslEnabled,
       @Value("${spring.data.mongodb.uri}") String mongoUri,
       @Value("${spring.data.mongodb.read-preference}") ReadPreference readPreference,
       @Value("${spring.data.mongodb.write-concern}") WriteConcern writeConcern,
-      TrustStoreConfiguration trustStoreConfiguration,
-      ConnectionPoolSettings connectionPoolSettings) {
+      @Value("${spring.data.mongodb.compressors:zstd,snappy,zlib}") List<String> compressors,
+      SSLContext customSslContext,
+      ConnectionPoolSettings connectionPoolSettings,
+      CausalWriteTracker causalWriteTracker,
+      MongoPoolMetricsListener mongoPoolMetricsListener,
+      MeterRegistry meterRegistry) {
 
+      // Times every command as mongodb.driver.commands, tagged by collection, command, status and
+      // write concern tier.
+      // Pool size, checked out and wait queue gauges come from MongoMetricsConnectionPoolListener,
+      // checkout wait time and connection churn from MongoPoolMetricsListener.
       MongoClientSettings.Builder builder = MongoClientSettings.builder()
           .applyConnectionString(new ConnectionString(mongoUri))
-          .applyToConnectionPoolSettings(bdr -> bdr.applySettings(connectionPoolSettings))
+          .applyToConnectionPoolSettings(bdr -> bdr.applySettings(connectionPoolSettings)
+              .addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry))
+              .addConnectionPoolListener(mongoPoolMetricsListener))
           .readPreference(readPreference)
-          .writeConcern(writeConcern);
+          .writeConcern(writeConcern)
+          .compressorList(compressors(compressors))
+          .addCommandListener(new MongoMetricsCommandListener(meterRegistry,
+              new WriteTierCommandTagsProvider()))
+          .addCommandListener(causalWriteTracker);
       
       if (sslEnabled) {
-          SSLContext sslContext = trustStoreConfiguration.customSslContext();
-          builder.applyToSslSettings(bdr -> bdr.context(sslContext));
+          builder.applyToSslSettings(bdr -> bdr.context(customSslContext));
           log.info("MongoDB SSL configured with SSL Bundle");
       }
       log.info("MongoDB client configuration complete");
@@ -71,9 +115,42 @@ public class MongoConfig {
     return builder.build();
   }
 
+  static List<MongoCompressor> compressors(List<String> names) {
+    List<MongoCompressor> compressors = new ArrayList<>();
+    for (String name : names) {
+      switch (name.trim()) {
+        case "zstd" -> addIfPresent(compressors, "com.github.luben.zstd.Zstd", name,
+            MongoCompressor::createZstdCompressor);
+        case "snappy" -> addIfPresent(compressors, "org.xerial.snappy.Snappy", name,
+            MongoCompressor::createSnappyCompressor);
+        case "zlib" -> compressors.add(MongoCompressor.createZlibCompressor());
+        case "" -> { }
+        default -> throw new IllegalArgumentException("Unknown MongoDB compressor: " + name);
+      }
+    }
+    log.info("MongoDB wire compressors: {}",
+        compressors.stream().map(MongoCompressor::getName).toList());
+    return compressors;
+  }
+
+  private static void addIfPresent(List<MongoCompressor> compressors, String className,
+      String name, Supplier<MongoCompressor> factory) {
+    if (ClassUtils.isPresent(className, MongoConfig.class.getClassLoader())) {
+      compressors.add(factory.get());
+    } else {
+      log.info("MongoDB {} compressor skipped, {} is not on the classpath", name, className);
+    }
+  }
+
   @Bean
   MongoClient mongoClient(MongoClientSettings mongoClientSettings) {
       log.info("Creating MongoDB client");
     return MongoClients.create(mongoClientSettings);
   }
+
+  @Bean
+  MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory,
+      MongoConverter mongoConverter, WriteConcernTiers writeConcernTiers) {
+    return new TieredWriteMongoTemplate(mongoDatabaseFactory, mongoConverter, writeConcernTiers);
+  }
 }
@@ -0,0 +1,93 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import com.mongodb.ReadPreference;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import uk.gov.defra.cdp.trade.demo.metrics.MongoPoolMetricsListener;
+import uk.gov.defra.cdp.trade.demo.warmup.WarmUpTask;
+
+/**
+ * Opens {@code min-size} connections to the primary and to the read preference target before the
+ * application reports ready, so the first requests after a deploy do not queue behind connection
+ * setup and the TLS and IAM handshakes that come with it.
+ *
+ * <p>The pings run concurrently, each holding its own connection, which is what makes the pool
+ * grow; a single thread pinging in a loop would reuse one connection. Failures are logged and
+ * left to the driver, which keeps filling the pool to {@code min-size} in the background.
+ *
+ * <p>Runs as one of the startup warm-up tasks, see {@code warmup.StartupWarmUp}.
+ */
+@Slf4j
+@Component
+@ConditionalOnBooleanProperty(name = "spring.data.mongodb.connection-pool.warm-up.enabled",
+    matchIfMissing = true)
+public class MongoPoolWarmUp implements WarmUpTask {
+
+    private static final Document PING = new Document("ping", 1);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoPoolMetricsListener poolMetrics;
+    private final int connections;
+    private final Set<ReadPreference> targets = new LinkedHashSet<>();
+
+    public MongoPoolWarmUp(MongoTemplate mongoTemplate, MongoPoolMetricsListener poolMetrics,
+        @Value("${spring.data.mongodb.connection-pool.min-size}") int connections,
+        @Value("${spring.data.mongodb.read-preference}") ReadPreference readPreference) {
+        this.mongoTemplate = mongoTemplate;
+        this.poolMetrics = poolMetrics;
+        this.connections = connections;
+        targets.add(ReadPreference.primary());
+        targets.add(readPreference);
+    }
+
+    @Override
+    public String name() {
+        return "mongoPool";
+    }
+
+    @Override
+    public void warmUp() {
+        if (connections <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        int failed = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> pings = new ArrayList<>();
+            for (ReadPreference target : targets) {
+                for (int i = 0; i < connections; i++) {
+                    pings.add(executor.submit(() -> mongoTemplate.executeCommand(PING, target)));
+                }
+            }
+            for (Future<?> ping : pings) {
+                try {
+                    ping.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.debug("MongoDB warm-up ping failed", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        if (failed > 0) {
+            log.warn("MongoDB pool warm-up: {} pings failed, the driver will keep filling the pool",
+                failed);
+        }
+        log.info("MongoDB pool warmed up to {} connections in {} ms",
+            poolMetrics.openConnections(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
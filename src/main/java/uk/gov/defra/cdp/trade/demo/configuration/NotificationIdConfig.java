@@ -0,0 +1,54 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Notification ID generation settings.
+ * <p>
+ * The zone decides when the {@code CDP.YYYY.MM.DD} day prefix rolls over. It is configured
+ * explicitly so every instance switches day at the same instant, whatever the JVM default zone.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "notification-id")
+public class NotificationIdConfig {
+
+    private ZoneId zone = ZoneOffset.UTC;
+    private Strategy strategy = Strategy.SEQUENCE;
+    private Lease lease = new Lease();
+
+    public enum Strategy {
+        /**
+         * One shared Mongo counter per day, incremented on every create.
+         */
+        SEQUENCE,
+        /**
+         * Disjoint per-node ranges leased from Mongo, issued from memory.
+         */
+        LEASED
+    }
+
+    /**
+     * Settings for the {@code leased} strategy. Slot {@code n} issues sequences
+     * {@code (n + 1) * rangeSize} to {@code (n + 2) * rangeSize - 1} each day; the range below
+     * {@code rangeSize} is left to the {@code sequence} strategy so the two do not collide on the
+     * day a service switches between them.
+     */
+    @Setter
+    @Getter
+    public static class Lease {
+
+        private Duration ttl = Duration.ofSeconds(30);
+        private Duration heartbeat = Duration.ofSeconds(10);
+        private int maxNodes = 64;
+        private long rangeSize = 100_000;
+        private int chunkSize = 1_000;
+    }
+}
@@ -0,0 +1,49 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * When old notifications leave the {@code notifications} collection: submitted ones are moved to
+ * the archive, abandoned drafts expire.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "notification-lifecycle")
+public class NotificationLifecycleConfig {
+
+    /**
+     * Whether submitted notifications are moved to the archive.
+     */
+    private boolean archiveEnabled = true;
+
+    /**
+     * Submitted notifications last updated longer ago than this are archived.
+     */
+    private Duration archiveAfter = Duration.ofDays(90);
+
+    /**
+     * Drafts last updated longer ago than this are deleted by Mongo's TTL monitor. Zero keeps
+     * drafts indefinitely.
+     */
+    private Duration draftTtl = Duration.ofDays(90);
+
+    /**
+     * Notifications moved per batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Pause between batches, to leave headroom for request traffic.
+     */
+    private Duration batchPause = Duration.ofSeconds(1);
+
+    /**
+     * Most batches moved in one run; the rest wait for the next run.
+     */
+    private int maxBatches = 100;
+}
@@ -0,0 +1,49 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits for {@code GET /notifications/search}, and the startup backfill of search terms.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "notification-search")
+public class NotificationSearchConfig {
+
+    /**
+     * Page size when the request does not give one.
+     */
+    private int defaultPageSize = 20;
+
+    /**
+     * Larger requested page sizes are reduced to this.
+     */
+    private int maxPageSize = 100;
+
+    /**
+     * Words after this many in a query are ignored.
+     */
+    private int maxTerms = 8;
+
+    /**
+     * Shorter terms are left out of prefix matching, which would otherwise scan most of the
+     * index.
+     */
+    private int minPrefixLength = 2;
+
+    /**
+     * Notifications given search terms per batch by the startup backfill. Zero turns the backfill
+     * off.
+     */
+    private int backfillBatchSize = 500;
+
+    /**
+     * Pause between backfill batches, to leave headroom for request traffic.
+     */
+    private Duration backfillBatchPause = Duration.ofMillis(500);
+}
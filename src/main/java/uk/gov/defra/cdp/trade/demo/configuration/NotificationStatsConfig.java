@@ -0,0 +1,46 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /notifications/stats} range limits and caching, and reconciliation of the daily
+ * rollups it reads.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "notification-stats")
+public class NotificationStatsConfig {
+
+    /**
+     * Days covered when the request does not give a start date.
+     */
+    private int defaultDays = 30;
+
+    /**
+     * Longer ranges are cut to this many days, ending on the requested end date.
+     */
+    private int maxDays = 366;
+
+    /**
+     * How long a computed range is served from memory before the rollups are read again.
+     */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * Most ranges kept in memory at once.
+     */
+    private int cacheSize = 100;
+
+    /**
+     * Recent days whose rollups are recomputed from the notifications on every reconcile, to
+     * correct writes that raced a rollup update. Older days are recomputed when the instance has
+     * updated them since its last reconcile. When there are no rollups at all, every day is
+     * rebuilt.
+     */
+    private int reconcileDays = 2;
+}
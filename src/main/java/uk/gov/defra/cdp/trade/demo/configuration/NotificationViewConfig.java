@@ -0,0 +1,28 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-branch timeouts for {@code GET /notifications/{id}/view}. Both branches start together, so
+ * each timeout is measured from the start of the request.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "notification-view")
+public class NotificationViewConfig {
+
+    /**
+     * How long to wait for the notification itself before failing the request.
+     */
+    private Duration notificationTimeout = Duration.ofSeconds(2);
+
+    /**
+     * How long to wait for reference data before returning the view without BCP and POE details.
+     */
+    private Duration referenceDataTimeout = Duration.ofSeconds(1);
+}
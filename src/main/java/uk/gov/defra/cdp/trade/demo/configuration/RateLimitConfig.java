@@ -0,0 +1,112 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inbound rate limits (see {@code ratelimit.RateLimiter}).
+ * <p>
+ * Each route has a bucket per client and one shared by all clients, so a single client cannot
+ * use up a route and the route as a whole cannot exceed what its downstream dependency allows.
+ * Buckets are held in memory and reconciled with the other instances through the store every
+ * {@code syncInterval}.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitConfig {
+
+    /**
+     * Header identifying the calling client; the remote address is used when it is absent.
+     */
+    private String clientHeader = "x-client-id";
+
+    /**
+     * Where usage is shared between instances.
+     */
+    private Store store = Store.MONGO;
+
+    /**
+     * How often local usage is pushed to, and other instances' usage pulled from, the store.
+     */
+    private Duration syncInterval = Duration.ofSeconds(1);
+
+    /**
+     * Length of the window usage is counted over in the store.
+     */
+    private Duration syncWindow = Duration.ofMinutes(1);
+
+    /**
+     * Rate limited routes; the first route matching a request applies and unmatched requests
+     * are not limited.
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    public enum Store {
+        /**
+         * Shared through the {@code rate_limit_counters} collection.
+         */
+        MONGO,
+        /**
+         * Not shared; each instance enforces the limits on its own.
+         */
+        LOCAL
+    }
+
+    @Setter
+    @Getter
+    public static class Route {
+
+        /**
+         * Name used in metrics and bucket keys.
+         */
+        private String name;
+
+        /**
+         * Path pattern, e.g. {@code /notifications/**}.
+         */
+        private String pattern;
+
+        /**
+         * HTTP methods the route applies to; empty means all.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * Limit for each client; unlimited if not set.
+         */
+        private Limit client;
+
+        /**
+         * Limit for all clients together; unlimited if not set.
+         */
+        private Limit route;
+    }
+
+    @Setter
+    @Getter
+    public static class Limit {
+
+        /**
+         * Requests allowed per period at a steady rate.
+         */
+        private long requests;
+
+        private Duration period = Duration.ofSeconds(1);
+
+        /**
+         * Requests allowed at once after a quiet spell; defaults to {@code requests}.
+         */
+        private long burst;
+
+        public long effectiveBurst() {
+            return burst > 0 ? burst : requests;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.util.concurrent.Executors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Support for the reactive notification API ({@code /reactive/notifications}), enabled with
+ * {@code cdp.reactive.enabled}.
+ * <p>
+ * Mongo is reached through the synchronous driver, so the reactive API runs each Mongo call on a
+ * virtual thread from this scheduler: the call still blocks, but only a virtual thread, and no
+ * servlet or event loop thread waits on it.
+ */
+@Configuration
+@ConditionalOnBooleanProperty("cdp.reactive.enabled")
+public class ReactiveConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler notificationBlockingScheduler() {
+        return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(),
+            "notification-blocking");
+    }
+}
@@ -0,0 +1,30 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local snapshot of the MDM border control posts, used to enrich notification views and to serve
+ * {@code /mdm/bcps}.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "reference-data")
+public class ReferenceDataConfig {
+
+    /**
+     * Age after which the snapshot is reloaded from MDM. Until a reload succeeds the previous
+     * snapshot keeps being served.
+     */
+    private Duration ttl = Duration.ofMinutes(15);
+
+    /**
+     * {@code Cache-Control: max-age} sent with {@code /mdm/bcps}, letting downstream caches reuse
+     * the response before revalidating it with {@code If-None-Match}.
+     */
+    private Duration cacheMaxAge = Duration.ofMinutes(5);
+}
@@ -1,6 +1,9 @@
 package uk.gov.defra.cdp.trade.demo.configuration;
 
+import feign.Client;
 import java.net.http.HttpClient.Builder;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
@@ -29,6 +32,8 @@ import java.time.Duration;
  *
  * <p>This ensures that outbound HTTP requests to CDP internal services with custom CA certificates
  * are trusted and that distributed tracing works across service boundaries.
+ *
+ * <p>The Feign clients use the same SSLContext, so every HTTP client shares one TLS session cache.
  */
 @Configuration
 @Slf4j
@@ -36,14 +41,17 @@ public class RestClientConfig {
 
   private final ClientHttpRequestFactory customRequestFactory;
   private final TraceIdPropagationInterceptor traceIdInterceptor;
+  private final SSLContext customSslContext;
 
   public RestClientConfig(
-      TraceIdPropagationInterceptor traceIdInterceptor) {
+      TraceIdPropagationInterceptor traceIdInterceptor, SSLContext customSslContext) {
     log.info("Configuring HTTP clients with custom SSL context and trace ID propagation");
 
     // Create Java HttpClient with custom SSL context
 
-    Builder builder = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10));
+    Builder builder = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(10))
+        .sslContext(customSslContext);
 
     HttpClient httpClient = builder.build();
 
@@ -53,6 +61,7 @@ public class RestClientConfig {
 
     this.customRequestFactory = factory;
     this.traceIdInterceptor = traceIdInterceptor;
+    this.customSslContext = customSslContext;
     log.info("HTTP clients configured with custom SSL context and trace ID propagation");
   }
 
@@ -115,4 +124,14 @@ public class RestClientConfig {
   public RestTemplate restTemplate(RestTemplateBuilder builder) {
     return builder.build();
   }
+
+  /**
+   * Feign client for every {@code @FeignClient}, using the shared SSLContext's socket factory
+   * rather than the JVM default so Feign connections resume the same TLS sessions.
+   */
+  @Bean
+  public Client feignClient() {
+    return new Client.Default(customSslContext.getSocketFactory(),
+        HttpsURLConnection.getDefaultHostnameVerifier());
+  }
 }
@@ -0,0 +1,35 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import uk.gov.defra.cdp.trade.demo.configuration.WriteConcernTiers.Tier;
+
+/**
+ * MongoTemplate that applies {@link WriteConcernTiers}. Inserts, saves, updates and removes go
+ * through the {@link org.springframework.data.mongodb.core.WriteConcernResolver}, which picks the
+ * tier per write. Bulk writes and findAndModify do not, so every tiered collection also gets its
+ * default tier (draft for notifications) on the collection itself; the resolver's choice replaces
+ * it for the writes it sees.
+ */
+class TieredWriteMongoTemplate extends MongoTemplate {
+
+    private final WriteConcernTiers tiers;
+
+    TieredWriteMongoTemplate(MongoDatabaseFactory mongoDbFactory, MongoConverter mongoConverter,
+        WriteConcernTiers tiers) {
+        super(mongoDbFactory, mongoConverter);
+        this.tiers = tiers;
+        setWriteConcernResolver(tiers);
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        MongoCollection<Document> prepared = super.prepareCollection(collection);
+        Tier tier = WriteConcernTiers.classify(prepared.getNamespace().getCollectionName(), false,
+            null);
+        return tier == null ? prepared : prepared.withWriteConcern(tiers.writeConcern(tier));
+    }
+}
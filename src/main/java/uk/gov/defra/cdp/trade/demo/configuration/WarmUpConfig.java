@@ -0,0 +1,29 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup warm-up run before the service reports ready.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "warm-up")
+public class WarmUpConfig {
+
+    /**
+     * Longest the service waits for warm-up before reporting ready anyway. Tasks still running
+     * carry on in the background.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * Times the IPAFFS mapper and the JSON serialisers are exercised, enough for the JIT to
+     * compile the hot paths.
+     */
+    private int iterations = 2_000;
+}
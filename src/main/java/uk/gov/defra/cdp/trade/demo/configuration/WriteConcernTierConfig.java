@@ -0,0 +1,64 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import com.mongodb.WriteConcern;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write concern per kind of write (see {@link WriteConcernTiers}). Drafts are saved on every
+ * edit and can be rewritten by the user if lost, so they are acknowledged by the primary alone;
+ * submissions, ID sequences and deletes wait for a journalled majority.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "notification-write-concern")
+public class WriteConcernTierConfig {
+
+    private Tier draft = new Tier("1", false, Duration.ofSeconds(2));
+    private Tier submit = new Tier("majority", true, Duration.ofSeconds(5));
+    private Tier sequence = new Tier("majority", true, Duration.ofSeconds(5));
+    private Tier delete = new Tier("majority", true, Duration.ofSeconds(5));
+
+    @Setter
+    @Getter
+    public static class Tier {
+
+        /**
+         * Members that must acknowledge the write: a number, or {@code majority}.
+         */
+        private String w;
+
+        /**
+         * Whether acknowledging members must have journalled the write.
+         */
+        private boolean journal;
+
+        /**
+         * How long to wait for the acknowledgements before the write is reported as failed. The
+         * write itself is not rolled back.
+         */
+        private Duration timeout;
+
+        public Tier() {
+        }
+
+        Tier(String w, boolean journal, Duration timeout) {
+            this.w = w;
+            this.journal = journal;
+            this.timeout = timeout;
+        }
+
+        public WriteConcern toWriteConcern() {
+            WriteConcern concern = "majority".equalsIgnoreCase(w)
+                ? WriteConcern.MAJORITY
+                : new WriteConcern(Integer.parseInt(w));
+            return concern.withJournal(journal)
+                .withWTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
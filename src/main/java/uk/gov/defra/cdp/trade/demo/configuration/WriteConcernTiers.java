@@ -0,0 +1,97 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import com.mongodb.WriteConcern;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the write concern for each write from what is being written rather than using the one
+ * global concern:
+ * <ul>
+ *   <li>{@code draft} - notification saves, including bulk imports (see
+ *   {@link TieredWriteMongoTemplate})</li>
+ *   <li>{@code submit} - saving a notification as {@code SUBMITTED}, and archiving it</li>
+ *   <li>{@code sequence} - notification ID sequences and leases</li>
+ *   <li>{@code delete} - notification deletes, live or archived</li>
+ * </ul>
+ * Writes to any other collection keep the client's default concern.
+ */
+@Component
+public class WriteConcernTiers implements WriteConcernResolver {
+
+    public static final String SUBMITTED = "SUBMITTED";
+
+    private final Map<Tier, WriteConcern> concerns = new EnumMap<>(Tier.class);
+
+    public WriteConcernTiers(WriteConcernTierConfig config) {
+        concerns.put(Tier.DRAFT, config.getDraft().toWriteConcern());
+        concerns.put(Tier.SUBMIT, config.getSubmit().toWriteConcern());
+        concerns.put(Tier.SEQUENCE, config.getSequence().toWriteConcern());
+        concerns.put(Tier.DELETE, config.getDelete().toWriteConcern());
+    }
+
+    public enum Tier {
+        DRAFT, SUBMIT, SEQUENCE, DELETE;
+
+        /**
+         * The tag value used for this tier in metrics.
+         */
+        public String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Override
+    public WriteConcern resolve(MongoAction action) {
+        Tier tier = classify(action.getCollectionName(),
+            action.getMongoActionOperation() == MongoActionOperation.REMOVE,
+            status(action.getDocument()));
+        return tier == null ? action.getDefaultWriteConcern() : concerns.get(tier);
+    }
+
+    public WriteConcern writeConcern(Tier tier) {
+        return concerns.get(tier);
+    }
+
+    /**
+     * The tier for a write to {@code collection}, or {@code null} if it has none.
+     *
+     * @param delete whether the write removes documents
+     * @param status the notification status being written, if known
+     */
+    @Nullable
+    public static Tier classify(String collection, boolean delete, @Nullable Object status) {
+        return switch (collection) {
+            case "id_sequences", "id_node_leases" -> Tier.SEQUENCE;
+            // Rollups are rebuilt by reconciliation, so they need no more than a draft
+            case "notification_daily_stats" -> Tier.DRAFT;
+            // The archive copy must be as durable as the submit before the live one is removed
+            case "notifications_archive" -> delete ? Tier.DELETE : Tier.SUBMIT;
+            case "notifications" -> {
+                if (delete) {
+                    yield Tier.DELETE;
+                }
+                yield SUBMITTED.equals(status) ? Tier.SUBMIT : Tier.DRAFT;
+            }
+            default -> null;
+        };
+    }
+
+    @Nullable
+    private static Object status(@Nullable Document document) {
+        if (document == null) {
+            return null;
+        }
+        if (document.get("$set") instanceof Document set) {
+            return set.get("status");
+        }
+        return document.get("status");
+    }
+}
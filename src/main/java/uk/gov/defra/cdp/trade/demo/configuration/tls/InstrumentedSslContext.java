@@ -0,0 +1,411 @@
+package uk.gov.defra.cdp.trade.demo.configuration.tls;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.security.KeyManagementException;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLContextSpi;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+
+/**
+ * {@link SSLContext} that times every client handshake made through it as
+ * {@value #METRIC_NAME}, tagged with the peer host, the negotiated protocol and the outcome,
+ * and publishes the number of cached client sessions as {@value #CACHE_METRIC_NAME}.
+ *
+ * <p>Engine-based clients (the JDK {@code HttpClient}) are timed from the start of the handshake
+ * to its completion, including failures. Socket-based clients (Feign, STS, MongoDB) are timed
+ * from the TLS socket being created to the handshake completing; failed socket handshakes are not
+ * seen.
+ */
+final class InstrumentedSslContext extends SSLContext {
+
+    static final String METRIC_NAME = "tls.handshakes";
+    static final String CACHE_METRIC_NAME = "tls.session.cache.size";
+
+    InstrumentedSslContext(SSLContext delegate, MeterRegistry meterRegistry) {
+        super(new Spi(delegate, meterRegistry), delegate.getProvider(), delegate.getProtocol());
+        Gauge.builder(CACHE_METRIC_NAME, delegate,
+                context -> Collections.list(context.getClientSessionContext().getIds()).size())
+            .description("Client TLS sessions cached for resumption")
+            .register(meterRegistry);
+    }
+
+    private static void record(MeterRegistry meterRegistry, SSLSession session, String peer,
+        String outcome, long nanos) {
+        Timer.builder(METRIC_NAME)
+            .description("Client TLS handshakes")
+            .tags(Tags.of(
+                "peer", peer == null ? "unknown" : peer,
+                "protocol", session == null ? "unknown" : session.getProtocol(),
+                "outcome", outcome))
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static final class Spi extends SSLContextSpi {
+
+        private final SSLContext delegate;
+        private final MeterRegistry meterRegistry;
+        private final SSLSocketFactory socketFactory;
+
+        Spi(SSLContext delegate, MeterRegistry meterRegistry) {
+            this.delegate = delegate;
+            this.meterRegistry = meterRegistry;
+            this.socketFactory = new TimedSocketFactory(delegate.getSocketFactory(), meterRegistry);
+        }
+
+        @Override
+        protected void engineInit(KeyManager[] keyManagers, TrustManager[] trustManagers,
+            SecureRandom random) throws KeyManagementException {
+            delegate.init(keyManagers, trustManagers, random);
+        }
+
+        @Override
+        protected SSLSocketFactory engineGetSocketFactory() {
+            // One instance, so pooled HttpsURLConnections recognise it and reuse connections
+            return socketFactory;
+        }
+
+        @Override
+        protected SSLServerSocketFactory engineGetServerSocketFactory() {
+            return delegate.getServerSocketFactory();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine() {
+            return new TimedEngine(delegate.createSSLEngine(), meterRegistry);
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine(String host, int port) {
+            return new TimedEngine(delegate.createSSLEngine(host, port), meterRegistry);
+        }
+
+        @Override
+        protected SSLSessionContext engineGetServerSessionContext() {
+            return delegate.getServerSessionContext();
+        }
+
+        @Override
+        protected SSLSessionContext engineGetClientSessionContext() {
+            return delegate.getClientSessionContext();
+        }
+
+        @Override
+        protected SSLParameters engineGetDefaultSSLParameters() {
+            return delegate.getDefaultSSLParameters();
+        }
+
+        @Override
+        protected SSLParameters engineGetSupportedSSLParameters() {
+            return delegate.getSupportedSSLParameters();
+        }
+    }
+
+    private static final class TimedSocketFactory extends SSLSocketFactory {
+
+        private final SSLSocketFactory delegate;
+        private final MeterRegistry meterRegistry;
+
+        TimedSocketFactory(SSLSocketFactory delegate, MeterRegistry meterRegistry) {
+            this.delegate = delegate;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public String[] getDefaultCipherSuites() {
+            return delegate.getDefaultCipherSuites();
+        }
+
+        @Override
+        public String[] getSupportedCipherSuites() {
+            return delegate.getSupportedCipherSuites();
+        }
+
+        @Override
+        public Socket createSocket() throws IOException {
+            return timed(delegate.createSocket());
+        }
+
+        @Override
+        public Socket createSocket(Socket socket, String host, int port, boolean autoClose)
+            throws IOException {
+            return timed(delegate.createSocket(socket, host, port, autoClose));
+        }
+
+        @Override
+        public Socket createSocket(Socket socket, InputStream consumed, boolean autoClose)
+            throws IOException {
+            return timed(delegate.createSocket(socket, consumed, autoClose));
+        }
+
+        @Override
+        public Socket createSocket(String host, int port) throws IOException {
+            return timed(delegate.createSocket(host, port));
+        }
+
+        @Override
+        public Socket createSocket(String host, int port, InetAddress localHost, int localPort)
+            throws IOException {
+            return timed(delegate.createSocket(host, port, localHost, localPort));
+        }
+
+        @Override
+        public Socket createSocket(InetAddress host, int port) throws IOException {
+            return timed(delegate.createSocket(host, port));
+        }
+
+        @Override
+        public Socket createSocket(InetAddress address, int port, InetAddress localAddress,
+            int localPort) throws IOException {
+            return timed(delegate.createSocket(address, port, localAddress, localPort));
+        }
+
+        private Socket timed(Socket socket) {
+            if (socket instanceof SSLSocket sslSocket) {
+                long start = System.nanoTime();
+                sslSocket.addHandshakeCompletedListener(event -> record(meterRegistry,
+                    event.getSession(), event.getSession().getPeerHost(), "SUCCESS",
+                    System.nanoTime() - start));
+            }
+            return socket;
+        }
+    }
+
+    /**
+     * Delegating engine that watches wrap/unwrap results for the end of the handshake.
+     */
+    private static final class TimedEngine extends SSLEngine {
+
+        private final SSLEngine delegate;
+        private final MeterRegistry meterRegistry;
+        // Wrap and unwrap may run on different threads
+        private volatile long handshakeStart;
+        private volatile boolean handshaken;
+
+        TimedEngine(SSLEngine delegate, MeterRegistry meterRegistry) {
+            super(delegate.getPeerHost(), delegate.getPeerPort());
+            this.delegate = delegate;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public SSLEngineResult wrap(ByteBuffer[] srcs, int offset, int length, ByteBuffer dst)
+            throws SSLException {
+            markStart();
+            try {
+                return observe(delegate.wrap(srcs, offset, length, dst));
+            } catch (SSLException e) {
+                fail();
+                throw e;
+            }
+        }
+
+        @Override
+        public SSLEngineResult unwrap(ByteBuffer src, ByteBuffer[] dsts, int offset, int length)
+            throws SSLException {
+            markStart();
+            try {
+                return observe(delegate.unwrap(src, dsts, offset, length));
+            } catch (SSLException e) {
+                fail();
+                throw e;
+            }
+        }
+
+        @Override
+        public void beginHandshake() throws SSLException {
+            handshakeStart = System.nanoTime();
+            delegate.beginHandshake();
+        }
+
+        private void markStart() {
+            if (handshakeStart == 0 && !handshaken
+                && delegate.getHandshakeStatus() != HandshakeStatus.NOT_HANDSHAKING) {
+                handshakeStart = System.nanoTime();
+            }
+        }
+
+        private SSLEngineResult observe(SSLEngineResult result) {
+            if (handshakeStart != 0 && result.getHandshakeStatus() == HandshakeStatus.FINISHED) {
+                record(meterRegistry, delegate.getSession(), getPeerHost(), "SUCCESS",
+                    System.nanoTime() - handshakeStart);
+                handshakeStart = 0;
+                handshaken = true;
+            }
+            return result;
+        }
+
+        private void fail() {
+            if (handshakeStart != 0) {
+                record(meterRegistry, delegate.getHandshakeSession(), getPeerHost(), "FAILURE",
+                    System.nanoTime() - handshakeStart);
+                handshakeStart = 0;
+            }
+        }
+
+        @Override
+        public Runnable getDelegatedTask() {
+            return delegate.getDelegatedTask();
+        }
+
+        @Override
+        public void closeInbound() throws SSLException {
+            delegate.closeInbound();
+        }
+
+        @Override
+        public boolean isInboundDone() {
+            return delegate.isInboundDone();
+        }
+
+        @Override
+        public void closeOutbound() {
+            delegate.closeOutbound();
+        }
+
+        @Override
+        public boolean isOutboundDone() {
+            return delegate.isOutboundDone();
+        }
+
+        @Override
+        public String[] getSupportedCipherSuites() {
+            return delegate.getSupportedCipherSuites();
+        }
+
+        @Override
+        public String[] getEnabledCipherSuites() {
+            return delegate.getEnabledCipherSuites();
+        }
+
+        @Override
+        public void setEnabledCipherSuites(String[] suites) {
+            delegate.setEnabledCipherSuites(suites);
+        }
+
+        @Override
+        public String[] getSupportedProtocols() {
+            return delegate.getSupportedProtocols();
+        }
+
+        @Override
+        public String[] getEnabledProtocols() {
+            return delegate.getEnabledProtocols();
+        }
+
+        @Override
+        public void setEnabledProtocols(String[] protocols) {
+            delegate.setEnabledProtocols(protocols);
+        }
+
+        @Override
+        public SSLSession getSession() {
+            return delegate.getSession();
+        }
+
+        @Override
+        public SSLSession getHandshakeSession() {
+            return delegate.getHandshakeSession();
+        }
+
+        @Override
+        public HandshakeStatus getHandshakeStatus() {
+            return delegate.getHandshakeStatus();
+        }
+
+        @Override
+        public void setUseClientMode(boolean mode) {
+            delegate.setUseClientMode(mode);
+        }
+
+        @Override
+        public boolean getUseClientMode() {
+            return delegate.getUseClientMode();
+        }
+
+        @Override
+        public void setNeedClientAuth(boolean need) {
+            delegate.setNeedClientAuth(need);
+        }
+
+        @Override
+        public boolean getNeedClientAuth() {
+            return delegate.getNeedClientAuth();
+        }
+
+        @Override
+        public void setWantClientAuth(boolean want) {
+            delegate.setWantClientAuth(want);
+        }
+
+        @Override
+        public boolean getWantClientAuth() {
+            return delegate.getWantClientAuth();
+        }
+
+        @Override
+        public void setEnableSessionCreation(boolean flag) {
+            delegate.setEnableSessionCreation(flag);
+        }
+
+        @Override
+        public boolean getEnableSessionCreation() {
+            return delegate.getEnableSessionCreation();
+        }
+
+        @Override
+        public SSLParameters getSSLParameters() {
+            return delegate.getSSLParameters();
+        }
+
+        @Override
+        public void setSSLParameters(SSLParameters params) {
+            delegate.setSSLParameters(params);
+        }
+
+        @Override
+        public String getApplicationProtocol() {
+            return delegate.getApplicationProtocol();
+        }
+
+        @Override
+        public String getHandshakeApplicationProtocol() {
+            return delegate.getHandshakeApplicationProtocol();
+        }
+
+        @Override
+        public void setHandshakeApplicationProtocolSelector(
+            BiFunction<SSLEngine, List<String>, String> selector) {
+            delegate.setHandshakeApplicationProtocolSelector(selector);
+        }
+
+        @Override
+        public BiFunction<SSLEngine, List<String>, String> getHandshakeApplicationProtocolSelector() {
+            return delegate.getHandshakeApplicationProtocolSelector();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package uk.gov.defra.cdp.trade.demo.configuration.tls;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client TLS session cache for the shared {@code SSLContext}. Every outbound client uses the
+ * same context, so a session negotiated by one can be resumed by any other.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "cdp.tls")
+public class TlsSessionConfig {
+
+    /**
+     * Sessions kept for resumption; 0 means unbounded.
+     */
+    private int sessionCacheSize = 1000;
+
+    /**
+     * How long a cached session can be resumed before a full handshake is needed again.
+     */
+    private Duration sessionTimeout = Duration.ofHours(1);
+}
@@ -1,5 +1,6 @@
 package uk.gov.defra.cdp.trade.demo.configuration.tls;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,6 +8,7 @@ import org.springframework.core.annotation.Order;
 import org.springframework.core.Ordered;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
@@ -23,8 +25,10 @@ import java.util.Arrays;
  * 1. Default JVM trust store certificates
  * 2. Custom CDP TRUSTSTORE_* certificates
  *
- * This SSLContext is used by MongoDB client, RestTemplate, WebClient, and any other
- * HTTP/TLS clients in the application.
+ * This SSLContext is shared by the MongoDB client, RestClient/RestTemplate, the Feign clients
+ * and the STS client, so they share one TLS session cache (sized and timed out by
+ * {@link TlsSessionConfig}) and resume each other's sessions instead of repeating full handshakes.
+ * Handshakes are published as {@code tls.handshakes}.
  *
  * The configuration runs at HIGHEST_PRECEDENCE to ensure the SSLContext is available
  * before other beans (like MongoClient) are created.
@@ -35,9 +39,12 @@ import java.util.Arrays;
 public class TrustStoreConfiguration {
 
     private final CertificateLoader certificateLoader;
+    private final TlsSessionConfig tlsSessionConfig;
 
-    public TrustStoreConfiguration(CertificateLoader certificateLoader) {
+    public TrustStoreConfiguration(CertificateLoader certificateLoader,
+                                   TlsSessionConfig tlsSessionConfig) {
         this.certificateLoader = certificateLoader;
+        this.tlsSessionConfig = tlsSessionConfig;
     }
 
     /**
@@ -48,7 +55,7 @@ public class TrustStoreConfiguration {
      * This SSLContext can be used by MongoDB client, RestTemplate, WebClient, etc.
      */
     @Bean
-    public SSLContext customSslContext() {
+    public SSLContext customSslContext(MeterRegistry meterRegistry) {
         log.info("Initializing custom SSL context with CDP certificates");
 
         try {
@@ -62,9 +69,14 @@ public class TrustStoreConfiguration {
             SSLContext sslContext = SSLContext.getInstance("TLS");
             sslContext.init(null, new TrustManager[]{combinedTrustManager}, new SecureRandom());
 
+            // One client session cache for every outbound connection
+            SSLSessionContext sessions = sslContext.getClientSessionContext();
+            sessions.setSessionCacheSize(tlsSessionConfig.getSessionCacheSize());
+            sessions.setSessionTimeout((int) tlsSessionConfig.getSessionTimeout().toSeconds());
+
             log.info("Custom SSL context initialized successfully with 1 custom certificate");
 
-            return sslContext;
+            return new InstrumentedSslContext(sslContext, meterRegistry);
 
         } catch (Exception e) {
             log.error("Failed to initialize custom SSL context: {}", e.getMessage(), e);
@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.jmx.export.annotation.ManagedMetric;
 import org.springframework.jmx.support.MetricType;
@@ -26,8 +27,11 @@ import uk.gov.defra.cdp.trade.demo.service.ExampleService;
  * - OpenAPI/Swagger documentation
  * - Request tracing via MDC (automatic via RequestTracingFilter)
  * - Structured logging in ECS format
+ *
+ * Demo only: not registered outside the local and integration-test profiles.
  */
 @RestController
+@Profile("local | integration-test")
 @RequestMapping("/example")
 @Tag(name = "Example API", description = "CRUD operations for examples (CDP compliance demonstration)")
 @Slf4j
@@ -3,12 +3,16 @@ package uk.gov.defra.cdp.trade.demo.controller;
 import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmResponse;
-import uk.gov.defra.cdp.trade.demo.service.MdmService;
+import uk.gov.defra.cdp.trade.demo.configuration.ReferenceDataConfig;
+import uk.gov.defra.cdp.trade.demo.service.MdmResponseCache;
+import uk.gov.defra.cdp.trade.demo.service.MdmResponseCache.EncodedResponse;
 
 @Slf4j
 @RestController
@@ -16,12 +20,30 @@ import uk.gov.defra.cdp.trade.demo.service.MdmService;
 @RequestMapping("/mdm")
 public class MdmController {
     
-    private final MdmService mdmService;
+    private final MdmResponseCache mdmResponseCache;
+    private final ReferenceDataConfig referenceDataConfig;
     
+    /**
+     * The MDM BCP register as JSON, or CBOR if asked for in {@code Accept}, gzipped when the
+     * client accepts it. Bodies are encoded once per reference data snapshot and written as-is;
+     * a matching {@code If-None-Match} gets a 304 without a body.
+     */
     @GetMapping(value = "/bcps")
     @Timed("controller.getBcps.time")
-    public ResponseEntity<MdmResponse> getBcps() {
-      
-          return ResponseEntity.ok(mdmService.getBcps());
+    public ResponseEntity<byte[]> getBcps(
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+        String acceptEncoding) {
+
+        EncodedResponse response = mdmResponseCache.get(accept, acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(response.contentType())
+            .eTag(response.eTag())
+            .cacheControl(CacheControl.maxAge(referenceDataConfig.getCacheMaxAge()).cachePublic())
+            .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (response.contentEncoding() != null) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, response.contentEncoding());
+        }
+        return builder.body(response.body());
     }
 }
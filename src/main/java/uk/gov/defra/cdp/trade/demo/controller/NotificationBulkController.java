@@ -0,0 +1,51 @@
+package uk.gov.defra.cdp.trade.demo.controller;
+
+import io.micrometer.core.annotation.Timed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.defra.cdp.trade.demo.domain.BulkImportResult;
+import uk.gov.defra.cdp.trade.demo.service.NotificationBulkImportService;
+
+/**
+ * Bulk import of draft notifications for upstream migrations.
+ */
+@RestController
+@RequestMapping("/notifications")
+@Tag(name = "Notification API", description = "Manage import notifications (CHEDs)")
+@Slf4j
+public class NotificationBulkController {
+
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final NotificationBulkImportService bulkImportService;
+
+    public NotificationBulkController(NotificationBulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    /**
+     * Create or update many draft notifications in one request. The body is streamed, either as a
+     * JSON array of notifications or as newline-delimited JSON.
+     *
+     * @param body the request body
+     * @return the outcome of every item, in request order
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/bulk",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Bulk import notifications",
+        description = "Creates or updates draft notifications from a JSON array or NDJSON stream "
+            + "and returns the outcome of each item")
+    @Timed("controller.postNotificationsBulk.time")
+    public BulkImportResult bulkImport(InputStream body) throws IOException {
+        log.info("POST /notifications/bulk - Importing notifications");
+        return bulkImportService.importNotifications(body);
+    }
+}
@@ -14,11 +14,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import uk.gov.defra.cdp.trade.demo.domain.Notification;
 import uk.gov.defra.cdp.trade.demo.domain.NotificationDto;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchResult;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationView;
+import uk.gov.defra.cdp.trade.demo.service.NotificationSearchService;
 import uk.gov.defra.cdp.trade.demo.service.NotificationService;
+import uk.gov.defra.cdp.trade.demo.service.NotificationViewService;
 
 /**
  * REST API for Notification (CHED) operations.
@@ -33,9 +38,15 @@ import uk.gov.defra.cdp.trade.demo.service.NotificationService;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationViewService notificationViewService;
+    private final NotificationSearchService notificationSearchService;
 
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService,
+        NotificationViewService notificationViewService,
+        NotificationSearchService notificationSearchService) {
         this.notificationService = notificationService;
+        this.notificationViewService = notificationViewService;
+        this.notificationSearchService = notificationSearchService;
     }
 
     /**
@@ -68,6 +79,27 @@ public class NotificationController {
         return notificationService.findAll();
     }
 
+    /**
+     * Search notifications by CHED reference, vehicle ID, commodity description or species name.
+     * Whole words are ranked by relevance; when no whole word matches, each word is matched as a
+     * prefix instead.
+     *
+     * @param q    the words to look for
+     * @param page zero-based page number
+     * @param size page size
+     * @return one page of matching notifications
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search notifications",
+        description = "Finds notifications by CHED reference, vehicle ID, commodity description or species name")
+    @Timed("controller.searchNotifications.time")
+    public NotificationSearchResult search(@RequestParam String q,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(required = false) Integer size) {
+        log.debug("GET /notifications/search - Searching notifications (page: {})", page);
+        return notificationSearchService.search(q, page, size);
+    }
+
     /**
      * Get a notification by ID.
      *
@@ -82,6 +114,23 @@ public class NotificationController {
         return notificationService.findById(id);
     }
 
+    /**
+     * Get a notification with its BCP name and points of entry resolved from the local reference
+     * data snapshot. The notification and reference data are fetched concurrently; if reference
+     * data is not available in time the notification is returned without it.
+     *
+     * @param id the notification ID
+     * @return the enriched notification
+     */
+    @GetMapping("/{id}/view")
+    @Operation(summary = "Get notification view",
+        description = "Returns a notification with BCP and point of entry details")
+    @Timed("controller.getNotificationView.time")
+    public NotificationView view(@PathVariable String id) {
+        log.debug("GET /notifications/{}/view - Fetching notification view", id);
+        return notificationViewService.view(id);
+    }
+
     /**
      * Delete a notification.
      *
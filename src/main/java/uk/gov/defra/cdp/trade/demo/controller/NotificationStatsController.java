@@ -0,0 +1,50 @@
+package uk.gov.defra.cdp.trade.demo.controller;
+
+import io.micrometer.core.annotation.Timed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationStats;
+import uk.gov.defra.cdp.trade.demo.service.NotificationStatsService;
+
+/**
+ * Dashboard statistics for import notifications.
+ */
+@RestController
+@RequestMapping("/notifications")
+@Tag(name = "Notification API", description = "Manage import notifications (CHEDs)")
+@Slf4j
+public class NotificationStatsController {
+
+    private final NotificationStatsService notificationStatsService;
+
+    public NotificationStatsController(NotificationStatsService notificationStatsService) {
+        this.notificationStatsService = notificationStatsService;
+    }
+
+    /**
+     * Get notification counts by day, status, origin country and BCP, and animal and package
+     * totals per species, for notifications created between two dates.
+     *
+     * @param from first creation day (inclusive), defaults to 30 days before {@code to}
+     * @param to   last creation day (inclusive), defaults to today
+     * @return the statistics
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Notification statistics",
+        description = "Returns notification counts and species totals for a range of creation days")
+    @Timed("controller.getNotificationStats.time")
+    public NotificationStats stats(
+        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to) {
+        log.debug("GET /notifications/stats - Fetching statistics from {} to {}", from, to);
+        return notificationStatsService.stats(from, to);
+    }
+}
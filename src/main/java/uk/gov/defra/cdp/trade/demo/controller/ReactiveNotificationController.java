@@ -0,0 +1,85 @@
+package uk.gov.defra.cdp.trade.demo.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDto;
+import uk.gov.defra.cdp.trade.demo.service.ReactiveNotificationService;
+
+/**
+ * Non-blocking variant of the {@link NotificationController} API, served alongside it when
+ * {@code cdp.reactive.enabled} is set.
+ * <p>
+ * Handlers return {@link Mono} or {@link Flux}, so the servlet thread is released as soon as the
+ * pipeline is assembled and the response is written when it completes. Requests and responses
+ * are the same as {@code /notifications}.
+ */
+@RestController
+@RequestMapping("/reactive/notifications")
+@Tag(name = "Reactive Notification API",
+    description = "Manage import notifications (CHEDs) without blocking request threads")
+@Slf4j
+@ConditionalOnBooleanProperty("cdp.reactive.enabled")
+public class ReactiveNotificationController {
+
+    private final ReactiveNotificationService notificationService;
+
+    public ReactiveNotificationController(ReactiveNotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @PutMapping
+    @Operation(summary = "Save or update notification", description = "Creates a new notification or updates an existing one based on ID")
+    public Mono<Notification> saveOrUpdate(@Valid @RequestBody NotificationDto notificationDto) {
+        log.info(
+            "PUT /reactive/notifications - Saving or updating notification (ID: {}, CHED reference: {})",
+            notificationDto.getId(), notificationDto.getChedReference());
+        return notificationService.saveOrUpdate(notificationDto);
+    }
+
+    @GetMapping
+    @Operation(summary = "List notifications", description = "Returns all import notifications")
+    public Flux<Notification> findAll() {
+        log.debug("GET /reactive/notifications - Fetching all notifications");
+        return notificationService.findAll();
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get notification by ID", description = "Returns a single notification by ID")
+    public Mono<Notification> findById(@PathVariable String id) {
+        log.debug("GET /reactive/notifications/{} - Fetching notification", id);
+        return notificationService.findById(id);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Delete notification", description = "Deletes a notification by ID")
+    public Mono<Void> delete(@PathVariable String id) {
+        log.info("DELETE /reactive/notifications/{} - Deleting notification", id);
+        return notificationService.delete(id);
+    }
+
+    @PostMapping("/submit")
+    @Operation(summary = "Submit notification to IPAFFS",
+        description = "Submits notification to IPAFFS and returns CHED reference")
+    public Mono<Notification> submit(@Valid @RequestBody NotificationDto notificationDto) {
+        log.info("POST /reactive/notifications/submit - Submitting notification (ID: {})",
+            notificationDto.getId());
+        return notificationService.submit(notificationDto);
+    }
+}
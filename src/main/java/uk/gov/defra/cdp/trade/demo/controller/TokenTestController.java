@@ -2,6 +2,7 @@ package uk.gov.defra.cdp.trade.demo.controller;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,6 +17,7 @@ import uk.gov.defra.cdp.trade.demo.configuration.AwsConfig;
  * */
 
 @Slf4j
+@Profile("local | integration-test")
 @RequestMapping("/ipaffs")
 @RestController
 @AllArgsConstructor
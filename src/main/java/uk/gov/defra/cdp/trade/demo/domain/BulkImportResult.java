@@ -0,0 +1,36 @@
+package uk.gov.defra.cdp.trade.demo.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uk.gov.defra.cdp.trade.demo.domain.BulkItemResult.Outcome;
+
+/**
+ * Response of a bulk notification import: totals plus the outcome of every item, in request
+ * order.
+ */
+@Data
+@NoArgsConstructor
+public class BulkImportResult {
+
+    private int received;
+    private int created;
+    private int updated;
+    private int rejected;
+    private List<BulkItemResult> items = new ArrayList<>();
+
+    public void add(BulkItemResult item) {
+        received++;
+        switch (item.getOutcome()) {
+            case CREATED -> created++;
+            case UPDATED -> updated++;
+            case REJECTED -> rejected++;
+        }
+        items.add(item);
+    }
+
+    public void reject(int index, String id, String error) {
+        add(new BulkItemResult(index, id, Outcome.REJECTED, error));
+    }
+}
@@ -0,0 +1,30 @@
+package uk.gov.defra.cdp.trade.demo.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single item in a bulk notification import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        REJECTED
+    }
+
+    /**
+     * Zero-based position of the item in the request body.
+     */
+    private int index;
+    private String id;
+    private Outcome outcome;
+    private String error;
+}
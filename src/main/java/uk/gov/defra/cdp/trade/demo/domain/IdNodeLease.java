@@ -0,0 +1,27 @@
+package uk.gov.defra.cdp.trade.demo.domain;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A node's lease on a notification ID slot, used by the {@code leased} ID strategy.
+ * <p>
+ * {@code day} and {@code reservedUpTo} record the highest sequence handed to the owner, so an
+ * instance that takes the slot over later in the same day carries on after it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "id_node_leases")
+public class IdNodeLease {
+    @Id
+    private Integer slot;
+    private String owner;
+    private Instant expiresAt;
+    private String day;
+    private Long reservedUpTo;
+}
@@ -1,10 +1,13 @@
 package uk.gov.defra.cdp.trade.demo.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -13,13 +16,31 @@ import org.springframework.data.mongodb.core.mapping.Document;
  *
  * Represents the complete notification/CHED data collected through the import journey
  * in trade-demo-frontend, including origin country, commodity information, and purpose.
+ *
+ * The CHED reference, vehicle ID, commodity description and species names are covered by the
+ * collection's text index, and {@link #searchTerms} by a multikey index for prefix search. The
+ * text index is declared here rather than with {@code @TextIndexed} because that does not reach
+ * into the species list.
+ *
+ * Submitted notifications are moved to {@link #ARCHIVE_COLLECTION} once they are old enough, found
+ * through the {@code status_updated} index; abandoned drafts expire through a TTL index on
+ * {@code updated} (see {@code NotificationLifecycleService}).
  */
 @Document(collection = "notifications")
+@CompoundIndex(name = "notification_search_text", def = "{'chedReference': 'text', "
+    + "'transport.vehicleId': 'text', 'commodity.description': 'text', "
+    + "'commodity.species.name': 'text'}")
+@CompoundIndex(name = "status_updated", def = "{'status': 1, 'updated': 1}")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Notification {
 
+    /**
+     * Where submitted notifications are kept once archived, in the same shape.
+     */
+    public static final String ARCHIVE_COLLECTION = "notifications_archive";
+
     @Id
     private String id;
 
@@ -38,7 +59,16 @@ public class Notification {
     
     private Transport transport;
 
+    @Indexed
     private LocalDateTime created;
 
     private LocalDateTime updated;
+
+    /**
+     * Derived from the searchable fields by {@link NotificationSearchTerms}; set whenever they
+     * change, and after startup for notifications saved before it existed.
+     */
+    @Indexed
+    @JsonIgnore
+    private List<String> searchTerms;
 }
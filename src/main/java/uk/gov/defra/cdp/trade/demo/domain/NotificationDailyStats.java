@@ -0,0 +1,75 @@
+package uk.gov.defra.cdp.trade.demo.domain;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Counts for the notifications created on one day, kept up to date with {@code $inc} on every
+ * notification write so statistics are read from one document per day rather than from the
+ * notifications themselves.
+ * <p>
+ * Map keys are status, origin country, BCP code and species name values, encoded with
+ * {@link #key} because Mongo field names cannot contain {@code .} or start with {@code $}.
+ */
+@Document(collection = "notification_daily_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDailyStats {
+
+    /**
+     * Key used when a notification has no value for a counted field.
+     */
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final char FULLWIDTH_STOP = '\uFF0E';
+    private static final char FULLWIDTH_DOLLAR = '\uFF04';
+
+    /**
+     * The creation day, {@code yyyy-MM-dd}, so a range of days is a range of IDs.
+     */
+    @Id
+    private String day;
+
+    private long total;
+
+    private Map<String, Long> status = new HashMap<>();
+
+    private Map<String, Long> originCountry = new HashMap<>();
+
+    private Map<String, Long> bcp = new HashMap<>();
+
+    private Map<String, SpeciesTotals> species = new HashMap<>();
+
+    /**
+     * Incremented by every write, so a rebuild only replaces the version it read.
+     */
+    private long version;
+
+    /**
+     * @param value a field value, or null
+     * @return the value as a map key, with {@code .} and a leading {@code $} replaced by their
+     *     full-width forms
+     */
+    public static String key(String value) {
+        if (value == null || value.isBlank()) {
+            return UNKNOWN;
+        }
+        String key = value.replace('.', FULLWIDTH_STOP);
+        return key.charAt(0) == '$' ? FULLWIDTH_DOLLAR + key.substring(1) : key;
+    }
+
+    /**
+     * @param key a map key made by {@link #key}
+     * @return the original value
+     */
+    public static String value(String key) {
+        String value = key.replace(FULLWIDTH_STOP, '.');
+        return value.charAt(0) == FULLWIDTH_DOLLAR ? '$' + value.substring(1) : value;
+    }
+}
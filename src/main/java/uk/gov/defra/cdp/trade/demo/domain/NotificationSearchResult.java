@@ -0,0 +1,35 @@
+package uk.gov.defra.cdp.trade.demo.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of {@code GET /notifications/search} results, most relevant first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationSearchResult {
+
+    /**
+     * How the results were matched.
+     */
+    public enum Match {
+        /** Whole words through the text index, ordered by text score. */
+        TEXT,
+        /** Term prefixes, newest first; used when no whole word matched. */
+        PREFIX,
+        /** Nothing to search on. */
+        NONE
+    }
+
+    private String query;
+    private Match match;
+    private int page;
+    private int size;
+    private long total;
+    private List<Notification> results = new ArrayList<>();
+}
@@ -0,0 +1,90 @@
+package uk.gov.defra.cdp.trade.demo.domain;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Lower-case search terms for a notification, stored in {@code searchTerms} so that a prefix of
+ * a CHED reference, vehicle ID, commodity description word or species name word can be found
+ * with an anchored regex on a single multikey index.
+ * <p>
+ * CHED references and vehicle IDs are kept whole (without spaces) as well as split into words,
+ * so both {@code cheda.gb.2025} and {@code 2025} match {@code CHEDA.GB.2025.1234567}.
+ */
+public final class NotificationSearchTerms {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private NotificationSearchTerms() {
+    }
+
+    /**
+     * @param notification the notification to index
+     * @return its distinct search terms in sorted order, or null if it has nothing to search on
+     */
+    public static List<String> of(Notification notification) {
+        Set<String> terms = new TreeSet<>();
+        addWhole(terms, notification.getChedReference());
+        Transport transport = notification.getTransport();
+        if (transport != null) {
+            addWhole(terms, transport.getVehicleId());
+        }
+        Commodity commodity = notification.getCommodity();
+        if (commodity != null) {
+            addWords(terms, commodity.getDescription());
+            if (commodity.getSpecies() != null) {
+                commodity.getSpecies().forEach(species -> {
+                    if (species != null) {
+                        addWords(terms, species.getName());
+                    }
+                });
+            }
+        }
+        return terms.isEmpty() ? null : new ArrayList<>(terms);
+    }
+
+    /**
+     * Split a search query into distinct lower-case terms, in the order they were typed.
+     *
+     * @param query    the query as typed
+     * @param maxTerms terms beyond this many are ignored
+     * @return the terms, empty if the query is blank
+     */
+    public static List<String> parse(String query, int maxTerms) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : WHITESPACE.split(query.strip().toLowerCase(Locale.ROOT))) {
+            if (terms.size() == maxTerms) {
+                break;
+            }
+            terms.add(term);
+        }
+        return List.copyOf(terms);
+    }
+
+    private static void addWhole(Set<String> terms, String value) {
+        if (value != null && !value.isBlank()) {
+            terms.add(WHITESPACE.matcher(value.toLowerCase(Locale.ROOT)).replaceAll(""));
+            addWords(terms, value);
+        }
+    }
+
+    private static void addWords(Set<String> terms, String value) {
+        if (value == null) {
+            return;
+        }
+        for (String word : WORD_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                terms.add(word);
+            }
+        }
+    }
+}
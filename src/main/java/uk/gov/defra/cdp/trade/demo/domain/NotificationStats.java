@@ -0,0 +1,61 @@
+package uk.gov.defra.cdp.trade.demo.domain;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notification counts for the days from {@code from} to {@code to} inclusive, by creation day,
+ * status, origin country and BCP, plus animal and package totals per species.
+ */
+@Data
+@NoArgsConstructor
+public class NotificationStats {
+
+    private LocalDate from;
+    private LocalDate to;
+    private long total;
+    private Map<String, Long> byDay = new TreeMap<>();
+    private Map<String, Long> byStatus = new TreeMap<>();
+    private Map<String, Long> byOriginCountry = new TreeMap<>();
+    private Map<String, Long> byBcp = new TreeMap<>();
+    private Map<String, SpeciesTotals> bySpecies = new TreeMap<>();
+
+    public NotificationStats(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Add one day's rollup. Keys whose count has gone to zero are left out.
+     */
+    public void add(NotificationDailyStats day) {
+        if (day.getTotal() != 0) {
+            total += day.getTotal();
+            byDay.put(day.getDay(), day.getTotal());
+        }
+        addCounts(byStatus, day.getStatus());
+        addCounts(byOriginCountry, day.getOriginCountry());
+        addCounts(byBcp, day.getBcp());
+        if (day.getSpecies() != null) {
+            day.getSpecies().forEach((key, totals) -> {
+                if (totals.getNotifications() != 0) {
+                    bySpecies.computeIfAbsent(NotificationDailyStats.value(key),
+                        k -> new SpeciesTotals()).add(totals);
+                }
+            });
+        }
+    }
+
+    private static void addCounts(Map<String, Long> totals, Map<String, Long> counts) {
+        if (counts != null) {
+            counts.forEach((key, count) -> {
+                if (count != null && count != 0) {
+                    totals.merge(NotificationDailyStats.value(key), count, Long::sum);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package uk.gov.defra.cdp.trade.demo.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A notification enriched with the reference data the frontend needs to display it.
+ * <p>
+ * When reference data cannot be loaded in time {@code referenceDataAvailable} is false and the
+ * BCP and points of entry are left empty, the notification itself is always present.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationView {
+
+    private Notification notification;
+
+    /**
+     * The BCP named in the notification's transport details, or null if it has none or the code
+     * is not an active BCP.
+     */
+    private BcpDto borderControlPost;
+
+    /**
+     * Active points of entry for the notification's BCP.
+     */
+    @Builder.Default
+    private List<PoeDto> pointsOfEntry = List.of();
+
+    private boolean referenceDataAvailable;
+}
@@ -0,0 +1,25 @@
+package uk.gov.defra.cdp.trade.demo.domain;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Requests admitted by all instances for one rate limit bucket in one sync window. Removed by
+ * the TTL index once the window is over.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "rate_limit_counters")
+public class RateLimitCounter {
+    @Id
+    private String id;
+    private long count;
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+}
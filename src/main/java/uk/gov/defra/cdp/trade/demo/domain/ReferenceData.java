@@ -0,0 +1,31 @@
+package uk.gov.defra.cdp.trade.demo.domain;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmResponse;
+
+/**
+ * Immutable snapshot of the active border control posts and their points of entry, keyed by BCP
+ * code.
+ *
+ * @param bcps active BCPs by code
+ * @param pointsOfEntry active points of entry by the code of the BCP they belong to
+ * @param source the MDM response the snapshot was built from, served as-is by /mdm/bcps; must
+ *     not be modified
+ * @param loadedAt when the snapshot was taken
+ */
+public record ReferenceData(
+    Map<String, BcpDto> bcps,
+    Map<String, List<PoeDto>> pointsOfEntry,
+    MdmResponse source,
+    Instant loadedAt) {
+
+    public BcpDto bcp(String code) {
+        return code == null ? null : bcps.get(code);
+    }
+
+    public List<PoeDto> pointsOfEntry(String bcpCode) {
+        return bcpCode == null ? List.of() : pointsOfEntry.getOrDefault(bcpCode, List.of());
+    }
+}
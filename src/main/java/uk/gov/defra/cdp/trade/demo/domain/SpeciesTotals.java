@@ -0,0 +1,24 @@
+package uk.gov.defra.cdp.trade.demo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notifications listing a species and the animals and packages they declare for it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpeciesTotals {
+
+    private long notifications;
+    private long animals;
+    private long packages;
+
+    public void add(SpeciesTotals other) {
+        notifications += other.notifications;
+        animals += other.animals;
+        packages += other.packages;
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.defra.cdp.trade.demo.domain.repository;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +14,7 @@ import uk.gov.defra.cdp.trade.demo.domain.Example;
  * Spring Data MongoDB automatically implements this interface.
  */
 @Repository
+@Profile("local | integration-test")
 public interface ExampleRepository extends MongoRepository<Example, String> {
 
     /**
@@ -7,8 +7,10 @@ import uk.gov.defra.cdp.trade.demo.domain.Notification;
 /**
  * Spring Data MongoDB repository for Notification entity.
  *
- * Provides standard CRUD operations for managing import notifications.
+ * Provides standard CRUD operations for managing import notifications, plus the queries in
+ * {@link NotificationRepositoryCustom}.
  */
 @Repository
-public interface NotificationRepository extends MongoRepository<Notification, String> {
+public interface NotificationRepository extends MongoRepository<Notification, String>,
+    NotificationRepositoryCustom {
 }
@@ -0,0 +1,55 @@
+package uk.gov.defra.cdp.trade.demo.domain.repository;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+
+/**
+ * Notification queries that need more than a derived query.
+ */
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Find a notification by ID, seeing every write this instance has made even when the read is
+     * served by a secondary. Archived notifications are found too.
+     *
+     * @param id the notification ID
+     * @return the notification, or empty if it does not exist
+     */
+    Optional<Notification> findByIdAfterWrites(String id);
+
+    /**
+     * Find a notification in the archive.
+     *
+     * @param id the notification ID
+     * @return the archived notification, or empty if it has not been archived
+     */
+    Optional<Notification> findArchivedById(String id);
+
+    /**
+     * Delete a notification from the archive, if it is there.
+     *
+     * @param id the notification ID
+     */
+    void deleteArchivedById(String id);
+
+    /**
+     * Find notifications containing any of the words through the text index, best match first.
+     *
+     * @param words    lower-case words, matched whole after stemming
+     * @param pageable the page to return; its sort is ignored
+     * @return the page, ordered by text score then most recently updated
+     */
+    Page<Notification> searchText(List<String> words, Pageable pageable);
+
+    /**
+     * Find notifications with a search term starting with each of the prefixes.
+     *
+     * @param prefixes lower-case prefixes, all of which must match
+     * @param pageable the page to return; its sort is ignored
+     * @return the page, most recently updated first
+     */
+    Page<Notification> searchPrefix(List<String> prefixes, Pageable pageable);
+}
@@ -0,0 +1,117 @@
+package uk.gov.defra.cdp.trade.demo.domain.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadConcern;
+import com.mongodb.client.ClientSession;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+import uk.gov.defra.cdp.trade.demo.configuration.CausalWriteTracker;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+
+/**
+ * Reads by ID in a causally consistent session with majority read concern, advanced past the
+ * latest write this instance made to that notification (see {@link CausalWriteTracker}), so a GET
+ * following a PUT on the same instance does not return the previous version from a lagging
+ * secondary.
+ * <p>
+ * Searches run outside a session: results may trail the latest writes by replication lag.
+ * <p>
+ * A notification missing from {@code notifications} is looked up in the archive, so reads by ID
+ * do not change when it is archived. Archived notifications are not searched.
+ */
+@RequiredArgsConstructor
+class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    private static final ClientSessionOptions CAUSAL = ClientSessionOptions.builder()
+        .causallyConsistent(true)
+        .build();
+
+    private static final Sort NEWEST_FIRST = Sort.by(Direction.DESC, "updated");
+
+    private final MongoTemplate mongoTemplate;
+    private final CausalWriteTracker causalWriteTracker;
+
+    @Override
+    public Optional<Notification> findByIdAfterWrites(String id) {
+        try (ClientSession session = mongoTemplate.getMongoDatabaseFactory().getSession(CAUSAL)) {
+            causalWriteTracker.advance(session, id);
+            MongoOperations operations = mongoTemplate.withSession(session);
+            // Read your writes needs majority reads as well as majority writes
+            Query byId = Query.query(where("_id").is(id)).withReadConcern(ReadConcern.MAJORITY);
+            Notification notification = operations.findOne(byId, Notification.class);
+            if (notification == null) {
+                // The archive copy is written before the live one is removed, so a
+                // notification being archived is found in one or the other
+                notification = operations.findOne(byId, Notification.class,
+                    Notification.ARCHIVE_COLLECTION);
+            }
+            return Optional.ofNullable(notification);
+        }
+    }
+
+    @Override
+    public Optional<Notification> findArchivedById(String id) {
+        return Optional.ofNullable(
+            mongoTemplate.findById(id, Notification.class, Notification.ARCHIVE_COLLECTION));
+    }
+
+    @Override
+    public void deleteArchivedById(String id) {
+        mongoTemplate.remove(Query.query(where("_id").is(id)), Notification.ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public Page<Notification> searchText(List<String> words, Pageable pageable) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage()
+                .matchingAny(words.toArray(String[]::new)))
+            .sortByScore()
+            .with(NEWEST_FIRST);
+        return page(query, pageable);
+    }
+
+    @Override
+    public Page<Notification> searchPrefix(List<String> prefixes, Pageable pageable) {
+        Criteria[] criteria = prefixes.stream()
+            .map(prefix -> where("searchTerms").regex("^" + escape(prefix)))
+            .toArray(Criteria[]::new);
+        Query query = new Query(new Criteria().andOperator(criteria)).with(NEWEST_FIRST);
+        return page(query, pageable);
+    }
+
+    private Page<Notification> page(Query query, Pageable pageable) {
+        query.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        List<Notification> content = mongoTemplate.find(query, Notification.class);
+        return PageableExecutionUtils.getPage(content, pageable,
+            () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Notification.class));
+    }
+
+    /**
+     * Escape everything but ASCII letters and digits with a backslash, which keeps the regex a
+     * plain prefix that Mongo turns into index bounds ({@code Pattern.quote}'s {@code \Q..\E}
+     * would not be).
+     */
+    static String escape(String prefix) {
+        StringBuilder escaped = new StringBuilder(prefix.length() + 8);
+        prefix.codePoints().forEach(c -> {
+            if (!(c < 128 && Character.isLetterOrDigit(c))) {
+                escaped.append('\\');
+            }
+            escaped.appendCodePoint(c);
+        });
+        return escaped.toString();
+    }
+}
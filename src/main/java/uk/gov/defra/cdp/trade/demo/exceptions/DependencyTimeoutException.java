@@ -0,0 +1,12 @@
+package uk.gov.defra.cdp.trade.demo.exceptions;
+
+/**
+ * Exception thrown when a dependency does not answer within its time budget.
+ * Will be mapped to 504 Gateway Timeout by GlobalExceptionHandler.
+ */
+public class DependencyTimeoutException extends RuntimeException {
+
+    public DependencyTimeoutException(String message) {
+        super(message);
+    }
+}
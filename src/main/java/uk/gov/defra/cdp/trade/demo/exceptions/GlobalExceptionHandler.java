@@ -21,7 +21,7 @@ import java.util.Map;
  *
  * CDP Compliance:
  * - Structured error responses with trace ID
- * - Proper HTTP status codes (400, 404, 409, 500)
+ * - Proper HTTP status codes (400, 404, 409, 500, 504)
  * - Validation errors with field-level details
  * - Logs errors with trace ID for troubleshooting
  */
@@ -108,6 +108,29 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
+    /**
+     * Handle dependency timeouts (504 Gateway Timeout).
+     */
+    @ExceptionHandler(DependencyTimeoutException.class)
+    public ProblemDetail handleDependencyTimeoutException(DependencyTimeoutException ex) {
+        String traceId = MDC.get(MDC_TRACE_ID);
+        log.warn("Dependency timeout (trace: {}): {}", traceId, ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+            HttpStatus.GATEWAY_TIMEOUT,
+            ex.getMessage()
+        );
+
+        problemDetail.setType(URI.create("https://api.cdp.defra.cloud/problems/dependency-timeout"));
+        problemDetail.setTitle("Dependency Timeout");
+
+        if (traceId != null) {
+            problemDetail.setProperty("traceId", traceId);
+        }
+
+        return problemDetail;
+    }
+
     /**
      * Handle unexpected errors (500 Internal Server Error).
      *
@@ -6,21 +6,15 @@ import ch.qos.logback.core.spi.FilterReply;
 
 /**
  * Logback filter that excludes health check endpoint requests from logs to reduce noise.
- * Checks if the MDC contains a url.full field that includes "/health".
+ * Denies events logged while {@link RequestTracingFilter} is serving an excluded path.
+ *
+ * <p>The check reads the logging thread's request state, so the filter must sit on an appender
+ * that runs on the caller's thread (the async appender, not the console appender behind it).
  */
 public class HealthCheckFilter extends Filter<ILoggingEvent> {
 
     @Override
     public FilterReply decide(ILoggingEvent event) {
-        if (event.getMDCPropertyMap() == null) {
-            return FilterReply.NEUTRAL;
-        }
-
-        String url = event.getMDCPropertyMap().get("url.full");
-        if (url != null && url.contains("/health")) {
-            return FilterReply.DENY;
-        }
-
-        return FilterReply.NEUTRAL;
+        return TracingContext.isExcluded() ? FilterReply.DENY : FilterReply.NEUTRAL;
     }
 }
@@ -0,0 +1,122 @@
+package uk.gov.defra.cdp.trade.demo.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import uk.gov.defra.cdp.trade.demo.configuration.RateLimitConfig;
+import uk.gov.defra.cdp.trade.demo.ratelimit.Decision;
+import uk.gov.defra.cdp.trade.demo.ratelimit.RateLimiter;
+
+/**
+ * Applies the {@link RateLimiter} to requests on a configured route.
+ *
+ * Runs after {@link RequestTracingFilter}, so refusals are logged with the trace ID. Limited
+ * responses carry {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset}; refused ones are a 429 problem detail with {@code Retry-After}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnBooleanProperty(name = "rate-limit.enabled", matchIfMissing = true)
+public class RateLimitFilter implements Filter {
+
+    static final String LIMIT = "RateLimit-Limit";
+    static final String REMAINING = "RateLimit-Remaining";
+    static final String RESET = "RateLimit-Reset";
+
+    private static final String MDC_TRACE_ID = "trace.id";
+    private static final int MAX_CLIENT_LENGTH = 64;
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final String clientHeader;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper,
+        RateLimitConfig config) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.clientHeader = config.getClientHeader();
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (!(request instanceof HttpServletRequest httpRequest)
+            || !(response instanceof HttpServletResponse httpResponse)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Route route = rateLimiter.route(httpRequest.getMethod(),
+            httpRequest.getRequestURI());
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Decision decision = rateLimiter.acquire(route, client(httpRequest));
+        if (decision.limit() != Long.MAX_VALUE) {
+            httpResponse.setHeader(LIMIT, Long.toString(decision.limit()));
+            httpResponse.setHeader(REMAINING, Long.toString(decision.remaining()));
+            httpResponse.setHeader(RESET, Long.toString(seconds(decision.resetNanos())));
+        }
+        if (decision.allowed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        log.warn("Rate limit exceeded on route {}", route.name());
+        writeTooManyRequests(httpResponse, seconds(decision.retryAfterNanos()));
+    }
+
+    private String client(HttpServletRequest request) {
+        String client = request.getHeader(clientHeader);
+        if (client == null || client.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        return client.length() > MAX_CLIENT_LENGTH ? client.substring(0, MAX_CLIENT_LENGTH) : client;
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response, long retryAfter)
+            throws IOException {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+            HttpStatus.TOO_MANY_REQUESTS,
+            "Rate limit exceeded, retry after " + retryAfter + " seconds"
+        );
+        problemDetail.setType(URI.create("https://api.cdp.defra.cloud/problems/too-many-requests"));
+        problemDetail.setTitle("Too Many Requests");
+        String traceId = MDC.get(MDC_TRACE_ID);
+        if (traceId != null) {
+            problemDetail.setProperty("traceId", traceId);
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+
+    // Whole seconds, rounded up so a client waiting this long is not refused again
+    private static long seconds(long nanos) {
+        return Math.max(0, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -10,26 +10,45 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Servlet filter that populates MDC (Mapped Diagnostic Context) with request tracing information
  * for ECS (Elastic Common Schema) structured logging.
  *
  * Runs at HIGHEST_PRECEDENCE to ensure MDC is populated before any other filters or interceptors.
+ * Requests for {@code cdp.tracing.excluded-paths} (health checks and the other actuator endpoints
+ * by default) skip the MDC work entirely and are marked so {@link HealthCheckFilter} drops their
+ * logs.
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class RequestTracingFilter implements Filter {
 
-    
     private static final String MDC_TRACE_ID = "trace.id";
     private static final String MDC_HTTP_METHOD = "http.request.method";
     private static final String MDC_HTTP_STATUS = "http.response.status_code";
-    private static final String MDC_URL_FULL = "url.full";
+    private static final String MDC_URL_PATH = "url.path";
+
+    // Status codes as strings, so recording the response status does not allocate
+    private static final String[] STATUS_CODES = new String[500];
+
+    static {
+        for (int i = 0; i < STATUS_CODES.length; i++) {
+            STATUS_CODES[i] = String.valueOf(i + 100);
+        }
+    }
+
+    private final String header;
+    private final String[] excludedPaths;
+
+    public RequestTracingFilter(@Value("${cdp.tracing.header-name}") String header,
+        @Value("${cdp.tracing.excluded-paths:/health,/metrics,/info,/cache,/flightrecording}")
+        List<String> excludedPaths) {
+        this.header = header;
+        this.excludedPaths = excludedPaths.toArray(String[]::new);
+    }
 
-    @Value("${cdp.tracing.header-name}")
-    private String header;
-    
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
@@ -39,6 +58,18 @@ public class RequestTracingFilter implements Filter {
             return;
         }
 
+        String path = httpRequest.getRequestURI();
+        if (isExcluded(path)) {
+            TracingContext context = TracingContext.current();
+            context.exclude();
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                context.reset();
+            }
+            return;
+        }
+
         try {
             // Extract trace ID from CDP request header (leave empty if not present)
             String traceId = httpRequest.getHeader(header);
@@ -48,14 +79,14 @@ public class RequestTracingFilter implements Filter {
 
             // Populate request metadata
             MDC.put(MDC_HTTP_METHOD, httpRequest.getMethod());
-            MDC.put(MDC_URL_FULL, httpRequest.getRequestURL().toString());
+            MDC.put(MDC_URL_PATH, path);
 
             // Execute filter chain
             chain.doFilter(request, response);
 
             // Capture response status after chain completes
             if (response instanceof HttpServletResponse httpResponse) {
-                MDC.put(MDC_HTTP_STATUS, String.valueOf(httpResponse.getStatus()));
+                MDC.put(MDC_HTTP_STATUS, statusCode(httpResponse.getStatus()));
             }
 
         } finally {
@@ -63,4 +94,21 @@ public class RequestTracingFilter implements Filter {
             MDC.clear();
         }
     }
+
+    private boolean isExcluded(String path) {
+        for (String excluded : excludedPaths) {
+            if (path.startsWith(excluded)
+                && (path.length() == excluded.length() || path.charAt(excluded.length()) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String statusCode(int status) {
+        int index = status - 100;
+        return index >= 0 && index < STATUS_CODES.length
+            ? STATUS_CODES[index]
+            : String.valueOf(status);
+    }
 }
@@ -0,0 +1,36 @@
+package uk.gov.defra.cdp.trade.demo.filter;
+
+/**
+ * Per-thread request state shared between {@link RequestTracingFilter} and
+ * {@link HealthCheckFilter}. The instance is reused for every request served by a pooled thread,
+ * so marking a request costs a field write rather than an allocation.
+ */
+final class TracingContext {
+
+    private static final ThreadLocal<TracingContext> CURRENT =
+        ThreadLocal.withInitial(TracingContext::new);
+
+    private boolean excluded;
+
+    private TracingContext() {
+    }
+
+    static TracingContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Whether the request on this thread is one whose logs are suppressed (e.g. health checks).
+     */
+    static boolean isExcluded() {
+        return CURRENT.get().excluded;
+    }
+
+    void exclude() {
+        excluded = true;
+    }
+
+    void reset() {
+        excluded = false;
+    }
+}
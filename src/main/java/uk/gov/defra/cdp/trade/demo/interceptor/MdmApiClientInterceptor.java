@@ -4,6 +4,7 @@ import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -12,12 +13,14 @@ import org.springframework.util.MultiValueMap;
 import uk.gov.defra.cdp.trade.demo.client.Token;
 import uk.gov.defra.cdp.trade.demo.client.TradeApiClient;
 import uk.gov.defra.cdp.trade.demo.configuration.TradeAuthConfig;
+import uk.gov.defra.cdp.trade.demo.metrics.TokenAcquisitionTimer;
 
 @AllArgsConstructor
 public class MdmApiClientInterceptor {
 
     private final TradeAuthConfig tradeAuthConfig;
     private final TradeApiClient tradeApiClient;
+    private final MeterRegistry meterRegistry;
 
     @Bean
     public RequestInterceptor mdmRequestInterceptor() {
@@ -45,7 +48,8 @@ public class MdmApiClientInterceptor {
                 formData.add("client_secret", tradeAuthConfig.getClientSecret());
                 formData.add("scope", tradeAuthConfig.getScope());
 
-                Token token = tradeApiClient.getTradeAuthToken(formData);
+                Token token = TokenAcquisitionTimer.record(meterRegistry, "trade-auth",
+                    () -> tradeApiClient.getTradeAuthToken(formData));
                 
                 accessToken = token.getAccessToken();
                 expiryTime = token.getExpiresOn() != null 
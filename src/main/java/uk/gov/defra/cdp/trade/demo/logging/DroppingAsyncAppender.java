@@ -0,0 +1,68 @@
+package uk.gov.defra.cdp.trade.demo.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async appender that never blocks the logging thread. Events are queued in a bounded buffer
+ * and encoded and written by a single worker thread.
+ *
+ * <p>Once the remaining capacity falls below the discarding threshold, events at or below
+ * {@code discardingLevel} (INFO by default) are shed so warnings and errors keep their space.
+ * When the buffer is full every event is dropped. Both are counted so they can be published as
+ * metrics, see {@code AsyncLoggingMetrics}.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private Level discardingLevel = Level.INFO;
+
+    public DroppingAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    public void setDiscardingLevel(String level) {
+        this.discardingLevel = Level.toLevel(level, Level.INFO);
+    }
+
+    public String getDiscardingLevel() {
+        return discardingLevel.toString();
+    }
+
+    /**
+     * Events shed because the buffer was nearly full.
+     */
+    public long discarded() {
+        return discarded.sum();
+    }
+
+    /**
+     * Events lost because the buffer was full.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        if (remaining == 0) {
+            dropped.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= discardingLevel.toInt();
+    }
+}
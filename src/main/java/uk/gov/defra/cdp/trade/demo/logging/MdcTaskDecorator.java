@@ -0,0 +1,35 @@
+package uk.gov.defra.cdp.trade.demo.logging;
+
+import java.util.Map;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the submitting thread's MDC (trace ID, request method and path) into tasks run on
+ * Spring's task executors, including the virtual thread executor, and restores the worker's own
+ * MDC afterwards.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            replace(context);
+            try {
+                runnable.run();
+            } finally {
+                replace(previous);
+            }
+        };
+    }
+
+    private static void replace(Map<String, String> context) {
+        if (context == null || context.isEmpty()) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.defra.cdp.trade.demo.mapper;
 
+import io.micrometer.core.annotation.Timed;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -36,6 +37,7 @@ public class IpaffsNotificationMapper {
      * @param notification the CDP notification to map
      * @return the IPAFFS notification with mapped fields
      */
+    @Timed(value = "ipaffs.mapping", description = "Mapping a notification to IPAFFS CHEDA")
     public IpaffsNotification mapToIpaffsNotification(Notification notification) {
         log.debug("Mapping notification {} to IPAFFS format", notification.getId());
 
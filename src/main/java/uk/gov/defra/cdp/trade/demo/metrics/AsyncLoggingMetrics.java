@@ -0,0 +1,63 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import uk.gov.defra.cdp.trade.demo.logging.DroppingAsyncAppender;
+
+/**
+ * Publishes the state of each {@link DroppingAsyncAppender} on the root logger: events shed
+ * under pressure and lost to a full buffer as {@value #DROPPED}, and the free buffer space as
+ * {@value #REMAINING}.
+ */
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    public static final String DROPPED = "logging.async.dropped";
+    public static final String REMAINING = "logging.async.queue.remaining";
+
+    private final LoggerContext context;
+
+    public AsyncLoggingMetrics() {
+        this(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext
+            ? loggerContext
+            : null);
+    }
+
+    public AsyncLoggingMetrics(LoggerContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (context == null) {
+            return;
+        }
+        context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders().forEachRemaining(
+            appender -> {
+                if (appender instanceof DroppingAsyncAppender async) {
+                    bind(registry, async);
+                }
+            });
+    }
+
+    private static void bind(MeterRegistry registry, DroppingAsyncAppender appender) {
+        FunctionCounter.builder(DROPPED, appender, DroppingAsyncAppender::discarded)
+            .description("Log events shed because the async buffer was nearly full")
+            .tag("appender", appender.getName())
+            .tag("reason", "discarded")
+            .register(registry);
+        FunctionCounter.builder(DROPPED, appender, DroppingAsyncAppender::dropped)
+            .description("Log events lost because the async buffer was full")
+            .tag("appender", appender.getName())
+            .tag("reason", "queue_full")
+            .register(registry);
+        Gauge.builder(REMAINING, appender, DroppingAsyncAppender::getRemainingCapacity)
+            .description("Free space in the async logging buffer")
+            .tag("appender", appender.getName())
+            .register(registry);
+    }
+}
@@ -0,0 +1,410 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.util.NamedThreadFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.defra.cdp.trade.demo.configuration.EmfRegistryConfig;
+
+/**
+ * A Micrometer step registry that publishes CloudWatch Embedded Metric Format documents.
+ * <p>
+ * Every step the registry's meters are grouped by the values of the configured dimension tags and
+ * each group is written as one or more EMF documents of at most
+ * {@value #MAX_METRICS_PER_DOCUMENT} metrics. Meters with the same name in a group (differing only
+ * in non-dimension tags) are published as one metric with several values. Documents are handed to
+ * an {@link EmfWriter}, so publishing never waits on stdout or the agent.
+ * <p>
+ * Timers and summaries publish {@code .count}, {@code .sum} and {@code .max}, plus
+ * {@code .p<percentile>} and {@code .le.<bound>} when percentiles or histogram buckets are
+ * configured. Times are in milliseconds.
+ */
+@Slf4j
+public class EmfMeterRegistry extends StepMeterRegistry {
+
+    static final int MAX_METRICS_PER_DOCUMENT = 100;
+    static final int MAX_VALUES_PER_METRIC = 100;
+
+    private static final JsonStringEncoder JSON = JsonStringEncoder.getInstance();
+
+    private final EmfRegistryConfig config;
+    private final String namespace;
+    private final Map<String, String> defaultDimensions;
+    private final List<String> dimensionTags;
+    private final EmfWriter writer;
+
+    private final Map<List<String>, Group> groups = new HashMap<>();
+    private final StringBuilder document = new StringBuilder(16 * 1024);
+
+    public EmfMeterRegistry(EmfRegistryConfig config, Clock clock, String namespace,
+        Map<String, String> defaultDimensions, EmfWriter writer) {
+        super(config, clock);
+        this.config = config;
+        this.namespace = namespace;
+        this.defaultDimensions = Map.copyOf(defaultDimensions);
+        this.dimensionTags = List.copyOf(config.getDimensionTags());
+        this.writer = writer;
+
+        if (!config.getAllow().isEmpty()) {
+            config().meterFilter(MeterFilter.denyUnless(id -> id.getName().startsWith("emf.")
+                || config.getAllow().stream().anyMatch(id.getName()::startsWith)));
+        }
+        config().meterFilter(defaultDistribution(config));
+    }
+
+    /**
+     * Start publishing every step. Left to the caller, so the application's meter filters and
+     * common tags are in place first.
+     */
+    public void startPublishing() {
+        start(new NamedThreadFactory("emf-metrics-publisher"));
+    }
+
+    /**
+     * Counts the documents the writer dropped as {@code emf.registry.dropped}. Bound like any
+     * other {@link MeterBinder} rather than from the constructor, so the meter goes through the
+     * application's meter filters.
+     */
+    public MeterBinder writerMetrics() {
+        return registry -> FunctionCounter.builder("emf.registry.dropped", writer,
+                EmfWriter::dropped)
+            .description("EMF documents dropped because the writer queue was full or the write"
+                + " failed")
+            .register(registry);
+    }
+
+    @Override
+    protected TimeUnit getBaseTimeUnit() {
+        return TimeUnit.MILLISECONDS;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        writer.close();
+    }
+
+    @Override
+    protected void publish() {
+        for (Group group : groups.values()) {
+            group.reset();
+        }
+
+        for (Meter meter : getMeters()) {
+            if (meter.getId().syntheticAssociation() != null) {
+                // Percentile and histogram gauges, published from the timer's snapshot instead
+                continue;
+            }
+            Group group = groups.computeIfAbsent(dimensionValues(meter.getId()), Group::new);
+            String name = meter.getId().getName();
+            switch (meter) {
+                case TimeGauge timeGauge ->
+                    group.add(name, timeGauge.value(TimeUnit.MILLISECONDS), Unit.MILLISECONDS);
+                case Gauge gauge -> group.add(name, gauge.value(), Unit.NONE);
+                case Counter counter -> group.add(name, counter.count(), Unit.COUNT);
+                case Timer timer -> addTimer(group, name, timer);
+                case DistributionSummary summary -> addSummary(group, name, summary);
+                case LongTaskTimer longTaskTimer -> {
+                    group.add(name + ".active", longTaskTimer.activeTasks(), Unit.COUNT);
+                    group.add(name + ".duration", longTaskTimer.duration(TimeUnit.MILLISECONDS),
+                        Unit.MILLISECONDS);
+                }
+                case FunctionCounter functionCounter ->
+                    group.add(name, functionCounter.count(), Unit.COUNT);
+                case FunctionTimer functionTimer -> {
+                    if (functionTimer.count() > 0) {
+                        group.add(name + ".count", functionTimer.count(), Unit.COUNT);
+                        group.add(name + ".sum", functionTimer.totalTime(TimeUnit.MILLISECONDS),
+                            Unit.MILLISECONDS);
+                    }
+                }
+                default -> log.debug("Skipping unsupported meter {}", name);
+            }
+        }
+
+        long timestamp = clock.wallTime();
+        for (Iterator<Group> it = groups.values().iterator(); it.hasNext(); ) {
+            Group group = it.next();
+            if (group.isEmpty()) {
+                it.remove();
+                continue;
+            }
+            group.writeDocuments(timestamp);
+        }
+    }
+
+    private void addTimer(Group group, String name, Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        if (snapshot.count() == 0) {
+            return;
+        }
+        group.add(name + ".count", snapshot.count(), Unit.COUNT);
+        group.add(name + ".sum", snapshot.total(TimeUnit.MILLISECONDS), Unit.MILLISECONDS);
+        group.add(name + ".max", snapshot.max(TimeUnit.MILLISECONDS), Unit.MILLISECONDS);
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            group.add(name + ".p" + label(percentile.percentile() * 100),
+                percentile.value(TimeUnit.MILLISECONDS), Unit.MILLISECONDS);
+        }
+        if (config.isPublishHistogramBuckets()) {
+            for (CountAtBucket bucket : snapshot.histogramCounts()) {
+                group.add(name + ".le." + label(bucket.bucket(TimeUnit.MILLISECONDS)),
+                    bucket.count(), Unit.COUNT);
+            }
+        }
+    }
+
+    private void addSummary(Group group, String name, DistributionSummary summary) {
+        HistogramSnapshot snapshot = summary.takeSnapshot();
+        if (snapshot.count() == 0) {
+            return;
+        }
+        group.add(name + ".count", snapshot.count(), Unit.COUNT);
+        group.add(name + ".sum", snapshot.total(), Unit.NONE);
+        group.add(name + ".max", snapshot.max(), Unit.NONE);
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            group.add(name + ".p" + label(percentile.percentile() * 100), percentile.value(),
+                Unit.NONE);
+        }
+        if (config.isPublishHistogramBuckets()) {
+            for (CountAtBucket bucket : snapshot.histogramCounts()) {
+                group.add(name + ".le." + label(bucket.bucket()), bucket.count(), Unit.COUNT);
+            }
+        }
+    }
+
+    private List<String> dimensionValues(Meter.Id id) {
+        String[] values = new String[dimensionTags.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = id.getTag(dimensionTags.get(i));
+        }
+        return Arrays.asList(values);
+    }
+
+    private static MeterFilter defaultDistribution(EmfRegistryConfig config) {
+        double[] percentiles = config.getPercentiles().stream()
+            .mapToDouble(Double::doubleValue)
+            .toArray();
+        double[] slos = config.getServiceLevelObjectives().stream()
+            .mapToDouble(Duration::toNanos)
+            .toArray();
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id,
+                DistributionStatisticConfig distribution) {
+                DistributionStatisticConfig.Builder defaults = DistributionStatisticConfig.builder();
+                if (percentiles.length > 0) {
+                    defaults.percentiles(percentiles);
+                }
+                if (slos.length > 0 && id.getType() == Meter.Type.TIMER) {
+                    defaults.serviceLevelObjectives(slos);
+                }
+                // Settings on the meter, or from management.metrics.distribution, win
+                return distribution.merge(defaults.build());
+            }
+        };
+    }
+
+    static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    /**
+     * A percentile or bucket bound as it appears in a metric name, e.g. 99.9 or 250.
+     */
+    static String label(double value) {
+        return format(Math.round(value * 1000) / 1000.0);
+    }
+
+    private enum Unit {
+        COUNT("Count"), MILLISECONDS("Milliseconds"), NONE("None");
+
+        private final String emfName;
+
+        Unit(String emfName) {
+            this.emfName = emfName;
+        }
+    }
+
+    /**
+     * The values of one metric within a group, kept between publishes.
+     */
+    private static final class Metric {
+
+        private final Unit unit;
+        private double[] values = new double[1];
+        private int size;
+
+        Metric(Unit unit) {
+            this.unit = unit;
+        }
+    }
+
+    /**
+     * Metrics sharing one set of dimension values.
+     */
+    private final class Group {
+
+        private final List<String> dimensionValues;
+        private final Map<String, Metric> metrics = new LinkedHashMap<>();
+        private int populated;
+
+        Group(List<String> dimensionValues) {
+            this.dimensionValues = dimensionValues;
+        }
+
+        void reset() {
+            // Drop metrics that were not published last time, keep the rest for reuse
+            metrics.values().removeIf(metric -> metric.size == 0);
+            for (Metric metric : metrics.values()) {
+                metric.size = 0;
+            }
+            populated = 0;
+        }
+
+        void add(String name, double value, Unit unit) {
+            if (!Double.isFinite(value)) {
+                return;
+            }
+            Metric metric = metrics.computeIfAbsent(name, key -> new Metric(unit));
+            if (metric.size == MAX_VALUES_PER_METRIC) {
+                log.debug("Dropping value for {}, more than {} meters share the name", name,
+                    MAX_VALUES_PER_METRIC);
+                return;
+            }
+            if (metric.size == metric.values.length) {
+                metric.values = Arrays.copyOf(metric.values, metric.size * 2);
+            }
+            if (metric.size == 0) {
+                populated++;
+            }
+            metric.values[metric.size++] = value;
+        }
+
+        boolean isEmpty() {
+            return populated == 0;
+        }
+
+        void writeDocuments(long timestamp) {
+            List<Map.Entry<String, Metric>> batch = new ArrayList<>(MAX_METRICS_PER_DOCUMENT);
+            for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+                if (entry.getValue().size == 0) {
+                    continue;
+                }
+                batch.add(entry);
+                if (batch.size() == MAX_METRICS_PER_DOCUMENT) {
+                    write(timestamp, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(timestamp, batch);
+            }
+        }
+
+        private void write(long timestamp, List<Map.Entry<String, Metric>> batch) {
+            StringBuilder json = document;
+            json.setLength(0);
+            json.append("{\"_aws\":{\"Timestamp\":").append(timestamp)
+                .append(",\"CloudWatchMetrics\":[{\"Namespace\":");
+            string(json, namespace);
+            json.append(",\"Dimensions\":[[");
+            boolean first = true;
+            for (String key : defaultDimensions.keySet()) {
+                first = separator(json, first);
+                string(json, key);
+            }
+            for (int i = 0; i < dimensionTags.size(); i++) {
+                if (dimensionValues.get(i) != null) {
+                    first = separator(json, first);
+                    string(json, dimensionTags.get(i));
+                }
+            }
+            json.append("]],\"Metrics\":[");
+            first = true;
+            for (Map.Entry<String, Metric> entry : batch) {
+                first = separator(json, first);
+                json.append("{\"Name\":");
+                string(json, entry.getKey());
+                json.append(",\"Unit\":\"").append(entry.getValue().unit.emfName).append("\"}");
+            }
+            json.append("]}]}");
+
+            for (Map.Entry<String, String> dimension : defaultDimensions.entrySet()) {
+                json.append(',');
+                string(json, dimension.getKey());
+                json.append(':');
+                string(json, dimension.getValue());
+            }
+            for (int i = 0; i < dimensionTags.size(); i++) {
+                if (dimensionValues.get(i) != null) {
+                    json.append(',');
+                    string(json, dimensionTags.get(i));
+                    json.append(':');
+                    string(json, dimensionValues.get(i));
+                }
+            }
+            for (Map.Entry<String, Metric> entry : batch) {
+                Metric metric = entry.getValue();
+                json.append(',');
+                string(json, entry.getKey());
+                json.append(':');
+                if (metric.size == 1) {
+                    json.append(format(metric.values[0]));
+                } else {
+                    json.append('[');
+                    for (int i = 0; i < metric.size; i++) {
+                        if (i > 0) {
+                            json.append(',');
+                        }
+                        json.append(format(metric.values[i]));
+                    }
+                    json.append(']');
+                }
+            }
+            json.append("}\n");
+
+            writer.offer(json.toString());
+        }
+    }
+
+    private static boolean separator(StringBuilder json, boolean first) {
+        if (!first) {
+            json.append(',');
+        }
+        return false;
+    }
+
+    private static void string(StringBuilder json, String value) {
+        json.append('"');
+        JSON.quoteAsString(value, json);
+        json.append('"');
+    }
+}
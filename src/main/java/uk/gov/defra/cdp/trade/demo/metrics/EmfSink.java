@@ -0,0 +1,140 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Where EMF documents are written. Each document is one line of JSON, newline terminated.
+ */
+@FunctionalInterface
+public interface EmfSink extends AutoCloseable {
+
+    int CONNECT_TIMEOUT_MILLIS = 1_000;
+
+    void write(String document) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * The CloudWatch agent for a {@code tcp://host:port} or {@code udp://host:port} endpoint,
+     * otherwise stdout.
+     */
+    static EmfSink forEndpoint(String endpoint) {
+        if (endpoint == null || endpoint.isBlank()) {
+            return new StdoutSink(System.out);
+        }
+        URI uri = URI.create(endpoint);
+        return switch (uri.getScheme()) {
+            case "tcp" -> new TcpAgentSink(new InetSocketAddress(uri.getHost(), uri.getPort()));
+            case "udp" -> new UdpAgentSink(new InetSocketAddress(uri.getHost(), uri.getPort()));
+            default -> new StdoutSink(System.out);
+        };
+    }
+
+    final class StdoutSink implements EmfSink {
+
+        private final PrintStream out;
+
+        StdoutSink(PrintStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(String document) {
+            // A single print, so the line is not interleaved with console log output
+            out.print(document);
+            out.flush();
+        }
+
+        @Override
+        public String toString() {
+            return "stdout";
+        }
+    }
+
+    @Slf4j
+    final class TcpAgentSink implements EmfSink {
+
+        private final InetSocketAddress address;
+        private Socket socket;
+        private OutputStream out;
+
+        TcpAgentSink(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        @Override
+        public void write(String document) throws IOException {
+            try {
+                if (socket == null) {
+                    socket = new Socket();
+                    socket.connect(address, CONNECT_TIMEOUT_MILLIS);
+                    out = socket.getOutputStream();
+                    log.debug("Connected to CloudWatch agent at {}", address);
+                }
+                out.write(document.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            } catch (IOException e) {
+                // Reconnect on the next write
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            Socket current = socket;
+            socket = null;
+            out = null;
+            if (current != null) {
+                current.close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "tcp://" + address.getHostString() + ":" + address.getPort();
+        }
+    }
+
+    final class UdpAgentSink implements EmfSink {
+
+        private final InetSocketAddress address;
+        private final DatagramSocket socket;
+
+        UdpAgentSink(InetSocketAddress address) {
+            this.address = address;
+            try {
+                this.socket = new DatagramSocket();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not open UDP socket for " + address, e);
+            }
+        }
+
+        @Override
+        public void write(String document) throws IOException {
+            byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+            socket.send(new DatagramPacket(bytes, bytes.length, address));
+        }
+
+        @Override
+        public void close() {
+            socket.close();
+        }
+
+        @Override
+        public String toString() {
+            return "udp://" + address.getHostString() + ":" + address.getPort();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands EMF documents to a sink on a dedicated thread, so a slow or unavailable agent never
+ * blocks the publisher.
+ * <p>
+ * The queue is bounded; {@link #offer(String)} never waits, and documents that do not fit, or
+ * that the sink fails to write, are counted in {@link #dropped()}.
+ */
+@Slf4j
+public class EmfWriter implements AutoCloseable {
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final EmfSink sink;
+    private final BlockingQueue<String> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public EmfWriter(EmfSink sink, int capacity) {
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.thread = Thread.ofPlatform()
+            .name("emf-writer")
+            .daemon()
+            .start(this::drain);
+    }
+
+    /**
+     * Queue a document, or drop it if the queue is full.
+     */
+    public boolean offer(String document) {
+        if (queue.offer(document)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Write what is already queued, waiting up to five seconds, then close the sink.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join(CLOSE_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            sink.close();
+        } catch (IOException e) {
+            log.debug("Failed to close EMF sink {}", sink, e);
+        }
+    }
+
+    private void drain() {
+        long failures = 0;
+        while (running || !queue.isEmpty()) {
+            String document;
+            try {
+                document = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (document == null) {
+                continue;
+            }
+            try {
+                sink.write(document);
+                failures = 0;
+            } catch (IOException e) {
+                dropped.incrementAndGet();
+                // Log the first failure in a run, not one per document
+                if (failures++ == 0) {
+                    log.warn("Failed to write EMF document to {}", sink, e);
+                }
+            }
+        }
+    }
+}
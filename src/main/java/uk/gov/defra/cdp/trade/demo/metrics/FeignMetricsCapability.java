@@ -0,0 +1,68 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+
+/**
+ * Times every Feign call as {@value #METRIC_NAME}, tagged with the client name, the interface
+ * method, the response status and its outcome. Calls that fail before a response are tagged
+ * {@code status=IO_ERROR}.
+ */
+public class FeignMetricsCapability implements Capability {
+
+    public static final String METRIC_NAME = "feign.client.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    public FeignMetricsCapability(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String status = "IO_ERROR";
+            String outcome = Outcome.UNKNOWN.name();
+            try {
+                Response response = client.execute(request, options);
+                status = Integer.toString(response.status());
+                outcome = Outcome.forStatus(response.status()).name();
+                return response;
+            } finally {
+                sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Outbound Feign calls")
+                    .tags(Tags.of(
+                        "client", clientName(request),
+                        "method", methodName(request),
+                        "status", status,
+                        "outcome", outcome))
+                    .register(meterRegistry));
+            }
+        };
+    }
+
+    private static String clientName(Request request) {
+        Target<?> target = request.requestTemplate() == null
+            ? null
+            : request.requestTemplate().feignTarget();
+        return target == null ? "unknown" : target.name();
+    }
+
+    private static String methodName(Request request) {
+        MethodMetadata metadata = request.requestTemplate() == null
+            ? null
+            : request.requestTemplate().methodMetadata();
+        return metadata == null || metadata.method() == null
+            ? "unknown"
+            : metadata.method().getName();
+    }
+}
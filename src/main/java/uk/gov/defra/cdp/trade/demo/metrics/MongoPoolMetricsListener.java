@@ -0,0 +1,77 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adds what Micrometer's {@code MongoMetricsConnectionPoolListener} does not record: how long
+ * each checkout waited for a connection as {@value #CHECKOUT}, tagged with the outcome
+ * ({@code SUCCESS} or the failure reason, {@code TIMEOUT} meaning the pool was exhausted), and
+ * connection churn as {@value #CONNECTIONS}, tagged with the event and close reason.
+ */
+public class MongoPoolMetricsListener implements ConnectionPoolListener {
+
+    public static final String CHECKOUT = "mongodb.driver.pool.checkout";
+    public static final String CONNECTIONS = "mongodb.driver.pool.connections";
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger open = new AtomicInteger();
+
+    public MongoPoolMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Connections currently open across all pools.
+     */
+    public int openConnections() {
+        return open.get();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkout("SUCCESS").record(event.getElapsedTime(TimeUnit.NANOSECONDS),
+            TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkout(event.getReason().name()).record(event.getElapsedTime(TimeUnit.NANOSECONDS),
+            TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        open.incrementAndGet();
+        connections("created", "NONE").increment();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        open.decrementAndGet();
+        connections("closed", event.getReason().name()).increment();
+    }
+
+    private Timer checkout(String outcome) {
+        return Timer.builder(CHECKOUT)
+            .description("Time waited to check a connection out of the pool")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private Counter connections(String event, String reason) {
+        return Counter.builder(CONNECTIONS)
+            .description("Connections opened and closed by the pool")
+            .tag("event", event)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
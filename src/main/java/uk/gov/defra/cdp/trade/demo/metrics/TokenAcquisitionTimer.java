@@ -0,0 +1,33 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
+
+/**
+ * Times fetching a fresh access token as {@value #METRIC_NAME}, tagged with the provider and
+ * whether it succeeded. Cached tokens are not timed.
+ */
+public final class TokenAcquisitionTimer {
+
+    public static final String METRIC_NAME = "token.acquisition";
+
+    private TokenAcquisitionTimer() {
+    }
+
+    public static <T> T record(MeterRegistry meterRegistry, String provider, Supplier<T> fetch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "FAILURE";
+        try {
+            T token = fetch.get();
+            outcome = "SUCCESS";
+            return token;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                .description("Time to fetch a new access token")
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandStartedEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import uk.gov.defra.cdp.trade.demo.configuration.WriteConcernTiers;
+import uk.gov.defra.cdp.trade.demo.configuration.WriteConcernTiers.Tier;
+
+/**
+ * Adds a {@code write.tier} tag to {@code mongodb.driver.commands}, so write latency can be
+ * compared across the {@link WriteConcernTiers}. Reads and writes without a tier are tagged
+ * {@code none}.
+ */
+public class WriteTierCommandTagsProvider extends DefaultMongoCommandTagsProvider {
+
+    public static final String TAG = "write.tier";
+
+    private static final String NONE = "none";
+    private static final Set<String> WRITE_COMMANDS =
+        Set.of("insert", "update", "delete", "findAndModify");
+
+    private final ConcurrentMap<Integer, String> inFlightTiers = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        super.commandStarted(event);
+        Tier tier = tier(event.getCommandName(), event.getCommand());
+        if (tier != null) {
+            inFlightTiers.put(event.getRequestId(), tier.tagValue());
+        }
+    }
+
+    @Override
+    public Iterable<Tag> commandTags(CommandEvent event) {
+        String tier = inFlightTiers.remove(event.getRequestId());
+        return Tags.of(super.commandTags(event)).and(TAG, tier == null ? NONE : tier);
+    }
+
+    static Tier tier(String commandName, BsonDocument command) {
+        if (!WRITE_COMMANDS.contains(commandName)) {
+            return null;
+        }
+        BsonValue collection = command.get(commandName);
+        if (collection == null || !collection.isString()) {
+            return null;
+        }
+        return WriteConcernTiers.classify(collection.asString().getValue(),
+            "delete".equals(commandName), status(commandName, command));
+    }
+
+    private static String status(String commandName, BsonDocument command) {
+        BsonDocument written = switch (commandName) {
+            case "insert" -> first(command, "documents");
+            case "update" -> {
+                BsonDocument statement = first(command, "updates");
+                yield statement == null || !statement.isDocument("u")
+                    ? null
+                    : statement.getDocument("u");
+            }
+            default -> null;
+        };
+        if (written != null && written.isDocument("$set")) {
+            written = written.getDocument("$set");
+        }
+        return written != null && written.isString("status")
+            ? written.getString("status").getValue()
+            : null;
+    }
+
+    private static BsonDocument first(BsonDocument command, String key) {
+        if (!command.isArray(key)) {
+            return null;
+        }
+        BsonArray array = command.getArray(key);
+        return !array.isEmpty() && array.get(0).isDocument() ? array.get(0).asDocument() : null;
+    }
+}
@@ -0,0 +1,167 @@
+package uk.gov.defra.cdp.trade.demo.profiling;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import uk.gov.defra.cdp.trade.demo.configuration.FlightRecordingConfig;
+
+/**
+ * Actuator endpoint for taking a bounded Flight Recorder recording from a running instance.
+ *
+ * <ul>
+ *   <li>{@code POST /flightrecording} starts a recording, optionally with {@code duration}
+ *       (capped at the configured maximum) and {@code settings} ({@code default} or
+ *       {@code profile})</li>
+ *   <li>{@code GET /flightrecording} stops the recording and downloads it as a {@code .jfr}
+ *       file</li>
+ *   <li>{@code DELETE /flightrecording} discards it</li>
+ * </ul>
+ *
+ * <p>Only one recording runs at a time. The endpoint is off unless
+ * {@code management.endpoint.flightrecording.access} is set to {@code unrestricted}.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "flightrecording", defaultAccess = Access.NONE)
+public class FlightRecordingEndpoint {
+
+    private static final String RECORDING_NAME = "trade-demo-backend";
+
+    private final FlightRecordingConfig config;
+
+    private Recording recording;
+
+    public FlightRecordingEndpoint(FlightRecordingConfig config) {
+        this.config = config;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(
+        @Nullable Duration duration, @Nullable String settings) {
+        if (recording != null && recording.getState() != RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(
+                Map.of("error", "A recording is already in progress"), 409);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(
+                settings == null ? config.getSettings() : settings);
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(
+                Map.of("error", "Unknown settings: " + settings),
+                WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        Duration requested = duration == null ? config.getDefaultDuration() : duration;
+        Duration bounded = requested.compareTo(config.getMaxDuration()) > 0
+            ? config.getMaxDuration()
+            : requested;
+
+        Recording started = new Recording(configuration);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setDuration(bounded);
+        started.setMaxSize(config.getMaxSize().toBytes());
+        started.enable(NotificationSaveEvent.class);
+        started.enable(NotificationIdEvent.class);
+        started.enable(IpaffsMappingEvent.class);
+        started.enable(IpaffsSubmitEvent.class);
+        started.enable(SubmittedPersistEvent.class);
+        started.start();
+        recording = started;
+        log.info("Started flight recording with settings {} for {}", configuration.getName(),
+            bounded);
+        return new WebEndpointResponse<>(describe(started));
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile("flightrecording-", ".jfr");
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } finally {
+            recording.close();
+            recording = null;
+        }
+        log.info("Dumped flight recording ({} bytes)", Files.size(file));
+        return new WebEndpointResponse<>(new TemporaryFileResource(file));
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Void> discard() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        recording.close();
+        recording = null;
+        return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NO_CONTENT);
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", recording.getId());
+        description.put("state", recording.getState().name());
+        description.put("duration", recording.getDuration().toString());
+        description.put("maxSize", recording.getMaxSize());
+        return description;
+    }
+
+    /**
+     * Recording dump that is deleted once it has been streamed to the caller.
+     */
+    static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path path) {
+            super(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // Stream through getInputStream so the file is removed afterwards
+            return false;
+        }
+    }
+}
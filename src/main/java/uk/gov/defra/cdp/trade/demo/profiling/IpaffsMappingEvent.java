@@ -0,0 +1,15 @@
+package uk.gov.defra.cdp.trade.demo.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("uk.gov.defra.cdp.trade.demo.IpaffsMapping")
+@Label("IPAFFS Mapping")
+@Description("Mapping a notification to the IPAFFS CHEDA format")
+public class IpaffsMappingEvent extends NotificationEvent {
+
+    public IpaffsMappingEvent(String notificationId) {
+        super(notificationId);
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.defra.cdp.trade.demo.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("uk.gov.defra.cdp.trade.demo.IpaffsSubmit")
+@Label("IPAFFS Submit")
+@Description("Submitting a notification to IPAFFS; status is 0 when no response was received")
+public class IpaffsSubmitEvent extends NotificationEvent {
+
+    @Label("Status")
+    public int status;
+
+    public IpaffsSubmitEvent(String notificationId) {
+        super(notificationId);
+    }
+}
@@ -0,0 +1,23 @@
+package uk.gov.defra.cdp.trade.demo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base for the notification lifecycle Flight Recorder events. Each event's duration is the time
+ * between {@code begin()} and {@code commit()}; events cost next to nothing unless a recording
+ * has them enabled.
+ */
+@Category({"Trade Demo", "Notifications"})
+@StackTrace(false)
+public abstract class NotificationEvent extends Event {
+
+    @Label("Notification ID")
+    public String notificationId;
+
+    protected NotificationEvent(String notificationId) {
+        this.notificationId = notificationId;
+    }
+}
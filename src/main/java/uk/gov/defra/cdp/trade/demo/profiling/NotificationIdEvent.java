@@ -0,0 +1,19 @@
+package uk.gov.defra.cdp.trade.demo.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("uk.gov.defra.cdp.trade.demo.NotificationIdGeneration")
+@Label("Notification ID Generation")
+@Description("Reserving notification IDs; the ID is the first of the block")
+public class NotificationIdEvent extends NotificationEvent {
+
+    @Label("Count")
+    public int count;
+
+    public NotificationIdEvent(int count) {
+        super(null);
+        this.count = count;
+    }
+}
@@ -0,0 +1,19 @@
+package uk.gov.defra.cdp.trade.demo.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("uk.gov.defra.cdp.trade.demo.NotificationSave")
+@Label("Notification Save")
+@Description("Creating or updating a draft notification")
+public class NotificationSaveEvent extends NotificationEvent {
+
+    @Label("Operation")
+    public String operation;
+
+    public NotificationSaveEvent(String notificationId, String operation) {
+        super(notificationId);
+        this.operation = operation;
+    }
+}
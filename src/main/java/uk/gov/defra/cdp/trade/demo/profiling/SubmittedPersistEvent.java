@@ -0,0 +1,15 @@
+package uk.gov.defra.cdp.trade.demo.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("uk.gov.defra.cdp.trade.demo.SubmittedPersist")
+@Label("Submitted Notification Persist")
+@Description("Saving a notification with its CHED reference after IPAFFS accepted it")
+public class SubmittedPersistEvent extends NotificationEvent {
+
+    public SubmittedPersistEvent(String notificationId) {
+        super(notificationId);
+    }
+}
@@ -0,0 +1,26 @@
+package uk.gov.defra.cdp.trade.demo.ratelimit;
+
+/**
+ * Outcome of a rate limit check.
+ *
+ * @param allowed         whether the request may proceed
+ * @param limit           requests the bucket allows at once
+ * @param remaining       requests still allowed right now
+ * @param resetNanos      time until the bucket is full again
+ * @param retryAfterNanos time until the next request would be allowed, when refused
+ */
+public record Decision(boolean allowed, long limit, long remaining, long resetNanos,
+                       long retryAfterNanos) {
+
+    static final Decision UNLIMITED = new Decision(true, Long.MAX_VALUE, Long.MAX_VALUE, 0, 0);
+
+    /**
+     * Whichever of the two leaves less headroom.
+     */
+    Decision tighter(Decision other) {
+        if (allowed != other.allowed) {
+            return allowed ? other : this;
+        }
+        return remaining <= other.remaining ? this : other;
+    }
+}
@@ -0,0 +1,102 @@
+package uk.gov.defra.cdp.trade.demo.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import uk.gov.defra.cdp.trade.demo.configuration.RateLimitConfig.Limit;
+
+/**
+ * A token bucket kept as a single theoretical arrival time (GCRA), so admitting a request is one
+ * compare-and-set with no lock. The bucket is full when the arrival time is in the past and empty
+ * when it is {@code burst} intervals in the future.
+ */
+final class GcraBucket {
+
+    private final long burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+    // Requests admitted here and not yet reported to the store
+    private final AtomicLong pending = new AtomicLong();
+
+    // Sync state, only touched by the sync thread
+    private long window = -1;
+    private long reported;
+    private long seenRemote = -1;
+
+    GcraBucket(Limit limit) {
+        this.burst = limit.effectiveBurst();
+        this.intervalNanos = Math.max(1, limit.getPeriod().toNanos() / limit.getRequests());
+        this.toleranceNanos = intervalNanos * burst;
+    }
+
+    /**
+     * Admit one request if there is a token for it.
+     */
+    Decision tryAcquire(long now) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (next - now > toleranceNanos) {
+                return new Decision(false, burst, 0, current - now,
+                    next - toleranceNanos - now);
+            }
+            if (arrival.compareAndSet(current, next)) {
+                pending.incrementAndGet();
+                return new Decision(true, burst, (toleranceNanos - (next - now)) / intervalNanos,
+                    next - now, 0);
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken by {@link #tryAcquire} for a request that was then refused.
+     */
+    void release() {
+        arrival.addAndGet(-intervalNanos);
+        pending.decrementAndGet();
+    }
+
+    /**
+     * Take {@code count} tokens used elsewhere, emptying the bucket at most.
+     */
+    void charge(long count, long now) {
+        arrival.updateAndGet(current -> Math.min(
+            Math.max(current, now) + count * intervalNanos, now + toleranceNanos));
+    }
+
+    long drainPending() {
+        return pending.getAndSet(0);
+    }
+
+    void restorePending(long count) {
+        pending.addAndGet(count);
+    }
+
+    /**
+     * Apply the store's count for the window: anything beyond what this instance reported was
+     * used by other instances since the last sync and is charged here.
+     *
+     * @param total the count across all instances, or {@code null} if unknown
+     */
+    void reconcile(long window, long delta, Long total, long now) {
+        if (window != this.window) {
+            // Usage seen before this bucket's first sync has already been allowed for elsewhere
+            seenRemote = this.window < 0 ? -1 : 0;
+            this.window = window;
+            reported = 0;
+        }
+        reported += delta;
+        if (total == null) {
+            return;
+        }
+        long remote = Math.max(0, total - reported);
+        if (seenRemote >= 0 && remote > seenRemote) {
+            charge(remote - seenRemote, now);
+        }
+        seenRemote = Math.max(seenRemote, remote);
+    }
+
+    boolean isIdle(long now) {
+        return arrival.get() <= now && pending.get() == 0;
+    }
+}
@@ -0,0 +1,20 @@
+package uk.gov.defra.cdp.trade.demo.ratelimit;
+
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shares nothing, so each instance enforces the limits on its own traffic only.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "local")
+@ConditionalOnBooleanProperty(name = "rate-limit.enabled", matchIfMissing = true)
+public class LocalRateLimitStore implements RateLimitStore {
+
+    @Override
+    public Map<String, Long> addAndGet(long window, Map<String, Long> deltas) {
+        return Map.of();
+    }
+}
@@ -0,0 +1,68 @@
+package uk.gov.defra.cdp.trade.demo.ratelimit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mongodb.ReadPreference;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import uk.gov.defra.cdp.trade.demo.configuration.RateLimitConfig;
+import uk.gov.defra.cdp.trade.demo.domain.RateLimitCounter;
+
+/**
+ * Counts usage per bucket and window in {@code rate_limit_counters}: one unordered bulk of
+ * {@code $inc} upserts, then one read of the totals, however many buckets are active.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "mongo", matchIfMissing = true)
+@ConditionalOnBooleanProperty(name = "rate-limit.enabled", matchIfMissing = true)
+public class MongoRateLimitStore implements RateLimitStore {
+
+    private final MongoTemplate mongoTemplate;
+    private final long windowMillis;
+
+    public MongoRateLimitStore(MongoTemplate mongoTemplate, RateLimitConfig config) {
+        this.mongoTemplate = mongoTemplate;
+        this.windowMillis = config.getSyncWindow().toMillis();
+    }
+
+    @Override
+    public Map<String, Long> addAndGet(long window, Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return Map.of();
+        }
+        // Kept for a window after it ends, so late syncs from other instances still land
+        Instant expiresAt = Instant.ofEpochMilli((window + 2) * windowMillis);
+        Map<String, String> keysById = new HashMap<>();
+        BulkOperations operations = mongoTemplate.bulkOps(BulkMode.UNORDERED,
+            RateLimitCounter.class);
+        deltas.forEach((key, delta) -> {
+            String id = key + "|" + window;
+            keysById.put(id, key);
+            operations.upsert(query(where("id").is(id)),
+                new Update().inc("count", delta).setOnInsert("expiresAt", expiresAt));
+        });
+        operations.execute();
+
+        // From the primary, a lagging secondary would hide the increments just made
+        List<RateLimitCounter> counters = mongoTemplate.find(
+            query(where("id").in(new ArrayList<>(keysById.keySet())))
+                .withReadPreference(ReadPreference.primary()),
+            RateLimitCounter.class);
+        Map<String, Long> totals = new HashMap<>();
+        for (RateLimitCounter counter : counters) {
+            totals.put(keysById.get(counter.getId()), counter.getCount());
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,19 @@
+package uk.gov.defra.cdp.trade.demo.ratelimit;
+
+import java.util.Map;
+
+/**
+ * Shares rate limit usage between instances.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Add this instance's usage since the last call to each bucket's count for the window.
+     *
+     * @param window the sync window, counted from the epoch
+     * @param deltas requests admitted per bucket key since the last call, possibly zero
+     * @return the count across all instances per bucket key; keys may be missing when the store
+     *     does not know other instances' usage
+     */
+    Map<String, Long> addAndGet(long window, Map<String, Long> deltas);
+}
@@ -0,0 +1,197 @@
+package uk.gov.defra.cdp.trade.demo.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import uk.gov.defra.cdp.trade.demo.configuration.RateLimitConfig;
+import uk.gov.defra.cdp.trade.demo.configuration.RateLimitConfig.Limit;
+
+/**
+ * Per-client and per-route token buckets for inbound requests.
+ * <p>
+ * Checks are answered from memory (see {@link GcraBucket}). Every {@code rate-limit.sync-interval}
+ * each active bucket's usage is added to the {@link RateLimitStore} and what other instances used
+ * in the meantime is taken from it, so the limits hold across instances to within one sync
+ * interval. Full, unused buckets are dropped at the same time.
+ * <p>
+ * Refused requests are counted as {@value #THROTTLED}, tagged with the route and whether the
+ * client or the route limit refused them.
+ */
+@Slf4j
+@Component
+@ConditionalOnBooleanProperty(name = "rate-limit.enabled", matchIfMissing = true)
+public class RateLimiter {
+
+    public static final String THROTTLED = "rate.limit.throttled";
+
+    private final RateLimitStore store;
+    private final Clock clock;
+    private final long windowMillis;
+    private final List<Route> routes = new ArrayList<>();
+    private final Map<String, GcraBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitConfig config, RateLimitStore store, Clock clock,
+        MeterRegistry meterRegistry) {
+        this.store = store;
+        this.clock = clock;
+        this.windowMillis = config.getSyncWindow().toMillis();
+        for (RateLimitConfig.Route route : config.getRoutes()) {
+            routes.add(new Route(route, meterRegistry));
+        }
+        Gauge.builder("rate.limit.buckets", buckets, Map::size)
+            .description("Rate limit buckets held in memory")
+            .register(meterRegistry);
+    }
+
+    /**
+     * The first route matching the request, or {@code null} if it is not limited.
+     */
+    @Nullable
+    public Route route(String method, String path) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (Route route : routes) {
+            if (route.matches(method, container)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Take a token from the client's bucket and the route's bucket.
+     */
+    public Decision acquire(Route route, String client) {
+        long now = nanos(clock.instant());
+        Decision decision = Decision.UNLIMITED;
+        GcraBucket clientBucket = null;
+        if (route.clientLimit != null) {
+            clientBucket = bucket(route.name + "|client|" + client, route.clientLimit);
+            decision = clientBucket.tryAcquire(now);
+            if (!decision.allowed()) {
+                route.clientThrottled.increment();
+                return decision;
+            }
+        }
+        if (route.routeLimit != null) {
+            Decision routeDecision = bucket(route.name + "|route", route.routeLimit)
+                .tryAcquire(now);
+            if (!routeDecision.allowed()) {
+                if (clientBucket != null) {
+                    clientBucket.release();
+                }
+                route.routeThrottled.increment();
+                return routeDecision;
+            }
+            decision = decision.tighter(routeDecision);
+        }
+        return decision;
+    }
+
+    /**
+     * Push local usage to the store and charge usage by other instances to the local buckets.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sync-interval:1s}")
+    public void sync() {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        Instant instant = clock.instant();
+        long now = nanos(instant);
+        long window = instant.toEpochMilli() / windowMillis;
+        Map<String, GcraBucket> active = new HashMap<>(buckets);
+        Map<String, Long> deltas = new HashMap<>();
+        active.forEach((key, bucket) -> deltas.put(key, bucket.drainPending()));
+
+        Map<String, Long> totals;
+        try {
+            totals = store.addAndGet(window, deltas);
+        } catch (RuntimeException e) {
+            log.warn("Could not sync rate limits, limits are enforced per instance until the "
+                + "next sync: {}", e.getMessage());
+            active.forEach((key, bucket) -> bucket.restorePending(deltas.get(key)));
+            return;
+        }
+        active.forEach((key, bucket) -> {
+            bucket.reconcile(window, deltas.get(key), totals.get(key), now);
+            if (bucket.isIdle(now)) {
+                buckets.remove(key, bucket);
+            }
+        });
+    }
+
+    Set<String> bucketKeys() {
+        return buckets.keySet().stream().collect(Collectors.toUnmodifiableSet());
+    }
+
+    private GcraBucket bucket(String key, Limit limit) {
+        GcraBucket bucket = buckets.get(key);
+        return bucket != null ? bucket : buckets.computeIfAbsent(key, k -> new GcraBucket(limit));
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    /**
+     * A configured route with its path pattern parsed and its meters registered.
+     */
+    public static final class Route {
+
+        private final String name;
+        private final PathPattern pattern;
+        private final Set<String> methods;
+        private final Limit clientLimit;
+        private final Limit routeLimit;
+        private final Counter clientThrottled;
+        private final Counter routeThrottled;
+
+        Route(RateLimitConfig.Route config, MeterRegistry meterRegistry) {
+            this.name = config.getName();
+            this.pattern = PathPatternParser.defaultInstance.parse(config.getPattern());
+            this.methods = config.getMethods().stream()
+                .map(method -> method.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+            this.clientLimit = config.getClient();
+            this.routeLimit = config.getRoute();
+            this.clientThrottled = throttled(meterRegistry, "client");
+            this.routeThrottled = throttled(meterRegistry, "route");
+        }
+
+        public String name() {
+            return name;
+        }
+
+        private boolean matches(String method, PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+        }
+
+        private Counter throttled(MeterRegistry meterRegistry, String limit) {
+            return Counter.builder(THROTTLED)
+                .description("Requests refused by a rate limit")
+                .tag("route", name)
+                .tag("limit", limit)
+                .register(meterRegistry);
+        }
+    }
+}
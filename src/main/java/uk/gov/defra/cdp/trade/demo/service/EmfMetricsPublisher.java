@@ -1,49 +1,322 @@
 package uk.gov.defra.cdp.trade.demo.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.DimensionSet;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
 
+/**
+ * Publishes the Micrometer registry to CloudWatch as EMF documents once a minute.
+ * <p>
+ * Counters and timers are cumulative in the registry, so the publisher keeps the last value it saw
+ * for each meter and sends the difference; meters are never removed, so timer histograms survive
+ * between publishes. Metrics are grouped by their {@code uri}, {@code status} and {@code outcome}
+ * tags, which become EMF dimensions, and each group is flushed in documents of at most
+ * {@value #MAX_METRICS_PER_DOCUMENT} metrics. Timers configured with percentiles also publish
+ * {@code <name>.p<percentile>}.
+ * <p>
+ * State is only touched from the scheduler thread. Not used when {@code aws.emf.registry.enabled}
+ * publishes through {@code EmfMeterRegistry} instead.
+ */
 @Service
 @Slf4j
 @ConditionalOnProperty(name = "management.metrics.enabled", havingValue = "true")
+@ConditionalOnBooleanProperty(name = "aws.emf.registry.enabled", havingValue = false, matchIfMissing = true)
 public class EmfMetricsPublisher {
+
+  static final int MAX_METRICS_PER_DOCUMENT = 100;
+  static final List<String> DIMENSION_TAGS = List.of("uri", "status", "outcome");
+
   private final String namespace;
   private final MeterRegistry meterRegistry;
-  
+  private final Supplier<MetricsLogger> metricsLoggerFactory;
+
+  private final Map<Meter.Id, MeterState> meterStates = new HashMap<>();
+  private final Map<Dimensions, Batch> batches = new LinkedHashMap<>();
+  private long cycle;
+
+  @Autowired
   EmfMetricsPublisher(
       @Value("${aws.emf.namespace}") String namespace,
       MeterRegistry meterRegistry) {
+    this(namespace, meterRegistry, MetricsLogger::new);
+  }
+
+  EmfMetricsPublisher(
+      String namespace,
+      MeterRegistry meterRegistry,
+      Supplier<MetricsLogger> metricsLoggerFactory) {
     this.namespace = namespace;
     this.meterRegistry = meterRegistry;
+    this.metricsLoggerFactory = metricsLoggerFactory;
   }
 
   @Scheduled(fixedRate = 60000)
   public void publishMetrics() {
-    MetricsLogger metricsLogger = new MetricsLogger();
+    cycle++;
+    boolean empty = true;
+    for (Meter meter : meterRegistry.getMeters()) {
+      MeterState state = meterStates.get(meter.getId());
+      if (state == null) {
+        state = new MeterState(meter);
+        meterStates.put(meter.getId(), state);
+      }
+      state.seenInCycle = cycle;
+      Batch batch = batches.computeIfAbsent(state.dimensions, Batch::new);
+      batch.seenInCycle = cycle;
+      switch (meter) {
+        case TimeGauge timeGauge -> batch.add(state.name, timeGauge.value(TimeUnit.MILLISECONDS),
+            Unit.MILLISECONDS);
+        case Gauge gauge -> batch.add(state.name, gauge.value(), Unit.NONE);
+        case Counter counter -> batch.add(state.name, state.countDelta(counter.count()),
+            Unit.COUNT);
+        case Timer timer -> addTimer(batch, state, timer);
+        case DistributionSummary summary -> addSummary(batch, state, summary);
+        case LongTaskTimer longTaskTimer -> addLongTaskTimer(batch, state, longTaskTimer);
+        case FunctionCounter functionCounter -> batch.add(state.name,
+            state.countDelta(functionCounter.count()), Unit.COUNT);
+        case FunctionTimer functionTimer -> addFunctionTimer(batch, state, functionTimer);
+        default -> log.debug("Skipping unsupported meter {}", state.name);
+      }
+      empty &= batch.isEmpty();
+    }
+
+    // Forget meters that have been removed from the registry and dimensions no longer in use
+    meterStates.values().removeIf(state -> state.seenInCycle != cycle);
+    batches.values().removeIf(batch -> batch.seenInCycle != cycle);
+
+    if (empty) {
+      return;
+    }
+
+    MetricsLogger metricsLogger = metricsLoggerFactory.get();
     metricsLogger.setNamespace(namespace);
-    meterRegistry
-        .getMeters()
-        .forEach(
-            meter -> meter
-                .measure()
-                .forEach(
-                    measurement -> {
-                      var name = meter.getId().getName();
-                      var value = measurement.getValue();
-                      log.debug("Publishing metrics for {} with a value of {}", name, value);
-                      metricsLogger.putMetric(name, value);
-                    }));
-    meterRegistry.getMeters()
-        .stream()
-        .filter(meter -> meter.getId().getName().startsWith("controller"))
-        .forEach(meterRegistry::remove);
-    metricsLogger.flush();
+    for (Batch batch : batches.values()) {
+      batch.flushTo(metricsLogger);
+    }
+  }
+
+  private void addTimer(Batch batch, MeterState state, Timer timer) {
+    double count = state.countDelta(timer.count());
+    double totalTime = state.totalDelta(timer.totalTime(TimeUnit.MILLISECONDS));
+    if (count == 0) {
+      return;
+    }
+    batch.add(state.countName, count, Unit.COUNT);
+    batch.add(state.sumName, totalTime, Unit.MILLISECONDS);
+    batch.add(state.maxName, timer.max(TimeUnit.MILLISECONDS), Unit.MILLISECONDS);
+    if (state.hasPercentiles) {
+      ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+      for (int i = 0; i < percentiles.length; i++) {
+        batch.add(state.percentileName(i, percentiles[i].percentile()),
+            percentiles[i].value(TimeUnit.MILLISECONDS), Unit.MILLISECONDS);
+      }
+    }
+  }
+
+  private void addSummary(Batch batch, MeterState state, DistributionSummary summary) {
+    double count = state.countDelta(summary.count());
+    double total = state.totalDelta(summary.totalAmount());
+    if (count == 0) {
+      return;
+    }
+    batch.add(state.countName, count, Unit.COUNT);
+    batch.add(state.sumName, total, Unit.NONE);
+    batch.add(state.maxName, summary.max(), Unit.NONE);
+    if (state.hasPercentiles) {
+      ValueAtPercentile[] percentiles = summary.takeSnapshot().percentileValues();
+      for (int i = 0; i < percentiles.length; i++) {
+        batch.add(state.percentileName(i, percentiles[i].percentile()), percentiles[i].value(),
+            Unit.NONE);
+      }
+    }
+  }
+
+  private void addLongTaskTimer(Batch batch, MeterState state, LongTaskTimer longTaskTimer) {
+    batch.add(state.activeName, longTaskTimer.activeTasks(), Unit.COUNT);
+    batch.add(state.durationName, longTaskTimer.duration(TimeUnit.MILLISECONDS),
+        Unit.MILLISECONDS);
+  }
+
+  private void addFunctionTimer(Batch batch, MeterState state, FunctionTimer functionTimer) {
+    double count = state.countDelta(functionTimer.count());
+    double totalTime = state.totalDelta(functionTimer.totalTime(TimeUnit.MILLISECONDS));
+    if (count == 0) {
+      return;
+    }
+    batch.add(state.countName, count, Unit.COUNT);
+    batch.add(state.sumName, totalTime, Unit.MILLISECONDS);
+  }
+
+  /**
+   * The EMF dimension values of a meter, null where the meter does not have the tag.
+   */
+  record Dimensions(String uri, String status, String outcome) {
+
+    static Dimensions of(Meter.Id id) {
+      return new Dimensions(id.getTag("uri"), id.getTag("status"), id.getTag("outcome"));
+    }
+
+    boolean isEmpty() {
+      return uri == null && status == null && outcome == null;
+    }
+
+    DimensionSet toDimensionSet() {
+      DimensionSet dimensionSet = new DimensionSet();
+      String[] values = {uri, status, outcome};
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          dimensionSet.addDimension(DIMENSION_TAGS.get(i), values[i]);
+        }
+      }
+      return dimensionSet;
+    }
+  }
+
+  /**
+   * What was last published for a meter, with its metric names worked out once.
+   */
+  private static final class MeterState {
+
+    private final String name;
+    private final String countName;
+    private final String sumName;
+    private final String maxName;
+    private final String activeName;
+    private final String durationName;
+    private final Dimensions dimensions;
+    private final boolean hasPercentiles;
+    private String[] percentileNames = new String[0];
+
+    private double lastCount;
+    private double lastTotal;
+    private long seenInCycle;
+
+    MeterState(Meter meter) {
+      Meter.Id id = meter.getId();
+      this.name = id.getName();
+      this.countName = name + ".count";
+      this.sumName = name + ".sum";
+      this.maxName = name + ".max";
+      this.activeName = name + ".active";
+      this.durationName = name + ".duration";
+      this.dimensions = Dimensions.of(id);
+      this.hasPercentiles = switch (meter) {
+        case Timer timer -> timer.takeSnapshot().percentileValues().length > 0;
+        case DistributionSummary summary -> summary.takeSnapshot().percentileValues().length > 0;
+        default -> false;
+      };
+    }
+
+    double countDelta(double count) {
+      double delta = count - lastCount;
+      lastCount = count;
+      // A counter that went backwards was replaced, publish what it has counted since
+      return delta < 0 ? count : delta;
+    }
+
+    double totalDelta(double total) {
+      double delta = total - lastTotal;
+      lastTotal = total;
+      return delta < 0 ? total : delta;
+    }
+
+    String percentileName(int index, double percentile) {
+      if (index >= percentileNames.length) {
+        percentileNames = Arrays.copyOf(percentileNames, index + 1);
+      }
+      if (percentileNames[index] == null) {
+        percentileNames[index] = name + ".p" + formatPercentile(percentile);
+      }
+      return percentileNames[index];
+    }
+  }
+
+  static String formatPercentile(double percentile) {
+    String formatted = Double.toString(Math.round(percentile * 10_000) / 100.0);
+    return formatted.endsWith(".0") ? formatted.substring(0, formatted.length() - 2) : formatted;
+  }
+
+  /**
+   * Metrics sharing one set of dimension values, held in arrays that are reused every publish.
+   */
+  private static final class Batch {
+
+    private final Dimensions dimensions;
+    private final DimensionSet dimensionSet;
+    private String[] names = new String[16];
+    private double[] values = new double[16];
+    private Unit[] units = new Unit[16];
+    private int size;
+    private long seenInCycle;
+
+    Batch(Dimensions dimensions) {
+      this.dimensions = dimensions;
+      this.dimensionSet = dimensions.isEmpty() ? null : dimensions.toDimensionSet();
+    }
+
+    void add(String name, double value, Unit unit) {
+      if (!Double.isFinite(value)) {
+        return;
+      }
+      if (size == names.length) {
+        names = Arrays.copyOf(names, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+        units = Arrays.copyOf(units, size * 2);
+      }
+      names[size] = name;
+      values[size] = value;
+      units[size] = unit;
+      size++;
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void flushTo(MetricsLogger metricsLogger) {
+      if (size == 0) {
+        return;
+      }
+      if (dimensionSet == null) {
+        metricsLogger.resetDimensions(true);
+      } else {
+        metricsLogger.setDimensions(true, dimensionSet);
+      }
+      for (int i = 0; i < size; i++) {
+        log.debug("Publishing metrics for {} {} with a value of {}", names[i], dimensions,
+            values[i]);
+        metricsLogger.putMetric(names[i], values[i], units[i]);
+        if ((i + 1) % MAX_METRICS_PER_DOCUMENT == 0 || i == size - 1) {
+          metricsLogger.flush();
+        }
+      }
+      Arrays.fill(names, 0, size, null);
+      size = 0;
+    }
   }
 }
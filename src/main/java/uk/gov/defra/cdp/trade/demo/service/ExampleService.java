@@ -3,6 +3,7 @@ package uk.gov.defra.cdp.trade.demo.service;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
@@ -22,6 +23,7 @@ import uk.gov.defra.cdp.trade.demo.exceptions.NotFoundException;
  * - MongoDB operations with Spring Data
  */
 @Service
+@Profile("local | integration-test")
 @Slf4j
 @RequiredArgsConstructor
 public class ExampleService {
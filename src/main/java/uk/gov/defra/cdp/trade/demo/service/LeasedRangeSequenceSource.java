@@ -0,0 +1,259 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationIdConfig;
+import uk.gov.defra.cdp.trade.demo.domain.IdNodeLease;
+import uk.gov.defra.cdp.trade.demo.exceptions.TradeDemoBackendException;
+import uk.gov.defra.cdp.trade.demo.service.NotificationIdFormatter.DayPrefix;
+
+/**
+ * Issues sequences from a range leased to this instance, so creating a notification needs no
+ * database call.
+ * <p>
+ * At startup the instance claims the first free slot in {@code id_node_leases} and keeps it alive
+ * with a heartbeat. Each slot owns a disjoint block of sequence numbers per day (see
+ * {@link NotificationIdConfig.Lease}); the instance reserves that block in chunks, writing the
+ * high-water mark back to its lease so a restart never reissues a number.
+ * <p>
+ * If the lease cannot be renewed before it expires the in-memory chunk is discarded and the next
+ * create claims a slot again, so two instances never issue from the same slot at once.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification-id.strategy", havingValue = "leased")
+public class LeasedRangeSequenceSource implements NotificationSequenceSource {
+
+    private static final FindAndModifyOptions RETURN_NEW_UPSERT = new FindAndModifyOptions()
+        .returnNew(true)
+        .upsert(true);
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+    private final NotificationIdConfig.Lease settings;
+    private final String owner;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Chunk chunk;
+    private volatile IdNodeLease lease;
+    private volatile long leaseValidUntil;
+
+    public LeasedRangeSequenceSource(MongoTemplate mongoTemplate, Clock clock,
+        NotificationIdConfig config) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+        this.settings = config.getLease();
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    @Override
+    public long nextSequence(DayPrefix day) {
+        while (true) {
+            Chunk current = chunk;
+            if (current != null && current.day().equals(day.key())
+                && clock.millis() < leaseValidUntil) {
+                long sequence = current.next().getAndIncrement();
+                if (sequence <= current.last()) {
+                    return sequence;
+                }
+            }
+            refill(day, current);
+        }
+    }
+
+    /**
+     * Claim a slot as soon as the application is up, so the first create does not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void claimOnStartup() {
+        lock.lock();
+        try {
+            if (lease == null) {
+                claim();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not claim a notification ID slot at startup, will retry on first use",
+                e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification-id.lease.heartbeat:10s}")
+    public void heartbeat() {
+        IdNodeLease held = lease;
+        if (held == null) {
+            return;
+        }
+        long now = clock.millis();
+        Instant expiresAt = Instant.ofEpochMilli(now + settings.getTtl().toMillis());
+        try {
+            boolean renewed = mongoTemplate.updateFirst(ownedSlot(held.getSlot()),
+                    Update.update("expiresAt", expiresAt), IdNodeLease.class)
+                .getMatchedCount() > 0;
+            if (renewed) {
+                leaseValidUntil = now + settings.getTtl().toMillis();
+            } else {
+                log.warn("Lost lease on notification ID slot {}", held.getSlot());
+                invalidate(held);
+            }
+        } catch (DataAccessException e) {
+            // Keep issuing until the lease would have expired, the next heartbeat may succeed
+            log.warn("Failed to renew lease on notification ID slot {}", held.getSlot(), e);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        IdNodeLease held = lease;
+        if (held == null) {
+            return;
+        }
+        try {
+            mongoTemplate.updateFirst(ownedSlot(held.getSlot()),
+                Update.update("expiresAt", Instant.ofEpochMilli(clock.millis())), IdNodeLease.class);
+            log.info("Released notification ID slot {}", held.getSlot());
+        } catch (DataAccessException e) {
+            log.warn("Failed to release notification ID slot {}, it will expire in {}",
+                held.getSlot(), settings.getTtl(), e);
+        }
+    }
+
+    private void refill(DayPrefix day, Chunk exhausted) {
+        lock.lock();
+        try {
+            if (chunk != exhausted) {
+                // Another thread already refilled
+                return;
+            }
+            if (lease == null || clock.millis() >= leaseValidUntil) {
+                claim();
+            }
+            Chunk reserved = reserve(day);
+            if (reserved == null) {
+                // The lease was taken over since the last heartbeat, start again on a fresh slot
+                claim();
+                reserved = reserve(day);
+            }
+            if (reserved == null) {
+                throw new TradeDemoBackendException("Could not reserve notification IDs");
+            }
+            chunk = reserved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void claim() {
+        lease = null;
+        chunk = null;
+        for (int slot = 0; slot < settings.getMaxNodes(); slot++) {
+            long now = clock.millis();
+            Query claimable = Query.query(where("_id").is(slot)
+                .orOperator(where("expiresAt").lt(Instant.ofEpochMilli(now)),
+                    where("owner").is(owner)));
+            Update take = new Update()
+                .set("owner", owner)
+                .set("expiresAt", Instant.ofEpochMilli(now + settings.getTtl().toMillis()));
+            try {
+                IdNodeLease claimed = mongoTemplate.findAndModify(claimable, take, RETURN_NEW_UPSERT,
+                    IdNodeLease.class);
+                if (claimed != null) {
+                    lease = claimed;
+                    leaseValidUntil = now + settings.getTtl().toMillis();
+                    log.info("Claimed notification ID slot {} as {}", slot, owner);
+                    return;
+                }
+            } catch (DuplicateKeyException e) {
+                // The slot document exists and is leased to a live instance
+                log.debug("Notification ID slot {} is taken", slot);
+            }
+        }
+        throw new TradeDemoBackendException(
+            "No free notification ID slot out of " + settings.getMaxNodes());
+    }
+
+    /**
+     * Reserve the next chunk for {@code day}, or return null if the lease is no longer ours.
+     */
+    private Chunk reserve(DayPrefix day) {
+        IdNodeLease held = lease;
+        long rangeStart = (held.getSlot() + 1L) * settings.getRangeSize();
+        long rangeEnd = rangeStart + settings.getRangeSize() - 1;
+
+        long first = day.key().equals(held.getDay()) && held.getReservedUpTo() != null
+            ? held.getReservedUpTo() + 1
+            : rangeStart;
+        if (first > rangeEnd) {
+            throw new TradeDemoBackendException(
+                "Notification ID range exhausted for slot %d on %s".formatted(held.getSlot(),
+                    day.key()));
+        }
+        long last = Math.min(first + settings.getChunkSize() - 1, rangeEnd);
+
+        long now = clock.millis();
+        boolean reserved = mongoTemplate.updateFirst(ownedSlot(held.getSlot()),
+                new Update()
+                    .set("day", day.key())
+                    .set("reservedUpTo", last)
+                    .set("expiresAt", Instant.ofEpochMilli(now + settings.getTtl().toMillis())),
+                IdNodeLease.class)
+            .getMatchedCount() > 0;
+        if (!reserved) {
+            log.warn("Lost lease on notification ID slot {}", held.getSlot());
+            invalidate(held);
+            return null;
+        }
+
+        held.setDay(day.key());
+        held.setReservedUpTo(last);
+        leaseValidUntil = now + settings.getTtl().toMillis();
+        log.debug("Reserved notification IDs {} to {} for {} on slot {}", first, last, day.key(),
+            held.getSlot());
+        return new Chunk(day.key(), new AtomicLong(first), last);
+    }
+
+    private void invalidate(IdNodeLease held) {
+        lock.lock();
+        try {
+            if (lease == held) {
+                lease = null;
+                chunk = null;
+                leaseValidUntil = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Query ownedSlot(int slot) {
+        return Query.query(where("_id").is(slot).and("owner").is(owner));
+    }
+
+    /**
+     * Sequences {@code next} to {@code last} (inclusive) reserved for {@code day}.
+     */
+    private record Chunk(String day, AtomicLong next, long last) {
+
+    }
+}
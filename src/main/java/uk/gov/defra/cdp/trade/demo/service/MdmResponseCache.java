@@ -0,0 +1,218 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import uk.gov.defra.cdp.trade.demo.configuration.ContentNegotiationConfig;
+import uk.gov.defra.cdp.trade.demo.domain.ReferenceData;
+
+/**
+ * Encoded bodies for {@code /mdm/bcps}, so the MDM register is serialised and compressed once
+ * per reference data snapshot instead of on every request.
+ * <p>
+ * Each representation (JSON or CBOR, with or without gzip) is encoded the first time it is asked
+ * for and kept until the snapshot is reloaded. The ETag is a hash of the JSON encoding: a reload
+ * that returns the same content keeps the existing bodies and ETags, so downstream caches stay
+ * valid.
+ */
+@Slf4j
+@Service
+public class MdmResponseCache {
+
+    private static final String GZIP = "gzip";
+
+    private final ReferenceDataService referenceDataService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final boolean cborEnabled;
+
+    private volatile Entry entry;
+
+    public MdmResponseCache(ReferenceDataService referenceDataService, ObjectMapper objectMapper,
+        @Value("${cdp.cbor.enabled:true}") boolean cborEnabled) {
+        this.referenceDataService = referenceDataService;
+        this.objectMapper = objectMapper;
+        this.cborMapper = ContentNegotiationConfig.cborMapper(objectMapper);
+        this.cborEnabled = cborEnabled;
+    }
+
+    /**
+     * The encoded MDM register in the representation that best matches the request headers.
+     *
+     * @param accept the request's {@code Accept} header, or null
+     * @param acceptEncoding the request's {@code Accept-Encoding} header, or null
+     * @return the encoded body with its headers
+     */
+    public EncodedResponse get(String accept, String acceptEncoding) {
+        Representation representation = Representation.of(
+            cborEnabled && prefersCbor(accept), acceptsGzip(acceptEncoding));
+        Entry current = entry(referenceDataService.snapshot());
+        return current.encoded().computeIfAbsent(representation, r -> encode(current, r));
+    }
+
+    private Entry entry(ReferenceData snapshot) {
+        Entry current = entry;
+        if (current != null && current.snapshot() == snapshot) {
+            return current;
+        }
+        synchronized (this) {
+            current = entry;
+            if (current != null && current.snapshot() == snapshot) {
+                return current;
+            }
+            byte[] json = json(snapshot);
+            String hash = hash(json);
+            Entry next;
+            if (current != null && current.hash().equals(hash)) {
+                next = new Entry(snapshot, hash, current.json(), current.encoded());
+            } else {
+                log.info("Encoding /mdm/bcps for snapshot loaded at {}: {} bytes, ETag {}",
+                    snapshot.loadedAt(), json.length, hash);
+                next = new Entry(snapshot, hash, json, new ConcurrentHashMap<>());
+            }
+            entry = next;
+            return next;
+        }
+    }
+
+    private byte[] json(ReferenceData snapshot) {
+        try {
+            return objectMapper.writeValueAsBytes(snapshot.source());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialise MDM response", e);
+        }
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * True if {@code application/cbor} is accepted with a higher quality than anything that
+     * would match JSON; clients that accept anything get JSON.
+     */
+    static boolean prefersCbor(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        double cbor = 0;
+        double json = 0;
+        for (MediaType type : accepted) {
+            double quality = type.getQualityValue();
+            if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                cbor = Math.max(cbor, quality);
+            } else if (type.includes(MediaType.APPLICATION_JSON)) {
+                json = Math.max(json, quality);
+            }
+        }
+        return cbor > json;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The ways {@code /mdm/bcps} can be encoded; each has its own ETag.
+     */
+    enum Representation {
+        JSON(MediaType.APPLICATION_JSON, false, ""),
+        JSON_GZIP(MediaType.APPLICATION_JSON, true, "-gzip"),
+        CBOR(MediaType.APPLICATION_CBOR, false, "-cbor"),
+        CBOR_GZIP(MediaType.APPLICATION_CBOR, true, "-cbor-gzip");
+
+        private final MediaType contentType;
+        private final boolean gzip;
+        private final String etagSuffix;
+
+        Representation(MediaType contentType, boolean gzip, String etagSuffix) {
+            this.contentType = contentType;
+            this.gzip = gzip;
+            this.etagSuffix = etagSuffix;
+        }
+
+        static Representation of(boolean cbor, boolean gzip) {
+            if (cbor) {
+                return gzip ? CBOR_GZIP : CBOR;
+            }
+            return gzip ? JSON_GZIP : JSON;
+        }
+    }
+
+    /**
+     * An encoded body and the headers that describe it. The body is shared between requests and
+     * must not be modified.
+     *
+     * @param body the encoded bytes
+     * @param eTag the strong entity tag, quoted
+     * @param contentType JSON or CBOR
+     * @param contentEncoding {@code gzip}, or null if not compressed
+     */
+    public record EncodedResponse(byte[] body, String eTag, MediaType contentType,
+                                  String contentEncoding) {
+    }
+
+    private record Entry(ReferenceData snapshot, String hash, byte[] json,
+                         Map<Representation, EncodedResponse> encoded) {
+    }
+
+    private EncodedResponse encode(Entry entry, Representation representation) {
+        try {
+            byte[] body = entry.json();
+            if (representation.contentType.equals(MediaType.APPLICATION_CBOR)) {
+                body = cborMapper.writeValueAsBytes(entry.snapshot().source());
+            }
+            if (representation.gzip) {
+                body = gzip(body);
+            }
+            String eTag = "\"" + entry.hash() + representation.etagSuffix + "\"";
+            return new EncodedResponse(body, eTag, representation.contentType,
+                representation.gzip ? GZIP : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode MDM response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4);
+        try (OutputStream out = new GZIPOutputStream(buffer, 8192)) {
+            out.write(body);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -1,8 +1,8 @@
 package uk.gov.defra.cdp.trade.demo.service;
 
 import java.util.Objects;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import uk.gov.defra.cdp.trade.demo.client.MdmApiClient;
@@ -11,7 +11,6 @@ import uk.gov.defra.cdp.trade.demo.configuration.MdmConfiguration;
 import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmResponse;
 
 @Slf4j
-@AllArgsConstructor
 @Service
 public class MdmService {
 
@@ -19,6 +18,12 @@ public class MdmService {
     
     private final MdmApiClient mdmApiClient;
     private final MdmConfiguration mdmConfiguration;
+
+    // The Feign client (and its trade-auth client) is built on the first call, see lazy-init.types
+    public MdmService(@Lazy MdmApiClient mdmApiClient, MdmConfiguration mdmConfiguration) {
+        this.mdmApiClient = mdmApiClient;
+        this.mdmConfiguration = mdmConfiguration;
+    }
     
     public MdmResponse getBcps() {
 
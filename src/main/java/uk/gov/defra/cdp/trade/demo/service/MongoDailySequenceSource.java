@@ -0,0 +1,79 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import uk.gov.defra.cdp.trade.demo.domain.IdSequence;
+import uk.gov.defra.cdp.trade.demo.service.NotificationIdFormatter.DayPrefix;
+
+/**
+ * Issues sequences from a single {@code id_sequences} document per day, atomically incremented
+ * with findAndModify on every call.
+ * <p>
+ * Sequences are dense and start at 1, but every instance contends on the same document and each
+ * create needs a primary write.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification-id.strategy", havingValue = "sequence",
+    matchIfMissing = true)
+public class MongoDailySequenceSource implements NotificationSequenceSource {
+
+    // Neither is modified by MongoTemplate, so one instance serves every call
+    private static final Update INCREMENT_SEQUENCE = new Update().inc("sequence", 1);
+    private static final FindAndModifyOptions RETURN_NEW_UPSERT = new FindAndModifyOptions()
+        .returnNew(true)
+        .upsert(true);
+
+    private final MongoTemplate mongoTemplate;
+
+    private volatile DayQuery dayQuery;
+
+    @Override
+    public long nextSequence(DayPrefix day) {
+        IdSequence sequence = mongoTemplate.findAndModify(
+            sequenceQuery(day), INCREMENT_SEQUENCE, RETURN_NEW_UPSERT, IdSequence.class);
+
+        assert sequence != null;
+        return sequence.getSequence();
+    }
+
+    /**
+     * Reserves the whole block with a single increment of the day's counter.
+     */
+    @Override
+    public long[] nextSequences(DayPrefix day, int count) {
+        if (count == 0) {
+            return new long[0];
+        }
+        IdSequence sequence = mongoTemplate.findAndModify(
+            sequenceQuery(day), new Update().inc("sequence", count), RETURN_NEW_UPSERT,
+            IdSequence.class);
+
+        assert sequence != null;
+        long first = sequence.getSequence() - count + 1;
+        long[] sequences = new long[count];
+        for (int i = 0; i < count; i++) {
+            sequences[i] = first + i;
+        }
+        return sequences;
+    }
+
+    private Query sequenceQuery(DayPrefix day) {
+        DayQuery cached = dayQuery;
+        if (cached == null || cached.day() != day) {
+            cached = new DayQuery(day, new Query(Criteria.where("id").is(day.key())));
+            dayQuery = cached;
+        }
+        return cached.query();
+    }
+
+    private record DayQuery(DayPrefix day, Query query) {
+
+    }
+}
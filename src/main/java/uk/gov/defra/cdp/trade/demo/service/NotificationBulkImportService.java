@@ -0,0 +1,317 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import uk.gov.defra.cdp.trade.demo.configuration.BulkImportConfig;
+import uk.gov.defra.cdp.trade.demo.domain.BulkImportResult;
+import uk.gov.defra.cdp.trade.demo.domain.BulkItemResult;
+import uk.gov.defra.cdp.trade.demo.domain.BulkItemResult.Outcome;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDto;
+import uk.gov.defra.cdp.trade.demo.service.NotificationStatsRollup.Contribution;
+
+/**
+ * Bulk create/upsert of draft notifications for upstream migrations.
+ * <p>
+ * The request body is read as a stream of {@link NotificationDto}s (a JSON array or
+ * newline-delimited JSON) and processed in chunks, so memory use is bounded by the chunk size
+ * rather than the request size. For each chunk, IDs for new notifications are reserved as one
+ * block and all items are written with a single unordered bulk write; a failure on one item does
+ * not stop the others.
+ * <p>
+ * Reading stops at {@code notification-bulk-import.max-items}; the rest of the body is reported
+ * as a single rejection.
+ * <p>
+ * Items without an ID are created. Items with an ID replace the draft with that ID, or create it
+ * if it does not exist; submitted notifications, live or archived, are never overwritten.
+ */
+@Slf4j
+@Service
+public class NotificationBulkImportService {
+
+    private static final String DUPLICATE_KEY_ERROR = "E11000";
+    private static final String LIMIT_EXCEEDED =
+        "Bulk import limit of %d items exceeded, the rest of the request was not read";
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationIdGeneratorService idGenerator;
+    private final Validator validator;
+    private final BulkImportConfig config;
+    private final ObjectReader reader;
+    private final NotificationStatsRollup statsRollup;
+
+    public NotificationBulkImportService(MongoTemplate mongoTemplate,
+        NotificationIdGeneratorService idGenerator, Validator validator, BulkImportConfig config,
+        ObjectMapper objectMapper, NotificationStatsRollup statsRollup) {
+        this.mongoTemplate = mongoTemplate;
+        this.statsRollup = statsRollup;
+        this.idGenerator = idGenerator;
+        this.validator = validator;
+        this.config = config;
+        this.reader = objectMapper.readerFor(NotificationDto.class);
+    }
+
+    /**
+     * Import notifications from a JSON array or NDJSON stream.
+     *
+     * @param body the request body
+     * @return the outcome of every item, in request order
+     * @throws IOException if the body cannot be read
+     */
+    public BulkImportResult importNotifications(InputStream body) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        List<Item> chunk = new ArrayList<>(config.getChunkSize());
+        Set<String> seenIds = new HashSet<>();
+        int index = 0;
+
+        try (MappingIterator<NotificationDto> items = reader.readValues(body)) {
+            while (true) {
+                NotificationDto dto;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    if (index >= config.getMaxItems()) {
+                        // Stop reading, so an oversized body costs neither time nor response size
+                        result.reject(index, null, LIMIT_EXCEEDED.formatted(config.getMaxItems()));
+                        break;
+                    }
+                    dto = items.nextValue();
+                } catch (JsonParseException e) {
+                    // The stream can't be resynchronised after a syntax error
+                    result.reject(index, null, "Malformed JSON: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    result.reject(index++, null, "Invalid notification: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                String rejection = validate(dto, seenIds);
+                if (rejection != null) {
+                    result.reject(index++, dto.getId(), rejection);
+                    continue;
+                }
+
+                chunk.add(new Item(index++, dto));
+                if (chunk.size() == config.getChunkSize()) {
+                    write(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, result);
+        }
+
+        result.getItems().sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        log.info("Bulk import processed {} notifications: {} created, {} updated, {} rejected",
+            result.getReceived(), result.getCreated(), result.getUpdated(), result.getRejected());
+        return result;
+    }
+
+    private String validate(NotificationDto dto, Set<String> seenIds) {
+        if (dto == null) {
+            return "Notification must not be null";
+        }
+        Set<ConstraintViolation<NotificationDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        }
+        if (dto.getId() != null && !seenIds.add(dto.getId())) {
+            return "Duplicate id in request: " + dto.getId();
+        }
+        return null;
+    }
+
+    private void write(List<Item> items, BulkImportResult result) {
+        // The upsert filter only sees live notifications, so archived IDs are turned away first
+        Set<String> archived = archived(items);
+        List<Item> chunk = items.stream()
+            .filter(item -> {
+                String id = item.dto().getId();
+                if (id != null && archived.contains(id)) {
+                    result.reject(item.index(), id, "Notification already submitted: " + id);
+                    return false;
+                }
+                return true;
+            })
+            .toList();
+        if (chunk.isEmpty()) {
+            return;
+        }
+        int creates = (int) chunk.stream().filter(item -> item.dto().getId() == null).count();
+        Iterator<String> newIds = idGenerator.generateIds(creates).iterator();
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Notification> existing = existing(chunk);
+
+        BulkOperations operations = mongoTemplate.bulkOps(BulkMode.UNORDERED, Notification.class);
+        List<String> ids = new ArrayList<>(chunk.size());
+        List<Notification> written = new ArrayList<>(chunk.size());
+        for (Item item : chunk) {
+            NotificationDto dto = item.dto();
+            if (dto.getId() == null) {
+                Notification notification = new Notification();
+                notification.setId(newIds.next());
+                NotificationService.setNotificationDetails(dto, notification);
+                notification.setCreated(now);
+                notification.setUpdated(now);
+                operations.insert(notification);
+                ids.add(notification.getId());
+                written.add(notification);
+            } else {
+                Notification draft = new Notification();
+                NotificationService.setNotificationDetails(dto, draft);
+                Notification previous = existing.get(dto.getId());
+                draft.setCreated(previous != null ? previous.getCreated() : now);
+                operations.upsert(
+                    Query.query(where("_id").is(dto.getId()).and("status").ne("SUBMITTED")),
+                    draftUpdate(draft, now));
+                ids.add(dto.getId());
+                written.add(draft);
+            }
+        }
+
+        BulkWriteResult writeResult;
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        try {
+            writeResult = operations.execute();
+        } catch (BulkOperationException e) {
+            writeResult = e.getResult();
+            e.getErrors().forEach(error -> errors.put(error.getIndex(), error));
+        }
+        Set<Integer> upserted = writeResult.getUpserts().stream()
+            .map(BulkWriteUpsert::getIndex)
+            .collect(Collectors.toSet());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            Item item = chunk.get(i);
+            BulkWriteError error = errors.get(i);
+            if (error != null) {
+                result.reject(item.index(), ids.get(i), describe(error, item.dto()));
+            } else {
+                boolean created = item.dto().getId() == null || upserted.contains(i);
+                result.add(new BulkItemResult(item.index(), ids.get(i),
+                    created ? Outcome.CREATED : Outcome.UPDATED, null));
+                statsRollup.record(created ? null : Contribution.of(existing.get(ids.get(i))),
+                    Contribution.of(written.get(i)));
+            }
+        }
+    }
+
+    /**
+     * The stored notifications the chunk will replace, so their old counts can be taken out of
+     * the stats rollups.
+     */
+    private Map<String, Notification> existing(List<Item> chunk) {
+        List<String> ids = ids(chunk);
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Query query = Query.query(where("_id").in(ids));
+        query.fields().include("created", "status", "originCountry", "transport.bcpCode",
+            "commodity.species");
+        return mongoTemplate.find(query, Notification.class).stream()
+            .collect(Collectors.toMap(Notification::getId, notification -> notification));
+    }
+
+    /**
+     * The IDs in the chunk that belong to archived notifications.
+     */
+    private Set<String> archived(List<Item> chunk) {
+        List<String> ids = ids(chunk);
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        Query query = Query.query(where("_id").in(ids));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, Notification.ARCHIVE_COLLECTION).stream()
+            .map(document -> document.get("_id").toString())
+            .collect(Collectors.toSet());
+    }
+
+    private static List<String> ids(List<Item> chunk) {
+        return chunk.stream()
+            .map(item -> item.dto().getId())
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    private static Update draftUpdate(Notification draft, LocalDateTime now) {
+        Update update = new Update()
+            .set("updated", now)
+            .setOnInsert("created", now);
+        setOrUnset(update, "chedReference", draft.getChedReference());
+        setOrUnset(update, "status", draft.getStatus());
+        setOrUnset(update, "originCountry", draft.getOriginCountry());
+        setOrUnset(update, "commodity", draft.getCommodity());
+        setOrUnset(update, "importReason", draft.getImportReason());
+        setOrUnset(update, "internalMarketPurpose", draft.getInternalMarketPurpose());
+        setOrUnset(update, "transport", draft.getTransport());
+        setOrUnset(update, "searchTerms", draft.getSearchTerms());
+        return update;
+    }
+
+    /**
+     * Mirror what {@code save} does with nulls: leave the field out rather than store a null,
+     * which matters for the sparse unique index on chedReference.
+     */
+    private static void setOrUnset(Update update, String field, Object value) {
+        if (value == null) {
+            update.unset(field);
+        } else {
+            update.set(field, value);
+        }
+    }
+
+    private static String describe(BulkWriteError error, NotificationDto dto) {
+        String message = error.getMessage();
+        if (message != null && message.startsWith(DUPLICATE_KEY_ERROR)) {
+            if (message.contains("chedReference")) {
+                return "CHED reference already in use: " + dto.getChedReference();
+            }
+            if (dto.getId() != null) {
+                // The upsert filter excludes submitted notifications, so the insert collides
+                return "Notification already submitted: " + dto.getId();
+            }
+        }
+        return message;
+    }
+
+    private record Item(int index, NotificationDto dto) {
+
+    }
+}
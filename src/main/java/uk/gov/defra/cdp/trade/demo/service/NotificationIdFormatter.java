@@ -0,0 +1,116 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import org.springframework.stereotype.Component;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationIdConfig;
+
+/**
+ * Builds notification IDs of the form {@code CDP.YYYY.MM.DD.<sequence>} without going through
+ * {@link String#format}.
+ * <p>
+ * The day prefix is computed once per day in the configured zone and cached together with the
+ * epoch-millisecond window it covers, so the common path is a clock read, a range check and a
+ * single char array write for the sequence digits.
+ */
+@Component
+public class NotificationIdFormatter {
+
+    private final Clock clock;
+    private final ZoneId zone;
+
+    private volatile DayPrefix current;
+
+    public NotificationIdFormatter(Clock clock, NotificationIdConfig config) {
+        this.clock = clock;
+        this.zone = config.getZone();
+    }
+
+    /**
+     * The prefix for the current day, recomputed only when the clock has moved outside the cached
+     * day.
+     */
+    public DayPrefix currentDay() {
+        long now = clock.millis();
+        DayPrefix day = current;
+        if (day == null || !day.covers(now)) {
+            // Racing threads compute the same value, so the last write winning is harmless
+            day = DayPrefix.of(Instant.ofEpochMilli(now).atZone(zone).toLocalDate(), zone);
+            current = day;
+        }
+        return day;
+    }
+
+    /**
+     * A {@code CDP.YYYY.MM.DD} day key and the time window it applies to.
+     */
+    public static final class DayPrefix {
+
+        private static final int KEY_LENGTH = "CDP.YYYY.MM.DD".length();
+
+        private final String key;
+        private final char[] prefix;
+        private final long startMillis;
+        private final long endMillis;
+
+        private DayPrefix(char[] prefix, long startMillis, long endMillis) {
+            this.prefix = prefix;
+            this.key = new String(prefix, 0, KEY_LENGTH);
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+        }
+
+        static DayPrefix of(LocalDate date, ZoneId zone) {
+            // "CDP.YYYY.MM.DD." - the trailing separator is kept so IDs are a single copy
+            char[] prefix = {'C', 'D', 'P', '.', 0, 0, 0, 0, '.', 0, 0, '.', 0, 0, '.'};
+            writeDigits(prefix, 4, 4, date.getYear());
+            writeDigits(prefix, 9, 2, date.getMonthValue());
+            writeDigits(prefix, 12, 2, date.getDayOfMonth());
+            return new DayPrefix(prefix,
+                date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+
+        /**
+         * The day key, e.g. {@code CDP.2025.12.05}, used as the sequence document ID.
+         */
+        public String key() {
+            return key;
+        }
+
+        public boolean covers(long epochMillis) {
+            return epochMillis >= startMillis && epochMillis < endMillis;
+        }
+
+        /**
+         * The notification ID for a sequence number, e.g. {@code CDP.2025.12.05.42}.
+         */
+        public String format(long sequence) {
+            if (sequence < 0) {
+                throw new IllegalArgumentException("Sequence must not be negative: " + sequence);
+            }
+            char[] id = Arrays.copyOf(prefix, prefix.length + digitCount(sequence));
+            writeDigits(id, prefix.length, id.length - prefix.length, sequence);
+            return new String(id);
+        }
+
+        private static int digitCount(long value) {
+            int digits = 1;
+            while (value >= 10) {
+                value /= 10;
+                digits++;
+            }
+            return digits;
+        }
+
+        private static void writeDigits(char[] target, int offset, int width, long value) {
+            for (int i = offset + width - 1; i >= offset; i--) {
+                target[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+    }
+}
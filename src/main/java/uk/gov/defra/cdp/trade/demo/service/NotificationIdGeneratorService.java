@@ -1,38 +1,52 @@
 package uk.gov.defra.cdp.trade.demo.service;
 
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.mongodb.core.FindAndModifyOptions;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
-import uk.gov.defra.cdp.trade.demo.domain.IdSequence;
+import uk.gov.defra.cdp.trade.demo.profiling.NotificationIdEvent;
+import uk.gov.defra.cdp.trade.demo.service.NotificationIdFormatter.DayPrefix;
 
 @Component
 @RequiredArgsConstructor
 public class NotificationIdGeneratorService {
 
-    private final MongoTemplate mongoTemplate;
+    private final NotificationSequenceSource sequenceSource;
+    private final NotificationIdFormatter formatter;
 
     public String generateId() {
-        LocalDate today = LocalDate.now();
-        String dateKey = String.format("CDP.%04d.%02d.%02d",
-            today.getYear(),
-            today.getMonthValue(),
-            today.getDayOfMonth());
-
-        Query query = new Query(Criteria.where("id").is(dateKey));
-        Update update = new Update().inc("sequence", 1);
-        FindAndModifyOptions options = new FindAndModifyOptions()
-            .returnNew(true)
-            .upsert(true);
-
-        IdSequence sequence = mongoTemplate.findAndModify(
-            query, update, options, IdSequence.class);
+        NotificationIdEvent event = new NotificationIdEvent(1);
+        event.begin();
+        try {
+            DayPrefix day = formatter.currentDay();
+            String id = day.format(sequenceSource.nextSequence(day));
+            event.notificationId = id;
+            return id;
+        } finally {
+            event.commit();
+        }
+    }
 
-        assert sequence != null;
-        return String.format("%s.%d", dateKey, sequence.getSequence());
+    /**
+     * Generate a block of IDs with a single reservation against the sequence source.
+     *
+     * @param count the number of IDs needed
+     * @return {@code count} unique IDs
+     */
+    public List<String> generateIds(int count) {
+        NotificationIdEvent event = new NotificationIdEvent(count);
+        event.begin();
+        try {
+            DayPrefix day = formatter.currentDay();
+            long[] sequences = sequenceSource.nextSequences(day, count);
+            List<String> ids = new ArrayList<>(count);
+            for (long sequence : sequences) {
+                ids.add(day.format(sequence));
+            }
+            event.notificationId = ids.isEmpty() ? null : ids.getFirst();
+            return ids;
+        } finally {
+            event.commit();
+        }
     }
 }
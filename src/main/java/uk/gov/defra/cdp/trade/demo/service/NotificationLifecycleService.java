@@ -0,0 +1,247 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexOptions;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationLifecycleConfig;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+
+/**
+ * Keeps the {@code notifications} collection to what is still being worked on.
+ * <p>
+ * Drafts not updated within {@code notification-lifecycle.draft-ttl} are deleted by Mongo's TTL
+ * monitor through a partial index on {@code updated}, which is created or retuned at startup so
+ * the TTL can change without a migration.
+ * <p>
+ * Submitted notifications not updated within {@code notification-lifecycle.archive-after} are
+ * moved to {@link Notification#ARCHIVE_COLLECTION} in batches, oldest first, with a pause between
+ * batches. Each batch is copied before it is removed, so a notification is always readable from
+ * one collection or the other, and a run interrupted between the two is finished by the next.
+ * Submitted notifications never change, so a copy cannot go stale, but one can be deleted while
+ * its batch is copied; the copy is then discarded. Runs on several instances may overlap; the
+ * copy skips what is already archived and the loser of a race retries next run.
+ * <p>
+ * Neither path touches the stats rollups. Archived notifications stay counted because the rollup
+ * rebuild reads the archive too, which is indexed on {@code created} here for it. Expired drafts
+ * cannot be counted out, as the TTL monitor deletes them without the application seeing; they
+ * stay counted until their creation day is next rebuilt.
+ */
+@Slf4j
+@Service
+public class NotificationLifecycleService {
+
+    public static final String ARCHIVED = "notification.archived";
+
+    static final String DRAFT_TTL_INDEX = "draft_ttl";
+
+    private static final String NOTIFICATIONS = "notifications";
+    private static final String SUBMITTED = "SUBMITTED";
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationLifecycleConfig config;
+    private final Clock clock;
+    private final Counter archived;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public NotificationLifecycleService(MongoTemplate mongoTemplate,
+        NotificationLifecycleConfig config, Clock clock, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.config = config;
+        // updated is a LocalDateTime in the JVM zone
+        this.clock = clock.withZone(ZoneId.systemDefault());
+        this.archived = Counter.builder(ARCHIVED)
+            .description("Submitted notifications moved to the archive")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Create the draft TTL index, change its expiry if the configured TTL has changed, or drop it
+     * if the TTL is zero.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureDraftTtlIndex() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(NOTIFICATIONS);
+            Duration ttl = config.getDraftTtl();
+            Optional<IndexInfo> current = indexOps.getIndexInfo().stream()
+                .filter(index -> DRAFT_TTL_INDEX.equals(index.getName()))
+                .findFirst();
+
+            if (ttl.isZero() || ttl.isNegative()) {
+                if (current.isPresent()) {
+                    indexOps.dropIndex(DRAFT_TTL_INDEX);
+                    log.info("Dropped draft TTL index, drafts no longer expire");
+                }
+            } else if (current.isEmpty()) {
+                indexOps.createIndex(draftTtlIndex(ttl));
+                log.info("Created draft TTL index, drafts expire {} after their last update", ttl);
+            } else if (!current.get().getExpireAfter().map(ttl::equals).orElse(false)) {
+                // createIndexes refuses to change the options of an existing index, collMod can
+                indexOps.alterIndex(DRAFT_TTL_INDEX, IndexOptions.expireAfter(ttl));
+                log.info("Changed draft TTL to {}", ttl);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not set up the draft TTL index, drafts will not expire: {}",
+                e.getMessage());
+        }
+    }
+
+    /**
+     * Index the archive on {@code created} for the stats rebuild. Index creation from the
+     * {@link Notification} mapping only covers {@code notifications}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureArchiveIndex() {
+        try {
+            mongoTemplate.indexOps(Notification.ARCHIVE_COLLECTION)
+                .createIndex(new Index().on("created", Direction.ASC).named("created"));
+        } catch (DataAccessException e) {
+            log.warn("Could not index the notification archive, stats rebuilds will scan it: {}",
+                e.getMessage());
+        }
+    }
+
+    static Index draftTtlIndex(Duration ttl) {
+        return new Index()
+            .on("updated", Direction.ASC)
+            .named(DRAFT_TTL_INDEX)
+            .expire(ttl)
+            .partial(PartialIndexFilter.of(where("status").is("DRAFT")));
+    }
+
+    /**
+     * Start an archive run on its own virtual thread, so the pauses between batches do not hold
+     * up other scheduled tasks. Does nothing if a run is still going.
+     */
+    @Scheduled(initialDelayString = "${notification-lifecycle.archive-initial-delay:5m}",
+        fixedDelayString = "${notification-lifecycle.archive-interval:1h}")
+    public void scheduleArchive() {
+        if (config.isArchiveEnabled() && running.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("notification-archiver").start(() -> {
+                try {
+                    archive();
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Move submitted notifications past {@code notification-lifecycle.archive-after} to the
+     * archive, up to {@code notification-lifecycle.max-batches} batches.
+     *
+     * @return the number of notifications moved
+     */
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(config.getArchiveAfter());
+        int moved = 0;
+        try {
+            for (int batch = 0; batch < config.getMaxBatches(); batch++) {
+                if (batch > 0) {
+                    Thread.sleep(config.getBatchPause());
+                }
+                int count = archiveBatch(cutoff);
+                moved += count;
+                if (count < config.getBatchSize()) {
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Archive run stopped after {} notifications, the next run will continue: {}",
+                moved, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (moved > 0) {
+            log.info("Archived {} notifications submitted before {}", moved, cutoff);
+        }
+        return moved;
+    }
+
+    /**
+     * Move one batch: copy the oldest submitted notifications updated before the cutoff that are
+     * not archived yet, then remove the whole batch from {@code notifications}.
+     *
+     * @return the number of notifications removed from {@code notifications}
+     */
+    int archiveBatch(LocalDateTime cutoff) {
+        Query query = Query.query(where("status").is(SUBMITTED).and("updated").lt(cutoff))
+            .with(Sort.by(Direction.ASC, "updated"))
+            .limit(config.getBatchSize());
+        List<Notification> batch = mongoTemplate.find(query, Notification.class);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<String> ids = ids(batch);
+
+        Set<String> copied = existing(ids, Notification.ARCHIVE_COLLECTION);
+        List<Notification> toCopy = batch.stream()
+            .filter(notification -> !copied.contains(notification.getId()))
+            .toList();
+        if (!toCopy.isEmpty()) {
+            mongoTemplate.insert(toCopy, Notification.ARCHIVE_COLLECTION);
+            discardDeleted(ids(toCopy));
+        }
+
+        long removed = mongoTemplate.remove(
+            Query.query(where("_id").in(ids).and("status").is(SUBMITTED)), Notification.class)
+            .getDeletedCount();
+        archived.increment(removed);
+        return (int) removed;
+    }
+
+    /**
+     * Remove the copies of notifications deleted after the batch was read. Deleting a submitted
+     * notification removes it from {@code notifications} and then from the archive, so a delete
+     * that lands after this check removes the copy itself.
+     */
+    private void discardDeleted(List<String> copiedIds) {
+        Set<String> live = existing(copiedIds, NOTIFICATIONS);
+        List<String> deleted = copiedIds.stream().filter(id -> !live.contains(id)).toList();
+        if (!deleted.isEmpty()) {
+            mongoTemplate.remove(Query.query(where("_id").in(deleted)),
+                Notification.ARCHIVE_COLLECTION);
+            log.info("Discarded archive copies of {} notifications deleted while archiving",
+                deleted.size());
+        }
+    }
+
+    private Set<String> existing(List<String> ids, String collection) {
+        Query query = Query.query(where("_id").in(ids));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, collection).stream()
+            .map(document -> document.get("_id").toString())
+            .collect(Collectors.toSet());
+    }
+
+    private static List<String> ids(List<Notification> notifications) {
+        return notifications.stream().map(Notification::getId).toList();
+    }
+}
@@ -0,0 +1,94 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationSearchConfig;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchResult;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchResult.Match;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchTerms;
+import uk.gov.defra.cdp.trade.demo.domain.repository.NotificationRepository;
+
+/**
+ * Searches notifications by CHED reference, vehicle ID, commodity description and species name.
+ * <p>
+ * Whole words are looked up in the text index first and ranked by text score. When none match,
+ * typically because the caseworker is still typing, every term is matched as a prefix of the
+ * notification's search terms instead and the newest notifications come first. Each query is
+ * timed as {@value #METRIC_NAME}, tagged with the match it ran.
+ */
+@Service
+@Slf4j
+public class NotificationSearchService {
+
+    public static final String METRIC_NAME = "notification.search";
+
+    private final NotificationRepository repository;
+    private final NotificationSearchConfig config;
+    private final MeterRegistry meterRegistry;
+
+    public NotificationSearchService(NotificationRepository repository,
+        NotificationSearchConfig config, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param query the words to look for
+     * @param page  zero-based page number
+     * @param size  page size, or null for the default; capped at the configured maximum
+     * @return the page of matching notifications
+     */
+    public NotificationSearchResult search(String query, int page, Integer size) {
+        int pageSize = size == null ? config.getDefaultPageSize()
+            : Math.clamp(size, 1, config.getMaxPageSize());
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize);
+
+        List<String> terms = NotificationSearchTerms.parse(query, config.getMaxTerms());
+        if (terms.isEmpty()) {
+            return result(query, Match.NONE, pageable, Page.empty(pageable));
+        }
+
+        Page<Notification> results = timed(Match.TEXT,
+            () -> repository.searchText(terms, pageable));
+        if (results.getTotalElements() > 0) {
+            return result(query, Match.TEXT, pageable, results);
+        }
+
+        List<String> prefixes = terms.stream()
+            .filter(term -> term.length() >= config.getMinPrefixLength())
+            .toList();
+        if (prefixes.isEmpty()) {
+            return result(query, Match.NONE, pageable, results);
+        }
+        results = timed(Match.PREFIX, () -> repository.searchPrefix(prefixes, pageable));
+        return result(query, Match.PREFIX, pageable, results);
+    }
+
+    private Page<Notification> timed(Match match, Supplier<Page<Notification>> search) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Page<Notification> results = search.get();
+        sample.stop(Timer.builder(METRIC_NAME)
+            .description("Time to run a notification search query, including the count")
+            .tag("match", match.name())
+            .tag("found", String.valueOf(results.hasContent()))
+            .register(meterRegistry));
+        return results;
+    }
+
+    private static NotificationSearchResult result(String query, Match match, Pageable pageable,
+        Page<Notification> results) {
+        log.debug("Search '{}' matched {} notifications by {}", query,
+            results.getTotalElements(), match);
+        return new NotificationSearchResult(query, match, pageable.getPageNumber(),
+            pageable.getPageSize(), results.getTotalElements(), results.getContent());
+    }
+}
@@ -0,0 +1,110 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationSearchConfig;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchTerms;
+
+/**
+ * Gives notifications saved before prefix search existed their {@code searchTerms}, without which
+ * only whole-word search finds them.
+ * <p>
+ * Runs once after startup on its own virtual thread, in batches in {@code _id} order with a pause
+ * between batches. Each update only applies while the notification still has no search terms, so
+ * a save that lands in between keeps the terms it derived from its own fields. Notifications with
+ * nothing to search on get an empty list, so the next startup does not read them again. Instances
+ * starting together repeat each other's updates, which changes nothing.
+ */
+@Slf4j
+@Service
+public class NotificationSearchTermsBackfill {
+
+    private static final String SEARCH_TERMS = "searchTerms";
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationSearchConfig config;
+
+    public NotificationSearchTermsBackfill(MongoTemplate mongoTemplate,
+        NotificationSearchConfig config) {
+        this.mongoTemplate = mongoTemplate;
+        this.config = config;
+    }
+
+    /**
+     * Start the backfill on a virtual thread, so it does not hold up startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (config.getBackfillBatchSize() > 0) {
+            Thread.ofVirtual().name("search-terms-backfill").start(this::backfill);
+        }
+    }
+
+    /**
+     * Set the search terms of every notification that has none.
+     *
+     * @return the number of notifications updated
+     */
+    public int backfill() {
+        int batchSize = config.getBackfillBatchSize();
+        String after = null;
+        int filled = 0;
+        try {
+            while (true) {
+                Criteria missing = where(SEARCH_TERMS).exists(false);
+                if (after != null) {
+                    missing = missing.and("_id").gt(after);
+                }
+                Query query = Query.query(missing)
+                    .with(Sort.by(Direction.ASC, "_id"))
+                    .limit(batchSize);
+                query.fields().include("chedReference", "transport", "commodity");
+                List<Notification> batch = mongoTemplate.find(query, Notification.class);
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED,
+                    Notification.class);
+                for (Notification notification : batch) {
+                    List<String> terms = NotificationSearchTerms.of(notification);
+                    bulk.updateOne(
+                        Query.query(where("_id").is(notification.getId())
+                            .and(SEARCH_TERMS).exists(false)),
+                        Update.update(SEARCH_TERMS, terms == null ? List.of() : terms));
+                }
+                filled += bulk.execute().getModifiedCount();
+
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                after = batch.getLast().getId();
+                Thread.sleep(config.getBackfillBatchPause());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Search terms backfill stopped after {} notifications, the next startup "
+                + "will continue: {}", filled, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (filled > 0) {
+            log.info("Backfilled search terms for {} notifications", filled);
+        }
+        return filled;
+    }
+}
@@ -0,0 +1,39 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import uk.gov.defra.cdp.trade.demo.service.NotificationIdFormatter.DayPrefix;
+
+/**
+ * Supplies the per-day sequence number appended to the {@code CDP.YYYY.MM.DD.} prefix.
+ * <p>
+ * The implementation is chosen with {@code notification-id.strategy}:
+ * <ul>
+ *   <li>{@code sequence} (default) - {@link MongoDailySequenceSource}, one shared counter per
+ *   day, incremented in Mongo on every create.</li>
+ *   <li>{@code leased} - {@link LeasedRangeSequenceSource}, each instance leases a disjoint
+ *   range and issues sequences from memory.</li>
+ * </ul>
+ */
+public interface NotificationSequenceSource {
+
+    /**
+     * @param day the day the sequence belongs to
+     * @return a sequence number not issued before for that day
+     */
+    long nextSequence(DayPrefix day);
+
+    /**
+     * Reserve {@code count} sequences at once, e.g. for a bulk import. Sequences need not be
+     * contiguous.
+     *
+     * @param day   the day the sequences belong to
+     * @param count how many sequences to reserve
+     * @return the reserved sequence numbers, in ascending order
+     */
+    default long[] nextSequences(DayPrefix day, int count) {
+        long[] sequences = new long[count];
+        for (int i = 0; i < count; i++) {
+            sequences[i] = nextSequence(day);
+        }
+        return sequences;
+    }
+}
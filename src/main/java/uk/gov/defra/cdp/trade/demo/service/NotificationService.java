@@ -1,30 +1,36 @@
 package uk.gov.defra.cdp.trade.demo.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import uk.gov.defra.cdp.trade.demo.client.IpaffsNotificationClient;
 import uk.gov.defra.cdp.trade.demo.domain.Notification;
 import uk.gov.defra.cdp.trade.demo.domain.NotificationDto;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchTerms;
 import uk.gov.defra.cdp.trade.demo.domain.ipaffs.IpaffsNotification;
 import uk.gov.defra.cdp.trade.demo.domain.repository.NotificationRepository;
 import uk.gov.defra.cdp.trade.demo.exceptions.NotFoundException;
 import uk.gov.defra.cdp.trade.demo.exceptions.NotificationSubmissionException;
 import uk.gov.defra.cdp.trade.demo.mapper.IpaffsNotificationMapper;
+import uk.gov.defra.cdp.trade.demo.profiling.IpaffsMappingEvent;
+import uk.gov.defra.cdp.trade.demo.profiling.IpaffsSubmitEvent;
+import uk.gov.defra.cdp.trade.demo.profiling.NotificationSaveEvent;
+import uk.gov.defra.cdp.trade.demo.profiling.SubmittedPersistEvent;
+import uk.gov.defra.cdp.trade.demo.service.NotificationStatsRollup.Contribution;
 
 /**
  * Service layer for Notification CRUD operations.
  * <p>
  * Handles business logic for managing import notifications (CHEDs), including validation and
- * persistence.
+ * persistence. Every write is also applied to the daily stats rollups.
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class NotificationService {
 
     private final NotificationRepository repository;
@@ -32,9 +38,25 @@ public class NotificationService {
     private final IpaffsNotificationMapper ipaffsNotificationMapper;
     private final IpaffsNotificationClient ipaffsNotificationClient;
     private final ObjectMapper objectMapper;
+    private final NotificationStatsRollup statsRollup;
+
+    // The IPAFFS Feign client is built on the first submission, see lazy-init.types
+    public NotificationService(NotificationRepository repository,
+        NotificationIdGeneratorService idGenerator,
+        IpaffsNotificationMapper ipaffsNotificationMapper,
+        @Lazy IpaffsNotificationClient ipaffsNotificationClient,
+        ObjectMapper objectMapper,
+        NotificationStatsRollup statsRollup) {
+        this.repository = repository;
+        this.idGenerator = idGenerator;
+        this.ipaffsNotificationMapper = ipaffsNotificationMapper;
+        this.ipaffsNotificationClient = ipaffsNotificationClient;
+        this.objectMapper = objectMapper;
+        this.statsRollup = statsRollup;
+    }
 
     /**
-     * Get all notifications.
+     * Get all notifications that have not been archived.
      *
      * @return list of all notifications
      */
@@ -46,7 +68,7 @@ public class NotificationService {
     }
 
     /**
-     * Get a notification by ID.
+     * Get a notification by ID. Reads see any earlier write made through this instance.
      *
      * @param id the notification ID
      * @return the notification
@@ -54,7 +76,7 @@ public class NotificationService {
      */
     public Notification findById(String id) {
         log.debug("Fetching notification with id: {}", id);
-        return repository.findById(id)
+        return repository.findByIdAfterWrites(id)
             .orElseThrow(() -> {
                 log.warn("Notification not found with id: {}", id);
                 return new NotFoundException("Notification not found with id: " + id);
@@ -71,21 +93,38 @@ public class NotificationService {
      * @throws NotFoundException if an ID is provided but the notification does not exist
      */
     public Notification saveOrUpdate(NotificationDto notificationDto) {
+        NotificationSaveEvent event = new NotificationSaveEvent(notificationDto.getId(),
+            notificationDto.getId() != null ? "UPDATE" : "CREATE");
+        event.begin();
+        try {
+            Notification saved = doSaveOrUpdate(notificationDto);
+            event.notificationId = saved.getId();
+            return saved;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private Notification doSaveOrUpdate(NotificationDto notificationDto) {
         if (notificationDto.getId() != null) {
             // UPDATE: ID provided, find and update existing notification
-            log.info("Updating notification with id: {}", notificationDto.getId());
+            log.debug("Updating notification with id: {}", notificationDto.getId());
 
+            // Only submitted notifications are archived, so an archived one is rejected below
             return repository.findById(notificationDto.getId())
+                .or(() -> repository.findArchivedById(notificationDto.getId()))
                 .map(existing -> {
                     if ("SUBMITTED".equals(existing.getStatus())) {
                         log.error("Notification {} is already submitted", notificationDto.getId());
                         throw new NotificationSubmissionException(
                             "Notification already submitted: " + notificationDto.getId());
                     }
+                    Contribution before = Contribution.of(existing);
                     updateEntityFromDto(existing, notificationDto);
                     existing.setUpdated(LocalDateTime.now());
 
                     Notification updated = repository.save(existing);
+                    statsRollup.record(before, Contribution.of(updated));
                     log.info("Updated notification with id: {} and CHED reference: {}",
                         updated.getId(), updated.getChedReference());
                     return updated;
@@ -97,7 +136,7 @@ public class NotificationService {
                 });
         } else {
             // CREATE: No ID provided, generate new ID and create notification
-            log.info("Creating new notification with CHED reference: {}",
+            log.debug("Creating new notification with CHED reference: {}",
                 notificationDto.getChedReference());
 
             Notification notification = toEntity(notificationDto);
@@ -105,6 +144,7 @@ public class NotificationService {
             notification.setUpdated(LocalDateTime.now());
 
             Notification saved = repository.save(notification);
+            statsRollup.record(null, Contribution.of(saved));
             log.info("Created notification with id: {} and CHED reference: {}",
                 saved.getId(), saved.getChedReference());
             return saved;
@@ -121,9 +161,13 @@ public class NotificationService {
         log.info("Deleting notification with id: {}", id);
 
         // Check if notification exists
-        findById(id);
+        Notification existing = findById(id);
 
         repository.deleteById(id);
+        if ("SUBMITTED".equals(existing.getStatus())) {
+            repository.deleteArchivedById(id);
+        }
+        statsRollup.record(Contribution.of(existing), null);
         log.info("Deleted notification with id: {}", id);
     }
 
@@ -141,30 +185,23 @@ public class NotificationService {
      * @throws NotificationSubmissionException if submission fails or already submitted
      */
     public Notification submitNotification(String id) {
-        log.debug("Submitting notification with id: {}", id);
-
-        // Step 1: Load notification by ID
-        Notification notification = findById(id);
-
-        // Step 2: Prevent resubmission if already submitted
-        if ("SUBMITTED".equals(notification.getStatus())) {
-            log.error("Notification {} is already submitted", id);
-            throw new NotificationSubmissionException(
-                "Notification already submitted: " + id);
-        }
+        Notification notification = loadForSubmission(id);
 
         try {
-            // Step 3: Map to IPAFFS format
-            log.info("Mapping notification {} to IPAFFS CHEDA format", id);
-            IpaffsNotification ipaffsNotification = ipaffsNotificationMapper.mapToIpaffsNotification(
-                notification);
-            
-            log.info("IPAFFS notification is: {}", objectMapper.writeValueAsString(ipaffsNotification));
+            IpaffsNotification ipaffsNotification = mapForSubmission(notification);
 
             // Step 4: Submit to IPAFFS
             log.info("Submitting notification {} to IPAFFS", id);
-            ResponseEntity<String> submissionResponse = ipaffsNotificationClient
-                .submitNotification(ipaffsNotification, notification.getId());
+            IpaffsSubmitEvent submitEvent = new IpaffsSubmitEvent(id);
+            submitEvent.begin();
+            ResponseEntity<String> submissionResponse;
+            try {
+                submissionResponse = ipaffsNotificationClient
+                    .submitNotification(ipaffsNotification, notification.getId());
+                submitEvent.status = submissionResponse.getStatusCode().value();
+            } finally {
+                submitEvent.commit();
+            }
             if (!submissionResponse.getStatusCode().is2xxSuccessful()) {
                 throw new NotificationSubmissionException(
                     "Failed to submit notification to IPAFFS. Status: "
@@ -174,16 +211,7 @@ public class NotificationService {
             String chedReference = submissionResponse.getBody();
             log.info("IPAFFS submission successful. CHED reference: {}", chedReference);
 
-            // Step 5: Update notification with CHED reference and SUBMITTED status
-            notification.setChedReference(chedReference);
-            notification.setStatus("SUBMITTED");
-            notification.setUpdated(LocalDateTime.now());
-
-            Notification submittedNotification = repository.save(notification);
-            log.info("Notification {} submitted successfully with CHED reference: {}",
-                id, chedReference);
-
-            return submittedNotification;
+            return markSubmitted(notification, chedReference);
         } catch (Exception e) {
             log.error("Failed to submit notification {} to IPAFFS", id, e);
             throw new NotificationSubmissionException(
@@ -191,6 +219,88 @@ public class NotificationService {
         }
     }
 
+    /**
+     * Steps 1 and 2 of {@link #submitNotification}: load the notification and check it has not
+     * already been submitted.
+     *
+     * @param id the notification ID to submit
+     * @return the notification to submit
+     * @throws NotFoundException               if notification not found
+     * @throws NotificationSubmissionException if already submitted
+     */
+    public Notification loadForSubmission(String id) {
+        log.debug("Submitting notification with id: {}", id);
+
+        // Step 1: Load notification by ID
+        Notification notification = findById(id);
+
+        // Step 2: Prevent resubmission if already submitted
+        if ("SUBMITTED".equals(notification.getStatus())) {
+            log.error("Notification {} is already submitted", id);
+            throw new NotificationSubmissionException(
+                "Notification already submitted: " + id);
+        }
+        return notification;
+    }
+
+    /**
+     * Step 3 of {@link #submitNotification}: map the notification to IPAFFS CHEDA format.
+     *
+     * @param notification the notification to submit
+     * @return the IPAFFS notification
+     * @throws JsonProcessingException if the payload cannot be logged
+     */
+    public IpaffsNotification mapForSubmission(Notification notification)
+        throws JsonProcessingException {
+        String id = notification.getId();
+        log.debug("Mapping notification {} to IPAFFS CHEDA format", id);
+        IpaffsMappingEvent mappingEvent = new IpaffsMappingEvent(id);
+        mappingEvent.begin();
+        IpaffsNotification ipaffsNotification;
+        try {
+            ipaffsNotification = ipaffsNotificationMapper.mapToIpaffsNotification(notification);
+        } finally {
+            mappingEvent.commit();
+        }
+
+        if (log.isDebugEnabled()) {
+            // Serialising the full payload is only worth it when someone will read it
+            log.debug("IPAFFS notification is: {}",
+                objectMapper.writeValueAsString(ipaffsNotification));
+        }
+        return ipaffsNotification;
+    }
+
+    /**
+     * Step 5 of {@link #submitNotification}: store the CHED reference and SUBMITTED status.
+     *
+     * @param notification  the submitted notification
+     * @param chedReference the CHED reference returned by IPAFFS
+     * @return the saved notification
+     */
+    public Notification markSubmitted(Notification notification, String chedReference) {
+        String id = notification.getId();
+        Contribution before = Contribution.of(notification);
+        notification.setChedReference(chedReference);
+        notification.setSearchTerms(NotificationSearchTerms.of(notification));
+        notification.setStatus("SUBMITTED");
+        notification.setUpdated(LocalDateTime.now());
+
+        SubmittedPersistEvent persistEvent = new SubmittedPersistEvent(id);
+        persistEvent.begin();
+        Notification submittedNotification;
+        try {
+            submittedNotification = repository.save(notification);
+        } finally {
+            persistEvent.commit();
+        }
+        statsRollup.record(before, Contribution.of(submittedNotification));
+        log.info("Notification {} submitted successfully with CHED reference: {}",
+            id, chedReference);
+
+        return submittedNotification;
+    }
+
     /**
      * Convert NotificationDto to Notification entity.
      *
@@ -216,7 +326,7 @@ public class NotificationService {
         setNotificationDetails(dto, entity);
     }
 
-    private void setNotificationDetails(NotificationDto dto, Notification notification) {
+    static void setNotificationDetails(NotificationDto dto, Notification notification) {
         notification.setChedReference(dto.getChedReference());
         notification.setStatus("DRAFT");
         notification.setOriginCountry(dto.getOriginCountry());
@@ -224,5 +334,6 @@ public class NotificationService {
         notification.setImportReason(dto.getImportReason());
         notification.setInternalMarketPurpose(dto.getInternalMarketPurpose());
         notification.setTransport(dto.getTransport());
+        notification.setSearchTerms(NotificationSearchTerms.of(notification));
     }
 }
@@ -0,0 +1,351 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.facet;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.unwind;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static uk.gov.defra.cdp.trade.demo.domain.NotificationDailyStats.UNKNOWN;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationStatsConfig;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDailyStats;
+import uk.gov.defra.cdp.trade.demo.domain.Species;
+import uk.gov.defra.cdp.trade.demo.domain.SpeciesTotals;
+
+/**
+ * Maintains the {@link NotificationDailyStats} rollups.
+ * <p>
+ * Every notification write calls {@link #record} with what the notification counted for before
+ * and after the write; the difference is applied to the day it was created with one {@code $inc}
+ * upsert, and writes that change nothing counted (most draft edits) cost nothing. A failed rollup
+ * update does not fail the notification write.
+ * <p>
+ * Increments can race: two instances updating the same draft both count its old status out. So
+ * {@link #reconcile} periodically recomputes from the notifications, with an aggregation over the
+ * {@code created} index, the recent days and every day this instance has updated since its last
+ * run (an edit counts against the creation day, which may be weeks old). It rebuilds every day
+ * when there are no rollups yet. Every write increments a day's {@code version}, and a rebuild
+ * only replaces the version it read before aggregating, so an increment that lands meanwhile is
+ * not overwritten; the day is recomputed on the next run instead. The aggregation reads
+ * {@link Notification#ARCHIVE_COLLECTION} as well, so archiving a notification does not change
+ * the counts. Drafts deleted by the TTL monitor are the exception: nothing sees them go, so they
+ * stay counted until their day is next recomputed.
+ */
+@Slf4j
+@Service
+public class NotificationStatsRollup {
+
+    private static final String NOTIFICATIONS = "notifications";
+    private static final String STATS = "notification_daily_stats";
+    private static final String VERSION = "version";
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationStatsConfig config;
+    private final Clock clock;
+    private final Set<String> touched = ConcurrentHashMap.newKeySet();
+
+    public NotificationStatsRollup(MongoTemplate mongoTemplate, NotificationStatsConfig config,
+        Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.config = config;
+        // created is a LocalDateTime in the JVM zone, so days are too
+        this.clock = clock.withZone(ZoneId.systemDefault());
+    }
+
+    /**
+     * What one notification counts for in its creation day's rollup.
+     */
+    public record Contribution(String day, String status, String originCountry, String bcp,
+                               List<Species> species) {
+
+        /**
+         * @param notification the notification as stored, or null
+         * @return its contribution, or null if it has none (not stored, or no creation time)
+         */
+        @Nullable
+        public static Contribution of(@Nullable Notification notification) {
+            if (notification == null || notification.getCreated() == null) {
+                return null;
+            }
+            return new Contribution(notification.getCreated().toLocalDate().toString(),
+                notification.getStatus(), notification.getOriginCountry(),
+                notification.getTransport() == null ? null
+                    : notification.getTransport().getBcpCode(),
+                notification.getCommodity() == null
+                    || notification.getCommodity().getSpecies() == null
+                    ? List.of() : List.copyOf(notification.getCommodity().getSpecies()));
+        }
+
+        void addTo(Map<String, Map<String, Long>> deltas, long sign) {
+            Map<String, Long> paths = deltas.computeIfAbsent(day, d -> new TreeMap<>());
+            paths.merge("total", sign, Long::sum);
+            paths.merge("status." + NotificationDailyStats.key(status), sign, Long::sum);
+            paths.merge("originCountry." + NotificationDailyStats.key(originCountry), sign,
+                Long::sum);
+            paths.merge("bcp." + NotificationDailyStats.key(bcp), sign, Long::sum);
+            for (Species entry : species) {
+                if (entry == null || entry.getName() == null || entry.getName().isBlank()) {
+                    continue;
+                }
+                String path = "species." + NotificationDailyStats.key(entry.getName()) + ".";
+                paths.merge(path + "notifications", sign, Long::sum);
+                paths.merge(path + "animals", sign * count(entry.getNoOfAnimals()), Long::sum);
+                paths.merge(path + "packages", sign * count(entry.getNoOfPackages()), Long::sum);
+            }
+        }
+
+        private static long count(Integer value) {
+            return value == null ? 0 : value;
+        }
+    }
+
+    /**
+     * Apply a notification write to the rollups.
+     *
+     * @param before what the notification counted for before the write, null if it was created
+     * @param after  what it counts for after the write, null if it was deleted
+     */
+    public void record(@Nullable Contribution before, @Nullable Contribution after) {
+        Map<String, Map<String, Long>> deltas = new TreeMap<>();
+        if (after != null) {
+            after.addTo(deltas, 1);
+        }
+        if (before != null) {
+            before.addTo(deltas, -1);
+        }
+        deltas.forEach((day, paths) -> {
+            Update update = new Update();
+            boolean changed = false;
+            for (Map.Entry<String, Long> path : paths.entrySet()) {
+                if (path.getValue() != 0) {
+                    update.inc(path.getKey(), path.getValue());
+                    changed = true;
+                }
+            }
+            if (!changed) {
+                return;
+            }
+            update.inc(VERSION, 1L);
+            try {
+                mongoTemplate.upsert(Query.query(where("_id").is(day)), update,
+                    NotificationDailyStats.class);
+            } catch (DataAccessException e) {
+                log.warn("Failed to update notification stats for {}, the next reconcile will "
+                    + "correct them: {}", day, e.getMessage());
+            } finally {
+                // After the write, so a reconcile that has already taken the day cannot miss it
+                touched.add(day);
+            }
+        });
+    }
+
+    /**
+     * Recompute the last {@code notification-stats.reconcile-days} days and any earlier day this
+     * instance has updated since the last run, or every day if there are no rollups yet.
+     */
+    @Scheduled(initialDelayString = "${notification-stats.reconcile-initial-delay:1m}",
+        fixedDelayString = "${notification-stats.reconcile-interval:15m}")
+    public void reconcile() {
+        // Taken before rebuilding: a day updated from here on is kept for the next run
+        List<String> days = List.copyOf(touched);
+        touched.removeAll(days);
+        try {
+            if (!mongoTemplate.exists(new Query(), NotificationDailyStats.class)) {
+                log.info("No notification stats rollups, rebuilding every day");
+                rebuild(null, null);
+                return;
+            }
+            LocalDate today = LocalDate.now(clock);
+            LocalDate from = today.minusDays(config.getReconcileDays() - 1L);
+            rebuild(from, today);
+            for (String day : days) {
+                LocalDate date = LocalDate.parse(day);
+                if (date.isBefore(from)) {
+                    rebuild(date, date);
+                }
+            }
+        } catch (DataAccessException e) {
+            touched.addAll(days);
+            log.warn("Failed to reconcile notification stats: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replace the rollups for a range of days with counts aggregated from the notifications.
+     *
+     * @param from first day, or null for no lower bound
+     * @param to   last day, or null for no upper bound
+     * @return the number of days with notifications
+     */
+    public int rebuild(@Nullable LocalDate from, @Nullable LocalDate to) {
+        Criteria created = where("created").ne(null);
+        if (from != null) {
+            created = created.gte(from.atStartOfDay());
+        }
+        if (to != null) {
+            created = created.lt(to.plusDays(1).atStartOfDay());
+        }
+        Criteria range = where("_id").ne(null);
+        if (from != null) {
+            range = range.gte(from.toString());
+        }
+        if (to != null) {
+            range = range.lte(to.toString());
+        }
+        // Read before aggregating, so any increment after this changes the version
+        Query current = Query.query(range);
+        current.fields().include(VERSION);
+        Map<String, Object> versions = new HashMap<>();
+        mongoTemplate.find(current, Document.class, STATS)
+            .forEach(document -> versions.put(document.getString("_id"), document.get(VERSION)));
+
+        Document facets = mongoTemplate.aggregate(aggregation(created), NOTIFICATIONS,
+            Document.class).getUniqueMappedResult();
+
+        Map<String, NotificationDailyStats> days = new TreeMap<>();
+        forEachGroup(facets, "total", (day, group) -> days(days, day).setTotal(count(group, "n")));
+        // Missing and blank values group apart but share the UNKNOWN key, hence merge
+        forEachGroup(facets, "status", (day, group) -> days(days, day).getStatus()
+            .merge(key(group, "status"), count(group, "n"), Long::sum));
+        forEachGroup(facets, "originCountry", (day, group) -> days(days, day).getOriginCountry()
+            .merge(key(group, "originCountry"), count(group, "n"), Long::sum));
+        forEachGroup(facets, "bcp", (day, group) -> days(days, day).getBcp()
+            .merge(key(group, "bcp"), count(group, "n"), Long::sum));
+        forEachGroup(facets, "species", (day, group) -> {
+            if (!UNKNOWN.equals(key(group, "name"))) {
+                days(days, day).getSpecies().put(key(group, "name"), new SpeciesTotals(
+                    count(group, "notifications"), count(group, "animals"),
+                    count(group, "packages")));
+            }
+        });
+
+        List<String> changed = new ArrayList<>();
+        days.values().forEach(stats -> {
+            if (!replace(stats, versions)) {
+                changed.add(stats.getDay());
+            }
+        });
+        versions.forEach((day, version) -> {
+            if (!days.containsKey(day)) {
+                mongoTemplate.remove(Query.query(where("_id").is(day).and(VERSION).is(version)),
+                    NotificationDailyStats.class);
+            }
+        });
+        if (!changed.isEmpty()) {
+            touched.addAll(changed);
+            log.info("Notification stats for {} changed during the rebuild, left for the next "
+                + "reconcile", changed);
+        }
+        log.info("Rebuilt notification stats for {} days from {} to {}", days.size(),
+            from == null ? "the start" : from, to == null ? "today" : to);
+        return days.size();
+    }
+
+    /**
+     * Write rebuilt counts over the version of the day read before aggregating.
+     *
+     * @return false if the day was written in the meantime
+     */
+    private boolean replace(NotificationDailyStats stats, Map<String, Object> versions) {
+        String day = stats.getDay();
+        if (!versions.containsKey(day)) {
+            stats.setVersion(1);
+            try {
+                mongoTemplate.insert(stats);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+        // Rollups written before versioning have none, which is(null) matches
+        Object version = versions.get(day);
+        stats.setVersion(version instanceof Number number ? number.longValue() + 1 : 1);
+        return mongoTemplate.replace(Query.query(where("_id").is(day).and(VERSION).is(version)),
+            stats).getMatchedCount() > 0;
+    }
+
+    /**
+     * One pass over the matching live and archived notifications: each facet groups by creation
+     * day and one field. A notification caught between the archive copy and its removal is
+     * counted twice until its day is next recomputed.
+     */
+    static Aggregation aggregation(Criteria created) {
+        return newAggregation(
+            match(created),
+            UnionWithOperation.unionWith(Notification.ARCHIVE_COLLECTION).pipeline(match(created)),
+            project("status", "originCountry")
+                .and("transport.bcpCode").as("bcp")
+                .and("commodity.species").as("species")
+                .and(DateOperators.dateOf("created")
+                    .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()))
+                    .toString("%Y-%m-%d")).as("day"),
+            facet(group("day").count().as("n")).as("total")
+                .and(group("day", "status").count().as("n")).as("status")
+                .and(group("day", "originCountry").count().as("n")).as("originCountry")
+                .and(group("day", "bcp").count().as("n")).as("bcp")
+                .and(unwind("species"),
+                    group("day", "species.name")
+                        .count().as("notifications")
+                        .sum("species.noOfAnimals").as("animals")
+                        .sum("species.noOfPackages").as("packages")).as("species"));
+    }
+
+    private static void forEachGroup(@Nullable Document facets, String facet,
+        BiConsumer<String, Document> action) {
+        if (facets == null) {
+            return;
+        }
+        for (Document group : facets.getList(facet, Document.class, new ArrayList<>())) {
+            Object id = group.get("_id");
+            String day = id instanceof Document compound ? compound.getString("day") : (String) id;
+            action.accept(day, group);
+        }
+    }
+
+    private static NotificationDailyStats days(Map<String, NotificationDailyStats> days,
+        String day) {
+        return days.computeIfAbsent(day, d -> {
+            NotificationDailyStats stats = new NotificationDailyStats();
+            stats.setDay(d);
+            return stats;
+        });
+    }
+
+    private static String key(Document group, String field) {
+        Object value = group.get("_id", Document.class).get(field);
+        return NotificationDailyStats.key(value == null ? null : value.toString());
+    }
+
+    private static long count(Document group, String field) {
+        return group.get(field) instanceof Number number ? number.longValue() : 0;
+    }
+}
@@ -0,0 +1,83 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationStatsConfig;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDailyStats;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationStats;
+
+/**
+ * Notification statistics for a range of creation days, summed from the daily rollups kept by
+ * {@link NotificationStatsRollup}, so the cost depends on the number of days rather than the
+ * number of notifications.
+ * <p>
+ * Each range is kept in memory for {@code notification-stats.cache-ttl}, so dashboards polling
+ * every instance read the rollups at most once per TTL per range. Writes show up once the entry
+ * expires.
+ */
+@Slf4j
+@Service
+public class NotificationStatsService {
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationStatsConfig config;
+    private final Clock clock;
+    private final Cache<Range, NotificationStats> cache;
+
+    public NotificationStatsService(MongoTemplate mongoTemplate, NotificationStatsConfig config,
+        Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.config = config;
+        // Rollup days follow the JVM zone, see NotificationStatsRollup
+        this.clock = clock.withZone(ZoneId.systemDefault());
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(config.getCacheSize())
+            .expireAfterWrite(config.getCacheTtl())
+            .build();
+    }
+
+    private record Range(LocalDate from, LocalDate to) {
+    }
+
+    /**
+     * @param from first creation day, or null for {@code notification-stats.default-days} before
+     *             {@code to}
+     * @param to   last creation day, or null for today
+     * @return the statistics; a reversed range is swapped and one longer than
+     *     {@code notification-stats.max-days} is cut to end on {@code to}
+     */
+    public NotificationStats stats(@Nullable LocalDate from, @Nullable LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(clock);
+        LocalDate start = from != null ? from : end.minusDays(config.getDefaultDays() - 1L);
+        if (start.isAfter(end)) {
+            LocalDate swap = start;
+            start = end;
+            end = swap;
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= config.getMaxDays()) {
+            start = end.minusDays(config.getMaxDays() - 1L);
+        }
+        return cache.get(new Range(start, end), this::load);
+    }
+
+    private NotificationStats load(Range range) {
+        NotificationStats stats = new NotificationStats(range.from(), range.to());
+        mongoTemplate.find(Query.query(where("_id").gte(range.from().toString())
+                .lte(range.to().toString())), NotificationDailyStats.class)
+            .forEach(stats::add);
+        log.debug("Loaded notification stats from {} to {}: {} notifications", range.from(),
+            range.to(), stats.getTotal());
+        return stats;
+    }
+}
@@ -0,0 +1,137 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationViewConfig;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationView;
+import uk.gov.defra.cdp.trade.demo.domain.ReferenceData;
+import uk.gov.defra.cdp.trade.demo.exceptions.DependencyTimeoutException;
+import uk.gov.defra.cdp.trade.demo.logging.MdcTaskDecorator;
+
+/**
+ * Builds {@link NotificationView}s by fetching the notification and the reference data at the
+ * same time, each on its own virtual thread with its own deadline.
+ * <p>
+ * The notification is required: if it is missing, fails or misses its deadline the view fails.
+ * Reference data is optional: if it fails or misses its deadline the view is returned without BCP
+ * and POE details. A reference data load that outlives its deadline is left to finish, so the
+ * snapshot is ready for the next request.
+ */
+@Slf4j
+@Service
+public class NotificationViewService {
+
+    private final NotificationService notificationService;
+    private final ReferenceDataService referenceDataService;
+    private final NotificationViewConfig config;
+    private final MdcTaskDecorator mdcTaskDecorator = new MdcTaskDecorator();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public NotificationViewService(NotificationService notificationService,
+        ReferenceDataService referenceDataService, NotificationViewConfig config) {
+        this.notificationService = notificationService;
+        this.referenceDataService = referenceDataService;
+        this.config = config;
+    }
+
+    /**
+     * Get a notification with its BCP and points of entry resolved.
+     *
+     * @param id the notification ID
+     * @return the enriched notification
+     * @throws uk.gov.defra.cdp.trade.demo.exceptions.NotFoundException if the notification does
+     *     not exist
+     * @throws DependencyTimeoutException if the notification is not fetched in time
+     */
+    public NotificationView view(String id) {
+        long start = System.nanoTime();
+        FutureTask<Notification> notificationBranch = fork(() -> notificationService.findById(id));
+        FutureTask<ReferenceData> referenceBranch = fork(referenceDataService::snapshot);
+
+        Notification notification;
+        try {
+            notification = notificationBranch.get(
+                remaining(start, config.getNotificationTimeout()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            notificationBranch.cancel(true);
+            throw new DependencyTimeoutException(
+                "Timed out fetching notification with id: " + id);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            notificationBranch.cancel(true);
+            throw new IllegalStateException("Interrupted fetching notification " + id, e);
+        }
+
+        ReferenceData referenceData = null;
+        try {
+            referenceData = referenceBranch.get(
+                remaining(start, config.getReferenceDataTimeout()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Reference data not ready within {}, returning notification {} without it",
+                config.getReferenceDataTimeout(), id);
+        } catch (ExecutionException e) {
+            log.warn("Failed to load reference data, returning notification {} without it: {}",
+                id, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return toView(notification, referenceData);
+    }
+
+    private <T> FutureTask<T> fork(Callable<T> branch) {
+        FutureTask<T> task = new FutureTask<>(branch);
+        executor.execute(mdcTaskDecorator.decorate(task));
+        return task;
+    }
+
+    private static long remaining(long start, Duration timeout) {
+        return Math.max(0, timeout.toNanos() - (System.nanoTime() - start));
+    }
+
+    private static RuntimeException rethrow(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    private static NotificationView toView(Notification notification,
+        ReferenceData referenceData) {
+        if (referenceData == null) {
+            return NotificationView.builder()
+                .notification(notification)
+                .referenceDataAvailable(false)
+                .build();
+        }
+        String bcpCode = notification.getTransport() == null
+            ? null
+            : notification.getTransport().getBcpCode();
+        return NotificationView.builder()
+            .notification(notification)
+            .borderControlPost(referenceData.bcp(bcpCode))
+            .pointsOfEntry(referenceData.pointsOfEntry(bcpCode))
+            .referenceDataAvailable(true)
+            .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,157 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.context.Context;
+import uk.gov.defra.cdp.trade.demo.client.ReactiveIpaffsNotificationClient;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDto;
+import uk.gov.defra.cdp.trade.demo.domain.ipaffs.IpaffsNotification;
+import uk.gov.defra.cdp.trade.demo.exceptions.NotificationSubmissionException;
+import uk.gov.defra.cdp.trade.demo.profiling.IpaffsSubmitEvent;
+
+/**
+ * Non-blocking counterpart of {@link NotificationService} for the reactive notification API.
+ * <p>
+ * Persistence and business rules are delegated to {@link NotificationService}, run on the
+ * virtual thread scheduler from {@code ReactiveConfig}; the IPAFFS call goes through
+ * {@link ReactiveIpaffsNotificationClient} and holds no thread while it waits. The caller's MDC
+ * travels in the subscriber context, so logs from either side carry the trace ID.
+ */
+@Service
+@Slf4j
+@ConditionalOnBooleanProperty("cdp.reactive.enabled")
+public class ReactiveNotificationService {
+
+    private static final String MDC_CONTEXT_KEY = "mdc";
+    private static final String MDC_TRACE_ID = "trace.id";
+
+    private final NotificationService notificationService;
+    private final ReactiveIpaffsNotificationClient ipaffsNotificationClient;
+    private final Scheduler scheduler;
+
+    public ReactiveNotificationService(NotificationService notificationService,
+        ReactiveIpaffsNotificationClient ipaffsNotificationClient,
+        @Qualifier("notificationBlockingScheduler") Scheduler scheduler) {
+        this.notificationService = notificationService;
+        this.ipaffsNotificationClient = ipaffsNotificationClient;
+        this.scheduler = scheduler;
+    }
+
+    public Flux<Notification> findAll() {
+        return blocking(notificationService::findAll)
+            .flatMapIterable(notifications -> notifications)
+            .contextWrite(callerContext());
+    }
+
+    public Mono<Notification> findById(String id) {
+        return blocking(() -> notificationService.findById(id))
+            .contextWrite(callerContext());
+    }
+
+    public Mono<Notification> saveOrUpdate(NotificationDto notificationDto) {
+        return blocking(() -> notificationService.saveOrUpdate(notificationDto))
+            .contextWrite(callerContext());
+    }
+
+    public Mono<Void> delete(String id) {
+        return blocking(() -> {
+            notificationService.delete(id);
+            return id;
+        })
+            .then()
+            .contextWrite(callerContext());
+    }
+
+    /**
+     * Save or update the notification, then submit it to IPAFFS; the same steps as
+     * {@code POST /notifications/submit}.
+     */
+    public Mono<Notification> submit(NotificationDto notificationDto) {
+        return blocking(() -> {
+            Notification saved = notificationService.saveOrUpdate(notificationDto);
+            Notification notification = notificationService.loadForSubmission(saved.getId());
+            return new Submission(notification,
+                notificationService.mapForSubmission(notification));
+        })
+            .flatMap(submission -> sendToIpaffs(submission)
+                .flatMap(chedReference -> blocking(() ->
+                    notificationService.markSubmitted(submission.notification(), chedReference)))
+                .onErrorMap(e -> !(e instanceof NotificationSubmissionException), e -> {
+                    log.error("Failed to submit notification {} to IPAFFS",
+                        submission.notification().getId(), e);
+                    return new NotificationSubmissionException(
+                        "Failed to submit notification to IPAFFS: " + e.getMessage(), e);
+                }))
+            .contextWrite(callerContext());
+    }
+
+    private Mono<String> sendToIpaffs(Submission submission) {
+        String id = submission.notification().getId();
+        IpaffsSubmitEvent submitEvent = new IpaffsSubmitEvent(id);
+        return ipaffsNotificationClient.submitNotification(submission.ipaffsNotification(), id)
+            .doOnSubscribe(subscription -> {
+                log.info("Submitting notification {} to IPAFFS", id);
+                submitEvent.begin();
+            })
+            .doOnNext(response -> submitEvent.status = response.getStatusCode().value())
+            .doFinally(signal -> submitEvent.commit())
+            .map(response -> chedReference(id, response));
+    }
+
+    private static String chedReference(String id, ResponseEntity<String> response) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new NotificationSubmissionException(
+                "Failed to submit notification to IPAFFS. Status: "
+                    + response.getStatusCode()
+                    + ", Body: " + response.getBody());
+        }
+        log.info("IPAFFS submission successful for {}. CHED reference: {}", id,
+            response.getBody());
+        return response.getBody();
+    }
+
+    /**
+     * Run blocking work on the scheduler with the caller's MDC.
+     */
+    private <T> Mono<T> blocking(Callable<T> work) {
+        return Mono.deferContextual(context -> {
+            Map<String, String> mdc = context.getOrDefault(MDC_CONTEXT_KEY, Map.of());
+            return Mono.fromCallable(() -> {
+                MDC.setContextMap(mdc);
+                try {
+                    return work.call();
+                } finally {
+                    MDC.clear();
+                }
+            }).subscribeOn(scheduler);
+        });
+    }
+
+    /**
+     * Captured when the pipeline is assembled, on the request thread.
+     */
+    private static Context callerContext() {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        if (mdc == null || mdc.isEmpty()) {
+            return Context.empty();
+        }
+        Context context = Context.of(MDC_CONTEXT_KEY, mdc);
+        String traceId = mdc.get(MDC_TRACE_ID);
+        return traceId == null
+            ? context
+            : context.put(ReactiveIpaffsNotificationClient.TRACE_ID_CONTEXT_KEY, traceId);
+    }
+
+    private record Submission(Notification notification, IpaffsNotification ipaffsNotification) {
+    }
+}
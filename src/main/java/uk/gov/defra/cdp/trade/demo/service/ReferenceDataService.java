@@ -0,0 +1,132 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uk.gov.defra.cdp.trade.demo.configuration.ReferenceDataConfig;
+import uk.gov.defra.cdp.trade.demo.domain.BcpDto;
+import uk.gov.defra.cdp.trade.demo.domain.PoeDto;
+import uk.gov.defra.cdp.trade.demo.domain.ReferenceData;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmOrganisationDto;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmResponse;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmStatus;
+
+/**
+ * Keeps a local snapshot of the active BCPs and their points of entry so lookups do not fetch
+ * the full MDM payload each time.
+ * <p>
+ * The first caller loads the snapshot; concurrent callers wait for that load rather than starting
+ * their own. Once the snapshot is older than the configured TTL one caller reloads it while the
+ * others keep reading the stale copy, and a failed reload keeps the stale copy in place.
+ * <p>
+ * The snapshot is also the source for {@code /mdm/bcps}, so a reload here is what invalidates
+ * the encoded responses held by {@link MdmResponseCache}.
+ */
+@Slf4j
+@Service
+public class ReferenceDataService {
+
+    private static final String ACTIVE_STATUS = "active";
+
+    private final MdmService mdmService;
+    private final ReferenceDataConfig config;
+    private final Clock clock;
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile ReferenceData snapshot;
+
+    public ReferenceDataService(MdmService mdmService, ReferenceDataConfig config, Clock clock) {
+        this.mdmService = mdmService;
+        this.config = config;
+        this.clock = clock;
+    }
+
+    /**
+     * The current snapshot, loading or reloading it from MDM if needed.
+     *
+     * @return the snapshot
+     * @throws RuntimeException if there is no snapshot yet and MDM cannot be reached
+     */
+    public ReferenceData snapshot() {
+        ReferenceData current = snapshot;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                return snapshot;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        if (isStale(current) && loadLock.tryLock()) {
+            try {
+                if (snapshot == current) {
+                    snapshot = load();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to reload reference data, serving snapshot from {}: {}",
+                    current.loadedAt(), e.getMessage());
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    private boolean isStale(ReferenceData current) {
+        return Duration.between(current.loadedAt(), clock.instant()).compareTo(config.getTtl()) >= 0;
+    }
+
+    private ReferenceData load() {
+        MdmResponse response = mdmService.getBcps();
+        if (response == null || response.getData() == null
+            || response.getData().getResult() == null) {
+            log.warn("No BCP data returned from MDM service");
+            return new ReferenceData(Map.of(), Map.of(), response, clock.instant());
+        }
+
+        Map<String, BcpDto> bcps = new LinkedHashMap<>();
+        Map<String, List<PoeDto>> pointsOfEntry = new LinkedHashMap<>();
+        for (MdmOrganisationDto organisation : response.getData().getResult()) {
+            if (organisation == null || organisation.getCode() == null
+                || !isActive(organisation.getStatus())
+                || bcps.containsKey(organisation.getCode())) {
+                continue;
+            }
+            bcps.put(organisation.getCode(), BcpDto.builder()
+                .code(organisation.getCode())
+                .name(organisation.getName())
+                .build());
+            List<PoeDto> poes = organisation.getPointsOfEntry() == null
+                ? List.of()
+                : organisation.getPointsOfEntry().stream()
+                    .filter(Objects::nonNull)
+                    .filter(poe -> poe.getCode() != null && isActive(poe.getStatus()))
+                    .map(poe -> PoeDto.builder()
+                        .code(poe.getCode())
+                        .name(poe.getName())
+                        .build())
+                    .distinct()
+                    .toList();
+            pointsOfEntry.put(organisation.getCode(), poes);
+        }
+
+        Instant loadedAt = clock.instant();
+        log.info("Loaded reference data: {} active BCPs", bcps.size());
+        return new ReferenceData(Map.copyOf(bcps), Map.copyOf(pointsOfEntry), response,
+            loadedAt);
+    }
+
+    private static boolean isActive(MdmStatus status) {
+        return status != null && ACTIVE_STATUS.equalsIgnoreCase(status.getCode());
+    }
+}
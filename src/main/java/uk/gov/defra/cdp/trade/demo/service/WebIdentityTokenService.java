@@ -5,6 +5,7 @@ import static java.util.Objects.isNull;
 import com.nimbusds.jwt.SignedJWT;
 import java.text.ParseException;
 import java.time.Instant;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,6 +15,7 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import uk.gov.defra.cdp.trade.demo.configuration.AwsConfig;
 import uk.gov.defra.cdp.trade.demo.exceptions.TradeDemoBackendException;
+import uk.gov.defra.cdp.trade.demo.metrics.TokenAcquisitionTimer;
 
 @Slf4j
 @Service
@@ -30,9 +32,13 @@ public class WebIdentityTokenService {
 
     private static final String CACHE_KEY = "tradeDemoBackend";
 
-    public WebIdentityTokenService(AwsConfig awsConfig, CacheManager cacheManager) {
+    private final MeterRegistry meterRegistry;
+
+    public WebIdentityTokenService(AwsConfig awsConfig, CacheManager cacheManager,
+        MeterRegistry meterRegistry) {
         this.awsConfig = awsConfig;
         this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
     }
 
     @Cacheable(cacheNames = CACHE_NAME, key = "'" + CACHE_KEY +  "'")
@@ -63,7 +69,8 @@ public class WebIdentityTokenService {
 
     public String fetchAndCacheToken() {
 
-        String token = awsConfig.getWebIdentityToken();
+        String token = TokenAcquisitionTimer.record(meterRegistry, "sts",
+            awsConfig::getWebIdentityToken);
 
         if (!isTokenNotExpired(token)) {
             log.warn("The new Web identity token is invalid or expired");
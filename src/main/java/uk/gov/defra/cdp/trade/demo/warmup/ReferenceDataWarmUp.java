@@ -0,0 +1,38 @@
+package uk.gov.defra.cdp.trade.demo.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uk.gov.defra.cdp.trade.demo.domain.ReferenceData;
+import uk.gov.defra.cdp.trade.demo.service.MdmResponseCache;
+import uk.gov.defra.cdp.trade.demo.service.ReferenceDataService;
+
+/**
+ * Loads the MDM reference data snapshot and encodes the common {@code /mdm/bcps} bodies. The MDM
+ * call also fetches the first trade-auth OAuth token and opens the TLS connections to both.
+ */
+@Slf4j
+@Component
+public class ReferenceDataWarmUp implements WarmUpTask {
+
+    private final ReferenceDataService referenceDataService;
+    private final MdmResponseCache mdmResponseCache;
+
+    public ReferenceDataWarmUp(ReferenceDataService referenceDataService,
+        MdmResponseCache mdmResponseCache) {
+        this.referenceDataService = referenceDataService;
+        this.mdmResponseCache = mdmResponseCache;
+    }
+
+    @Override
+    public String name() {
+        return "referenceData";
+    }
+
+    @Override
+    public void warmUp() {
+        ReferenceData snapshot = referenceDataService.snapshot();
+        mdmResponseCache.get(null, "gzip");
+        mdmResponseCache.get(null, null);
+        log.info("Prefetched reference data: {} BCPs", snapshot.bcps().size());
+    }
+}
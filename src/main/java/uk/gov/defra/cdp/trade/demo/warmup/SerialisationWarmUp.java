@@ -0,0 +1,75 @@
+package uk.gov.defra.cdp.trade.demo.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import uk.gov.defra.cdp.trade.demo.configuration.WarmUpConfig;
+import uk.gov.defra.cdp.trade.demo.domain.Commodity;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDto;
+import uk.gov.defra.cdp.trade.demo.domain.Species;
+import uk.gov.defra.cdp.trade.demo.domain.Transport;
+import uk.gov.defra.cdp.trade.demo.domain.ipaffs.IpaffsNotification;
+import uk.gov.defra.cdp.trade.demo.mapper.IpaffsNotificationMapper;
+
+/**
+ * Runs a sample notification through the IPAFFS mapper and the application's
+ * {@link ObjectMapper}, so Jackson has built its serialisers and the JIT has compiled the hot
+ * paths before real requests arrive.
+ * <p>
+ * The mapper is a separate instance from the Spring bean: the code is the same, but the samples
+ * stay out of the {@code ipaffs.mapping} timer.
+ */
+@Component
+public class SerialisationWarmUp implements WarmUpTask {
+
+    private final ObjectWriter notificationWriter;
+    private final ObjectReader notificationReader;
+    private final ObjectReader notificationDtoReader;
+    private final ObjectWriter ipaffsWriter;
+    private final IpaffsNotificationMapper mapper = new IpaffsNotificationMapper();
+    private final WarmUpConfig config;
+
+    public SerialisationWarmUp(ObjectMapper objectMapper, WarmUpConfig config) {
+        this.notificationWriter = objectMapper.writerFor(Notification.class);
+        this.notificationReader = objectMapper.readerFor(Notification.class);
+        this.notificationDtoReader = objectMapper.readerFor(NotificationDto.class);
+        this.ipaffsWriter = objectMapper.writerFor(IpaffsNotification.class);
+        this.config = config;
+    }
+
+    @Override
+    public String name() {
+        return "serialisation";
+    }
+
+    @Override
+    public void warmUp() throws IOException {
+        Notification notification = sample();
+        for (int i = 0; i < config.getIterations(); i++) {
+            byte[] json = notificationWriter.writeValueAsBytes(notification);
+            notificationReader.readValue(json);
+            notificationDtoReader.readValue(json);
+            ipaffsWriter.writeValueAsBytes(mapper.mapToIpaffsNotification(notification));
+        }
+    }
+
+    private static Notification sample() {
+        Notification notification = new Notification();
+        notification.setId("CDP.2025.01.01.1");
+        notification.setStatus("DRAFT");
+        notification.setOriginCountry("FR");
+        notification.setCommodity(new Commodity("0102", "Live bovine animals", "Domestic",
+            List.of(new Species("Bos taurus", "BOV", 10, 2))));
+        notification.setImportReason("internalmarket");
+        notification.setInternalMarketPurpose("breeding");
+        notification.setTransport(new Transport("GBFXT1", "Road Vehicle", "AB12 CDE"));
+        notification.setCreated(LocalDateTime.of(2025, 1, 1, 9, 0));
+        notification.setUpdated(LocalDateTime.of(2025, 1, 1, 9, 0));
+        return notification;
+    }
+}
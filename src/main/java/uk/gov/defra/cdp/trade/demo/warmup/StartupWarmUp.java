@@ -0,0 +1,112 @@
+package uk.gov.defra.cdp.trade.demo.warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import uk.gov.defra.cdp.trade.demo.configuration.WarmUpConfig;
+
+/**
+ * Runs every {@link WarmUpTask} on its own virtual thread once the context has started and
+ * waits for them, up to {@code warm-up.timeout}, before letting startup continue.
+ * <p>
+ * Spring Boot only marks the application ready after this listener returns, and
+ * {@link WarmUpHealthIndicator} reports {@code OUT_OF_SERVICE} until then, so neither the
+ * readiness probe nor {@code /health} lets traffic in while the caches, tokens and connection
+ * pools are still cold. Failed or slow tasks are logged and do not hold startup past the timeout.
+ */
+@Slf4j
+@Component
+@ConditionalOnBooleanProperty(name = "warm-up.enabled", matchIfMissing = true)
+public class StartupWarmUp {
+
+    /**
+     * Outcome of one task.
+     */
+    public enum Outcome { PENDING, SUCCESS, FAILED, TIMED_OUT }
+
+    private final List<WarmUpTask> tasks;
+    private final WarmUpConfig config;
+
+    private volatile boolean complete;
+    private volatile Map<String, Outcome> outcomes = Map.of();
+
+    public StartupWarmUp(List<WarmUpTask> tasks, WarmUpConfig config) {
+        this.tasks = tasks;
+        this.config = config;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + config.getTimeout().toNanos();
+        Map<String, CompletableFuture<Void>> running = new LinkedHashMap<>();
+        Map<String, Outcome> results = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (WarmUpTask task : tasks) {
+                results.put(task.name(), Outcome.PENDING);
+                running.put(task.name(), CompletableFuture.runAsync(() -> run(task), executor));
+            }
+            outcomes = Map.copyOf(results);
+
+            for (Map.Entry<String, CompletableFuture<Void>> task : running.entrySet()) {
+                results.put(task.getKey(), await(task.getKey(), task.getValue(), deadline));
+            }
+        } finally {
+            // Stragglers may finish after the deadline, they are not interrupted
+            executor.shutdown();
+            outcomes = Map.copyOf(results);
+            complete = true;
+        }
+        log.info("Warm-up finished in {} ms: {}", (System.nanoTime() - start) / 1_000_000,
+            results);
+    }
+
+    private static void run(WarmUpTask task) {
+        long start = System.nanoTime();
+        try {
+            task.warmUp();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+        log.debug("Warm-up task {} took {} ms", task.name(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Outcome await(String name, CompletableFuture<Void> task, long deadline) {
+        try {
+            task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return Outcome.SUCCESS;
+        } catch (TimeoutException e) {
+            log.warn("Warm-up task {} did not finish within {}, not waiting for it", name,
+                config.getTimeout());
+            return Outcome.TIMED_OUT;
+        } catch (ExecutionException e) {
+            log.warn("Warm-up task {} failed: {}", name, e.getCause().getMessage());
+            return Outcome.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.PENDING;
+        }
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public Map<String, Outcome> outcomes() {
+        return outcomes;
+    }
+}
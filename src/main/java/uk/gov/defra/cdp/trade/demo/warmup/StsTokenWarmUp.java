@@ -0,0 +1,30 @@
+package uk.gov.defra.cdp.trade.demo.warmup;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import uk.gov.defra.cdp.trade.demo.service.WebIdentityTokenService;
+
+/**
+ * Fetches and caches the STS web identity token used for IPAFFS, so the first submission does
+ * not wait for it. Only needed where the real IPAFFS client is in use.
+ */
+@Component
+@Profile("!local & !integration-test")
+public class StsTokenWarmUp implements WarmUpTask {
+
+    private final WebIdentityTokenService webIdentityTokenService;
+
+    public StsTokenWarmUp(WebIdentityTokenService webIdentityTokenService) {
+        this.webIdentityTokenService = webIdentityTokenService;
+    }
+
+    @Override
+    public String name() {
+        return "stsToken";
+    }
+
+    @Override
+    public void warmUp() {
+        webIdentityTokenService.getWebIdentityToken();
+    }
+}
@@ -0,0 +1,28 @@
+package uk.gov.defra.cdp.trade.demo.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} until {@link StartupWarmUp} has finished, so {@code /health}
+ * (and with it the platform's readiness check) fails while the service is still warming up. The
+ * task outcomes are included when health details are shown.
+ */
+@Component("warmUp")
+@ConditionalOnBooleanProperty(name = "warm-up.enabled", matchIfMissing = true)
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final StartupWarmUp startupWarmUp;
+
+    public WarmUpHealthIndicator(StartupWarmUp startupWarmUp) {
+        this.startupWarmUp = startupWarmUp;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = startupWarmUp.isComplete() ? Health.up() : Health.outOfService();
+        return builder.withDetail("tasks", startupWarmUp.outcomes()).build();
+    }
+}
@@ -0,0 +1,16 @@
+package uk.gov.defra.cdp.trade.demo.warmup;
+
+/**
+ * One piece of startup work that makes the first real requests cheaper, such as filling a cache
+ * or opening connections. Tasks run concurrently and must not depend on each other; a failure
+ * is logged and does not stop the service from starting.
+ */
+public interface WarmUpTask {
+
+    /**
+     * Short name used in logs and the health details.
+     */
+    String name();
+
+    void warmUp() throws Exception;
+}
@@ -0,0 +1,168 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.mongodb.RequestContext;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ClientSession;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.List;
+import java.util.Set;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.Test;
+
+class CausalWriteTrackerTest {
+
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(
+        new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final CausalWriteTracker tracker = new CausalWriteTracker(Set.of("notifications"));
+
+    private int requestId;
+
+    @Test
+    void advance_shouldMoveSessionPastLatestWriteToThatDocument() {
+        // Given
+        write(insert("A"), new BsonTimestamp(100, 1));
+        write(update("A"), new BsonTimestamp(100, 3));
+        write(delete("B"), new BsonTimestamp(100, 4));
+        ClientSession session = mock(ClientSession.class);
+
+        // When
+        tracker.advance(session, "A");
+
+        // Then - the later write to B does not hold up a read of A
+        assertThat(tracker.operationTime("A")).isEqualTo(new BsonTimestamp(100, 3));
+        verify(session).advanceOperationTime(new BsonTimestamp(100, 3));
+        verify(session).advanceClusterTime(reply(new BsonTimestamp(100, 3))
+            .getDocument("$clusterTime"));
+    }
+
+    @Test
+    void advance_shouldLeaveSessionAlone_whenDocumentWasNotWrittenHere() {
+        // Given
+        write(insert("A"), new BsonTimestamp(100, 1));
+        ClientSession session = mock(ClientSession.class);
+
+        // When
+        tracker.advance(session, "B");
+
+        // Then
+        verifyNoInteractions(session);
+    }
+
+    @Test
+    void commandSucceeded_shouldTrackEveryIdOfInFilterAndFindAndModify() {
+        // Given
+        BsonDocument removeBatch = delete("ignored");
+        removeBatch.getArray("deletes").get(0).asDocument().put("q", new BsonDocument("_id",
+            new BsonDocument("$in", new BsonArray(List.of(
+                new BsonString("C"), new BsonString("D"))))));
+        BsonDocument findAndModify = new BsonDocument("findAndModify",
+            new BsonString("notifications"))
+            .append("query", new BsonDocument("_id", new BsonString("E")));
+
+        // When
+        write(removeBatch, new BsonTimestamp(100, 5));
+        write(findAndModify, new BsonTimestamp(100, 6));
+
+        // Then
+        assertThat(tracker.operationTime("C")).isEqualTo(new BsonTimestamp(100, 5));
+        assertThat(tracker.operationTime("D")).isEqualTo(new BsonTimestamp(100, 5));
+        assertThat(tracker.operationTime("E")).isEqualTo(new BsonTimestamp(100, 6));
+    }
+
+    @Test
+    void commandSucceeded_shouldIgnoreReadsOtherCollectionsFailuresAndStandaloneReplies() {
+        // Given
+        BsonDocument find = new BsonDocument("find", new BsonString("notifications"))
+            .append("filter", new BsonDocument("_id", new BsonString("A")));
+        BsonDocument otherCollection = insert("A").append("insert", new BsonString("sequences"));
+
+        // When
+        write(find, new BsonTimestamp(100, 1));
+        write(otherCollection, new BsonTimestamp(100, 2));
+        int failed = start(insert("A"));
+        tracker.commandFailed(new CommandFailedEvent(mock(RequestContext.class), 1, failed,
+            CONNECTION, "test", "insert", 1_000, new RuntimeException("E11000")));
+        start(insert("A"));
+        tracker.commandSucceeded(succeeded("insert", new BsonDocument("ok", new BsonInt32(1))));
+
+        // Then
+        assertThat(tracker.operationTime("A")).isNull();
+    }
+
+    @Test
+    void operationTime_shouldForgetOldestDocumentsPastTheLimit() {
+        // Given
+        CausalWriteTracker small = new CausalWriteTracker(Set.of("notifications"), 1);
+
+        // When
+        for (String id : new String[] {"A", "B", "C"}) {
+            small.commandStarted(started(insert(id)));
+            small.commandSucceeded(succeeded("insert", reply(new BsonTimestamp(100, 1))));
+        }
+
+        // Then
+        assertThat(small.trackedDocuments()).isEqualTo(1);
+    }
+
+    private void write(BsonDocument command, BsonTimestamp operationTime) {
+        start(command);
+        tracker.commandSucceeded(succeeded(command.getFirstKey(), reply(operationTime)));
+    }
+
+    private int start(BsonDocument command) {
+        tracker.commandStarted(started(command));
+        return requestId;
+    }
+
+    private CommandStartedEvent started(BsonDocument command) {
+        requestId++;
+        return new CommandStartedEvent(mock(RequestContext.class), 1, requestId, CONNECTION,
+            "test", command.getFirstKey(), command);
+    }
+
+    private CommandSucceededEvent succeeded(String command, BsonDocument response) {
+        return new CommandSucceededEvent(mock(RequestContext.class), 1, requestId, CONNECTION,
+            "test", command, response, 1_000);
+    }
+
+    private static BsonDocument insert(String id) {
+        return new BsonDocument("insert", new BsonString("notifications"))
+            .append("documents", new BsonArray(List.of(
+                new BsonDocument("_id", new BsonString(id)))));
+    }
+
+    private static BsonDocument update(String id) {
+        return new BsonDocument("update", new BsonString("notifications"))
+            .append("updates", new BsonArray(List.of(
+                new BsonDocument("q", new BsonDocument("_id", new BsonString(id)))
+                    .append("u", new BsonDocument()))));
+    }
+
+    private static BsonDocument delete(String id) {
+        return new BsonDocument("delete", new BsonString("notifications"))
+            .append("deletes", new BsonArray(List.of(
+                new BsonDocument("q", new BsonDocument("_id", new BsonString(id)))
+                    .append("limit", new BsonInt32(0)))));
+    }
+
+    private static BsonDocument reply(BsonTimestamp operationTime) {
+        return new BsonDocument("ok", new BsonInt32(1))
+            .append("operationTime", operationTime)
+            .append("$clusterTime", new BsonDocument("clusterTime", operationTime));
+    }
+}
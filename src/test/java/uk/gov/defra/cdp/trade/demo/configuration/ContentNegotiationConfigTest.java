@@ -0,0 +1,150 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+class ContentNegotiationConfigTest {
+
+    /**
+     * {"a": 1} in CBOR.
+     */
+    private static final byte[] CBOR_MAP = {(byte) 0xa1, 0x61, 0x61, 0x01};
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    private final ObjectMapper cborMapper = ContentNegotiationConfig.cborMapper(objectMapper);
+
+    @Test
+    void stringBody_shouldBeEncodedAsCborWhenAsked() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(true);
+
+        // When
+        byte[] body = mockMvc.perform(get("/text")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Then - a CBOR text string (major type 3, length 5), not the raw characters
+        assertThat(body[0]).isEqualTo((byte) 0x65);
+        assertThat(cborMapper.readValue(body, String.class)).isEqualTo("hello");
+    }
+
+    @Test
+    void stringBody_shouldStayPlainTextByDefault() throws Exception {
+        mockMvc(true).perform(get("/text").header(HttpHeaders.ACCEPT, "*/*"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+            .andExpect(content().string("hello"));
+    }
+
+    @Test
+    void bytesBody_shouldBeWrittenAsIsWhenCborIsAsked() throws Exception {
+        // When
+        byte[] body = mockMvc(true).perform(get("/bytes")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Then - the handler's bytes are taken to be encoded already, not wrapped again
+        assertThat(body).isEqualTo(CBOR_MAP);
+    }
+
+    @Test
+    void objectBody_shouldUseApplicationMapperForCborAndStayJsonByDefault() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(true);
+
+        // When
+        byte[] cbor = mockMvc.perform(get("/object")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Then - dates are written the same way as in JSON
+        assertThat(cborMapper.readValue(cbor, new TypeReference<Map<String, String>>() { }))
+            .isEqualTo(Map.of("date", "2025-12-05"));
+        mockMvc.perform(get("/object").header(HttpHeaders.ACCEPT, "*/*"))
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().json("{\"date\":\"2025-12-05\"}"));
+    }
+
+    @Test
+    void extendMessageConverters_shouldDropSpringsCborConverterWhenDisabled() throws Exception {
+        // Given
+        List<HttpMessageConverter<?>> converters = defaultConverters();
+
+        // When
+        new ContentNegotiationConfig(objectMapper, false).extendMessageConverters(converters);
+
+        // Then
+        assertThat(converters).noneMatch(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        mockMvc(false).perform(get("/object")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+            .andExpect(status().isNotAcceptable());
+    }
+
+    private MockMvc mockMvc(boolean cborEnabled) {
+        List<HttpMessageConverter<?>> converters = defaultConverters();
+        new ContentNegotiationConfig(objectMapper, cborEnabled).extendMessageConverters(converters);
+        return MockMvcBuilders.standaloneSetup(new TestController())
+            .setMessageConverters(converters.toArray(new HttpMessageConverter<?>[0]))
+            .build();
+    }
+
+    /**
+     * The order Spring MVC registers them in when jackson-dataformat-cbor is present.
+     */
+    private List<HttpMessageConverter<?>> defaultConverters() {
+        return new ArrayList<>(List.of(
+            new ByteArrayHttpMessageConverter(),
+            new StringHttpMessageConverter(StandardCharsets.UTF_8),
+            new MappingJackson2HttpMessageConverter(objectMapper),
+            new MappingJackson2CborHttpMessageConverter()));
+    }
+
+    @RestController
+    static class TestController {
+
+        @GetMapping("/text")
+        String text() {
+            return "hello";
+        }
+
+        @GetMapping(value = "/bytes", produces = MediaType.APPLICATION_CBOR_VALUE)
+        byte[] bytes() {
+            return CBOR_MAP;
+        }
+
+        @GetMapping("/object")
+        Map<String, LocalDate> object() {
+            return Map.of("date", LocalDate.of(2025, 12, 5));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+class LazyInitializationPostProcessorTest {
+
+    private static final Set<String> CREATED = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        CREATED.clear();
+    }
+
+    @Test
+    void postProcessBeanFactory_shouldDeferMatchingBeansUntilFirstUse() {
+        // Given
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.addBeanFactoryPostProcessor(new LazyInitializationPostProcessor(
+                List.of("org.springframework.web.client.RestTemplate")));
+            context.register(Beans.class);
+
+            // When
+            context.refresh();
+
+            // Then
+            assertThat(context.getBeanDefinition("restTemplate").isLazyInit()).isTrue();
+            assertThat(context.getBeanDefinition("clock").isLazyInit()).isFalse();
+            assertThat(CREATED).containsExactly("clock");
+
+            context.getBean(RestTemplate.class);
+            assertThat(CREATED).containsExactlyInAnyOrder("clock", "restTemplate");
+        }
+    }
+
+    @Test
+    void typeName_shouldUseFactoryBeanObjectType() {
+        // Given - how Feign registers its clients
+        GenericBeanDefinition definition = new GenericBeanDefinition();
+        definition.setBeanClassName("org.springframework.cloud.openfeign.FeignClientFactoryBean");
+        definition.setAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE,
+            "uk.gov.defra.cdp.trade.demo.client.MdmApiClient");
+
+        // When
+        String type = LazyInitializationPostProcessor.typeName(definition);
+
+        // Then
+        assertThat(type).isEqualTo("uk.gov.defra.cdp.trade.demo.client.MdmApiClient");
+    }
+
+    @Test
+    void matches_shouldTreatTrailingDotAsPackage() {
+        LazyInitializationPostProcessor postProcessor = new LazyInitializationPostProcessor(
+            List.of("org.springdoc.", "org.springframework.web.client.RestClient"));
+
+        assertThat(postProcessor.matches("org.springdoc.core.service.OpenAPIService")).isTrue();
+        assertThat(postProcessor.matches("org.springframework.web.client.RestClient")).isTrue();
+        assertThat(postProcessor.matches("org.springframework.web.client.RestClient$Builder"))
+            .isFalse();
+        assertThat(postProcessor.matches("org.springdocs.Other")).isFalse();
+    }
+
+    @Configuration
+    static class Beans {
+
+        @Bean
+        RestTemplate restTemplate() {
+            CREATED.add("restTemplate");
+            return new RestTemplate();
+        }
+
+        @Bean
+        Clock clock() {
+            CREATED.add("clock");
+            return Clock.systemUTC();
+        }
+    }
+}
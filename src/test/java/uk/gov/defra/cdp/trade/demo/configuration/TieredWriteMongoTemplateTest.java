@@ -0,0 +1,103 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import uk.gov.defra.cdp.trade.demo.configuration.WriteConcernTiers.Tier;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+
+@ExtendWith(MockitoExtension.class)
+class TieredWriteMongoTemplateTest {
+
+    @Mock
+    private MongoDatabaseFactory databaseFactory;
+
+    @Mock
+    private MongoDatabase database;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private MongoCollection<Document> draftCollection;
+
+    private final WriteConcernTiers tiers = new WriteConcernTiers(new WriteConcernTierConfig());
+
+    private TieredWriteMongoTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        when(databaseFactory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,
+            mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        template = new TieredWriteMongoTemplate(databaseFactory, converter, tiers);
+    }
+
+    @Test
+    void bulkOps_shouldWriteNotificationsWithDraftConcern() {
+        // Given
+        when(databaseFactory.getMongoDatabase()).thenReturn(database);
+        when(database.getCollection("notifications", Document.class)).thenReturn(collection);
+        when(collection.getNamespace()).thenReturn(namespace("notifications"));
+        when(collection.withWriteConcern(any(WriteConcern.class))).thenReturn(draftCollection);
+        when(draftCollection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+            .thenReturn(BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()));
+        Notification notification = new Notification();
+        notification.setId("CDP.2025.12.05.1");
+        notification.setStatus("DRAFT");
+
+        // When
+        template.bulkOps(BulkMode.UNORDERED, Notification.class).insert(notification).execute();
+
+        // Then - bulk writes bypass the resolver, so the tier must come from the collection
+        ArgumentCaptor<WriteConcern> concern = ArgumentCaptor.forClass(WriteConcern.class);
+        verify(collection).withWriteConcern(concern.capture());
+        assertThat(concern.getValue()).isEqualTo(tiers.writeConcern(Tier.DRAFT));
+        assertThat(concern.getValue().getW()).isEqualTo(1);
+        verify(draftCollection).bulkWrite(anyList(), any(BulkWriteOptions.class));
+    }
+
+    @Test
+    void prepareCollection_shouldLeaveUntieredCollectionsAlone() {
+        // Given
+        when(collection.getNamespace()).thenReturn(namespace("examples"));
+
+        // When/Then
+        assertThat(template.prepareCollection(collection)).isSameAs(collection);
+        verify(collection, never()).withWriteConcern(any());
+    }
+
+    private static MongoNamespace namespace(String collection) {
+        return new MongoNamespace("trade-demo-backend", collection);
+    }
+}
@@ -0,0 +1,67 @@
+package uk.gov.defra.cdp.trade.demo.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.WriteConcern;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+import uk.gov.defra.cdp.trade.demo.domain.Example;
+import uk.gov.defra.cdp.trade.demo.domain.IdNodeLease;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDailyStats;
+
+class WriteConcernTiersTest {
+
+    private final WriteConcernTiers tiers = new WriteConcernTiers(new WriteConcernTierConfig());
+
+    @Test
+    void resolve_shouldUsePrimaryOnlyConcernForDrafts() {
+        // When
+        WriteConcern concern = tiers.resolve(action(MongoActionOperation.SAVE, "notifications",
+            Notification.class, new Document("status", "DRAFT")));
+
+        // Then
+        assertThat(concern.getW()).isEqualTo(1);
+        assertThat(concern.getJournal()).isFalse();
+        assertThat(concern.getWTimeout(TimeUnit.MILLISECONDS)).isEqualTo(2000);
+        assertThat(tiers.resolve(action(MongoActionOperation.UPDATE, "notification_daily_stats",
+            NotificationDailyStats.class, new Document("$inc", new Document()))))
+            .isEqualTo(concern);
+    }
+
+    @Test
+    void resolve_shouldUseJournalledMajorityForSubmitSequenceAndDelete() {
+        // Given
+        WriteConcern durable = WriteConcern.MAJORITY.withJournal(true)
+            .withWTimeout(5, TimeUnit.SECONDS);
+
+        // When/Then
+        assertThat(tiers.resolve(action(MongoActionOperation.SAVE, "notifications",
+            Notification.class, new Document("status", "SUBMITTED")))).isEqualTo(durable);
+        assertThat(tiers.resolve(action(MongoActionOperation.UPDATE, "id_node_leases",
+            IdNodeLease.class, new Document("$set", new Document())))).isEqualTo(durable);
+        assertThat(tiers.resolve(action(MongoActionOperation.REMOVE, "notifications",
+            Notification.class, null))).isEqualTo(durable);
+        assertThat(tiers.resolve(action(MongoActionOperation.INSERT_LIST,
+            Notification.ARCHIVE_COLLECTION, Notification.class, null))).isEqualTo(durable);
+    }
+
+    @Test
+    void resolve_shouldKeepDefaultConcernForOtherCollections() {
+        // When
+        WriteConcern concern = tiers.resolve(action(MongoActionOperation.SAVE, "examples",
+            Example.class, new Document()));
+
+        // Then
+        assertThat(concern).isEqualTo(WriteConcern.W2);
+    }
+
+    private static MongoAction action(MongoActionOperation operation, String collection,
+        Class<?> entityType, Document document) {
+        return new MongoAction(WriteConcern.W2, operation, collection, entityType, document,
+            new Document());
+    }
+}
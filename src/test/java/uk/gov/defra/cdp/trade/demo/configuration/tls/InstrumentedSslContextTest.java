@@ -0,0 +1,123 @@
+package uk.gov.defra.cdp.trade.demo.configuration.tls;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.time.Duration;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Handshakes against an in-process HTTPS server using the self-signed localhost certificate in
+ * {@code tls/localhost.p12}.
+ */
+class InstrumentedSslContextTest {
+
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    private SimpleMeterRegistry meterRegistry;
+    private HttpsServer server;
+    private SSLContext sslContext;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = getClass().getResourceAsStream("/tls/localhost.p12")) {
+            keyStore.load(in, PASSWORD);
+        }
+
+        KeyManagerFactory keyManagers =
+            KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, PASSWORD);
+        SSLContext serverContext = SSLContext.getInstance("TLS");
+        serverContext.init(keyManagers.getKeyManagers(), null, null);
+        server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(serverContext));
+        server.createContext("/", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        TrustManagerFactory trustManagers =
+            TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(keyStore);
+        SSLContext clientContext = SSLContext.getInstance("TLS");
+        clientContext.init(null, trustManagers.getTrustManagers(), null);
+
+        meterRegistry = new SimpleMeterRegistry();
+        sslContext = new InstrumentedSslContext(clientContext, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void httpClient_shouldTimeEngineHandshakes() throws Exception {
+        // Given
+        HttpClient client = HttpClient.newBuilder()
+            .sslContext(sslContext)
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+        // When
+        HttpResponse<String> response = client.send(
+            HttpRequest.newBuilder(uri()).timeout(Duration.ofSeconds(5)).build(),
+            HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(response.body()).isEqualTo("ok");
+        Timer handshakes = meterRegistry.get(InstrumentedSslContext.METRIC_NAME)
+            .tags("peer", "localhost", "outcome", "SUCCESS")
+            .timer();
+        assertThat(handshakes.count()).isEqualTo(1);
+        assertThat(handshakes.getId().getTag("protocol")).startsWith("TLS");
+        assertThat(meterRegistry.get(InstrumentedSslContext.CACHE_METRIC_NAME).gauge().value())
+            .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void socketFactory_shouldTimeSocketHandshakes() throws Exception {
+        // When
+        try (SSLSocket socket = (SSLSocket) sslContext.getSocketFactory()
+            .createSocket("localhost", server.getAddress().getPort())) {
+            socket.startHandshake();
+        }
+
+        // Then - the completion listener runs on its own thread
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(
+            meterRegistry.find(InstrumentedSslContext.METRIC_NAME)
+                .tags("peer", "localhost", "outcome", "SUCCESS")
+                .timer())
+            .isNotNull()
+            .extracting(Timer::count)
+            .isEqualTo(1L));
+        assertThat(sslContext.getSocketFactory()).isSameAs(sslContext.getSocketFactory());
+    }
+
+    private URI uri() {
+        return URI.create("https://localhost:" + server.getAddress().getPort() + "/");
+    }
+}
@@ -0,0 +1,150 @@
+package uk.gov.defra.cdp.trade.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uk.gov.defra.cdp.trade.demo.configuration.ContentNegotiationConfig;
+import uk.gov.defra.cdp.trade.demo.configuration.ReferenceDataConfig;
+import uk.gov.defra.cdp.trade.demo.service.MdmResponseCache;
+import uk.gov.defra.cdp.trade.demo.service.MdmResponseCache.EncodedResponse;
+
+@ExtendWith(MockitoExtension.class)
+class MdmControllerTest {
+
+    private static final byte[] BODY = "{\"data\":null}".getBytes();
+
+    /**
+     * {"a": 1} in CBOR.
+     */
+    private static final byte[] CBOR_BODY = {(byte) 0xa1, 0x61, 0x61, 0x01};
+
+    @Mock
+    private MdmResponseCache mdmResponseCache;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReferenceDataConfig config = new ReferenceDataConfig();
+        config.setCacheMaxAge(Duration.ofMinutes(5));
+        // The converters the application runs with, so CBOR bodies go through the same ones
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(
+            new ByteArrayHttpMessageConverter(),
+            new StringHttpMessageConverter(StandardCharsets.UTF_8),
+            new MappingJackson2HttpMessageConverter(objectMapper),
+            new MappingJackson2CborHttpMessageConverter()));
+        new ContentNegotiationConfig(objectMapper, true).extendMessageConverters(converters);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MdmController(mdmResponseCache, config))
+            .setMessageConverters(converters.toArray(new HttpMessageConverter<?>[0]))
+            .build();
+    }
+
+    @Test
+    void getBcps_shouldWriteCachedBodyWithCacheHeaders() throws Exception {
+        // Given
+        when(mdmResponseCache.get("application/json", "gzip")).thenReturn(
+            new EncodedResponse(BODY, "\"abc-gzip\"", MediaType.APPLICATION_JSON, "gzip"));
+
+        // When/Then
+        mockMvc.perform(get("/mdm/bcps")
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().bytes(BODY))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"abc-gzip\""))
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+            .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+            .andExpect(header().string(HttpHeaders.VARY,
+                containsString(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    @Test
+    void getBcps_shouldWriteEncodedCborAsIs() throws Exception {
+        // Given
+        when(mdmResponseCache.get(MediaType.APPLICATION_CBOR_VALUE, null)).thenReturn(
+            new EncodedResponse(CBOR_BODY, "\"abc-cbor\"", MediaType.APPLICATION_CBOR, null));
+
+        // When/Then
+        mockMvc.perform(get("/mdm/bcps")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(content().bytes(CBOR_BODY));
+    }
+
+    @Test
+    void getBcps_shouldWriteGzippedCborAsIs() throws Exception {
+        // Given
+        byte[] gzipped = gzip(CBOR_BODY);
+        when(mdmResponseCache.get(MediaType.APPLICATION_CBOR_VALUE, "gzip")).thenReturn(
+            new EncodedResponse(gzipped, "\"abc-cbor-gzip\"", MediaType.APPLICATION_CBOR,
+                "gzip"));
+
+        // When
+        byte[] body = mockMvc.perform(get("/mdm/bcps")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Then - still valid gzip of the original CBOR
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(in.readAllBytes()).isEqualTo(CBOR_BODY);
+        }
+    }
+
+    @Test
+    void getBcps_shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        // Given
+        when(mdmResponseCache.get(null, null)).thenReturn(
+            new EncodedResponse(BODY, "\"abc\"", MediaType.APPLICATION_JSON, null));
+
+        // When/Then
+        mockMvc.perform(get("/mdm/bcps").header(HttpHeaders.IF_NONE_MATCH, "\"abc\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
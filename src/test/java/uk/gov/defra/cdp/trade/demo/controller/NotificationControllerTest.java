@@ -20,11 +20,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.defra.cdp.trade.demo.domain.Commodity;
 import uk.gov.defra.cdp.trade.demo.domain.Notification;
 import uk.gov.defra.cdp.trade.demo.domain.NotificationDto;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchResult;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchResult.Match;
 import uk.gov.defra.cdp.trade.demo.domain.Species;
 import uk.gov.defra.cdp.trade.demo.domain.Transport;
 import uk.gov.defra.cdp.trade.demo.exceptions.NotFoundException;
 import uk.gov.defra.cdp.trade.demo.exceptions.NotificationSubmissionException;
+import uk.gov.defra.cdp.trade.demo.service.NotificationSearchService;
 import uk.gov.defra.cdp.trade.demo.service.NotificationService;
+import uk.gov.defra.cdp.trade.demo.service.NotificationViewService;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationControllerTest {
@@ -32,11 +36,18 @@ class NotificationControllerTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private NotificationViewService notificationViewService;
+
+    @Mock
+    private NotificationSearchService notificationSearchService;
+
     private NotificationController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new NotificationController(notificationService);
+        controller = new NotificationController(notificationService, notificationViewService,
+            notificationSearchService);
     }
 
     @Test
@@ -94,6 +105,21 @@ class NotificationControllerTest {
         verify(notificationService).findById("test-id-123");
     }
 
+    @Test
+    void search_shouldReturnPageFromSearchService() {
+        // Given
+        NotificationSearchResult page = new NotificationSearchResult("bovine", Match.TEXT, 1, 10,
+            11, List.of(createTestNotification("id-011")));
+        when(notificationSearchService.search("bovine", 1, 10)).thenReturn(page);
+
+        // When
+        NotificationSearchResult result = controller.search("bovine", 1, 10);
+
+        // Then
+        assertThat(result).isSameAs(page);
+        verify(notificationSearchService).search("bovine", 1, 10);
+    }
+
     @Test
     void findById_shouldThrowNotFoundException_whenNotExists() {
         // Given
@@ -0,0 +1,159 @@
+package uk.gov.defra.cdp.trade.demo.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadConcern;
+import com.mongodb.client.ClientSession;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.StreamSupport;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import uk.gov.defra.cdp.trade.demo.configuration.CausalWriteTracker;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private NotificationRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new NotificationRepositoryCustomImpl(mongoTemplate,
+            new CausalWriteTracker(Set.of("notifications")));
+    }
+
+    @Test
+    void findByIdAfterWrites_shouldFallBackToArchive() {
+        // Given
+        MongoDatabaseFactory factory = mock(MongoDatabaseFactory.class);
+        MongoTemplate sessionTemplate = mock(MongoTemplate.class);
+        ClientSession session = mock(ClientSession.class);
+        Notification archived = new Notification();
+        archived.setId("CDP.2025.09.01.1");
+        archived.setStatus("SUBMITTED");
+        when(mongoTemplate.getMongoDatabaseFactory()).thenReturn(factory);
+        when(factory.getSession(any(ClientSessionOptions.class))).thenReturn(session);
+        when(mongoTemplate.withSession(session)).thenReturn(sessionTemplate);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(sessionTemplate.findOne(query.capture(), eq(Notification.class))).thenReturn(null);
+        when(sessionTemplate.findOne(any(Query.class), eq(Notification.class),
+            eq(Notification.ARCHIVE_COLLECTION))).thenReturn(archived);
+
+        // When
+        Optional<Notification> found = repository.findByIdAfterWrites("CDP.2025.09.01.1");
+
+        // Then - not in notifications, so read from the archive in the same session
+        assertThat(found).contains(archived);
+        assertThat(query.getValue().getQueryObject())
+            .isEqualTo(new Document("_id", "CDP.2025.09.01.1"));
+        assertThat(query.getValue().getReadConcern()).isEqualTo(ReadConcern.MAJORITY);
+        verify(session).close();
+    }
+
+    @Test
+    void searchText_shouldSortByScoreThenNewestAndCountAcrossPages() {
+        // Given
+        ArgumentCaptor<Query> find = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.find(find.capture(), eq(Notification.class)))
+            .thenReturn(Collections.nCopies(10, new Notification()));
+        when(mongoTemplate.count(any(Query.class), eq(Notification.class))).thenReturn(35L);
+
+        // When
+        Page<Notification> page = repository.searchText(List.of("bovine", "ab12cde"),
+            PageRequest.of(2, 10));
+
+        // Then - a full page, so the total needs a count
+        Query query = find.getValue();
+        assertThat(query.getQueryObject().get("$text", Document.class).getString("$search"))
+            .isEqualTo("bovine ab12cde");
+        assertThat(query.getSortObject().keySet()).containsExactly("score", "updated");
+        assertThat(query.getSkip()).isEqualTo(20);
+        assertThat(query.getLimit()).isEqualTo(10);
+        assertThat(page.getTotalElements()).isEqualTo(35);
+        ArgumentCaptor<Query> count = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).count(count.capture(), eq(Notification.class));
+        assertThat(count.getValue().getQueryObject()).containsKey("$text");
+        assertThat(count.getValue().getSkip()).isNotPositive();
+        assertThat(count.getValue().getLimit()).isNotPositive();
+    }
+
+    @Test
+    void searchPrefix_shouldAnchorEveryPrefixAndSkipCountOnShortFirstPage() {
+        // Given
+        ArgumentCaptor<Query> find = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.find(find.capture(), eq(Notification.class)))
+            .thenReturn(List.of(new Notification()));
+
+        // When
+        Page<Notification> page = repository.searchPrefix(List.of("bov", "cheda.gb"),
+            PageRequest.of(0, 10));
+
+        // Then
+        assertThat(find.getValue().getQueryObject().toJson())
+            .contains("\"pattern\": \"^bov\"")
+            .contains("\"pattern\": \"^cheda\\\\.gb\"");
+        assertThat(find.getValue().getSortObject()).isEqualTo(new Document("updated", -1));
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        verify(mongoTemplate, never()).count(any(Query.class), eq(Notification.class));
+    }
+
+    @Test
+    void escape_shouldLeaveOnlyLettersAndDigitsUnescaped() {
+        assertThat(NotificationRepositoryCustomImpl.escape("ab12")).isEqualTo("ab12");
+        assertThat(NotificationRepositoryCustomImpl.escape("a.b*(c")).isEqualTo("a\\.b\\*\\(c");
+        assertThat(NotificationRepositoryCustomImpl.escape("café")).isEqualTo("caf\\é");
+    }
+
+    @Test
+    void notification_shouldDeclareTextAndSearchTermIndexes() {
+        // Given
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(
+            new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        MongoPersistentEntityIndexResolver resolver =
+            new MongoPersistentEntityIndexResolver(mappingContext);
+
+        // When
+        List<Document> keys = StreamSupport.stream(
+                resolver.resolveIndexFor(Notification.class).spliterator(), false)
+            .map(IndexDefinition::getIndexKeys)
+            .toList();
+
+        // Then
+        assertThat(keys).contains(
+            new Document("searchTerms", 1),
+            new Document("status", 1).append("updated", 1),
+            new Document()
+                .append("chedReference", "text")
+                .append("transport.vehicleId", "text")
+                .append("commodity.description", "text")
+                .append("commodity.species.name", "text"));
+    }
+}
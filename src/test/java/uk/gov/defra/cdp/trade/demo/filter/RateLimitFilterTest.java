@@ -0,0 +1,86 @@
+package uk.gov.defra.cdp.trade.demo.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.gov.defra.cdp.trade.demo.configuration.RateLimitConfig;
+import uk.gov.defra.cdp.trade.demo.ratelimit.LocalRateLimitStore;
+import uk.gov.defra.cdp.trade.demo.ratelimit.RateLimiter;
+
+class RateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger chained = new AtomicInteger();
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfig.Limit limit = new RateLimitConfig.Limit();
+        limit.setRequests(1);
+        RateLimitConfig.Route route = new RateLimitConfig.Route();
+        route.setName("notifications");
+        route.setPattern("/notifications/**");
+        route.setClient(limit);
+        RateLimitConfig config = new RateLimitConfig();
+        config.setRoutes(List.of(route));
+        RateLimiter rateLimiter = new RateLimiter(config, new LocalRateLimitStore(),
+            Clock.fixed(Instant.parse("2025-12-05T10:15:30Z"), ZoneOffset.UTC),
+            new SimpleMeterRegistry());
+        filter = new RateLimitFilter(rateLimiter, objectMapper, config);
+    }
+
+    @Test
+    void doFilter_shouldRefuseWithTooManyRequestsOnceLimitIsReached() throws Exception {
+        // Given
+        MockHttpServletResponse allowed = doFilter("/notifications/1", "frontend");
+
+        // When
+        MockHttpServletResponse refused = doFilter("/notifications/1", "frontend");
+
+        // Then
+        assertThat(allowed.getStatus()).isEqualTo(200);
+        assertThat(allowed.getHeader(RateLimitFilter.LIMIT)).isEqualTo("1");
+        assertThat(allowed.getHeader(RateLimitFilter.REMAINING)).isEqualTo("0");
+        assertThat(allowed.getHeader(RateLimitFilter.RESET)).isEqualTo("1");
+        assertThat(refused.getStatus()).isEqualTo(429);
+        assertThat(refused.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(refused.getContentType()).isEqualTo("application/problem+json");
+        JsonNode body = objectMapper.readTree(refused.getContentAsString());
+        assertThat(body.get("title").asText()).isEqualTo("Too Many Requests");
+        assertThat(chained.get()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_shouldLimitEachClientSeparatelyAndSkipUnmatchedPaths() throws Exception {
+        // When
+        doFilter("/notifications/1", "frontend");
+        MockHttpServletResponse otherClient = doFilter("/notifications/1", "other");
+        MockHttpServletResponse unmatched = doFilter("/health", "frontend");
+
+        // Then
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+        assertThat(unmatched.getStatus()).isEqualTo(200);
+        assertThat(unmatched.getHeader(RateLimitFilter.LIMIT)).isNull();
+        assertThat(chained.get()).isEqualTo(3);
+    }
+
+    private MockHttpServletResponse doFilter(String path, String client) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("x-client-id", client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> chained.incrementAndGet());
+        return response;
+    }
+}
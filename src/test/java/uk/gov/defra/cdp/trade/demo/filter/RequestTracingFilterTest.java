@@ -0,0 +1,105 @@
+package uk.gov.defra.cdp.trade.demo.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestTracingFilterTest {
+
+    private final RequestTracingFilter filter =
+        new RequestTracingFilter("x-cdp-request-id", List.of("/health", "/metrics"));
+    private final HealthCheckFilter healthCheckFilter = new HealthCheckFilter();
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void doFilter_shouldPopulateMdcForTheChainAndClearAfterwards() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/notifications/123");
+        request.addHeader("x-cdp-request-id", "trace-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, String> seen = new HashMap<>();
+        FilterReply[] reply = new FilterReply[1];
+
+        // When
+        filter.doFilter(request, response, (req, res) -> {
+            seen.putAll(MDC.getCopyOfContextMap());
+            reply[0] = healthCheckFilter.decide(new LoggingEvent());
+            ((MockHttpServletResponse) res).setStatus(404);
+        });
+
+        // Then
+        assertThat(seen).containsEntry("trace.id", "trace-123")
+            .containsEntry("http.request.method", "GET")
+            .containsEntry("url.path", "/notifications/123")
+            .doesNotContainKey("url.full");
+        assertThat(reply[0]).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    void doFilter_shouldSkipMdcAndSuppressLogsForExcludedPaths() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/health");
+        request.addHeader("x-cdp-request-id", "trace-123");
+        AtomicReference<Map<String, String>> seen = new AtomicReference<>();
+        FilterReply[] reply = new FilterReply[1];
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            seen.set(MDC.getCopyOfContextMap());
+            reply[0] = healthCheckFilter.decide(new LoggingEvent());
+        });
+
+        // Then
+        assertThat(seen.get()).isNullOrEmpty();
+        assertThat(reply[0]).isEqualTo(FilterReply.DENY);
+        assertThat(healthCheckFilter.decide(new LoggingEvent())).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void doFilter_shouldOnlyExcludeWholePathSegments() throws Exception {
+        // Given
+        MockHttpServletRequest nested = new MockHttpServletRequest("GET", "/health/liveness");
+        MockHttpServletRequest lookalike = new MockHttpServletRequest("GET", "/healthy");
+        String[] paths = new String[2];
+
+        // When
+        filter.doFilter(nested, new MockHttpServletResponse(),
+            (req, res) -> paths[0] = MDC.get("url.path"));
+        filter.doFilter(lookalike, new MockHttpServletResponse(),
+            (req, res) -> paths[1] = MDC.get("url.path"));
+
+        // Then
+        assertThat(paths[0]).isNull();
+        assertThat(paths[1]).isEqualTo("/healthy");
+    }
+
+    @Test
+    void doFilter_shouldSkipMdcForActuatorEndpoints() throws Exception {
+        // Given
+        MockHttpServletRequest request =
+            new MockHttpServletRequest("GET", "/metrics/jvm.memory.used");
+        String[] path = new String[1];
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(),
+            (req, res) -> path[0] = MDC.get("url.path"));
+
+        // Then
+        assertThat(path[0]).isNull();
+    }
+}
@@ -13,8 +13,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.nio.charset.StandardCharsets;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -31,6 +35,7 @@ class EcsLoggingIT extends IntegrationBase {
     private final ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
     private final PrintStream originalOut = System.out;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Logger testLog = LoggerFactory.getLogger(EcsLoggingIT.class);
 
     @BeforeEach
     void setUp() {
@@ -50,7 +55,7 @@ class EcsLoggingIT extends IntegrationBase {
                 .andExpect(status().isNotFound()); // info endpoint not exposed in prod
 
         // Capture and parse log output
-        String logOutput = outputStreamCaptor.toString(StandardCharsets.UTF_8);
+        String logOutput = drainedLogOutput();
 
         // Find the first valid JSON log line (skip Spring Boot banner)
         String[] lines = logOutput.split("\n");
@@ -60,7 +65,7 @@ class EcsLoggingIT extends IntegrationBase {
                 logJson = objectMapper.readTree(line);
 
                 // Find a line that has our MDC fields (request log)
-                if (logJson.has("url.full")) {
+                if (logJson.has("url.path")) {
                     break;
                 }
             }
@@ -80,8 +85,8 @@ class EcsLoggingIT extends IntegrationBase {
         assertThat(logJson.has("http.request.method")).isTrue();
         assertThat(logJson.get("http.request.method").asText()).isEqualTo("GET");
 
-        assertThat(logJson.has("url.full")).isTrue();
-        assertThat(logJson.get("url.full").asText()).contains("/actuator/info");
+        assertThat(logJson.has("url.path")).isTrue();
+        assertThat(logJson.get("url.path").asText()).isEqualTo("/actuator/info");
 
         // Verify service metadata
         assertThat(logJson.has("service.name")).isTrue();
@@ -97,7 +102,7 @@ class EcsLoggingIT extends IntegrationBase {
         mockMvc.perform(get("/health"))
                 .andExpect(status().isOk());
 
-        String logOutput = outputStreamCaptor.toString(StandardCharsets.UTF_8);
+        String logOutput = drainedLogOutput();
 
         // Verify /health is NOT in any log output
         assertThat(logOutput).doesNotContain("/health");
@@ -112,7 +117,7 @@ class EcsLoggingIT extends IntegrationBase {
         mockMvc.perform(get("/actuator/info"))
                 .andExpect(status().isNotFound());
 
-        String logOutput = outputStreamCaptor.toString(StandardCharsets.UTF_8);
+        String logOutput = drainedLogOutput();
 
         // Parse log output
         String[] lines = logOutput.split("\n");
@@ -120,7 +125,7 @@ class EcsLoggingIT extends IntegrationBase {
             if (line.trim().startsWith("{")) {
                 JsonNode logJson = objectMapper.readTree(line);
 
-                if (logJson.has("url.full")) {
+                if (logJson.has("url.path")) {
                     // trace.id should not be present when header is missing
                     assertThat(logJson.has("trace.id")).isFalse();
                     break;
@@ -128,4 +133,16 @@ class EcsLoggingIT extends IntegrationBase {
             }
         }
     }
+
+    /**
+     * Logs are written by the async appender's worker, so log a marker and wait for it to reach
+     * the console; everything logged before it has been written by then.
+     */
+    private String drainedLogOutput() {
+        String marker = "log-drain-" + System.nanoTime();
+        testLog.warn(marker);
+        await().atMost(Duration.ofSeconds(5)).until(
+            () -> outputStreamCaptor.toString(StandardCharsets.UTF_8).contains(marker));
+        return outputStreamCaptor.toString(StandardCharsets.UTF_8);
+    }
 }
@@ -16,10 +16,12 @@ import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.utility.DockerImageName;
 
+import java.time.Duration;
 import java.util.UUID;
 import uk.gov.defra.cdp.trade.demo.domain.repository.ExampleRepository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -79,11 +81,13 @@ class ExampleComplianceIT extends IntegrationBase {
             .getResponse()
             .getContentAsString();
 
-        // 3. Verify logging: trace ID appears in ECS JSON logs
-        String logs = output.toString();
-        assertThat(logs).contains(traceId);
-        assertThat(logs).contains("POST /example");
-        assertThat(logs).contains("Creating example");
+        // 3. Verify logging: trace ID appears in ECS JSON logs (written asynchronously)
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            String logs = output.toString();
+            assertThat(logs).contains(traceId);
+            assertThat(logs).contains("POST /example");
+            assertThat(logs).contains("Creating example");
+        });
 
         // 4. Verify MongoDB: data persisted
         assertThat(repository.findByName(exampleName)).isPresent();
@@ -104,7 +108,8 @@ class ExampleComplianceIT extends IntegrationBase {
             .andExpect(jsonPath("$.traceId").value(traceId)); // Trace ID in error response
 
         // Verify trace ID in logs
-        assertThat(output.toString()).contains(traceId);
+        await().atMost(Duration.ofSeconds(5))
+            .untilAsserted(() -> assertThat(output.toString()).contains(traceId));
     }
 
     @Test
@@ -92,6 +92,13 @@ class HealthCheckConfigIT extends IntegrationBase {
     assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
   }
 
+  @Test
+  void flightRecordingEndpoint_notAccessible() {
+    // Production: recordings can only be taken when access is explicitly granted
+    ResponseEntity<String> response = restTemplate.getForEntity("/flightrecording", String.class);
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
   @Test
   void actuatorBasePath_isDisabled() {
     // Verify base path is / not /actuator (per CDP requirements)
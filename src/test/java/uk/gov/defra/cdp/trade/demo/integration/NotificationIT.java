@@ -2,19 +2,31 @@ package uk.gov.defra.cdp.trade.demo.integration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import uk.gov.defra.cdp.trade.demo.domain.BulkImportResult;
+import uk.gov.defra.cdp.trade.demo.domain.BulkItemResult.Outcome;
 import uk.gov.defra.cdp.trade.demo.domain.Commodity;
 import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDailyStats;
 import uk.gov.defra.cdp.trade.demo.domain.NotificationDto;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchResult;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchResult.Match;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationStats;
 import uk.gov.defra.cdp.trade.demo.domain.Species;
+import uk.gov.defra.cdp.trade.demo.domain.SpeciesTotals;
 import uk.gov.defra.cdp.trade.demo.domain.Transport;
 import uk.gov.defra.cdp.trade.demo.domain.repository.NotificationRepository;
+import uk.gov.defra.cdp.trade.demo.service.NotificationLifecycleService;
 
 @Slf4j
 class NotificationIT extends IntegrationBase {
@@ -24,6 +36,12 @@ class NotificationIT extends IntegrationBase {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private NotificationLifecycleService lifecycleService;
+
     @BeforeEach
     void setUp() {
         notificationRepository.deleteAll();
@@ -585,6 +603,89 @@ class NotificationIT extends IntegrationBase {
         assertThat(findAllNotifications()).hasSize(1);
     }
 
+    // ========================================
+    // Bulk Import Tests
+    // ========================================
+
+    @Test
+    void bulkImport_shouldCreateAndUpdateFromJsonArray() {
+        // Given - an existing draft and two new notifications
+        Notification existing = webClient("NoAuth")
+            .put()
+            .uri(NOTIFICATIONS_ENDPOINT)
+            .bodyValue(createNotificationDto(null, "Ireland", null))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Notification.class)
+            .returnResult().getResponseBody();
+
+        List<NotificationDto> items = List.of(
+            createNotificationDto(null, "France", null),
+            createNotificationDto(existing.getId(), "Portugal", null),
+            createNotificationDto(null, "Spain", null));
+
+        // When
+        BulkImportResult result = webClient("NoAuth")
+            .post()
+            .uri(NOTIFICATIONS_ENDPOINT + "/bulk")
+            .bodyValue(items)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(BulkImportResult.class)
+            .returnResult().getResponseBody();
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getItems().get(1).getId()).isEqualTo(existing.getId());
+
+        assertThat(findAllNotifications())
+            .extracting(Notification::getOriginCountry)
+            .containsExactlyInAnyOrder("France", "Portugal", "Spain");
+        Notification updated = notificationRepository.findById(existing.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo("DRAFT");
+        assertThat(updated.getOriginCountry()).isEqualTo("Portugal");
+    }
+
+    @Test
+    void bulkImport_shouldAcceptNdjsonAndNotOverwriteSubmittedNotifications() {
+        // Given - a submitted notification
+        Notification submitted = webClient("NoAuth")
+            .post()
+            .uri(NOTIFICATIONS_ENDPOINT + "/submit")
+            .bodyValue(createNotificationDto(null, "Spain", null))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Notification.class)
+            .returnResult().getResponseBody();
+
+        String ndjson = "{\"originCountry\":\"France\"}\n"
+            + "{\"id\":\"" + submitted.getId() + "\",\"originCountry\":\"Italy\"}\n"
+            + "{\"originCountry\":\"Germany\"}\n";
+
+        // When
+        BulkImportResult result = webClient("NoAuth")
+            .post()
+            .uri(NOTIFICATIONS_ENDPOINT + "/bulk")
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .bodyValue(ndjson)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(BulkImportResult.class)
+            .returnResult().getResponseBody();
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getItems().get(1).getOutcome()).isEqualTo(Outcome.REJECTED);
+
+        Notification unchanged = notificationRepository.findById(submitted.getId()).orElseThrow();
+        assertThat(unchanged.getStatus()).isEqualTo("SUBMITTED");
+        assertThat(unchanged.getOriginCountry()).isEqualTo("Spain");
+    }
+
     private List<Notification> findAllNotifications() {
         return webClient("NoAuth")
             .get()
@@ -596,6 +697,127 @@ class NotificationIT extends IntegrationBase {
     }
 
     // Helper methods
+    @Test
+    void search_shouldRankWholeWordMatchesByRelevance() {
+        // Given
+        webClient("NoAuth").put().uri(NOTIFICATIONS_ENDPOINT)
+            .bodyValue(createNotificationDto(null, "United Kingdom", "CHED-UK-001")).exchange();
+        webClient("NoAuth").put().uri(NOTIFICATIONS_ENDPOINT)
+            .bodyValue(createNotificationDto(null, "Ireland", "CHED-IE-002")).exchange();
+
+        // When
+        NotificationSearchResult result = webClient("NoAuth")
+            .get()
+            .uri(NOTIFICATIONS_ENDPOINT + "/search?q=CHED-IE-002")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(NotificationSearchResult.class)
+            .returnResult()
+            .getResponseBody();
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.getMatch()).isEqualTo(Match.TEXT);
+        assertThat(result.getResults()).isNotEmpty();
+        assertThat(result.getResults().getFirst().getChedReference()).isEqualTo("CHED-IE-002");
+    }
+
+    @Test
+    void search_shouldMatchPrefixesAndPaginate_whenNoWholeWordMatches() {
+        // Given
+        for (String chedReference : List.of("CHED-UK-001", "CHED-IE-002", "CHED-FR-003")) {
+            webClient("NoAuth").put().uri(NOTIFICATIONS_ENDPOINT)
+                .bodyValue(createNotificationDto(null, "United Kingdom", chedReference))
+                .exchange();
+        }
+
+        // When
+        NotificationSearchResult result = webClient("NoAuth")
+            .get()
+            .uri(NOTIFICATIONS_ENDPOINT + "/search?q=bovi abc1&page=1&size=2")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(NotificationSearchResult.class)
+            .returnResult()
+            .getResponseBody();
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.getMatch()).isEqualTo(Match.PREFIX);
+        assertThat(result.getPage()).isEqualTo(1);
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getResults()).hasSize(1);
+    }
+
+    @Test
+    void stats_shouldCountNotificationsFromDailyRollups() {
+        // Given - rollups left by other tests are not cleared by deleteAll
+        mongoTemplate.remove(new Query(), NotificationDailyStats.class);
+        webClient("NoAuth").put().uri(NOTIFICATIONS_ENDPOINT)
+            .bodyValue(createNotificationDto(null, "United Kingdom", "CHED-UK-001")).exchange();
+        webClient("NoAuth").put().uri(NOTIFICATIONS_ENDPOINT)
+            .bodyValue(createNotificationDto(null, "Ireland", "CHED-IE-002")).exchange();
+
+        // When
+        NotificationStats stats = webClient("NoAuth")
+            .get()
+            .uri(NOTIFICATIONS_ENDPOINT + "/stats")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(NotificationStats.class)
+            .returnResult()
+            .getResponseBody();
+
+        // Then
+        assertThat(stats).isNotNull();
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getByStatus()).containsEntry("DRAFT", 2L);
+        assertThat(stats.getByOriginCountry())
+            .containsEntry("United Kingdom", 1L)
+            .containsEntry("Ireland", 1L);
+        assertThat(stats.getByBcp()).containsEntry("GBLHR1", 2L);
+        assertThat(stats.getBySpecies()).containsEntry("Cattle", new SpeciesTotals(2, 20, 4));
+    }
+
+    @Test
+    void archive_shouldMoveOldSubmittedNotificationsAndStillServeThem() {
+        // Given - archived copies left by other tests are not cleared by deleteAll
+        mongoTemplate.remove(new Query(), Notification.ARCHIVE_COLLECTION);
+        Notification old = new Notification();
+        old.setId("CDP.2025.01.02.1");
+        old.setStatus("SUBMITTED");
+        old.setChedReference("CHEDA.GB.2025.0000001");
+        old.setCreated(LocalDateTime.now().minusDays(200));
+        old.setUpdated(LocalDateTime.now().minusDays(200));
+        notificationRepository.save(old);
+        webClient("NoAuth").put().uri(NOTIFICATIONS_ENDPOINT)
+            .bodyValue(createNotificationDto(null, "France", "CHED-FR-001")).exchange();
+
+        // When
+        int moved = lifecycleService.archive();
+
+        // Then - gone from the live collection, the recent draft stays
+        assertThat(moved).isEqualTo(1);
+        assertThat(notificationRepository.findById(old.getId())).isEmpty();
+        assertThat(findAllNotifications()).hasSize(1);
+
+        Notification archived = webClient("NoAuth")
+            .get()
+            .uri(NOTIFICATIONS_ENDPOINT + "/{id}", old.getId())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Notification.class)
+            .returnResult()
+            .getResponseBody();
+        assertThat(archived).isNotNull();
+        assertThat(archived.getChedReference()).isEqualTo("CHEDA.GB.2025.0000001");
+
+        webClient("NoAuth").put().uri(NOTIFICATIONS_ENDPOINT)
+            .bodyValue(createNotificationDto(old.getId(), "France"))
+            .exchange()
+            .expectStatus().is5xxServerError();
+    }
+
     private NotificationDto createNotificationDto(String id, String originCountry) {
         return createNotificationDto(id, originCountry, id != null ? "CHED-" + id : "CHED-NEW");
     }
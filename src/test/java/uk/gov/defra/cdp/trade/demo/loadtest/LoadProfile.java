@@ -0,0 +1,91 @@
+package uk.gov.defra.cdp.trade.demo.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties so runs can be tuned from the
+ * Maven command line without code changes.
+ *
+ * @param targetRps       requests per second the open-loop driver schedules
+ * @param warmUp          time spent driving load before statistics are collected
+ * @param duration        measured run length
+ * @param maxInFlight     cap on outstanding requests; arrivals beyond it are counted as dropped
+ * @param seed            seed for the operation mix, so runs are repeatable
+ * @param mix             relative weight of each operation
+ * @param mdm             fault injection for the MDM stub
+ * @param tradeAuth       fault injection for the trade-auth token stub
+ * @param ipaffs          fault injection for the IPAFFS stub
+ * @param maxErrorRate    fail the run when the measured error ratio exceeds this
+ * @param reportFile      where the JSON report is written
+ * @param api             {@code blocking} drives {@code /notifications}, {@code reactive} drives
+ *                        {@code /reactive/notifications}
+ */
+record LoadProfile(
+    int targetRps,
+    Duration warmUp,
+    Duration duration,
+    int maxInFlight,
+    long seed,
+    Map<String, Integer> mix,
+    StubServices.Fault mdm,
+    StubServices.Fault tradeAuth,
+    StubServices.Fault ipaffs,
+    double maxErrorRate,
+    String reportFile,
+    String api) {
+
+    static final String DEFAULT_MIX =
+        "create=20,read=30,update=10,submit=10,delete=5,bcps=15,poes=10";
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+            Integer.getInteger("loadtest.rps", 100),
+            duration("loadtest.warm-up", "15s"),
+            duration("loadtest.duration", "60s"),
+            Integer.getInteger("loadtest.max-in-flight", 512),
+            Long.getLong("loadtest.seed", 42L),
+            parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+            fault("mdm"),
+            fault("trade-auth"),
+            fault("ipaffs"),
+            Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01")),
+            System.getProperty("loadtest.report", "target/load-test-report.json"),
+            System.getProperty("loadtest.api", "blocking"));
+    }
+
+    String notificationsPath() {
+        return switch (api) {
+            case "blocking" -> "/notifications";
+            case "reactive" -> "/reactive/notifications";
+            default -> throw new IllegalArgumentException(
+                "Invalid loadtest.api '%s', expected blocking or reactive".formatted(api));
+        };
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+
+    private static StubServices.Fault fault(String stub) {
+        String prefix = "loadtest.stub." + stub + ".";
+        return new StubServices.Fault(
+            duration(prefix + "latency", "0ms"),
+            duration(prefix + "jitter", "0ms"),
+            Double.parseDouble(System.getProperty(prefix + "error-rate", "0")));
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,109 @@
+package uk.gov.defra.cdp.trade.demo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of a measured load test run.
+ *
+ * @param targetRps          the scheduled arrival rate
+ * @param elapsed            measured wall-clock time
+ * @param completed          requests that received a response (any status)
+ * @param errors             responses with a 5xx status or a transport failure
+ * @param dropped            arrivals skipped because {@code maxInFlight} requests were outstanding
+ * @param allocatedBytes     heap allocated by the JVM (service and load generator) during the run
+ * @param gcCount            collections during the run
+ * @param gcTime             time spent in collections during the run
+ * @param total              latency summary across all operations
+ * @param operations         latency summary per operation
+ */
+record LoadReport(
+    int targetRps,
+    Duration elapsed,
+    long completed,
+    long errors,
+    long dropped,
+    long allocatedBytes,
+    long gcCount,
+    Duration gcTime,
+    Latency total,
+    Map<String, Latency> operations) {
+
+    /**
+     * Latency percentiles in milliseconds, measured from each request's intended start time so
+     * queueing behind a slow response is not hidden (no coordinated omission).
+     */
+    record Latency(long count, long errors, double p50, double p99, double p999, double max) {
+
+        static Latency of(Histogram histogram, long errors) {
+            return new Latency(
+                histogram.getTotalCount(),
+                errors,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    double throughput() {
+        return completed / (elapsed.toNanos() / 1e9);
+    }
+
+    double errorRate() {
+        return completed == 0 ? 0 : errors / (double) completed;
+    }
+
+    double allocationRateMbPerSecond() {
+        return allocatedBytes / (1024.0 * 1024.0) / (elapsed.toNanos() / 1e9);
+    }
+
+    String summary() {
+        StringBuilder summary = new StringBuilder()
+            .append("%n%-10s %9s %8s %10s %10s %10s %10s%n".formatted(
+                "operation", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        Map<String, Latency> rows = new LinkedHashMap<>(operations);
+        rows.put("total", total);
+        rows.forEach((name, latency) -> summary.append(
+            "%-10s %9d %8d %10.2f %10.2f %10.2f %10.2f%n".formatted(name, latency.count(),
+                latency.errors(), latency.p50(), latency.p99(), latency.p999(), latency.max())));
+        summary.append("target %d rps, achieved %.1f rps, error rate %.2f%%, dropped %d%n".formatted(
+            targetRps, throughput(), errorRate() * 100, dropped));
+        summary.append("allocation %.1f MB/s, %d GCs taking %d ms".formatted(
+            allocationRateMbPerSecond(), gcCount, gcTime.toMillis()));
+        return summary.toString();
+    }
+
+    void writeTo(Path file, ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("targetRps", targetRps);
+        json.put("elapsedSeconds", elapsed.toNanos() / 1e9);
+        json.put("throughputRps", throughput());
+        json.put("completed", completed);
+        json.put("errors", errors);
+        json.put("errorRate", errorRate());
+        json.put("dropped", dropped);
+        json.put("allocationRateMbPerSecond", allocationRateMbPerSecond());
+        json.put("gcCount", gcCount);
+        json.put("gcTimeMillis", gcTime.toMillis());
+        json.put("total", total);
+        json.put("operations", operations);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+}
@@ -0,0 +1,140 @@
+package uk.gov.defra.cdp.trade.demo.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Date;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+import uk.gov.defra.cdp.trade.demo.configuration.AwsConfig;
+import uk.gov.defra.cdp.trade.demo.domain.repository.NotificationRepository;
+
+/**
+ * Drives the running service with a mixed notification and reference data workload at a target
+ * rate and reports throughput, latency percentiles and allocation.
+ * <p>
+ * Only runs when {@code loadtest.enabled=true}; use the {@code load-test} Maven profile:
+ * <pre>
+ * mvn -Pload-test verify -Dloadtest.rps=200 -Dloadtest.duration=2m \
+ *     -Dloadtest.stub.ipaffs.latency=150ms -Dloadtest.stub.ipaffs.error-rate=0.01
+ * </pre>
+ * Set {@code loadtest.api=reactive} to drive {@code /reactive/notifications} instead of the
+ * blocking API, and compare the two reports.
+ * <p>
+ * The real Feign clients are used against {@link StubServices}; only the STS call behind the
+ * IPAFFS token is replaced, with a locally signed JWT. Mongo comes from Testcontainers unless
+ * {@code loadtest.mongo.uri} points at an existing instance.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load-test")
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+class NotificationLoadIT {
+
+    private static final LoadProfile PROFILE = LoadProfile.fromSystemProperties();
+
+    private static StubServices stubs;
+    private static MongoDBContainer mongoContainer;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @MockitoBean
+    private AwsConfig awsConfig;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) throws IOException {
+        stubs = new StubServices(mdmResponse(), PROFILE);
+        stubs.start();
+
+        registry.add("mdm-service.url", () -> stubs.baseUrl() + StubServices.MDM_PATH);
+        registry.add("trade-auth.api.url", () -> stubs.baseUrl() + StubServices.TRADE_AUTH_PATH);
+        registry.add("ipaffs.api.baseUrl", () -> stubs.baseUrl() + StubServices.IPAFFS_PATH);
+
+        String mongoUri = System.getProperty("loadtest.mongo.uri");
+        if (mongoUri == null) {
+            mongoContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+            mongoContainer.start();
+            mongoUri = mongoContainer.getReplicaSetUrl();
+        }
+        String uri = mongoUri;
+        registry.add("spring.data.mongodb.uri", () -> uri);
+    }
+
+    @AfterAll
+    static void stopDependencies() {
+        if (stubs != null) {
+            stubs.close();
+        }
+        if (mongoContainer != null) {
+            mongoContainer.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        notificationRepository.deleteAll();
+        when(awsConfig.getWebIdentityToken()).thenReturn(webIdentityToken());
+    }
+
+    @Test
+    void notificationWorkload_atTargetRate() throws Exception {
+        NotificationWorkload workload = new NotificationWorkload(
+            "http://localhost:%d".formatted(port), PROFILE.notificationsPath(), objectMapper);
+
+        LoadReport report = new OpenLoopDriver(PROFILE, workload.operations(PROFILE.mix())).run();
+
+        log.info("Load test results ({} API):{}", PROFILE.api(), report.summary());
+        report.writeTo(Path.of(PROFILE.reportFile()), objectMapper);
+
+        assertThat(report.completed()).isPositive();
+        assertThat(report.errorRate()).isLessThanOrEqualTo(PROFILE.maxErrorRate());
+    }
+
+    private static byte[] mdmResponse() throws IOException {
+        try (InputStream in = NotificationLoadIT.class.getResourceAsStream(
+            "/integration/mdm-response.json")) {
+            assertThat(in).isNotNull();
+            return in.readAllBytes();
+        }
+    }
+
+    private static String webIdentityToken() throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .subject("load-test")
+            .expirationTime(Date.from(Instant.now().plusSeconds(3600)))
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner("load-test-secret-load-test-secret-0123456789"));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,167 @@
+package uk.gov.defra.cdp.trade.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import uk.gov.defra.cdp.trade.demo.domain.Commodity;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDto;
+import uk.gov.defra.cdp.trade.demo.domain.Species;
+import uk.gov.defra.cdp.trade.demo.domain.Transport;
+import uk.gov.defra.cdp.trade.demo.loadtest.OpenLoopDriver.Operation;
+import uk.gov.defra.cdp.trade.demo.loadtest.OpenLoopDriver.WeightedOperation;
+
+/**
+ * The notification journey and reference data reads, expressed as load test operations.
+ * <p>
+ * Created drafts are shared between operations so updates, submits and deletes act on real
+ * notifications; when none are available those operations create one instead.
+ */
+final class NotificationWorkload {
+
+    private static final int RECENT_IDS = 4096;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String notifications;
+
+    private final ConcurrentLinkedQueue<String> drafts = new ConcurrentLinkedQueue<>();
+    private final AtomicReferenceArray<String> recent = new AtomicReferenceArray<>(RECENT_IDS);
+    private final AtomicLong recentCursor = new AtomicLong();
+
+    NotificationWorkload(String baseUrl, String notificationsPath, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.notifications = notificationsPath;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    List<WeightedOperation> operations(Map<String, Integer> mix) {
+        Map<String, Operation> available = Map.of(
+            "create", this::create,
+            "read", this::read,
+            "update", this::update,
+            "submit", this::submit,
+            "delete", this::delete,
+            "bcps", () -> get("/border-entities/bcps").statusCode(),
+            "poes", () -> get("/border-entities/poes").statusCode());
+
+        List<WeightedOperation> operations = new ArrayList<>();
+        mix.forEach((name, weight) -> {
+            Operation operation = available.get(name);
+            if (operation == null) {
+                throw new IllegalArgumentException(
+                    "Unknown load test operation '%s', expected one of %s".formatted(name,
+                        available.keySet()));
+            }
+            operations.add(new WeightedOperation(name, weight, operation));
+        });
+        return operations;
+    }
+
+    private int create() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send("PUT", notifications, draft(null));
+        if (response.statusCode() == 200) {
+            String id = objectMapper.readTree(response.body()).path("id").asText();
+            drafts.offer(id);
+            remember(id);
+        }
+        return response.statusCode();
+    }
+
+    private int read() throws IOException, InterruptedException {
+        String id = recent.get(ThreadLocalRandom.current().nextInt(RECENT_IDS));
+        if (id == null) {
+            return create();
+        }
+        return get(notifications + "/" + id).statusCode();
+    }
+
+    private int update() throws IOException, InterruptedException {
+        String id = drafts.poll();
+        if (id == null) {
+            return create();
+        }
+        HttpResponse<byte[]> response = send("PUT", notifications, draft(id));
+        if (response.statusCode() == 200) {
+            drafts.offer(id);
+        }
+        return response.statusCode();
+    }
+
+    private int submit() throws IOException, InterruptedException {
+        String id = drafts.poll();
+        HttpResponse<byte[]> response = send("POST", notifications + "/submit", draft(id));
+        if (id == null && response.statusCode() == 200) {
+            JsonNode body = objectMapper.readTree(response.body());
+            remember(body.path("id").asText());
+        }
+        return response.statusCode();
+    }
+
+    private int delete() throws IOException, InterruptedException {
+        String id = drafts.poll();
+        if (id == null) {
+            return create();
+        }
+        return send("DELETE", notifications + "/" + id, null).statusCode();
+    }
+
+    private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+        return send("GET", path, null);
+    }
+
+    private HttpResponse<byte[]> send(String method, String path, NotificationDto body)
+        throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Accept", "application/json")
+            .header("x-cdp-request-id", UUID.randomUUID().toString());
+        if (body == null) {
+            request.method(method, BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                .method(method, BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        }
+        return httpClient.send(request.build(), BodyHandlers.ofByteArray());
+    }
+
+    private void remember(String id) {
+        recent.set((int) (recentCursor.getAndIncrement() % RECENT_IDS), id);
+    }
+
+    private static NotificationDto draft(String id) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Species> species = List.of(
+            new Species("Bos taurus", "BOV", random.nextInt(1, 50), random.nextInt(1, 5)),
+            new Species("Ovis aries", "OVI", random.nextInt(1, 50), random.nextInt(1, 5)));
+        return new NotificationDto(
+            id,
+            null,
+            "FR",
+            new Commodity("0102", "Live bovine animals", "Domestic", species),
+            "internalmarket",
+            "breeding",
+            new Transport("GBFXT1", "Road Vehicle", "AB12 CDE"));
+    }
+}
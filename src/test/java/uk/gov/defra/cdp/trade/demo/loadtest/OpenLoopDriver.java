@@ -0,0 +1,199 @@
+package uk.gov.defra.cdp.trade.demo.loadtest;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Drives a weighted mix of operations at a fixed arrival rate.
+ * <p>
+ * Requests are scheduled open-loop: each one has an intended start time derived from the target
+ * rate and is dispatched on its own virtual thread whether or not earlier requests have returned.
+ * Latency is recorded from the intended start, so when the service falls behind the backlog shows
+ * up in the percentiles rather than silently lowering the offered load.
+ */
+@Slf4j
+final class OpenLoopDriver {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * A single request against the service.
+     */
+    @FunctionalInterface
+    interface Operation {
+
+        /**
+         * @return the HTTP status returned by the service
+         */
+        int call() throws Exception;
+    }
+
+    record WeightedOperation(String name, int weight, Operation operation) {
+
+    }
+
+    private final LoadProfile profile;
+    private final List<WeightedOperation> operations;
+    private final int totalWeight;
+
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private final Stats total = new Stats();
+    private final LongAdder dropped = new LongAdder();
+
+    OpenLoopDriver(LoadProfile profile, List<WeightedOperation> operations) {
+        this.profile = profile;
+        this.operations = operations.stream().filter(op -> op.weight() > 0).toList();
+        this.totalWeight = this.operations.stream().mapToInt(WeightedOperation::weight).sum();
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("Load test mix has no operations with a weight");
+        }
+        this.operations.forEach(op -> stats.put(op.name(), new Stats()));
+    }
+
+    LoadReport run() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(profile.seed());
+        Semaphore inFlight = new Semaphore(profile.maxInFlight());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            log.info("Warming up for {} at {} rps", profile.warmUp(), profile.targetRps());
+            drive(profile.warmUp(), random, inFlight, executor);
+            awaitQuiescence(inFlight);
+            reset();
+
+            log.info("Measuring for {} at {} rps", profile.duration(), profile.targetRps());
+            ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+            long[] gcBefore = gcTotals();
+            long started = System.nanoTime();
+
+            drive(profile.duration(), random, inFlight, executor);
+            awaitQuiescence(inFlight);
+
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+            long allocated = threads.getTotalThreadAllocatedBytes() - allocatedBefore;
+            long[] gcAfter = gcTotals();
+
+            Map<String, LoadReport.Latency> perOperation = new LinkedHashMap<>();
+            stats.forEach((name, opStats) -> perOperation.put(name, opStats.latency()));
+            return new LoadReport(profile.targetRps(), elapsed, total.histogram.getTotalCount(),
+                total.errors.sum(), dropped.sum(), allocated, gcAfter[0] - gcBefore[0],
+                Duration.ofMillis(gcAfter[1] - gcBefore[1]), total.latency(), perOperation);
+        }
+    }
+
+    private void drive(Duration duration, SplittableRandom random, Semaphore inFlight,
+        ExecutorService executor) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.targetRps();
+        long start = System.nanoTime();
+        long requests = duration.toNanos() / intervalNanos;
+
+        for (long i = 0; i < requests; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            WeightedOperation next = pick(random);
+            if (!inFlight.tryAcquire()) {
+                dropped.increment();
+                continue;
+            }
+            executor.execute(() -> {
+                try {
+                    record(next.name(), intendedStart, invoke(next));
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private static int invoke(WeightedOperation operation) {
+        try {
+            return operation.operation().call();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            log.debug("{} failed", operation.name(), e);
+            return -1;
+        }
+    }
+
+    private void record(String name, long intendedStart, int status) {
+        long latency = Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_NANOS);
+        boolean error = status < 0 || status >= 500;
+        stats.get(name).record(latency, error);
+        total.record(latency, error);
+    }
+
+    private WeightedOperation pick(SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (WeightedOperation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.getLast();
+    }
+
+    private void awaitQuiescence(Semaphore inFlight) throws InterruptedException {
+        inFlight.acquire(profile.maxInFlight());
+        inFlight.release(profile.maxInFlight());
+    }
+
+    private void reset() {
+        stats.values().forEach(Stats::reset);
+        total.reset();
+        dropped.reset();
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return new long[] {count, time};
+    }
+
+    private static final class Stats {
+
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long latencyNanos, boolean error) {
+            histogram.recordValue(latencyNanos);
+            if (error) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            histogram.reset();
+            errors.reset();
+        }
+
+        LoadReport.Latency latency() {
+            return LoadReport.Latency.of(histogram, errors.sum());
+        }
+    }
+}
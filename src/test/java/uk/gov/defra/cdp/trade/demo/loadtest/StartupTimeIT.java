@@ -0,0 +1,312 @@
+package uk.gov.defra.cdp.trade.demo.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Measures how quickly the packaged service becomes useful after its JVM is launched: the time to
+ * the first successful {@code /health} (which waits for the startup warm-up) and the time to the
+ * first served request, {@code GET /mdm/bcps} by default. The resident set size of the JVM is
+ * read once both have succeeded (Linux only).
+ * <p>
+ * Only runs when {@code startup.enabled=true}; use the {@code cds} Maven profile, which extracts
+ * the jar and trains the CDS archive before this runs:
+ * <pre>
+ * mvn -Pcds verify -Dstartup.runs=10
+ * </pre>
+ * Each mode in {@code startup.modes} is started {@code startup.runs} times, each in a fresh JVM,
+ * against {@link StubServices} and Mongo:
+ * <ul>
+ *   <li>{@code jar} - {@code java -jar} on the fat jar, as the image ran before</li>
+ *   <li>{@code extracted} - the extracted layout without CDS</li>
+ *   <li>{@code cds} - the extracted layout with the CDS archive</li>
+ * </ul>
+ * Extra application arguments for every start go in {@code startup.args}, so runs with
+ * {@code --lazy-init.enabled=false} can be compared against the default.
+ * <p>
+ * The STS warm-up fails fast as the child JVMs have no AWS credentials; everything else runs with
+ * production settings.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "startup.enabled", matches = "true")
+class StartupTimeIT {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private static final Path JAR = Path.of(System.getProperty("startup.jar", "target/app.jar"));
+    private static final Path CDS_DIRECTORY =
+        Path.of(System.getProperty("startup.cds.directory", "target/cds"));
+    private static final List<String> MODES =
+        Arrays.asList(System.getProperty("startup.modes", "jar,extracted,cds").split(","));
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final String FIRST_REQUEST = System.getProperty("startup.first-request", "/mdm/bcps");
+    private static final List<String> ARGS = System.getProperty("startup.args", "").isBlank()
+        ? List.of()
+        : Arrays.asList(System.getProperty("startup.args").trim().split("\\s+"));
+    private static final Duration TIMEOUT =
+        DurationStyle.detectAndParse(System.getProperty("startup.timeout", "2m"));
+    private static final Path LOG_DIRECTORY = Path.of("target/startup");
+    private static final Path REPORT =
+        Path.of(System.getProperty("startup.report", "target/startup-report.json"));
+
+    private static StubServices stubs;
+    private static MongoDBContainer mongoContainer;
+    private static String mongoUri;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(1))
+        .build();
+
+    /**
+     * Times for one start, in milliseconds from launching the JVM, and the resident set size once
+     * ready ({@code -1} where it cannot be read).
+     */
+    record Measurement(long healthMillis, long firstRequestMillis, long rssKb) {
+
+    }
+
+    /**
+     * Summary of one mode's starts.
+     */
+    record Summary(String mode, List<Measurement> runs) {
+
+        long medianHealthMillis() {
+            return median(runs.stream().mapToLong(Measurement::healthMillis).sorted().toArray());
+        }
+
+        long medianFirstRequestMillis() {
+            return median(runs.stream().mapToLong(Measurement::firstRequestMillis).sorted().toArray());
+        }
+
+        long minHealthMillis() {
+            return runs.stream().mapToLong(Measurement::healthMillis).min().orElseThrow();
+        }
+
+        long minFirstRequestMillis() {
+            return runs.stream().mapToLong(Measurement::firstRequestMillis).min().orElseThrow();
+        }
+
+        long medianRssKb() {
+            return median(runs.stream().mapToLong(Measurement::rssKb).sorted().toArray());
+        }
+
+        private static long median(long[] sorted) {
+            return sorted[sorted.length / 2];
+        }
+    }
+
+    @BeforeAll
+    static void startDependencies() throws IOException {
+        stubs = new StubServices(mdmResponse(), LoadProfile.fromSystemProperties());
+        stubs.start();
+
+        mongoUri = System.getProperty("startup.mongo.uri");
+        if (mongoUri == null) {
+            mongoContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+            mongoContainer.start();
+            mongoUri = mongoContainer.getReplicaSetUrl();
+        }
+        Files.createDirectories(LOG_DIRECTORY);
+    }
+
+    @AfterAll
+    static void stopDependencies() {
+        if (stubs != null) {
+            stubs.close();
+        }
+        if (mongoContainer != null) {
+            mongoContainer.stop();
+        }
+    }
+
+    @Test
+    void startupTime_perMode() throws Exception {
+        List<Summary> summaries = new ArrayList<>();
+        for (String mode : MODES) {
+            List<Measurement> runs = new ArrayList<>();
+            for (int run = 1; run <= RUNS; run++) {
+                runs.add(start(mode.trim(), run));
+            }
+            summaries.add(new Summary(mode.trim(), runs));
+        }
+
+        log.info("Startup times over {} runs:{}", RUNS, summary(summaries));
+        writeReport(summaries);
+
+        assertThat(summaries).allSatisfy(summary -> assertThat(summary.runs()).hasSize(RUNS));
+    }
+
+    private Measurement start(String mode, int run) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArguments(mode));
+        command.addAll(List.of(
+            "--server.port=" + port,
+            "--spring.data.mongodb.uri=" + mongoUri,
+            "--spring.data.mongodb.ssl.enabled=false",
+            "--spring.data.mongodb.read-preference=primary",
+            "--mdm-service.url=" + stubs.baseUrl() + StubServices.MDM_PATH,
+            "--trade-auth.api.url=" + stubs.baseUrl() + StubServices.TRADE_AUTH_PATH,
+            "--ipaffs.api.baseUrl=" + stubs.baseUrl() + StubServices.IPAFFS_PATH,
+            "--logging.level.root=WARN"));
+        command.addAll(ARGS);
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(LOG_DIRECTORY.resolve("%s-%d.log".formatted(mode, run)).toFile());
+        builder.environment().put("AWS_EC2_METADATA_DISABLED", "true");
+
+        long launched = System.nanoTime();
+        Process process = builder.start();
+        try {
+            String baseUrl = "http://localhost:%d".formatted(port);
+            long deadline = launched + TIMEOUT.toNanos();
+            long health = -1;
+            long firstRequest = -1;
+            while (health < 0 || firstRequest < 0) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("%s run %d exited with %d, see %s".formatted(
+                        mode, run, process.exitValue(), LOG_DIRECTORY));
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("%s run %d not ready within %s".formatted(
+                        mode, run, TIMEOUT));
+                }
+                if (health < 0 && succeeds(baseUrl + "/health")) {
+                    health = System.nanoTime() - launched;
+                }
+                if (firstRequest < 0 && succeeds(baseUrl + FIRST_REQUEST)) {
+                    firstRequest = System.nanoTime() - launched;
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            Measurement measurement = new Measurement(
+                TimeUnit.NANOSECONDS.toMillis(health), TimeUnit.NANOSECONDS.toMillis(firstRequest),
+                residentSetKb(process));
+            log.info("{} run {}: {}", mode, run, measurement);
+            return measurement;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static List<String> jvmArguments(String mode) {
+        return switch (mode) {
+            case "jar" -> List.of("-jar", JAR.toString());
+            case "extracted" -> List.of("-jar", CDS_DIRECTORY.resolve("app.jar").toString());
+            case "cds" -> List.of(
+                "-XX:SharedArchiveFile=" + CDS_DIRECTORY.resolve("application.jsa"),
+                "-jar", CDS_DIRECTORY.resolve("app.jar").toString());
+            default -> throw new IllegalArgumentException(
+                "Invalid startup mode '%s', expected jar, extracted or cds".formatted(mode));
+        };
+    }
+
+    private boolean succeeds(String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofSeconds(5))
+            .GET()
+            .build();
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+            return status >= 200 && status < 300;
+        } catch (IOException e) {
+            // Not listening yet
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long residentSetKb(Process process) {
+        Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+        try {
+            return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(-1);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static String summary(List<Summary> summaries) {
+        StringBuilder summary = new StringBuilder()
+            .append("%n%-10s %14s %14s %16s %16s %12s%n".formatted(
+                "mode", "health p50 ms", "health min ms", "request p50 ms", "request min ms",
+                "rss p50 MB"));
+        summaries.forEach(mode -> summary.append("%-10s %14d %14d %16d %16d %12d%n".formatted(
+            mode.mode(), mode.medianHealthMillis(), mode.minHealthMillis(),
+            mode.medianFirstRequestMillis(), mode.minFirstRequestMillis(),
+            mode.medianRssKb() / 1024)));
+        return summary.toString();
+    }
+
+    private static void writeReport(List<Summary> summaries) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("runs", RUNS);
+        json.put("firstRequest", FIRST_REQUEST);
+        json.put("args", ARGS);
+        Map<String, Object> modes = new LinkedHashMap<>();
+        summaries.forEach(summary -> modes.put(summary.mode(), Map.of(
+            "medianHealthMillis", summary.medianHealthMillis(),
+            "medianFirstRequestMillis", summary.medianFirstRequestMillis(),
+            "minHealthMillis", summary.minHealthMillis(),
+            "minFirstRequestMillis", summary.minFirstRequestMillis(),
+            "medianRssKb", summary.medianRssKb(),
+            "runs", summary.runs())));
+        json.put("modes", modes);
+
+        if (REPORT.getParent() != null) {
+            Files.createDirectories(REPORT.getParent());
+        }
+        new ObjectMapper().writer(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), json);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static byte[] mdmResponse() throws IOException {
+        try (InputStream in = StartupTimeIT.class.getResourceAsStream(
+            "/integration/mdm-response.json")) {
+            assertThat(in).isNotNull();
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package uk.gov.defra.cdp.trade.demo.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process stand-ins for the downstream services the backend calls: MDM, the trade-auth token
+ * endpoint and IPAFFS.
+ * <p>
+ * Unlike the MockServer container used by the integration tests these add no network hop or
+ * container overhead, so the numbers reflect this service. Each stub can be given a fixed latency,
+ * random jitter and an error rate to see how the service behaves when a dependency degrades.
+ */
+@Slf4j
+final class StubServices implements AutoCloseable {
+
+    static final String MDM_PATH = "/mdm-service";
+    static final String TRADE_AUTH_PATH = "/trade-auth/token";
+    static final String IPAFFS_PATH = "/ipaffs";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong chedSequence = new AtomicLong();
+
+    /**
+     * Fault injection for one stub.
+     *
+     * @param latency   fixed delay added to every response
+     * @param jitter    upper bound of an additional uniformly distributed delay
+     * @param errorRate fraction of requests answered with a 503
+     */
+    record Fault(Duration latency, Duration jitter, double errorRate) {
+
+    }
+
+    StubServices(byte[] mdmResponse, LoadProfile profile) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+
+        server.createContext(MDM_PATH + "/mdm/trade/bcp/bcps",
+            withFault(profile.mdm(), exchange -> {
+                exchange.getResponseHeaders().add("x-ms-middleware-request-id",
+                    UUID.randomUUID().toString());
+                respond(exchange, 200, "application/json", mdmResponse);
+            }));
+
+        server.createContext(TRADE_AUTH_PATH, withFault(profile.tradeAuth(), exchange -> {
+            long expiresOn = Instant.now().plus(Duration.ofHours(1)).toEpochMilli();
+            String body = "{\"access_token\":\"load-test-token\",\"expires_on\":" + expiresOn + "}";
+            respond(exchange, 200, "application/json", body.getBytes(StandardCharsets.UTF_8));
+        }));
+
+        server.createContext(IPAFFS_PATH + "/notificationapi/vnet/notificationapi",
+            withFault(profile.ipaffs(), exchange -> {
+                // CHED references are unique in Mongo, so hand out a fresh one per submission
+                String chedReference = "CHEDA.LOAD.%08d".formatted(chedSequence.incrementAndGet());
+                respond(exchange, 201, "text/plain",
+                    chedReference.getBytes(StandardCharsets.UTF_8));
+            }));
+    }
+
+    void start() {
+        server.start();
+        log.info("Load test stubs listening on {}", baseUrl());
+    }
+
+    String baseUrl() {
+        return "http://localhost:%d".formatted(server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private static HttpHandler withFault(Fault fault, HttpHandler handler) {
+        return exchange -> {
+            try (exchange) {
+                drain(exchange.getRequestBody());
+                pause(fault);
+                if (fault.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < fault.errorRate()) {
+                    respond(exchange, 503, "text/plain",
+                        "injected failure".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                handler.handle(exchange);
+            }
+        };
+    }
+
+    private static void pause(Fault fault) {
+        long delayNanos = fault.latency().toNanos();
+        if (fault.jitter().toNanos() > 0) {
+            delayNanos += ThreadLocalRandom.current().nextLong(fault.jitter().toNanos());
+        }
+        if (delayNanos > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(delayNanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void drain(InputStream body) throws IOException {
+        body.transferTo(OutputStream.nullOutputStream());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body)
+        throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
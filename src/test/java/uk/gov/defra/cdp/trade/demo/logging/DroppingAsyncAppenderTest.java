@@ -0,0 +1,139 @@
+package uk.gov.defra.cdp.trade.demo.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.defra.cdp.trade.demo.metrics.AsyncLoggingMetrics;
+
+class DroppingAsyncAppenderTest {
+
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private LoggerContext context;
+    private DroppingAsyncAppender appender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+
+        // A sink that stalls on its first event so the buffer fills behind it
+        AppenderBase<ILoggingEvent> sink = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.add(event.getFormattedMessage());
+            }
+        };
+        sink.setContext(context);
+        sink.start();
+
+        appender = new DroppingAsyncAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC");
+        appender.setQueueSize(10);
+        appender.setDiscardingThreshold(5);
+        appender.addAppender(sink);
+        appender.start();
+
+        logger = context.getLogger("test");
+        logger.setLevel(Level.DEBUG);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        context.stop();
+    }
+
+    @Test
+    void append_shouldShedLowLevelEventsThenDropWhenFull() throws Exception {
+        // Given - the worker is stuck writing the first event
+        logger.info("first");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When - six events leave less than the threshold, then INFO is shed and WARN still fits
+        for (int i = 0; i < 6; i++) {
+            logger.warn("warn " + i);
+        }
+        logger.info("shed");
+        logger.debug("shed");
+        for (int i = 6; i < 12; i++) {
+            logger.warn("warn " + i);
+        }
+
+        // Then
+        assertThat(appender.discarded()).isEqualTo(2);
+        assertThat(appender.dropped()).isEqualTo(2);
+        release.countDown();
+        appender.stop();
+        assertThat(written).startsWith("first", "warn 0").doesNotContain("shed", "warn 10");
+        assertThat(written).hasSize(11);
+    }
+
+    @Test
+    void setDiscardingLevel_shouldShedEventsUpToThatLevel() throws Exception {
+        // Given
+        appender.setDiscardingLevel("WARN");
+        logger.info("first");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 6; i++) {
+            logger.error("error " + i);
+        }
+
+        // When
+        logger.warn("shed");
+        logger.error("kept");
+
+        // Then
+        assertThat(appender.discarded()).isEqualTo(1);
+        assertThat(appender.getRemainingCapacity()).isEqualTo(3);
+    }
+
+    @Test
+    void metrics_shouldPublishDropCountersForRootAppenders() throws Exception {
+        // Given
+        logger.detachAppender(appender);
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        logger.info("first");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 6; i++) {
+            logger.warn("warn " + i);
+        }
+        logger.info("shed");
+
+        // When
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new AsyncLoggingMetrics(context).bindTo(registry);
+
+        // Then
+        assertThat(registry.get(AsyncLoggingMetrics.DROPPED).tag("reason", "discarded")
+            .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get(AsyncLoggingMetrics.DROPPED).tag("reason", "queue_full")
+            .functionCounter().count()).isZero();
+        assertThat(registry.get(AsyncLoggingMetrics.REMAINING).tag("appender", "ASYNC")
+            .gauge().value()).isEqualTo(4);
+    }
+}
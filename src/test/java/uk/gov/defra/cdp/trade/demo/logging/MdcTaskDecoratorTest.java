@@ -0,0 +1,55 @@
+package uk.gov.defra.cdp.trade.demo.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+
+class MdcTaskDecoratorTest {
+
+    private final TaskDecorator decorator = new MdcTaskDecorator();
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void decorate_shouldCarryMdcOntoVirtualThreads() throws Exception {
+        // Given
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(decorator);
+        MDC.put("trace.id", "trace-123");
+        AtomicReference<String> seen = new AtomicReference<>();
+        AtomicReference<Boolean> virtual = new AtomicReference<>();
+
+        // When
+        executor.submitCompletable(() -> {
+            seen.set(MDC.get("trace.id"));
+            virtual.set(Thread.currentThread().isVirtual());
+        }).get();
+
+        // Then
+        assertThat(seen.get()).isEqualTo("trace-123");
+        assertThat(virtual.get()).isTrue();
+    }
+
+    @Test
+    void decorate_shouldRestoreTheWorkersOwnMdc() {
+        // Given - captured with an empty MDC
+        Runnable task = decorator.decorate(() -> MDC.put("leaked", "value"));
+        MDC.put("worker", "pooled");
+
+        // When
+        task.run();
+
+        // Then
+        assertThat(MDC.getCopyOfContextMap()).isEqualTo(Map.of("worker", "pooled"));
+    }
+}
@@ -0,0 +1,227 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.defra.cdp.trade.demo.configuration.EmfRegistryConfig;
+
+class EmfMeterRegistryTest {
+
+    private static final Duration STEP = Duration.ofMinutes(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> written = new CopyOnWriteArrayList<>();
+
+    private MockClock clock;
+    private EmfRegistryConfig config;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MockClock();
+        config = new EmfRegistryConfig();
+        // Publish by hand rather than on the registry's scheduler
+        config.setEnabled(false);
+        config.setStep(STEP);
+    }
+
+    @Test
+    void publish_shouldWriteStepCountsAsEmf() throws Exception {
+        // Given
+        EmfMeterRegistry registry = registry();
+        registry.counter("test.counter").increment(5);
+        clock.add(STEP);
+
+        // When
+        List<JsonNode> documents = publishAndClose(registry);
+
+        // Then
+        assertThat(documents).hasSize(1);
+        JsonNode document = documents.getFirst();
+        JsonNode metadata = document.get("_aws").get("CloudWatchMetrics").get(0);
+        assertThat(metadata.get("Namespace").asText()).isEqualTo("test-namespace");
+        assertThat(metadata.get("Dimensions").get(0)).extracting(JsonNode::asText)
+            .containsExactly("ServiceName");
+        assertThat(metadata.get("Metrics")).extracting(metric -> metric.get("Name").asText())
+            .contains("test.counter");
+        assertThat(document.get("ServiceName").asText()).isEqualTo("trade-demo-backend");
+        assertThat(document.get("test.counter").asDouble()).isEqualTo(5.0);
+        assertThat(document.get("_aws").get("Timestamp").asLong()).isEqualTo(clock.wallTime());
+    }
+
+    @Test
+    void publish_shouldGroupByDimensionTags() throws Exception {
+        // Given
+        EmfMeterRegistry registry = registry();
+        registry.counter("http.requests", "uri", "/notifications", "status", "200",
+            "outcome", "SUCCESS", "method", "GET").increment();
+        registry.counter("http.requests", "uri", "/notifications/{id}", "status", "404",
+            "outcome", "CLIENT_ERROR", "method", "GET").increment();
+        clock.add(STEP);
+
+        // When
+        List<JsonNode> documents = publishAndClose(registry);
+
+        // Then
+        assertThat(documents)
+            .filteredOn(document -> document.has("http.requests"))
+            .extracting(document -> document.get("uri").asText())
+            .containsExactlyInAnyOrder("/notifications", "/notifications/{id}");
+        JsonNode notFound = documents.stream()
+            .filter(document -> "404".equals(document.path("status").asText()))
+            .findFirst().orElseThrow();
+        assertThat(notFound.get("_aws").get("CloudWatchMetrics").get(0).get("Dimensions").get(0))
+            .extracting(JsonNode::asText)
+            .containsExactly("ServiceName", "uri", "status", "outcome");
+        assertThat(notFound.has("method")).isFalse();
+    }
+
+    @Test
+    void publish_shouldPublishMetersSharingANameAsValueArray() throws Exception {
+        // Given
+        EmfMeterRegistry registry = registry();
+        Gauge.builder("jvm.memory.used", () -> 100.0).tag("area", "heap").register(registry);
+        Gauge.builder("jvm.memory.used", () -> 40.0).tag("area", "nonheap").register(registry);
+
+        // When
+        List<JsonNode> documents = publishAndClose(registry);
+
+        // Then
+        JsonNode values = documents.getFirst().get("jvm.memory.used");
+        assertThat(values.isArray()).isTrue();
+        assertThat(values).extracting(JsonNode::asDouble).containsExactlyInAnyOrder(100.0, 40.0);
+    }
+
+    @Test
+    void publish_shouldSplitDocumentsAtEmfMetricLimit() throws Exception {
+        // Given
+        EmfMeterRegistry registry = registry();
+        for (int i = 0; i < 150; i++) {
+            registry.counter("test.counter." + i).increment();
+        }
+        clock.add(STEP);
+
+        // When
+        List<JsonNode> documents = publishAndClose(registry);
+
+        // Then
+        assertThat(documents).hasSize(2);
+        assertThat(documents).allSatisfy(document -> assertThat(
+            document.get("_aws").get("CloudWatchMetrics").get(0).get("Metrics").size())
+            .isLessThanOrEqualTo(EmfMeterRegistry.MAX_METRICS_PER_DOCUMENT));
+    }
+
+    @Test
+    void publish_shouldPublishConfiguredPercentilesAndBuckets() throws Exception {
+        // Given
+        config.setPercentiles(List.of(0.5, 0.99));
+        config.setServiceLevelObjectives(List.of(Duration.ofMillis(100), Duration.ofMillis(500)));
+        EmfMeterRegistry registry = registry();
+        Timer timer = registry.timer("test.timer");
+        // Record late in the step, histograms are windowed over the last step
+        clock.add(STEP.minusSeconds(10));
+        timer.record(Duration.ofMillis(50));
+        timer.record(Duration.ofMillis(200));
+        clock.add(Duration.ofSeconds(10));
+
+        // When
+        List<JsonNode> documents = publishAndClose(registry);
+
+        // Then
+        JsonNode document = documents.getFirst();
+        assertThat(document.get("test.timer.count").asLong()).isEqualTo(2);
+        assertThat(document.get("test.timer.sum").asDouble()).isEqualTo(250.0);
+        assertThat(document.get("test.timer.max").asDouble()).isEqualTo(200.0);
+        assertThat(document.has("test.timer.p50")).isTrue();
+        assertThat(document.has("test.timer.p99")).isTrue();
+        assertThat(document.get("test.timer.le.100").asLong()).isEqualTo(1);
+        assertThat(document.get("test.timer.le.500").asLong()).isEqualTo(2);
+        assertThat(document.has("test.timer.percentile")).isFalse();
+        assertThat(document.has("test.timer.histogram")).isFalse();
+    }
+
+    @Test
+    void allowlist_shouldOnlyRegisterMatchingMeters() throws Exception {
+        // Given
+        config.setAllow(List.of("controller."));
+        EmfMeterRegistry registry = registry();
+        registry.writerMetrics().bindTo(registry);
+        registry.counter("controller.getNotifications.count").increment();
+        registry.counter("jvm.threads.started").increment();
+        clock.add(STEP);
+
+        // When
+        List<JsonNode> documents = publishAndClose(registry);
+
+        // Then
+        List<String> names = new ArrayList<>();
+        documents.forEach(document -> document.fieldNames().forEachRemaining(names::add));
+        assertThat(names).contains("controller.getNotifications.count", "emf.registry.dropped");
+        assertThat(names).doesNotContain("jvm.threads.started");
+    }
+
+    @Test
+    void writerMetrics_shouldGoThroughFiltersConfiguredAfterConstruction() {
+        // Given - as Spring Boot adds common tags once the registry bean exists
+        EmfMeterRegistry registry = registry();
+        assertThat(registry.getMeters()).isEmpty();
+        registry.config().commonTags("env", "test");
+
+        // When
+        registry.writerMetrics().bindTo(registry);
+
+        // Then
+        assertThat(registry.get("emf.registry.dropped").tag("env", "test").functionCounter()
+            .count()).isZero();
+        registry.close();
+    }
+
+    @Test
+    void publish_shouldSkipIdleTimers() throws Exception {
+        // Given
+        EmfMeterRegistry registry = registry();
+        registry.timer("test.timer");
+        clock.add(STEP);
+
+        // When
+        List<JsonNode> documents = publishAndClose(registry);
+
+        // Then
+        assertThat(documents).noneMatch(document -> document.has("test.timer.count"));
+    }
+
+    @Test
+    void format_shouldWriteWholeNumbersWithoutFraction() {
+        assertThat(EmfMeterRegistry.format(42.0)).isEqualTo("42");
+        assertThat(EmfMeterRegistry.format(0.25)).isEqualTo("0.25");
+        assertThat(EmfMeterRegistry.label(99.89999999999999)).isEqualTo("99.9");
+    }
+
+    private EmfMeterRegistry registry() {
+        EmfWriter writer = new EmfWriter(written::add, 1_000);
+        return new EmfMeterRegistry(config, clock, "test-namespace",
+            Map.of("ServiceName", "trade-demo-backend"), writer);
+    }
+
+    private List<JsonNode> publishAndClose(EmfMeterRegistry registry) throws Exception {
+        registry.publish();
+        // Closing drains the writer; the final publish on close is disabled with the registry
+        registry.close();
+        List<JsonNode> documents = new ArrayList<>();
+        for (String document : written) {
+            assertThat(document).endsWith("\n");
+            documents.add(objectMapper.readTree(document));
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,88 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class EmfWriterTest {
+
+    @Test
+    void offer_shouldWriteDocumentsInOrder() {
+        // Given
+        List<String> written = new CopyOnWriteArrayList<>();
+        EmfWriter writer = new EmfWriter(written::add, 10);
+
+        // When
+        writer.offer("{\"a\":1}\n");
+        writer.offer("{\"b\":2}\n");
+        writer.close();
+
+        // Then
+        assertThat(written).containsExactly("{\"a\":1}\n", "{\"b\":2}\n");
+        assertThat(writer.dropped()).isZero();
+    }
+
+    @Test
+    void offer_shouldDropWithoutBlockingWhenSinkIsStalled() throws Exception {
+        // Given - a sink stuck on its first write
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EmfWriter writer = new EmfWriter(document -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 2);
+        writer.offer("first\n");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When - the queue fills behind it
+        boolean second = writer.offer("second\n");
+        boolean third = writer.offer("third\n");
+        boolean fourth = writer.offer("fourth\n");
+
+        // Then
+        assertThat(second).isTrue();
+        assertThat(third).isTrue();
+        assertThat(fourth).isFalse();
+        assertThat(writer.dropped()).isEqualTo(1);
+
+        release.countDown();
+        writer.close();
+    }
+
+    @Test
+    void offer_shouldCountFailedWrites() {
+        // Given
+        EmfWriter writer = new EmfWriter(document -> {
+            throw new IOException("agent unavailable");
+        }, 10);
+
+        // When
+        writer.offer("first\n");
+        writer.offer("second\n");
+        writer.close();
+
+        // Then
+        assertThat(writer.dropped()).isEqualTo(2);
+    }
+
+    @Test
+    void forEndpoint_shouldChooseSinkFromScheme() {
+        assertThat(EmfSink.forEndpoint("")).isInstanceOf(EmfSink.StdoutSink.class);
+        assertThat(EmfSink.forEndpoint("http://localhost:4566"))
+            .isInstanceOf(EmfSink.StdoutSink.class);
+        assertThat(EmfSink.forEndpoint("tcp://127.0.0.1:25888"))
+            .isInstanceOf(EmfSink.TcpAgentSink.class)
+            .hasToString("tcp://127.0.0.1:25888");
+        assertThat(EmfSink.forEndpoint("udp://127.0.0.1:25888"))
+            .isInstanceOf(EmfSink.UdpAgentSink.class);
+    }
+}
@@ -0,0 +1,73 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestTemplate;
+import feign.Response;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FeignMetricsCapabilityTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private FeignMetricsCapability capability;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        capability = new FeignMetricsCapability(meterRegistry);
+    }
+
+    @Test
+    void enrich_shouldTimeCallsWithStatusAndOutcome() throws IOException {
+        // Given
+        Client delegate = (request, options) -> Response.builder()
+            .status(503)
+            .request(request)
+            .headers(Map.of())
+            .build();
+        Client client = capability.enrich(delegate);
+
+        // When
+        client.execute(request(), new Request.Options());
+
+        // Then
+        Timer timer = meterRegistry.get(FeignMetricsCapability.METRIC_NAME)
+            .tags("status", "503", "outcome", "SERVER_ERROR")
+            .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.getId().getTag("client")).isEqualTo("unknown");
+    }
+
+    @Test
+    void enrich_shouldTagIoFailures() {
+        // Given
+        Client delegate = (request, options) -> {
+            throw new IOException("connection refused");
+        };
+        Client client = capability.enrich(delegate);
+
+        // When
+        assertThatThrownBy(() -> client.execute(request(), new Request.Options()))
+            .isInstanceOf(IOException.class);
+
+        // Then
+        assertThat(meterRegistry.get(FeignMetricsCapability.METRIC_NAME)
+            .tags("status", "IO_ERROR", "outcome", "UNKNOWN")
+            .timer().count()).isEqualTo(1);
+    }
+
+    private static Request request() {
+        return Request.create(HttpMethod.GET, "http://localhost/mdm/trade/bcp/bcps", Map.of(),
+            null, StandardCharsets.UTF_8, new RequestTemplate());
+    }
+}
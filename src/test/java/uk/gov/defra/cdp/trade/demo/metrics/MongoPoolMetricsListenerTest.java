@@ -0,0 +1,66 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MongoPoolMetricsListenerTest {
+
+    private static final ServerId SERVER = new ServerId(new ClusterId(), new ServerAddress());
+    private static final ConnectionId CONNECTION = new ConnectionId(SERVER);
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoPoolMetricsListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new MongoPoolMetricsListener(meterRegistry);
+    }
+
+    @Test
+    void checkout_shouldTimeWaitByOutcome() {
+        // When
+        listener.connectionCheckedOut(new ConnectionCheckedOutEvent(CONNECTION, 1,
+            TimeUnit.MILLISECONDS.toNanos(3)));
+        listener.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(SERVER, 2,
+            ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.SECONDS.toNanos(2)));
+
+        // Then
+        Timer success = meterRegistry.get(MongoPoolMetricsListener.CHECKOUT)
+            .tag("outcome", "SUCCESS").timer();
+        Timer timeout = meterRegistry.get(MongoPoolMetricsListener.CHECKOUT)
+            .tag("outcome", "TIMEOUT").timer();
+        assertThat(success.count()).isEqualTo(1);
+        assertThat(success.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(3.0);
+        assertThat(timeout.totalTime(TimeUnit.SECONDS)).isEqualTo(2.0);
+    }
+
+    @Test
+    void connections_shouldCountChurnAndTrackOpenConnections() {
+        // When
+        listener.connectionCreated(new ConnectionCreatedEvent(CONNECTION));
+        listener.connectionCreated(new ConnectionCreatedEvent(CONNECTION));
+        listener.connectionClosed(new ConnectionClosedEvent(CONNECTION,
+            ConnectionClosedEvent.Reason.IDLE));
+
+        // Then
+        assertThat(meterRegistry.get(MongoPoolMetricsListener.CONNECTIONS)
+            .tags("event", "created").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(MongoPoolMetricsListener.CONNECTIONS)
+            .tags("event", "closed", "reason", "IDLE").counter().count()).isEqualTo(1);
+        assertThat(listener.openConnections()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,57 @@
+package uk.gov.defra.cdp.trade.demo.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.mongodb.RequestContext;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Tags;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+class WriteTierCommandTagsProviderTest {
+
+    private final WriteTierCommandTagsProvider provider = new WriteTierCommandTagsProvider();
+
+    @Test
+    void commandTags_shouldTagWritesWithTheirTier() {
+        assertThat(tierTag(1, "update", """
+            {"update": "notifications", "updates": [{"q": {"_id": "a"},
+              "u": {"_id": "a", "status": "SUBMITTED"}}]}""")).isEqualTo("submit");
+        assertThat(tierTag(2, "insert", """
+            {"insert": "notifications", "documents": [{"_id": "b", "status": "DRAFT"}]}"""))
+            .isEqualTo("draft");
+        assertThat(tierTag(3, "delete", """
+            {"delete": "notifications", "deletes": [{"q": {"_id": "a"}, "limit": 1}]}"""))
+            .isEqualTo("delete");
+        assertThat(tierTag(4, "findAndModify", """
+            {"findAndModify": "id_sequences", "query": {"_id": "2025-01-01"}}"""))
+            .isEqualTo("sequence");
+    }
+
+    @Test
+    void commandTags_shouldTagReadsAndUntieredWritesAsNone() {
+        assertThat(tierTag(5, "find", """
+            {"find": "notifications", "filter": {}}""")).isEqualTo("none");
+        assertThat(tierTag(6, "insert", """
+            {"insert": "examples", "documents": [{"_id": "c"}]}""")).isEqualTo("none");
+    }
+
+    private String tierTag(int requestId, String commandName, String command) {
+        ConnectionDescription connection = new ConnectionDescription(
+            new ServerId(new ClusterId(), new ServerAddress()));
+        RequestContext context = mock(RequestContext.class);
+        provider.commandStarted(new CommandStartedEvent(context, 1, requestId, connection,
+            "test", commandName, BsonDocument.parse(command)));
+        Tags tags = Tags.of(provider.commandTags(new CommandSucceededEvent(context, 1, requestId,
+            connection, "test", commandName, new BsonDocument(), 1_000)));
+        return tags.stream()
+            .filter(tag -> tag.getKey().equals(WriteTierCommandTagsProvider.TAG))
+            .findFirst().orElseThrow().getValue();
+    }
+}
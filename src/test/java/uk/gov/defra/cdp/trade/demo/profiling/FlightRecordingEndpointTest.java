@@ -0,0 +1,95 @@
+package uk.gov.defra.cdp.trade.demo.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import uk.gov.defra.cdp.trade.demo.configuration.FlightRecordingConfig;
+
+class FlightRecordingEndpointTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FlightRecordingConfig config;
+    private FlightRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        config = new FlightRecordingConfig();
+        config.setSettings("default");
+        endpoint = new FlightRecordingEndpoint(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.discard();
+    }
+
+    @Test
+    void dump_shouldContainNotificationEvents() throws Exception {
+        // Given
+        endpoint.start(Duration.ofMinutes(1), null);
+        NotificationSaveEvent event = new NotificationSaveEvent("DRAFT.IMP.2026.00000001", "CREATE");
+        event.begin();
+        event.commit();
+
+        // When
+        WebEndpointResponse<Resource> response = endpoint.dump();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        Path file = tempDir.resolve("recording.jfr");
+        try (InputStream in = response.getBody().getInputStream()) {
+            Files.copy(in, file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events)
+            .filteredOn(recorded -> recorded.getEventType().getName()
+                .equals("uk.gov.defra.cdp.trade.demo.NotificationSave"))
+            .singleElement()
+            .satisfies(recorded -> {
+                assertThat(recorded.getString("notificationId"))
+                    .isEqualTo("DRAFT.IMP.2026.00000001");
+                assertThat(recorded.getString("operation")).isEqualTo("CREATE");
+            });
+    }
+
+    @Test
+    void start_shouldCapDurationAndRejectConcurrentRecordings() {
+        // Given
+        config.setMaxDuration(Duration.ofSeconds(30));
+
+        // When
+        WebEndpointResponse<Map<String, Object>> first = endpoint.start(Duration.ofHours(1), null);
+        WebEndpointResponse<Map<String, Object>> second = endpoint.start(null, null);
+
+        // Then
+        assertThat(first.getBody()).containsEntry("duration", "PT30S");
+        assertThat(second.getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    void start_shouldRejectUnknownSettings() {
+        WebEndpointResponse<Map<String, Object>> response = endpoint.start(null, "missing");
+
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+    }
+
+    @Test
+    void dump_shouldReturnNotFoundWithoutRecording() throws Exception {
+        assertThat(endpoint.dump().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
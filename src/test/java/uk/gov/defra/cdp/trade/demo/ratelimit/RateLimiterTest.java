@@ -0,0 +1,148 @@
+package uk.gov.defra.cdp.trade.demo.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.defra.cdp.trade.demo.configuration.RateLimitConfig;
+
+class RateLimiterTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-12-05T10:15:30Z"));
+    private final Map<String, Long> storeTotals = new HashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimiter rateLimiter;
+    private RateLimiter.Route route;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setRoutes(List.of(route("notifications", "/notifications/**", limit(10, 2),
+            limit(100, 100))));
+        RateLimitStore store = (window, deltas) -> {
+            deltas.forEach((key, delta) -> storeTotals.merge(key, delta, Long::sum));
+            return Map.copyOf(storeTotals);
+        };
+        rateLimiter = new RateLimiter(config, store, clock, meterRegistry);
+        route = rateLimiter.route("GET", "/notifications/abc");
+    }
+
+    @Test
+    void route_shouldMatchConfiguredPatterns() {
+        assertThat(route).isNotNull();
+        assertThat(route.name()).isEqualTo("notifications");
+        assertThat(rateLimiter.route("GET", "/border-entities/bcps")).isNull();
+    }
+
+    @Test
+    void acquire_shouldAllowBurstThenRefuseUntilRefilled() {
+        // When
+        Decision first = rateLimiter.acquire(route, "client-a");
+        Decision second = rateLimiter.acquire(route, "client-a");
+        Decision third = rateLimiter.acquire(route, "client-a");
+
+        // Then
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.limit()).isEqualTo(2);
+        assertThat(first.remaining()).isEqualTo(1);
+        assertThat(second.allowed()).isTrue();
+        assertThat(second.remaining()).isZero();
+        assertThat(third.allowed()).isFalse();
+        assertThat(third.retryAfterNanos()).isEqualTo(Duration.ofMillis(100).toNanos());
+        assertThat(rateLimiter.acquire(route, "client-b").allowed()).isTrue();
+        assertThat(meterRegistry.get(RateLimiter.THROTTLED)
+            .tags("route", "notifications", "limit", "client").counter().count()).isEqualTo(1);
+
+        // When - one emission interval later
+        clock.advance(Duration.ofMillis(100));
+
+        // Then
+        assertThat(rateLimiter.acquire(route, "client-a").allowed()).isTrue();
+    }
+
+    @Test
+    void sync_shouldChargeUsageByOtherInstances() {
+        // Given - a bucket known to the store
+        rateLimiter.acquire(route, "client-a");
+        rateLimiter.sync();
+        clock.advance(Duration.ofMillis(100));
+
+        // When - another instance admits one request for the same client
+        storeTotals.merge("notifications|client|client-a", 1L, Long::sum);
+        rateLimiter.sync();
+
+        // Then - only one of the two tokens is left
+        assertThat(rateLimiter.acquire(route, "client-a").allowed()).isTrue();
+        assertThat(rateLimiter.acquire(route, "client-a").allowed()).isFalse();
+    }
+
+    @Test
+    void sync_shouldDropIdleBuckets() {
+        // Given
+        rateLimiter.acquire(route, "client-a");
+        rateLimiter.sync();
+        assertThat(rateLimiter.bucketKeys()).contains("notifications|client|client-a");
+
+        // When
+        clock.advance(Duration.ofSeconds(1));
+        rateLimiter.sync();
+
+        // Then
+        assertThat(rateLimiter.bucketKeys()).isEmpty();
+    }
+
+    private static RateLimitConfig.Route route(String name, String pattern,
+        RateLimitConfig.Limit client, RateLimitConfig.Limit route) {
+        RateLimitConfig.Route config = new RateLimitConfig.Route();
+        config.setName(name);
+        config.setPattern(pattern);
+        config.setClient(client);
+        config.setRoute(route);
+        return config;
+    }
+
+    private static RateLimitConfig.Limit limit(long requests, long burst) {
+        RateLimitConfig.Limit limit = new RateLimitConfig.Limit();
+        limit.setRequests(requests);
+        limit.setBurst(burst);
+        return limit;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -2,25 +2,28 @@ package uk.gov.defra.cdp.trade.demo.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.Measurement;
-import io.micrometer.core.instrument.Meter;
-import io.micrometer.core.instrument.Meter.Id;
-import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
-import java.util.Arrays;
-import java.util.Collections;
+import java.time.Duration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.DimensionSet;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
 
 @ExtendWith(MockitoExtension.class)
 class EmfMetricsPublisherTest {
@@ -28,67 +31,155 @@ class EmfMetricsPublisherTest {
     private static final String TEST_NAMESPACE = "test-namespace";
 
     @Mock
-    private MeterRegistry meterRegistry;
+    private MetricsLogger metricsLogger;
 
+    @Captor
+    private ArgumentCaptor<DimensionSet> dimensionSetCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
     private EmfMetricsPublisher emfMetricsPublisher;
 
     @BeforeEach
     void setUp() {
-        emfMetricsPublisher = new EmfMetricsPublisher(TEST_NAMESPACE, meterRegistry);
+        meterRegistry = new SimpleMeterRegistry();
+        emfMetricsPublisher = new EmfMetricsPublisher(TEST_NAMESPACE, meterRegistry,
+            () -> metricsLogger);
     }
 
     @Test
-    void constructor_shouldInitializeWithNamespaceAndRegistry() {
+    void publishMetrics_shouldNotFlushWhenRegistryIsEmpty() {
+        // When
+        emfMetricsPublisher.publishMetrics();
+
         // Then
-        assertThat(emfMetricsPublisher).isNotNull();
+        verifyNoInteractions(metricsLogger);
     }
 
     @Test
-    void publishMetrics_shouldHandleEmptyMeterRegistry() {
+    void publishMetrics_shouldPublishCounterDeltas() {
         // Given
-        when(meterRegistry.getMeters()).thenReturn(Collections.emptyList());
+        Counter counter = meterRegistry.counter("test.counter");
+        counter.increment(5);
 
         // When
         emfMetricsPublisher.publishMetrics();
+        counter.increment(2);
+        emfMetricsPublisher.publishMetrics();
 
         // Then
-        verify(meterRegistry, times(2)).getMeters();
+        verify(metricsLogger, times(2)).setNamespace(TEST_NAMESPACE);
+        verify(metricsLogger).putMetric("test.counter", 5.0, Unit.COUNT);
+        verify(metricsLogger).putMetric("test.counter", 2.0, Unit.COUNT);
+        verify(metricsLogger, times(2)).flush();
     }
 
     @Test
-    void publishMetrics_shouldIterateOverAllMeters() {
+    void publishMetrics_shouldKeepMetersInRegistry() {
         // Given
-        SimpleMeterRegistry realRegistry = new SimpleMeterRegistry();
-        realRegistry.counter("test.counter").increment();
-        realRegistry.timer("test.timer").record(() -> {});
+        meterRegistry.counter("controller.getNotifications.count").increment();
+        meterRegistry.timer("controller.getNotifications.time").record(Duration.ofMillis(5));
+
+        // When
+        emfMetricsPublisher.publishMetrics();
 
-        EmfMetricsPublisher publisher = new EmfMetricsPublisher(TEST_NAMESPACE, realRegistry);
+        // Then
+        assertThat(meterRegistry.getMeters()).hasSize(2);
+    }
+
+    @Test
+    void publishMetrics_shouldPublishTimerStatisticsAndSkipIdleTimers() {
+        // Given
+        Timer timer = meterRegistry.timer("test.timer");
+        timer.record(Duration.ofMillis(40));
+        timer.record(Duration.ofMillis(60));
 
         // When
-        publisher.publishMetrics();
+        emfMetricsPublisher.publishMetrics();
+        emfMetricsPublisher.publishMetrics();
 
         // Then
-        assertThat(realRegistry.getMeters()).isNotEmpty();
-        assertThat(realRegistry.getMeters()).hasSize(2);
+        verify(metricsLogger).putMetric("test.timer.count", 2.0, Unit.COUNT);
+        verify(metricsLogger).putMetric("test.timer.sum", 100.0, Unit.MILLISECONDS);
+        verify(metricsLogger).putMetric("test.timer.max", 60.0, Unit.MILLISECONDS);
+        verify(metricsLogger, times(1)).flush();
     }
 
     @Test
-    void publishMetrics_shouldCollectMetricsFromMeter() {
+    void publishMetrics_shouldPublishConfiguredPercentiles() {
         // Given
-        Meter mockMeter = mock(Meter.class);
-        Id meterId = mock(Id.class);
-        Measurement measurement = new Measurement(() -> 42.0, null);
+        Timer timer = Timer.builder("test.timer")
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .register(meterRegistry);
+        timer.record(Duration.ofMillis(10));
+
+        // When
+        emfMetricsPublisher.publishMetrics();
 
-        when(meterId.getName()).thenReturn("test.metric");
-        when(mockMeter.getId()).thenReturn(meterId);
-        when(mockMeter.measure()).thenReturn(Arrays.asList(measurement));
-        when(meterRegistry.getMeters()).thenReturn(Arrays.asList(mockMeter));
+        // Then
+        verify(metricsLogger).putMetric(eq("test.timer.p50"), anyDouble(), eq(Unit.MILLISECONDS));
+        verify(metricsLogger).putMetric(eq("test.timer.p99"), anyDouble(), eq(Unit.MILLISECONDS));
+        verify(metricsLogger).putMetric(eq("test.timer.p99.9"), anyDouble(),
+            eq(Unit.MILLISECONDS));
+    }
+
+    @Test
+    void publishMetrics_shouldSplitDocumentsAtEmfMetricLimit() {
+        // Given
+        for (int i = 0; i < 250; i++) {
+            meterRegistry.counter("test.counter." + i).increment();
+        }
 
         // When
         emfMetricsPublisher.publishMetrics();
 
         // Then
-        verify(meterRegistry, times(2)).getMeters();
-        verify(mockMeter, times(1)).measure();
+        verify(metricsLogger, times(250)).putMetric(anyString(), anyDouble(), any(Unit.class));
+        verify(metricsLogger, times(3)).flush();
+    }
+
+    @Test
+    void publishMetrics_shouldPublishUriStatusAndOutcomeAsDimensions() {
+        // Given
+        meterRegistry.counter("http.server.requests.errors",
+            "uri", "/notifications/{id}", "status", "404", "outcome", "CLIENT_ERROR",
+            "method", "GET").increment();
+        meterRegistry.counter("test.counter").increment();
+
+        // When
+        emfMetricsPublisher.publishMetrics();
+
+        // Then
+        verify(metricsLogger).setDimensions(eq(true), dimensionSetCaptor.capture());
+        DimensionSet dimensions = dimensionSetCaptor.getValue();
+        assertThat(dimensions.getDimensionKeys())
+            .containsExactlyInAnyOrder("uri", "status", "outcome");
+        assertThat(dimensions.getDimensionValue("uri")).isEqualTo("/notifications/{id}");
+        assertThat(dimensions.getDimensionValue("status")).isEqualTo("404");
+        verify(metricsLogger).resetDimensions(true);
+        verify(metricsLogger, times(2)).flush();
+    }
+
+    @Test
+    void publishMetrics_shouldForgetRemovedMeters() {
+        // Given
+        Counter counter = meterRegistry.counter("test.counter");
+        counter.increment(3);
+        emfMetricsPublisher.publishMetrics();
+
+        // When - the meter is replaced by a new one starting from zero
+        meterRegistry.remove(counter);
+        emfMetricsPublisher.publishMetrics();
+        meterRegistry.counter("test.counter").increment(3);
+        emfMetricsPublisher.publishMetrics();
+
+        // Then
+        verify(metricsLogger, times(2)).putMetric("test.counter", 3.0, Unit.COUNT);
+        verify(metricsLogger, never()).putMetric("test.counter", 0.0, Unit.COUNT);
+    }
+
+    @Test
+    void formatPercentile_shouldDropTrailingZero() {
+        assertThat(EmfMetricsPublisher.formatPercentile(0.95)).isEqualTo("95");
+        assertThat(EmfMetricsPublisher.formatPercentile(0.999)).isEqualTo("99.9");
     }
 }
@@ -0,0 +1,173 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.UpdateResult;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationIdConfig;
+import uk.gov.defra.cdp.trade.demo.domain.IdNodeLease;
+import uk.gov.defra.cdp.trade.demo.exceptions.TradeDemoBackendException;
+import uk.gov.defra.cdp.trade.demo.service.NotificationIdFormatter.DayPrefix;
+
+@ExtendWith(MockitoExtension.class)
+class LeasedRangeSequenceSourceTest {
+
+    private static final Instant NOW = Instant.parse("2025-12-05T10:15:30Z");
+    private static final DayPrefix TODAY = DayPrefix.of(LocalDate.of(2025, 12, 5), ZoneOffset.UTC);
+    private static final DayPrefix TOMORROW = DayPrefix.of(LocalDate.of(2025, 12, 6),
+        ZoneOffset.UTC);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private NotificationIdConfig config;
+
+    private LeasedRangeSequenceSource source;
+
+    @BeforeEach
+    void setUp() {
+        config = new NotificationIdConfig();
+        config.getLease().setMaxNodes(4);
+        config.getLease().setChunkSize(3);
+        source = new LeasedRangeSequenceSource(mongoTemplate, Clock.fixed(NOW, ZoneOffset.UTC),
+            config);
+    }
+
+    @Test
+    void shouldClaimFirstFreeSlotAndIssueFromItsRange() {
+        // Given - slot 0 is held by another instance
+        whenClaimingSlot(0).thenThrow(new DuplicateKeyException("taken"));
+        whenClaimingSlot(1).thenReturn(new IdNodeLease(1, "me", NOW, null, null));
+        whenReserving().thenReturn(matched(1));
+
+        // When
+        long sequence = source.nextSequence(TODAY);
+
+        // Then - slot 1 owns 200000..299999
+        assertThat(sequence).isEqualTo(200_000L);
+    }
+
+    @Test
+    void shouldIssueFromMemoryWithinAChunk() {
+        // Given
+        whenClaimingSlot(0).thenReturn(new IdNodeLease(0, "me", NOW, null, null));
+        whenReserving().thenReturn(matched(1));
+
+        // When
+        long first = source.nextSequence(TODAY);
+        long second = source.nextSequence(TODAY);
+        long third = source.nextSequence(TODAY);
+        long fourth = source.nextSequence(TODAY);
+
+        // Then - one claim, and one reservation per chunk of three
+        assertThat(new long[] {first, second, third, fourth})
+            .containsExactly(100_000L, 100_001L, 100_002L, 100_003L);
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class),
+            any(FindAndModifyOptions.class), eq(IdNodeLease.class));
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class),
+            eq(IdNodeLease.class));
+    }
+
+    @Test
+    void shouldContinueAfterReservedSequencesWhenTakingOverSlotOnSameDay() {
+        // Given - the previous owner reserved up to 100499 today
+        whenClaimingSlot(0).thenReturn(
+            new IdNodeLease(0, "me", NOW, TODAY.key(), 100_499L));
+        whenReserving().thenReturn(matched(1));
+
+        // When / Then
+        assertThat(source.nextSequence(TODAY)).isEqualTo(100_500L);
+    }
+
+    @Test
+    void shouldRestartRangeWhenDayRollsOver() {
+        // Given
+        whenClaimingSlot(0).thenReturn(
+            new IdNodeLease(0, "me", NOW, TODAY.key(), 100_499L));
+        whenReserving().thenReturn(matched(1));
+        source.nextSequence(TODAY);
+
+        // When / Then
+        assertThat(source.nextSequence(TOMORROW)).isEqualTo(100_000L);
+    }
+
+    @Test
+    void shouldClaimAgainAfterHeartbeatLosesLease() {
+        // Given
+        whenClaimingSlot(0)
+            .thenReturn(new IdNodeLease(0, "me", NOW, null, null))
+            .thenThrow(new DuplicateKeyException("taken over"));
+        whenClaimingSlot(1).thenReturn(new IdNodeLease(1, "me", NOW, null, null));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(IdNodeLease.class)))
+            .thenReturn(matched(1), matched(0), matched(1));
+        source.nextSequence(TODAY);
+
+        // When - the renewal finds the slot owned by someone else
+        source.heartbeat();
+
+        // Then - the rest of the old chunk is discarded and a new slot is used
+        assertThat(source.nextSequence(TODAY)).isEqualTo(200_000L);
+    }
+
+    @Test
+    void shouldFailWhenNoSlotIsFree() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+            any(FindAndModifyOptions.class), eq(IdNodeLease.class)))
+            .thenThrow(new DuplicateKeyException("taken"));
+
+        // When / Then
+        assertThatThrownBy(() -> source.nextSequence(TODAY))
+            .isInstanceOf(TradeDemoBackendException.class)
+            .hasMessageContaining("No free notification ID slot");
+    }
+
+    @Test
+    void shouldFailWhenSlotRangeIsExhausted() {
+        // Given
+        whenClaimingSlot(0).thenReturn(
+            new IdNodeLease(0, "me", NOW, TODAY.key(), 199_999L));
+
+        // When / Then
+        assertThatThrownBy(() -> source.nextSequence(TODAY))
+            .isInstanceOf(TradeDemoBackendException.class)
+            .hasMessageContaining("range exhausted");
+    }
+
+    private OngoingStubbing<IdNodeLease> whenClaimingSlot(int slot) {
+        return when(mongoTemplate.findAndModify(
+            argThat((Query query) -> query != null
+                && Integer.valueOf(slot).equals(query.getQueryObject().get("_id"))),
+            any(Update.class), any(FindAndModifyOptions.class), eq(IdNodeLease.class)));
+    }
+
+    private OngoingStubbing<UpdateResult> whenReserving() {
+        return when(mongoTemplate.updateFirst(any(Query.class), any(Update.class),
+            eq(IdNodeLease.class)));
+    }
+
+    private static UpdateResult matched(long count) {
+        return UpdateResult.acknowledged(count, count, null);
+    }
+}
@@ -0,0 +1,158 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.defra.cdp.trade.demo.configuration.ContentNegotiationConfig;
+import uk.gov.defra.cdp.trade.demo.domain.ReferenceData;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmData;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmOrganisationDto;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmResponse;
+import uk.gov.defra.cdp.trade.demo.service.MdmResponseCache.EncodedResponse;
+
+@ExtendWith(MockitoExtension.class)
+class MdmResponseCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Mock
+    private ReferenceDataService referenceDataService;
+
+    private MdmResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MdmResponseCache(referenceDataService, objectMapper, true);
+    }
+
+    @Test
+    void get_shouldServeJsonByDefault() throws IOException {
+        // Given
+        ReferenceData snapshot = snapshot("BCP001");
+        when(referenceDataService.snapshot()).thenReturn(snapshot);
+
+        // When
+        EncodedResponse response = cache.get("*/*", null);
+
+        // Then
+        assertThat(response.contentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.contentEncoding()).isNull();
+        assertThat(response.body()).isEqualTo(objectMapper.writeValueAsBytes(snapshot.source()));
+        assertThat(response.eTag()).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void get_shouldServeGzipAndCborVariantsWithTheirOwnETags() throws IOException {
+        // Given
+        ReferenceData snapshot = snapshot("BCP001");
+        when(referenceDataService.snapshot()).thenReturn(snapshot);
+        EncodedResponse json = cache.get(null, null);
+
+        // When
+        EncodedResponse gzip = cache.get(null, "gzip, deflate, br");
+        EncodedResponse cbor = cache.get("application/cbor", null);
+
+        // Then
+        assertThat(gzip.contentEncoding()).isEqualTo("gzip");
+        assertThat(gunzip(gzip.body())).isEqualTo(json.body());
+        assertThat(cbor.contentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(ContentNegotiationConfig.cborMapper(objectMapper).readTree(cbor.body()))
+            .isEqualTo(objectMapper.readTree(json.body()));
+        assertThat(List.of(json.eTag(), gzip.eTag(), cbor.eTag())).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void get_shouldEncodeOncePerSnapshot() {
+        // Given
+        when(referenceDataService.snapshot()).thenReturn(snapshot("BCP001"));
+
+        // When
+        EncodedResponse first = cache.get(null, "gzip");
+        EncodedResponse second = cache.get(null, "gzip");
+
+        // Then
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void get_shouldKeepBodiesWhenReloadedContentIsUnchanged() {
+        // Given
+        when(referenceDataService.snapshot())
+            .thenReturn(snapshot("BCP001"), snapshot("BCP001"), snapshot("BCP002"));
+
+        // When
+        EncodedResponse first = cache.get(null, null);
+        EncodedResponse reloaded = cache.get(null, null);
+        EncodedResponse changed = cache.get(null, null);
+
+        // Then
+        assertThat(reloaded).isSameAs(first);
+        assertThat(changed.eTag()).isNotEqualTo(first.eTag());
+    }
+
+    @Test
+    void get_shouldServeJsonWhenCborIsDisabled() {
+        // Given
+        cache = new MdmResponseCache(referenceDataService, objectMapper, false);
+        when(referenceDataService.snapshot()).thenReturn(snapshot("BCP001"));
+
+        // When
+        EncodedResponse response = cache.get("application/cbor", null);
+
+        // Then
+        assertThat(response.contentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void prefersCbor_shouldOnlyChooseCborWhenRankedAboveJson() {
+        assertThat(MdmResponseCache.prefersCbor("application/cbor")).isTrue();
+        assertThat(MdmResponseCache.prefersCbor("application/cbor, */*;q=0.1")).isTrue();
+        assertThat(MdmResponseCache.prefersCbor("application/json, application/cbor")).isFalse();
+        assertThat(MdmResponseCache.prefersCbor("application/cbor;q=0.5, application/json"))
+            .isFalse();
+        assertThat(MdmResponseCache.prefersCbor("*/*")).isFalse();
+        assertThat(MdmResponseCache.prefersCbor("not a media type")).isFalse();
+        assertThat(MdmResponseCache.prefersCbor(null)).isFalse();
+    }
+
+    @Test
+    void acceptsGzip_shouldHonourQualityZero() {
+        assertThat(MdmResponseCache.acceptsGzip("gzip")).isTrue();
+        assertThat(MdmResponseCache.acceptsGzip("br, GZIP;q=0.8")).isTrue();
+        assertThat(MdmResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(MdmResponseCache.acceptsGzip("identity")).isFalse();
+        assertThat(MdmResponseCache.acceptsGzip(null)).isFalse();
+    }
+
+    private static ReferenceData snapshot(String code) {
+        MdmResponse source = MdmResponse.builder()
+            .data(MdmData.builder()
+                .result(List.of(MdmOrganisationDto.builder().code(code).name("BCP").build()))
+                .build())
+            .timestamp(LocalDateTime.of(2025, 12, 5, 10, 15))
+            .build();
+        return new ReferenceData(Map.of(), Map.of(), source, Instant.now());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.defra.cdp.trade.demo.configuration.BulkImportConfig;
+import uk.gov.defra.cdp.trade.demo.domain.BulkImportResult;
+import uk.gov.defra.cdp.trade.demo.domain.BulkItemResult;
+import uk.gov.defra.cdp.trade.demo.domain.BulkItemResult.Outcome;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationBulkImportServiceTest {
+
+    private static final String DRAFT =
+        "{\"originCountry\":\"FR\",\"commodity\":{\"code\":\"0102\"},\"importReason\":\"internalmarket\"}";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private NotificationIdGeneratorService idGenerator;
+
+    @Mock
+    private NotificationStatsRollup statsRollup;
+
+    @Captor
+    private ArgumentCaptor<Notification> insertCaptor;
+
+    @Captor
+    private ArgumentCaptor<Query> upsertQueryCaptor;
+
+    @Captor
+    private ArgumentCaptor<Update> upsertUpdateCaptor;
+
+    private BulkImportConfig config;
+
+    private NotificationBulkImportService service;
+
+    @BeforeEach
+    void setUp() {
+        config = new BulkImportConfig();
+        service = new NotificationBulkImportService(mongoTemplate, idGenerator,
+            Validation.buildDefaultValidatorFactory().getValidator(), config, new ObjectMapper(),
+            statsRollup);
+    }
+
+    @Test
+    void shouldCreateAndUpdateFromJsonArray() throws IOException {
+        // Given
+        givenBulkWrite(success());
+        when(idGenerator.generateIds(2)).thenReturn(List.of("CDP.2025.12.05.1", "CDP.2025.12.05.2"));
+
+        // When
+        BulkImportResult result = service.importNotifications(body(
+            "[" + DRAFT + "," + DRAFT + "," + withId("CDP.2025.12.01.9") + "]"));
+
+        // Then - one ID block and one bulk write for the chunk
+        verify(idGenerator).generateIds(2);
+        verify(mongoTemplate).bulkOps(BulkMode.UNORDERED, Notification.class);
+        verify(bulkOperations, times(2)).insert(insertCaptor.capture());
+        verify(bulkOperations).upsert(upsertQueryCaptor.capture(), upsertUpdateCaptor.capture());
+
+        assertThat(insertCaptor.getAllValues())
+            .extracting(Notification::getId, Notification::getStatus)
+            .containsExactly(
+                tuple("CDP.2025.12.05.1", "DRAFT"),
+                tuple("CDP.2025.12.05.2", "DRAFT"));
+        assertThat(upsertQueryCaptor.getValue().getQueryObject())
+            .containsEntry("_id", "CDP.2025.12.01.9");
+        assertThat(upsertQueryCaptor.getValue().getQueryObject().toJson())
+            .contains("\"status\": {\"$ne\": \"SUBMITTED\"}");
+        Update upsert = upsertUpdateCaptor.getValue();
+        assertThat(upsert.getUpdateObject().get("$set", Document.class))
+            .containsEntry("status", "DRAFT")
+            .containsEntry("originCountry", "IE")
+            .containsKey("updated");
+        assertThat(upsert.getUpdateObject().get("$unset", Document.class))
+            .containsKeys("commodity", "transport");
+        assertThat(upsert.getUpdateObject().get("$setOnInsert", Document.class))
+            .containsKey("created");
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getItems())
+            .extracting(BulkItemResult::getIndex, BulkItemResult::getOutcome)
+            .containsExactly(
+                tuple(0, Outcome.CREATED),
+                tuple(1, Outcome.CREATED),
+                tuple(2, Outcome.UPDATED));
+    }
+
+    @Test
+    void shouldMoveReplacedDraftCountsInStats() throws IOException {
+        // Given
+        givenBulkWrite(success());
+        when(idGenerator.generateIds(0)).thenReturn(List.of());
+        Notification stored = new Notification();
+        stored.setId("CDP.2025.12.01.9");
+        stored.setStatus("DRAFT");
+        stored.setOriginCountry("FR");
+        stored.setCreated(LocalDateTime.parse("2025-12-01T09:00:00"));
+        when(mongoTemplate.find(any(Query.class), eq(Notification.class)))
+            .thenReturn(List.of(stored));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class),
+            eq(Notification.ARCHIVE_COLLECTION))).thenReturn(List.of());
+
+        // When
+        service.importNotifications(body(withId("CDP.2025.12.01.9")));
+
+        // Then - counted out of France and into Ireland on the day it was first created
+        verify(statsRollup).record(
+            argThat(before -> "FR".equals(before.originCountry())
+                && "2025-12-01".equals(before.day())),
+            argThat(after -> "IE".equals(after.originCountry())
+                && "2025-12-01".equals(after.day())));
+    }
+
+    @Test
+    void shouldReportUpsertOfUnknownIdAsCreated() throws IOException {
+        // Given
+        givenBulkWrite(BulkWriteResult.acknowledged(0, 0, 0, 0,
+            List.of(new BulkWriteUpsert(0, new BsonString("CDP.2025.12.01.9"))),
+            Collections.emptyList()));
+        when(idGenerator.generateIds(0)).thenReturn(List.of());
+
+        // When
+        BulkImportResult result = service.importNotifications(body(withId("CDP.2025.12.01.9")));
+
+        // Then
+        assertThat(result.getItems()).singleElement()
+            .extracting(BulkItemResult::getOutcome).isEqualTo(Outcome.CREATED);
+    }
+
+    @Test
+    void shouldStreamNdjsonAndRejectInvalidItemsWithoutStoppingTheRest() throws IOException {
+        // Given
+        givenBulkWrite(success());
+        when(idGenerator.generateIds(2)).thenReturn(List.of("CDP.2025.12.05.1", "CDP.2025.12.05.2"));
+
+        // When - the second line has the wrong type for commodity
+        BulkImportResult result = service.importNotifications(body(
+            DRAFT + "\n{\"commodity\":5}\n" + DRAFT + "\n"));
+
+        // Then
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getItems().get(1).getOutcome()).isEqualTo(Outcome.REJECTED);
+        assertThat(result.getItems().get(1).getError()).startsWith("Invalid notification");
+        assertThat(result.getItems().get(2).getId()).isEqualTo("CDP.2025.12.05.2");
+    }
+
+    @Test
+    void shouldStopAtMalformedJson() throws IOException {
+        // Given
+        givenBulkWrite(success());
+        when(idGenerator.generateIds(1)).thenReturn(List.of("CDP.2025.12.05.1"));
+
+        // When
+        BulkImportResult result = service.importNotifications(body(DRAFT + "\n{\"origin"));
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getItems().get(1).getError()).startsWith("Malformed JSON");
+    }
+
+    @Test
+    void shouldRejectDuplicateIdsWithinRequest() throws IOException {
+        // Given
+        givenBulkWrite(success());
+        when(idGenerator.generateIds(0)).thenReturn(List.of());
+
+        // When
+        BulkImportResult result = service.importNotifications(body(
+            "[" + withId("CDP.2025.12.01.9") + "," + withId("CDP.2025.12.01.9") + "]"));
+
+        // Then
+        verify(bulkOperations, times(1)).upsert(any(Query.class), any(Update.class));
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getItems().get(1).getError())
+            .isEqualTo("Duplicate id in request: CDP.2025.12.01.9");
+    }
+
+    @Test
+    void shouldReportSubmittedNotificationsAsRejected() throws IOException {
+        // Given - the upsert filter skips submitted notifications, so the insert hits the _id index
+        BulkWriteError duplicate = new BulkWriteError(11000,
+            "E11000 duplicate key error collection: notifications index: _id_", new BsonDocument(),
+            0);
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Notification.class))
+            .thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("failed",
+            new MongoBulkWriteException(success(), List.of(duplicate), null,
+                new ServerAddress(), Set.of())));
+        when(idGenerator.generateIds(0)).thenReturn(List.of());
+
+        // When
+        BulkImportResult result = service.importNotifications(body(withId("CDP.2025.12.01.9")));
+
+        // Then
+        assertThat(result.getItems()).singleElement()
+            .satisfies(item -> {
+                assertThat(item.getOutcome()).isEqualTo(Outcome.REJECTED);
+                assertThat(item.getError())
+                    .isEqualTo("Notification already submitted: CDP.2025.12.01.9");
+            });
+    }
+
+    @Test
+    void shouldRejectArchivedNotificationsWithoutWritingThem() throws IOException {
+        // Given - the upsert filter cannot see the archive, so it would create a live copy
+        givenBulkWrite(success());
+        when(idGenerator.generateIds(1)).thenReturn(List.of("CDP.2025.12.05.1"));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class),
+            eq(Notification.ARCHIVE_COLLECTION)))
+            .thenReturn(List.of(new Document("_id", "CDP.2025.08.01.9")));
+
+        // When
+        BulkImportResult result = service.importNotifications(body(
+            "[" + withId("CDP.2025.08.01.9") + "," + DRAFT + "]"));
+
+        // Then
+        assertThat(result.getItems())
+            .extracting(BulkItemResult::getOutcome, BulkItemResult::getError)
+            .containsExactly(
+                tuple(Outcome.REJECTED, "Notification already submitted: CDP.2025.08.01.9"),
+                tuple(Outcome.CREATED, null));
+        verify(bulkOperations).insert(any(Notification.class));
+        verify(bulkOperations, never()).upsert(any(Query.class), any(Update.class));
+    }
+
+    @Test
+    void shouldWriteInChunks() throws IOException {
+        // Given
+        config.setChunkSize(2);
+        givenBulkWrite(success());
+        when(idGenerator.generateIds(anyInt())).thenAnswer(invocation ->
+            IntStream.range(0, invocation.<Integer>getArgument(0))
+                .mapToObj(i -> "CDP.2025.12.05." + i)
+                .toList());
+
+        // When
+        BulkImportResult result = service.importNotifications(body(
+            String.join("\n", Collections.nCopies(5, DRAFT))));
+
+        // Then
+        verify(mongoTemplate, times(3)).bulkOps(BulkMode.UNORDERED, Notification.class);
+        verify(bulkOperations, times(3)).execute();
+        assertThat(result.getCreated()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldRejectItemsBeyondLimit() throws IOException {
+        // Given
+        config.setMaxItems(1);
+        givenBulkWrite(success());
+        when(idGenerator.generateIds(1)).thenReturn(List.of("CDP.2025.12.05.1"));
+
+        // When
+        BulkImportResult result = service.importNotifications(body(DRAFT + DRAFT));
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getItems().get(1).getError()).contains("limit of 1 items exceeded");
+    }
+
+    @Test
+    void shouldStopReadingAtLimit() throws IOException {
+        // Given - nothing after the limit is parsed, so the trailing garbage is never reached
+        config.setMaxItems(2);
+        givenBulkWrite(success());
+        when(idGenerator.generateIds(2))
+            .thenReturn(List.of("CDP.2025.12.05.1", "CDP.2025.12.05.2"));
+
+        // When
+        BulkImportResult result = service.importNotifications(body(
+            String.join("\n", Collections.nCopies(50, DRAFT)) + "\n{{{"));
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getItems()).hasSize(3);
+        assertThat(result.getItems().get(2).getError())
+            .isEqualTo("Bulk import limit of 2 items exceeded, the rest of the request was not "
+                + "read");
+    }
+
+    @Test
+    void shouldAcceptEmptyBody() throws IOException {
+        // When
+        BulkImportResult result = service.importNotifications(body(""));
+
+        // Then
+        assertThat(result.getReceived()).isZero();
+        verify(mongoTemplate, never()).bulkOps(any(BulkMode.class), eq(Notification.class));
+    }
+
+    private void givenBulkWrite(BulkWriteResult result) {
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Notification.class))
+            .thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(result);
+    }
+
+    private static BulkWriteResult success() {
+        return BulkWriteResult.acknowledged(0, 0, 0, 0, Collections.emptyList(),
+            Collections.emptyList());
+    }
+
+    private static String withId(String id) {
+        return "{\"id\":\"" + id + "\",\"chedReference\":\"\",\"originCountry\":\"IE\"}";
+    }
+
+    private static ByteArrayInputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
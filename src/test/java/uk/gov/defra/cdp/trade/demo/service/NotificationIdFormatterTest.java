@@ -0,0 +1,63 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationIdConfig;
+import uk.gov.defra.cdp.trade.demo.service.NotificationIdFormatter.DayPrefix;
+
+class NotificationIdFormatterTest {
+
+    @Test
+    void shouldFormatIdFromDayPrefixAndSequence() {
+        DayPrefix day = formatter(Instant.parse("2025-03-07T08:00:00Z"), ZoneOffset.UTC)
+            .currentDay();
+
+        assertThat(day.key()).isEqualTo("CDP.2025.03.07");
+        assertThat(day.format(0)).isEqualTo("CDP.2025.03.07.0");
+        assertThat(day.format(6)).isEqualTo("CDP.2025.03.07.6");
+        assertThat(day.format(1234567)).isEqualTo("CDP.2025.03.07.1234567");
+        assertThat(day.format(Long.MAX_VALUE)).isEqualTo("CDP.2025.03.07." + Long.MAX_VALUE);
+    }
+
+    @Test
+    void shouldRejectNegativeSequence() {
+        DayPrefix day = formatter(Instant.parse("2025-03-07T08:00:00Z"), ZoneOffset.UTC)
+            .currentDay();
+
+        assertThatThrownBy(() -> day.format(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldReuseCachedPrefixWithinTheDay() {
+        NotificationIdFormatter morning = formatter(Instant.parse("2025-03-07T00:00:00Z"),
+            ZoneOffset.UTC);
+        DayPrefix first = morning.currentDay();
+
+        assertThat(morning.currentDay()).isSameAs(first);
+        assertThat(first.covers(Instant.parse("2025-03-07T23:59:59.999Z").toEpochMilli())).isTrue();
+        assertThat(first.covers(Instant.parse("2025-03-08T00:00:00Z").toEpochMilli())).isFalse();
+    }
+
+    @Test
+    void shouldUseConfiguredZoneForDayBoundary() {
+        Instant lateEveningUtc = Instant.parse("2025-06-30T23:30:00Z");
+
+        assertThat(formatter(lateEveningUtc, ZoneOffset.UTC).currentDay().key())
+            .isEqualTo("CDP.2025.06.30");
+        assertThat(formatter(lateEveningUtc, ZoneId.of("Europe/London")).currentDay().key())
+            .isEqualTo("CDP.2025.07.01");
+    }
+
+    private static NotificationIdFormatter formatter(Instant now, ZoneId zone) {
+        NotificationIdConfig config = new NotificationIdConfig();
+        config.setZone(zone);
+        // The clock's own zone is deliberately different to show it is not used
+        return new NotificationIdFormatter(Clock.fixed(now, ZoneId.of("Asia/Tokyo")), config);
+    }
+}
@@ -3,10 +3,15 @@ package uk.gov.defra.cdp.trade.demo.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.time.LocalDate;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +23,7 @@ import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationIdConfig;
 import uk.gov.defra.cdp.trade.demo.domain.IdSequence;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,17 +43,14 @@ class NotificationIdGeneratorServiceTest {
     @Captor
     private ArgumentCaptor<FindAndModifyOptions> optionsCaptor;
 
-    private String expectedDateKey;
+    private final String expectedDateKey = "CDP.2025.12.05";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-12-05T10:15:30Z"));
 
     @BeforeEach
     void setUp() {
-        LocalDate today = LocalDate.now();
-        expectedDateKey = String.format("CDP.%04d.%02d.%02d",
-            today.getYear(),
-            today.getMonthValue(),
-            today.getDayOfMonth());
-
-        service = new NotificationIdGeneratorService(mongoTemplate);
+        service = new NotificationIdGeneratorService(new MongoDailySequenceSource(mongoTemplate),
+            new NotificationIdFormatter(clock, new NotificationIdConfig()));
     }
 
     @Test
@@ -110,4 +113,112 @@ class NotificationIdGeneratorServiceTest {
         assertThat(id2).isEqualTo(expectedDateKey + ".2");
         assertThat(id3).isEqualTo(expectedDateKey + ".3");
     }
+
+    @Test
+    void shouldReuseMongoCommandObjectsWithinTheSameDay() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+            any(FindAndModifyOptions.class), eq(IdSequence.class)))
+            .thenReturn(new IdSequence(expectedDateKey, 1L), new IdSequence(expectedDateKey, 2L));
+
+        // When
+        service.generateId();
+        clock.advanceMillis(60_000);
+        service.generateId();
+
+        // Then
+        verify(mongoTemplate, times(2)).findAndModify(
+            queryCaptor.capture(),
+            updateCaptor.capture(),
+            optionsCaptor.capture(),
+            eq(IdSequence.class)
+        );
+        assertThat(queryCaptor.getAllValues().get(1)).isSameAs(queryCaptor.getAllValues().get(0));
+        assertThat(updateCaptor.getAllValues().get(1)).isSameAs(updateCaptor.getAllValues().get(0));
+        assertThat(optionsCaptor.getAllValues().get(1))
+            .isSameAs(optionsCaptor.getAllValues().get(0));
+    }
+
+    @Test
+    void shouldSwitchSequenceDocumentWhenTheDayRollsOver() {
+        // Given
+        clock.set(Instant.parse("2025-12-05T23:59:59.999Z"));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+            any(FindAndModifyOptions.class), eq(IdSequence.class)))
+            .thenReturn(new IdSequence(expectedDateKey, 7L), new IdSequence("CDP.2025.12.06", 1L));
+
+        // When
+        String beforeMidnight = service.generateId();
+        clock.advanceMillis(1);
+        String afterMidnight = service.generateId();
+
+        // Then
+        verify(mongoTemplate, times(2)).findAndModify(
+            queryCaptor.capture(),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(IdSequence.class)
+        );
+        assertThat(queryCaptor.getAllValues().get(0).getQueryObject())
+            .containsEntry("id", expectedDateKey);
+        assertThat(queryCaptor.getAllValues().get(1).getQueryObject())
+            .containsEntry("id", "CDP.2025.12.06");
+        assertThat(beforeMidnight).isEqualTo("CDP.2025.12.05.7");
+        assertThat(afterMidnight).isEqualTo("CDP.2025.12.06.1");
+    }
+
+    @Test
+    void shouldReserveIdBlockWithSingleIncrement() {
+        // Given - the counter was at 10 before the block of 3 was taken
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+            any(FindAndModifyOptions.class), eq(IdSequence.class)))
+            .thenReturn(new IdSequence(expectedDateKey, 13L));
+
+        // When
+        List<String> ids = service.generateIds(3);
+
+        // Then
+        verify(mongoTemplate).findAndModify(
+            queryCaptor.capture(),
+            updateCaptor.capture(),
+            optionsCaptor.capture(),
+            eq(IdSequence.class)
+        );
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$inc").toString())
+            .contains("sequence=3");
+        assertThat(ids).containsExactly(
+            expectedDateKey + ".11", expectedDateKey + ".12", expectedDateKey + ".13");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceMillis(long millis) {
+            instant = instant.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
 }
@@ -0,0 +1,248 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.DeleteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexOptions;
+import org.springframework.data.mongodb.core.query.Query;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationLifecycleConfig;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationLifecycleServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-12-09T10:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOps;
+
+    private final NotificationLifecycleConfig config = new NotificationLifecycleConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationLifecycleService service;
+
+    @BeforeEach
+    void setUp() {
+        config.setBatchSize(2);
+        config.setBatchPause(Duration.ZERO);
+        service = new NotificationLifecycleService(mongoTemplate, config,
+            Clock.fixed(NOW, ZoneId.systemDefault()), meterRegistry);
+    }
+
+    @Test
+    void archive_shouldCopyThenRemoveOldestSubmittedInBatches() {
+        // Given
+        ArgumentCaptor<Query> find = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.find(find.capture(), eq(Notification.class)))
+            .thenReturn(List.of(submitted("A"), submitted("B")), List.of(submitted("C")));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class),
+            eq(Notification.ARCHIVE_COLLECTION))).thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("notifications")))
+            .thenReturn(ids("A", "B"), ids("C"));
+        when(mongoTemplate.remove(any(Query.class), eq(Notification.class)))
+            .thenReturn(DeleteResult.acknowledged(2), DeleteResult.acknowledged(1));
+
+        // When
+        int moved = service.archive();
+
+        // Then - a short second batch ends the run
+        assertThat(moved).isEqualTo(3);
+        assertThat(meterRegistry.counter(NotificationLifecycleService.ARCHIVED).count())
+            .isEqualTo(3);
+        Query query = find.getValue();
+        assertThat(query.getQueryObject().getString("status")).isEqualTo("SUBMITTED");
+        assertThat(query.getQueryObject().get("updated", Document.class).get("$lt"))
+            .isEqualTo(LocalDateTime.ofInstant(NOW, ZoneId.systemDefault()).minusDays(90));
+        assertThat(query.getSortObject()).isEqualTo(new Document("updated", 1));
+        assertThat(query.getLimit()).isEqualTo(2);
+        verify(mongoTemplate, times(2)).insert(any(Collection.class),
+            eq(Notification.ARCHIVE_COLLECTION));
+        verify(mongoTemplate, never()).remove(any(Query.class),
+            eq(Notification.ARCHIVE_COLLECTION));
+    }
+
+    @Test
+    void archiveBatch_shouldOnlyCopyWhatIsNotArchivedYet() {
+        // Given - A was copied by a run that stopped before removing it
+        when(mongoTemplate.find(any(Query.class), eq(Notification.class)))
+            .thenReturn(List.of(submitted("A"), submitted("B")));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class),
+            eq(Notification.ARCHIVE_COLLECTION))).thenReturn(ids("A"));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("notifications")))
+            .thenReturn(ids("B"));
+        ArgumentCaptor<Query> remove = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.remove(remove.capture(), eq(Notification.class)))
+            .thenReturn(DeleteResult.acknowledged(2));
+
+        // When
+        int moved = service.archiveBatch(LocalDateTime.now());
+
+        // Then
+        assertThat(moved).isEqualTo(2);
+        ArgumentCaptor<Collection<Notification>> copied = ArgumentCaptor.captor();
+        verify(mongoTemplate).insert(copied.capture(), eq(Notification.ARCHIVE_COLLECTION));
+        assertThat(copied.getValue()).extracting(Notification::getId).containsExactly("B");
+        assertThat(remove.getValue().getQueryObject().getString("status"))
+            .isEqualTo("SUBMITTED");
+    }
+
+    @Test
+    void archiveBatch_shouldDiscardCopyOfNotificationDeletedWhileCopying() {
+        // Given - B is deleted between the batch being read and copied
+        when(mongoTemplate.find(any(Query.class), eq(Notification.class)))
+            .thenReturn(List.of(submitted("A"), submitted("B")));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class),
+            eq(Notification.ARCHIVE_COLLECTION))).thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("notifications")))
+            .thenReturn(ids("A"));
+        when(mongoTemplate.remove(any(Query.class), eq(Notification.class)))
+            .thenReturn(DeleteResult.acknowledged(1));
+        ArgumentCaptor<Query> discarded = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.remove(discarded.capture(), eq(Notification.ARCHIVE_COLLECTION)))
+            .thenReturn(DeleteResult.acknowledged(1));
+
+        // When
+        int moved = service.archiveBatch(LocalDateTime.now());
+
+        // Then
+        assertThat(moved).isEqualTo(1);
+        assertThat(discarded.getValue().getQueryObject())
+            .isEqualTo(new Document("_id", new Document("$in", List.of("B"))));
+    }
+
+    @Test
+    void archive_shouldStopAtMaxBatchesAndOnFailure() {
+        // Given
+        config.setMaxBatches(1);
+        when(mongoTemplate.find(any(Query.class), eq(Notification.class)))
+            .thenReturn(List.of(submitted("A"), submitted("B")));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class),
+            eq(Notification.ARCHIVE_COLLECTION))).thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("notifications")))
+            .thenReturn(ids("A", "B"));
+        when(mongoTemplate.remove(any(Query.class), eq(Notification.class)))
+            .thenReturn(DeleteResult.acknowledged(2));
+
+        // When/Then - the batch was full, but the run is capped
+        assertThat(service.archive()).isEqualTo(2);
+
+        // Given - another instance archived the same batch first
+        config.setMaxBatches(100);
+        when(mongoTemplate.insert(any(Collection.class), eq(Notification.ARCHIVE_COLLECTION)))
+            .thenThrow(new DuplicateKeyException("E11000"));
+
+        // When/Then
+        assertThat(service.archive()).isZero();
+        verify(mongoTemplate, times(1)).remove(any(Query.class), eq(Notification.class));
+    }
+
+    @Test
+    void ensureDraftTtlIndex_shouldCreatePartialTtlIndexOnUpdated() {
+        // Given
+        when(mongoTemplate.indexOps("notifications")).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of());
+
+        // When
+        service.ensureDraftTtlIndex();
+
+        // Then
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps).createIndex(index.capture());
+        assertThat(index.getValue().getIndexKeys()).isEqualTo(new Document("updated", 1));
+        assertThat(index.getValue().getIndexOptions())
+            .containsEntry("name", "draft_ttl")
+            .containsEntry("expireAfterSeconds", Duration.ofDays(90).toSeconds())
+            .containsEntry("partialFilterExpression", new Document("status", "DRAFT"));
+    }
+
+    @Test
+    void ensureDraftTtlIndex_shouldChangeExpiryOfExistingIndex() {
+        // Given
+        config.setDraftTtl(Duration.ofDays(30));
+        when(mongoTemplate.indexOps("notifications")).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(IndexInfo.indexInfoOf(
+            new Document("name", "draft_ttl")
+                .append("key", new Document("updated", 1))
+                .append("expireAfterSeconds", Duration.ofDays(90).toSeconds()))));
+
+        // When
+        service.ensureDraftTtlIndex();
+
+        // Then
+        ArgumentCaptor<IndexOptions> options = ArgumentCaptor.forClass(IndexOptions.class);
+        verify(indexOps).alterIndex(eq("draft_ttl"), options.capture());
+        assertThat(options.getValue().getExpire()).isEqualTo(Duration.ofDays(30));
+        verify(indexOps, never()).createIndex(any());
+    }
+
+    @Test
+    void ensureDraftTtlIndex_shouldDropIndexWhenTtlIsZero() {
+        // Given
+        config.setDraftTtl(Duration.ZERO);
+        when(mongoTemplate.indexOps("notifications")).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(IndexInfo.indexInfoOf(
+            new Document("name", "draft_ttl").append("key", new Document("updated", 1)))));
+
+        // When
+        service.ensureDraftTtlIndex();
+
+        // Then
+        verify(indexOps).dropIndex("draft_ttl");
+        verify(indexOps, never()).alterIndex(anyString(), any());
+    }
+
+    @Test
+    void ensureArchiveIndex_shouldIndexCreatedForStatsRebuild() {
+        // Given
+        when(mongoTemplate.indexOps(Notification.ARCHIVE_COLLECTION)).thenReturn(indexOps);
+
+        // When
+        service.ensureArchiveIndex();
+
+        // Then
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps).createIndex(index.capture());
+        assertThat(index.getValue().getIndexKeys()).isEqualTo(new Document("created", 1));
+    }
+
+    private static List<Document> ids(String... ids) {
+        return Stream.of(ids).map(id -> new Document("_id", id)).toList();
+    }
+
+    private static Notification submitted(String id) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setStatus("SUBMITTED");
+        return notification;
+    }
+}
@@ -0,0 +1,141 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationSearchConfig;
+import uk.gov.defra.cdp.trade.demo.domain.Commodity;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchResult;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchResult.Match;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationSearchTerms;
+import uk.gov.defra.cdp.trade.demo.domain.Species;
+import uk.gov.defra.cdp.trade.demo.domain.Transport;
+import uk.gov.defra.cdp.trade.demo.domain.repository.NotificationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationSearchServiceTest {
+
+    @Mock
+    private NotificationRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NotificationSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new NotificationSearchService(repository, new NotificationSearchConfig(),
+            meterRegistry);
+    }
+
+    @Test
+    void search_shouldReturnTextMatches_whenWholeWordsMatch() {
+        // Given
+        PageRequest pageable = PageRequest.of(1, 10);
+        Notification notification = notification("n-1");
+        when(repository.searchText(List.of("bovine", "ab12cde"), pageable))
+            .thenReturn(new PageImpl<>(List.of(notification), pageable, 11));
+
+        // When
+        NotificationSearchResult result = service.search("  Bovine AB12CDE bovine ", 1, 10);
+
+        // Then
+        assertThat(result.getMatch()).isEqualTo(Match.TEXT);
+        assertThat(result.getPage()).isEqualTo(1);
+        assertThat(result.getSize()).isEqualTo(10);
+        assertThat(result.getTotal()).isEqualTo(11);
+        assertThat(result.getResults()).containsExactly(notification);
+        verify(repository, never()).searchPrefix(any(), any());
+        assertThat(meterRegistry.get(NotificationSearchService.METRIC_NAME)
+            .tag("match", "TEXT").tag("found", "true").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void search_shouldFallBackToPrefixes_whenNoWholeWordMatches() {
+        // Given
+        PageRequest pageable = PageRequest.of(0, 20);
+        Notification notification = notification("n-1");
+        when(repository.searchText(List.of("bov", "a"), pageable))
+            .thenReturn(Page.empty(pageable));
+        when(repository.searchPrefix(List.of("bov"), pageable))
+            .thenReturn(new PageImpl<>(List.of(notification), pageable, 1));
+
+        // When
+        NotificationSearchResult result = service.search("bov a", 0, null);
+
+        // Then
+        assertThat(result.getMatch()).isEqualTo(Match.PREFIX);
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(result.getResults()).containsExactly(notification);
+        assertThat(meterRegistry.get(NotificationSearchService.METRIC_NAME)
+            .tag("match", "PREFIX").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void search_shouldNotQuery_whenQueryIsBlank() {
+        // When
+        NotificationSearchResult result = service.search("   ", 0, 20);
+
+        // Then
+        assertThat(result.getMatch()).isEqualTo(Match.NONE);
+        assertThat(result.getTotal()).isZero();
+        assertThat(result.getResults()).isEmpty();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void search_shouldCapPageSize() {
+        // Given
+        PageRequest pageable = PageRequest.of(0, 100);
+        when(repository.searchText(List.of("cheda.gb.2025.1234567"), pageable))
+            .thenReturn(Page.empty(pageable));
+        when(repository.searchPrefix(List.of("cheda.gb.2025.1234567"), pageable))
+            .thenReturn(Page.empty(pageable));
+
+        // When
+        NotificationSearchResult result = service.search("CHEDA.GB.2025.1234567", -1, 5000);
+
+        // Then
+        assertThat(result.getPage()).isZero();
+        assertThat(result.getSize()).isEqualTo(100);
+    }
+
+    @Test
+    void searchTerms_shouldIncludeWholeReferencesAndWords() {
+        // Given
+        Notification notification = notification("n-1");
+
+        // When
+        List<String> terms = NotificationSearchTerms.of(notification);
+
+        // Then
+        assertThat(terms).containsExactly("1234567", "2025", "ab12", "ab12cde", "animals", "bos",
+            "bovine", "cde", "cheda", "cheda.gb.2025.1234567", "gb", "live", "taurus");
+        assertThat(NotificationSearchTerms.of(new Notification())).isNull();
+    }
+
+    private static Notification notification(String id) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setChedReference("CHEDA.GB.2025.1234567");
+        notification.setCommodity(new Commodity("0102", "Live bovine animals", "Cattle",
+            List.of(new Species("Bos taurus", "BOV", 5, 1))));
+        notification.setTransport(new Transport("BCP001", "ROAD", "AB12 CDE"));
+        return notification;
+    }
+}
@@ -0,0 +1,101 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.bulk.BulkWriteResult;
+import java.time.Duration;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationSearchConfig;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationSearchTermsBackfillTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulk;
+
+    private final NotificationSearchConfig config = new NotificationSearchConfig();
+    private NotificationSearchTermsBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        config.setBackfillBatchSize(2);
+        config.setBackfillBatchPause(Duration.ZERO);
+        backfill = new NotificationSearchTermsBackfill(mongoTemplate, config);
+    }
+
+    @Test
+    void backfill_shouldSetTermsOnlyWhereStillMissingInIdOrder() {
+        // Given - B has nothing to search on
+        ArgumentCaptor<Query> find = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.find(find.capture(), eq(Notification.class)))
+            .thenReturn(List.of(notification("A", "CHEDA.GB.2025.1"), notification("B", null)),
+                List.of(notification("C", "CHEDP.GB.2025.2")));
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Notification.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(
+            BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()),
+            BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        // When
+        int filled = backfill.backfill();
+
+        // Then - the short second batch ends the run
+        assertThat(filled).isEqualTo(3);
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(3)).updateOne(filter.capture(), update.capture());
+        assertThat(filter.getAllValues().getFirst().getQueryObject()).isEqualTo(
+            new Document("_id", "A").append("searchTerms", new Document("$exists", false)));
+        assertThat(update.getAllValues().get(0).getUpdateObject().get("$set", Document.class)
+            .getList("searchTerms", String.class))
+            .containsExactly("1", "2025", "cheda", "cheda.gb.2025.1", "gb");
+        assertThat(update.getAllValues().get(1).getUpdateObject().get("$set", Document.class)
+            .getList("searchTerms", String.class)).isEmpty();
+
+        List<Query> batches = find.getAllValues();
+        assertThat(batches.get(0).getQueryObject())
+            .isEqualTo(new Document("searchTerms", new Document("$exists", false)));
+        assertThat(batches.get(0).getSortObject()).isEqualTo(new Document("_id", 1));
+        assertThat(batches.get(0).getLimit()).isEqualTo(2);
+        assertThat(batches.get(1).getQueryObject().get("_id", Document.class))
+            .containsEntry("$gt", "B");
+    }
+
+    @Test
+    void backfill_shouldStopOnFailure() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Notification.class)))
+            .thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        // When/Then
+        assertThat(backfill.backfill()).isZero();
+    }
+
+    private static Notification notification(String id, String chedReference) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setChedReference(chedReference);
+        return notification;
+    }
+}
@@ -58,6 +58,9 @@ class NotificationServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private NotificationStatsRollup statsRollup;
+
     @Captor
     private ArgumentCaptor<Notification> notificationCaptor;
 
@@ -66,7 +69,7 @@ class NotificationServiceTest {
     @BeforeEach
     void setUp() {
         service = new NotificationService(repository, idGeneratorService, ipaffsNotificationMapper,
-            ipaffsNotificationClient, objectMapper);
+            ipaffsNotificationClient, objectMapper, statsRollup);
     }
 
     @Test
@@ -108,7 +111,7 @@ class NotificationServiceTest {
     void findById_shouldReturnNotification_whenExists() {
         // Given
         Notification notification = createTestNotification("test-id-123");
-        when(repository.findById("test-id-123")).thenReturn(Optional.of(notification));
+        when(repository.findByIdAfterWrites("test-id-123")).thenReturn(Optional.of(notification));
 
         // When
         Notification result = service.findById("test-id-123");
@@ -120,13 +123,13 @@ class NotificationServiceTest {
             () -> assertThat(result.getChedReference()).isEqualTo("CHED-test-id-123")
         );
 
-        verify(repository).findById("test-id-123");
+        verify(repository).findByIdAfterWrites("test-id-123");
     }
 
     @Test
     void findById_shouldThrowNotFoundException_whenNotExists() {
         // Given
-        when(repository.findById("non-existent-id")).thenReturn(Optional.empty());
+        when(repository.findByIdAfterWrites("non-existent-id")).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> service.findById("non-existent-id"))
@@ -134,34 +137,50 @@ class NotificationServiceTest {
             .hasMessageContaining("non-existent-id")
             .hasMessageContaining("not found");
 
-        verify(repository).findById("non-existent-id");
+        verify(repository).findByIdAfterWrites("non-existent-id");
     }
 
     @Test
     void delete_shouldDeleteNotificationSuccessfully() {
         // Given
         Notification notification = createTestNotification("test-id-123");
-        when(repository.findById("test-id-123")).thenReturn(Optional.of(notification));
+        when(repository.findByIdAfterWrites("test-id-123")).thenReturn(Optional.of(notification));
+
+        // When
+        service.delete("test-id-123");
+
+        // Then
+        verify(repository).findByIdAfterWrites("test-id-123");
+        verify(repository).deleteById("test-id-123");
+        verify(repository, never()).deleteArchivedById(anyString());
+    }
+
+    @Test
+    void delete_shouldAlsoDeleteArchivedCopy_whenSubmitted() {
+        // Given
+        Notification notification = createTestNotification("test-id-123");
+        notification.setStatus("SUBMITTED");
+        when(repository.findByIdAfterWrites("test-id-123")).thenReturn(Optional.of(notification));
 
         // When
         service.delete("test-id-123");
 
         // Then
-        verify(repository).findById("test-id-123");
         verify(repository).deleteById("test-id-123");
+        verify(repository).deleteArchivedById("test-id-123");
     }
 
     @Test
     void delete_shouldThrowNotFoundException_whenNotificationDoesNotExist() {
         // Given
-        when(repository.findById("non-existent-id")).thenReturn(Optional.empty());
+        when(repository.findByIdAfterWrites("non-existent-id")).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> service.delete("non-existent-id"))
             .isInstanceOf(NotFoundException.class)
             .hasMessageContaining("non-existent-id");
 
-        verify(repository).findById("non-existent-id");
+        verify(repository).findByIdAfterWrites("non-existent-id");
         verify(repository, never()).deleteById(anyString());
     }
 
@@ -224,6 +243,9 @@ class NotificationServiceTest {
             () -> assertThat(captured.getUpdated()).isNotNull(),
             () -> assertThat(captured.getUpdated()).isAfter(captured.getCreated())
         );
+        verify(statsRollup).record(
+            argThat(before -> "United Kingdom".equals(before.originCountry())),
+            argThat(after -> "France".equals(after.originCountry())));
     }
 
     @Test
@@ -267,6 +289,23 @@ class NotificationServiceTest {
         verify(repository, never()).save(any(Notification.class));
     }
 
+    @Test
+    void saveOrUpdate_shouldRejectUpdate_whenNotificationArchived() {
+        // Given
+        NotificationDto dto = createTestNotificationDto("archived-id");
+        Notification archived = createTestNotification("archived-id");
+        archived.setStatus("SUBMITTED");
+        when(repository.findById("archived-id")).thenReturn(Optional.empty());
+        when(repository.findArchivedById("archived-id")).thenReturn(Optional.of(archived));
+
+        // When/Then
+        assertThatThrownBy(() -> service.saveOrUpdate(dto))
+            .isInstanceOf(NotificationSubmissionException.class)
+            .hasMessageContaining("already submitted");
+
+        verify(repository, never()).save(any(Notification.class));
+    }
+
     // Helper methods
     private Notification createTestNotification(String id) {
         Notification notification = new Notification();
@@ -333,7 +372,7 @@ class NotificationServiceTest {
         existingNotification.setStatus("SUBMITTED");
         existingNotification.setChedReference("CHEDA.2025.12090100");
 
-        when(repository.findById(notificationId)).thenReturn(Optional.of(existingNotification));
+        when(repository.findByIdAfterWrites(notificationId)).thenReturn(Optional.of(existingNotification));
 
         // When/Then
         assertThatThrownBy(() -> service.submitNotification(notificationId))
@@ -350,7 +389,7 @@ class NotificationServiceTest {
         // Given
         String notificationId = "CDP.2025.12.09.999";
 
-        when(repository.findById(notificationId)).thenReturn(Optional.empty());
+        when(repository.findByIdAfterWrites(notificationId)).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> service.submitNotification(notificationId))
@@ -372,7 +411,7 @@ class NotificationServiceTest {
 
         IpaffsNotification ipaffsNotification = new IpaffsNotification();
 
-        when(repository.findById(notificationId)).thenReturn(Optional.of(existingNotification));
+        when(repository.findByIdAfterWrites(notificationId)).thenReturn(Optional.of(existingNotification));
         when(ipaffsNotificationMapper.mapToIpaffsNotification(existingNotification))
             .thenReturn(ipaffsNotification);
         when(ipaffsNotificationClient.submitNotification(ipaffsNotification, notificationId))
@@ -395,7 +434,7 @@ class NotificationServiceTest {
         Notification existingNotification = createTestNotification(notificationId);
         existingNotification.setStatus("DRAFT");
 
-        when(repository.findById(notificationId)).thenReturn(Optional.of(existingNotification));
+        when(repository.findByIdAfterWrites(notificationId)).thenReturn(Optional.of(existingNotification));
         IpaffsNotification ipaffsNotification = new IpaffsNotification();
         when(ipaffsNotificationMapper.mapToIpaffsNotification(existingNotification))
             .thenReturn(ipaffsNotification);
@@ -427,7 +466,7 @@ class NotificationServiceTest {
         Notification existingNotification = createTestNotification(notificationId);
         existingNotification.setStatus("DRAFT");
 
-        when(repository.findById(notificationId)).thenReturn(Optional.of(existingNotification));
+        when(repository.findByIdAfterWrites(notificationId)).thenReturn(Optional.of(existingNotification));
         IpaffsNotification ipaffsNotification = new IpaffsNotification();
         when(ipaffsNotificationMapper.mapToIpaffsNotification(existingNotification))
             .thenReturn(ipaffsNotification);
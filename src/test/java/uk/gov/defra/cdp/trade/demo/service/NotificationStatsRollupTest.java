@@ -0,0 +1,245 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.mongodb.client.result.UpdateResult;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationStatsConfig;
+import uk.gov.defra.cdp.trade.demo.domain.Commodity;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDailyStats;
+import uk.gov.defra.cdp.trade.demo.domain.Species;
+import uk.gov.defra.cdp.trade.demo.domain.SpeciesTotals;
+import uk.gov.defra.cdp.trade.demo.domain.Transport;
+import uk.gov.defra.cdp.trade.demo.service.NotificationStatsRollup.Contribution;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationStatsRollupTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private NotificationStatsRollup rollup;
+
+    @BeforeEach
+    void setUp() {
+        rollup = new NotificationStatsRollup(mongoTemplate, new NotificationStatsConfig(),
+            Clock.fixed(Instant.parse("2025-12-09T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void record_shouldIncrementEveryCountForNewNotification() {
+        // When
+        rollup.record(null, Contribution.of(notification("DRAFT", "Sus scrofa dom.")));
+
+        // Then
+        Document inc = capturedUpdate("2025-12-09").get("$inc", Document.class);
+        assertThat(inc).containsExactlyInAnyOrderEntriesOf(Map.of(
+            "total", 1L,
+            "status.DRAFT", 1L,
+            "originCountry.France", 1L,
+            "bcp.GBDOV1", 1L,
+            "species.Sus scrofa dom．.notifications", 1L,
+            "species.Sus scrofa dom．.animals", 10L,
+            "species.Sus scrofa dom．.packages", 2L,
+            "version", 1L));
+    }
+
+    @Test
+    void record_shouldMoveStatusOnSubmit() {
+        // When
+        rollup.record(Contribution.of(notification("DRAFT", "Cattle")),
+            Contribution.of(notification("SUBMITTED", "Cattle")));
+
+        // Then
+        Document inc = capturedUpdate("2025-12-09").get("$inc", Document.class);
+        assertThat(inc).containsExactlyInAnyOrderEntriesOf(Map.of(
+            "status.DRAFT", -1L,
+            "status.SUBMITTED", 1L,
+            "version", 1L));
+    }
+
+    @Test
+    void record_shouldNotWrite_whenNothingCountedChanged() {
+        // When
+        rollup.record(Contribution.of(notification("DRAFT", "Cattle")),
+            Contribution.of(notification("DRAFT", "Cattle")));
+
+        // Then
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void rebuild_shouldReplaceDaysFromAggregatedFacets() {
+        // Given - 2025-12-09 predates versioned rollups
+        when(mongoTemplate.find(any(Query.class), eq(Document.class),
+            eq("notification_daily_stats"))).thenReturn(List.of(
+                new Document("_id", "2025-12-08").append("version", 5L),
+                new Document("_id", "2025-12-09")));
+        ArgumentCaptor<Query> replaced = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<NotificationDailyStats> saved =
+            ArgumentCaptor.forClass(NotificationDailyStats.class);
+        when(mongoTemplate.replace(replaced.capture(), saved.capture()))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        Document facets = new Document()
+            .append("total", List.of(new Document("_id", "2025-12-08").append("n", 3)))
+            .append("status", List.of(
+                group("2025-12-08", "status", "DRAFT", 2),
+                group("2025-12-08", "status", null, 1)))
+            .append("originCountry", List.of(group("2025-12-08", "originCountry", "France", 3)))
+            .append("bcp", List.of(group("2025-12-08", "bcp", null, 3)))
+            .append("species", List.of(
+                new Document("_id", new Document("day", "2025-12-08").append("name", "Cattle"))
+                    .append("notifications", 2).append("animals", 15).append("packages", 4)));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("notifications"),
+            eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+
+        // When
+        int days = rollup.rebuild(LocalDate.parse("2025-12-08"), LocalDate.parse("2025-12-09"));
+
+        // Then - replaced only if still at the version read before aggregating
+        assertThat(days).isEqualTo(1);
+        assertThat(replaced.getValue().getQueryObject())
+            .isEqualTo(new Document("_id", "2025-12-08").append("version", 5L));
+        NotificationDailyStats stats = saved.getValue();
+        assertThat(stats.getVersion()).isEqualTo(6);
+        assertThat(stats.getDay()).isEqualTo("2025-12-08");
+        assertThat(stats.getTotal()).isEqualTo(3);
+        assertThat(stats.getStatus()).isEqualTo(Map.of("DRAFT", 2L, "UNKNOWN", 1L));
+        assertThat(stats.getOriginCountry()).isEqualTo(Map.of("France", 3L));
+        assertThat(stats.getBcp()).isEqualTo(Map.of("UNKNOWN", 3L));
+        assertThat(stats.getSpecies()).isEqualTo(Map.of("Cattle", new SpeciesTotals(2, 15, 4)));
+
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removed.capture(), eq(NotificationDailyStats.class));
+        assertThat(removed.getValue().getQueryObject())
+            .isEqualTo(new Document("_id", "2025-12-09").append("version", null));
+    }
+
+    @Test
+    void reconcile_shouldRecomputeOlderDaysUpdatedSinceLastRun() {
+        // Given - an edit to a draft created weeks ago
+        Notification old = notification("DRAFT", "Cattle");
+        old.setCreated(LocalDateTime.parse("2025-11-01T09:00:00"));
+        rollup.record(Contribution.of(old), null);
+        when(mongoTemplate.exists(any(Query.class), eq(NotificationDailyStats.class)))
+            .thenReturn(true);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class),
+            eq("notification_daily_stats"))).thenReturn(List.of());
+        ArgumentCaptor<Aggregation> aggregations = ArgumentCaptor.forClass(Aggregation.class);
+        when(mongoTemplate.aggregate(aggregations.capture(), eq("notifications"),
+            eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(new Document()), new Document()));
+
+        // When
+        rollup.reconcile();
+        rollup.reconcile();
+
+        // Then - the recent days both times, the old day once
+        assertThat(aggregations.getAllValues()).hasSize(3);
+        assertThat(createdFrom(aggregations.getAllValues().get(0)))
+            .isEqualTo(LocalDateTime.parse("2025-12-08T00:00:00"));
+        assertThat(createdFrom(aggregations.getAllValues().get(1)))
+            .isEqualTo(LocalDateTime.parse("2025-11-01T00:00:00"));
+        assertThat(createdFrom(aggregations.getAllValues().get(2)))
+            .isEqualTo(LocalDateTime.parse("2025-12-08T00:00:00"));
+    }
+
+    @Test
+    void rebuild_shouldLeaveDayWrittenMeanwhileForNextReconcile() {
+        // Given - an increment lands between reading the version and replacing the day
+        when(mongoTemplate.find(any(Query.class), eq(Document.class),
+            eq("notification_daily_stats")))
+            .thenReturn(List.of(new Document("_id", "2025-11-01").append("version", 5L)),
+                List.of());
+        when(mongoTemplate.replace(any(Query.class), any(NotificationDailyStats.class)))
+            .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        ArgumentCaptor<Aggregation> aggregations = ArgumentCaptor.forClass(Aggregation.class);
+        when(mongoTemplate.aggregate(aggregations.capture(), eq("notifications"),
+            eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(new Document("total",
+                List.of(new Document("_id", "2025-11-01").append("n", 3)))), new Document()));
+        when(mongoTemplate.exists(any(Query.class), eq(NotificationDailyStats.class)))
+            .thenReturn(true);
+
+        // When
+        rollup.rebuild(LocalDate.parse("2025-11-01"), LocalDate.parse("2025-11-01"));
+        rollup.reconcile();
+
+        // Then
+        assertThat(aggregations.getAllValues()).hasSize(3);
+        assertThat(createdFrom(aggregations.getAllValues().get(2)))
+            .isEqualTo(LocalDateTime.parse("2025-11-01T00:00:00"));
+    }
+
+    @Test
+    void aggregation_shouldMatchLiveAndArchivedOnCreatedThenFacetByDay() {
+        // When
+        List<Document> pipeline = NotificationStatsRollup.aggregation(where("created").ne(null))
+            .toPipeline(Aggregation.DEFAULT_CONTEXT);
+
+        // Then - each $match comes first so it can use its collection's created index
+        assertThat(pipeline).hasSize(4);
+        assertThat(pipeline.get(0)).containsKey("$match");
+        Document unionWith = pipeline.get(1).get("$unionWith", Document.class);
+        assertThat(unionWith.getString("coll")).isEqualTo(Notification.ARCHIVE_COLLECTION);
+        assertThat(unionWith.getList("pipeline", Document.class))
+            .containsExactly(pipeline.get(0));
+        assertThat(pipeline.get(3).get("$facet", Document.class).keySet())
+            .containsExactly("total", "status", "originCountry", "bcp", "species");
+    }
+
+    private static Object createdFrom(Aggregation aggregation) {
+        return aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT).getFirst()
+            .get("$match", Document.class).get("created", Document.class).get("$gte");
+    }
+
+    private Document capturedUpdate(String day) {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(),
+            eq(NotificationDailyStats.class));
+        assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("_id", day));
+        return update.getValue().getUpdateObject();
+    }
+
+    private static Document group(String day, String field, String value, int n) {
+        return new Document("_id", new Document("day", day).append(field, value)).append("n", n);
+    }
+
+    private static Notification notification(String status, String species) {
+        Notification notification = new Notification();
+        notification.setStatus(status);
+        notification.setOriginCountry("France");
+        notification.setTransport(new Transport("GBDOV1", "road", "AB12 CDE"));
+        notification.setCommodity(new Commodity("0103", "Live swine", null,
+            List.of(new Species(species, null, 10, 2))));
+        notification.setCreated(LocalDateTime.parse("2025-12-09T08:30:00"));
+        return notification;
+    }
+}
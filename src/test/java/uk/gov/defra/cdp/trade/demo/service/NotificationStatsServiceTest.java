@@ -0,0 +1,106 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationStatsConfig;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDailyStats;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationStats;
+import uk.gov.defra.cdp.trade.demo.domain.SpeciesTotals;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationStatsServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private NotificationStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new NotificationStatsService(mongoTemplate, new NotificationStatsConfig(),
+            Clock.fixed(Instant.parse("2025-12-09T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void stats_shouldSumDailyRollups() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(NotificationDailyStats.class)))
+            .thenReturn(List.of(
+                new NotificationDailyStats("2025-12-08", 3, Map.of("DRAFT", 2L, "SUBMITTED", 1L),
+                    Map.of("France", 3L), Map.of("GBDOV1", 3L),
+                    Map.of("Sus scrofa dom．", new SpeciesTotals(3, 30, 6)), 4),
+                new NotificationDailyStats("2025-12-09", 1, Map.of("DRAFT", 1L, "SUBMITTED", 0L),
+                    Map.of("Ireland", 1L), Map.of("GBDOV1", 1L),
+                    Map.of("Cattle", new SpeciesTotals(1, 5, 1)), 2)));
+
+        // When
+        NotificationStats stats = service.stats(LocalDate.parse("2025-12-08"),
+            LocalDate.parse("2025-12-09"));
+
+        // Then
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(stats.getByDay()).isEqualTo(Map.of("2025-12-08", 3L, "2025-12-09", 1L));
+        assertThat(stats.getByStatus()).isEqualTo(Map.of("DRAFT", 3L, "SUBMITTED", 1L));
+        assertThat(stats.getByOriginCountry()).isEqualTo(Map.of("France", 3L, "Ireland", 1L));
+        assertThat(stats.getByBcp()).isEqualTo(Map.of("GBDOV1", 4L));
+        assertThat(stats.getBySpecies()).isEqualTo(Map.of(
+            "Sus scrofa dom.", new SpeciesTotals(3, 30, 6),
+            "Cattle", new SpeciesTotals(1, 5, 1)));
+    }
+
+    @Test
+    void stats_shouldDefaultToLastThirtyDaysAndCacheTheRange() {
+        // Given
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.find(query.capture(), eq(NotificationDailyStats.class)))
+            .thenReturn(List.of());
+
+        // When
+        NotificationStats first = service.stats(null, null);
+        NotificationStats second = service.stats(LocalDate.parse("2025-11-10"), null);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.getFrom()).isEqualTo(LocalDate.parse("2025-11-10"));
+        assertThat(first.getTo()).isEqualTo(LocalDate.parse("2025-12-09"));
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(NotificationDailyStats.class));
+        assertThat(query.getValue().getQueryObject().get("_id", Document.class))
+            .containsEntry("$gte", "2025-11-10")
+            .containsEntry("$lte", "2025-12-09");
+    }
+
+    @Test
+    void stats_shouldSwapReversedRangeAndCapItsLength() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(NotificationDailyStats.class)))
+            .thenReturn(List.of());
+
+        // When
+        NotificationStats stats = service.stats(LocalDate.parse("2025-12-09"),
+            LocalDate.parse("2020-01-01"));
+
+        // Then
+        assertThat(stats.getTo()).isEqualTo(LocalDate.parse("2025-12-09"));
+        assertThat(stats.getFrom()).isEqualTo(LocalDate.parse("2024-12-09"));
+    }
+}
@@ -0,0 +1,173 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import uk.gov.defra.cdp.trade.demo.configuration.NotificationViewConfig;
+import uk.gov.defra.cdp.trade.demo.domain.BcpDto;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationView;
+import uk.gov.defra.cdp.trade.demo.domain.PoeDto;
+import uk.gov.defra.cdp.trade.demo.domain.ReferenceData;
+import uk.gov.defra.cdp.trade.demo.domain.Transport;
+import uk.gov.defra.cdp.trade.demo.exceptions.DependencyTimeoutException;
+import uk.gov.defra.cdp.trade.demo.exceptions.NotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationViewServiceTest {
+
+    private static final ReferenceData REFERENCE_DATA = new ReferenceData(
+        Map.of("BCP001", new BcpDto("BCP001", "Dover")),
+        Map.of("BCP001", List.of(new PoeDto("POE001", "Dover Eastern Docks"))),
+        null,
+        Instant.parse("2025-12-05T10:15:30Z"));
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private ReferenceDataService referenceDataService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private NotificationViewService service;
+
+    @BeforeEach
+    void setUp() {
+        NotificationViewConfig config = new NotificationViewConfig();
+        config.setNotificationTimeout(Duration.ofMillis(500));
+        config.setReferenceDataTimeout(Duration.ofMillis(200));
+        service = new NotificationViewService(notificationService, referenceDataService, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+        MDC.clear();
+    }
+
+    @Test
+    void view_shouldResolveBcpAndPointsOfEntry() {
+        // Given
+        when(notificationService.findById("CDP.2025.12.05.1")).thenReturn(notification("BCP001"));
+        when(referenceDataService.snapshot()).thenReturn(REFERENCE_DATA);
+
+        // When
+        NotificationView view = service.view("CDP.2025.12.05.1");
+
+        // Then
+        assertThat(view.isReferenceDataAvailable()).isTrue();
+        assertThat(view.getNotification().getId()).isEqualTo("CDP.2025.12.05.1");
+        assertThat(view.getBorderControlPost().getName()).isEqualTo("Dover");
+        assertThat(view.getPointsOfEntry()).extracting(PoeDto::getName)
+            .containsExactly("Dover Eastern Docks");
+    }
+
+    @Test
+    void view_shouldFetchBranchesConcurrentlyWithCallersMdc() {
+        // Given - each branch waits for the other to start
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicReference<String> traceId = new AtomicReference<>();
+        when(notificationService.findById("CDP.2025.12.05.1")).thenAnswer(invocation -> {
+            traceId.set(MDC.get("trace.id"));
+            started.countDown();
+            started.await();
+            return notification("BCP001");
+        });
+        when(referenceDataService.snapshot()).thenAnswer(invocation -> {
+            started.countDown();
+            started.await();
+            return REFERENCE_DATA;
+        });
+        MDC.put("trace.id", "trace-123");
+
+        // When
+        NotificationView view = service.view("CDP.2025.12.05.1");
+
+        // Then
+        assertThat(view.isReferenceDataAvailable()).isTrue();
+        assertThat(traceId.get()).isEqualTo("trace-123");
+    }
+
+    @Test
+    void view_shouldOmitReferenceDataWhenItMissesItsDeadline() {
+        // Given
+        when(notificationService.findById("CDP.2025.12.05.1")).thenReturn(notification("BCP001"));
+        when(referenceDataService.snapshot()).thenAnswer(invocation -> {
+            release.await();
+            return REFERENCE_DATA;
+        });
+
+        // When
+        NotificationView view = service.view("CDP.2025.12.05.1");
+
+        // Then
+        assertThat(view.isReferenceDataAvailable()).isFalse();
+        assertThat(view.getNotification()).isNotNull();
+        assertThat(view.getBorderControlPost()).isNull();
+        assertThat(view.getPointsOfEntry()).isEmpty();
+    }
+
+    @Test
+    void view_shouldOmitReferenceDataWhenItFails() {
+        // Given
+        when(notificationService.findById("CDP.2025.12.05.1")).thenReturn(notification("BCP001"));
+        when(referenceDataService.snapshot()).thenThrow(new RuntimeException("MDM unavailable"));
+
+        // When
+        NotificationView view = service.view("CDP.2025.12.05.1");
+
+        // Then
+        assertThat(view.isReferenceDataAvailable()).isFalse();
+    }
+
+    @Test
+    void view_shouldFailWhenNotificationMissesItsDeadline() {
+        // Given
+        when(notificationService.findById("CDP.2025.12.05.1")).thenAnswer(invocation -> {
+            release.await();
+            return notification("BCP001");
+        });
+        lenient().when(referenceDataService.snapshot()).thenReturn(REFERENCE_DATA);
+
+        // When/Then
+        assertThatThrownBy(() -> service.view("CDP.2025.12.05.1"))
+            .isInstanceOf(DependencyTimeoutException.class);
+    }
+
+    @Test
+    void view_shouldPropagateNotFound() {
+        // Given
+        when(notificationService.findById("missing"))
+            .thenThrow(new NotFoundException("Notification not found with id: missing"));
+        lenient().when(referenceDataService.snapshot()).thenReturn(REFERENCE_DATA);
+
+        // When/Then
+        assertThatThrownBy(() -> service.view("missing"))
+            .isInstanceOf(NotFoundException.class)
+            .hasMessageContaining("missing");
+    }
+
+    private static Notification notification(String bcpCode) {
+        Notification notification = new Notification();
+        notification.setId("CDP.2025.12.05.1");
+        notification.setTransport(new Transport(bcpCode, "road", "ABC123"));
+        return notification;
+    }
+}
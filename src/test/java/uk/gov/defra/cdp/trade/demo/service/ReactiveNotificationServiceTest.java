@@ -0,0 +1,126 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.defra.cdp.trade.demo.client.ReactiveIpaffsNotificationClient;
+import uk.gov.defra.cdp.trade.demo.domain.Notification;
+import uk.gov.defra.cdp.trade.demo.domain.NotificationDto;
+import uk.gov.defra.cdp.trade.demo.domain.ipaffs.IpaffsNotification;
+import uk.gov.defra.cdp.trade.demo.exceptions.NotificationSubmissionException;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveNotificationServiceTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private ReactiveIpaffsNotificationClient ipaffsNotificationClient;
+
+    private ReactiveNotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveNotificationService(notificationService, ipaffsNotificationClient,
+            Schedulers.single());
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void findById_shouldRunOnSchedulerWithCallersMdc() {
+        // Given
+        Notification notification = notification("CDP.2025.12.05.1");
+        AtomicReference<String> traceId = new AtomicReference<>();
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(notificationService.findById("CDP.2025.12.05.1")).thenAnswer(invocation -> {
+            traceId.set(MDC.get("trace.id"));
+            thread.set(Thread.currentThread().getName());
+            return notification;
+        });
+        MDC.put("trace.id", "trace-123");
+
+        // When
+        Notification result = service.findById("CDP.2025.12.05.1").block();
+
+        // Then
+        assertThat(result).isSameAs(notification);
+        assertThat(traceId.get()).isEqualTo("trace-123");
+        assertThat(thread.get()).isNotEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void submit_shouldSendToIpaffsAndMarkSubmitted() throws Exception {
+        // Given
+        NotificationDto dto = new NotificationDto();
+        Notification notification = notification("CDP.2025.12.05.1");
+        IpaffsNotification ipaffsNotification = new IpaffsNotification();
+        Notification submitted = notification("CDP.2025.12.05.1");
+        AtomicReference<String> propagatedTraceId = new AtomicReference<>();
+        when(notificationService.saveOrUpdate(dto)).thenReturn(notification);
+        when(notificationService.loadForSubmission("CDP.2025.12.05.1")).thenReturn(notification);
+        when(notificationService.mapForSubmission(notification)).thenReturn(ipaffsNotification);
+        when(ipaffsNotificationClient.submitNotification(ipaffsNotification, "CDP.2025.12.05.1"))
+            .thenReturn(Mono.deferContextual(context -> {
+                propagatedTraceId.set(context.getOrDefault(
+                    ReactiveIpaffsNotificationClient.TRACE_ID_CONTEXT_KEY, null));
+                return Mono.just(new ResponseEntity<>("CHEDA.2025.12050100", HttpStatus.CREATED));
+            }));
+        when(notificationService.markSubmitted(notification, "CHEDA.2025.12050100"))
+            .thenReturn(submitted);
+        MDC.put("trace.id", "trace-123");
+
+        // When
+        Notification result = service.submit(dto).block();
+
+        // Then
+        assertThat(result).isSameAs(submitted);
+        assertThat(propagatedTraceId.get()).isEqualTo("trace-123");
+    }
+
+    @Test
+    void submit_shouldWrapIpaffsFailures() throws Exception {
+        // Given
+        NotificationDto dto = new NotificationDto();
+        Notification notification = notification("CDP.2025.12.05.1");
+        when(notificationService.saveOrUpdate(dto)).thenReturn(notification);
+        when(notificationService.loadForSubmission("CDP.2025.12.05.1")).thenReturn(notification);
+        when(notificationService.mapForSubmission(notification))
+            .thenReturn(new IpaffsNotification());
+        when(ipaffsNotificationClient.submitNotification(any(), any()))
+            .thenReturn(Mono.just(new ResponseEntity<>("down", HttpStatus.SERVICE_UNAVAILABLE)));
+
+        // When/Then
+        assertThatThrownBy(() -> service.submit(dto).block())
+            .isInstanceOf(NotificationSubmissionException.class)
+            .hasMessageContaining("503");
+        verify(notificationService, never()).markSubmitted(any(), any());
+    }
+
+    private static Notification notification(String id) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setStatus("DRAFT");
+        return notification;
+    }
+}
@@ -0,0 +1,145 @@
+package uk.gov.defra.cdp.trade.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.defra.cdp.trade.demo.configuration.ReferenceDataConfig;
+import uk.gov.defra.cdp.trade.demo.domain.BcpDto;
+import uk.gov.defra.cdp.trade.demo.domain.PoeDto;
+import uk.gov.defra.cdp.trade.demo.domain.ReferenceData;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmData;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmOrganisationDto;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmPoeDto;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmResponse;
+import uk.gov.defra.cdp.trade.demo.domain.mdm.MdmStatus;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-12-05T10:15:30Z");
+
+    @Mock
+    private MdmService mdmService;
+
+    @Mock
+    private Clock clock;
+
+    private ReferenceDataService service;
+
+    @BeforeEach
+    void setUp() {
+        ReferenceDataConfig config = new ReferenceDataConfig();
+        config.setTtl(Duration.ofMinutes(15));
+        service = new ReferenceDataService(mdmService, config, clock);
+    }
+
+    @Test
+    void snapshot_shouldIndexActiveBcpsAndTheirActivePoes() {
+        // Given
+        when(clock.instant()).thenReturn(NOW);
+        when(mdmService.getBcps()).thenReturn(response(
+            bcp("BCP001", "Active BCP 1", "active",
+                poe("POE001", "Active POE 1", "active"),
+                poe("POE002", "Inactive POE", "inactive")),
+            bcp("BCP003", "Inactive BCP", "inactive", poe("POE003", "POE 3", "active"))));
+
+        // When
+        ReferenceData snapshot = service.snapshot();
+
+        // Then
+        assertThat(snapshot.bcps()).containsOnlyKeys("BCP001");
+        assertThat(snapshot.bcp("BCP001")).extracting(BcpDto::getName).isEqualTo("Active BCP 1");
+        assertThat(snapshot.pointsOfEntry("BCP001")).extracting(PoeDto::getCode)
+            .containsExactly("POE001");
+        assertThat(snapshot.pointsOfEntry("BCP003")).isEmpty();
+        assertThat(snapshot.bcp(null)).isNull();
+    }
+
+    @Test
+    void snapshot_shouldServeCachedCopyUntilTtlExpires() {
+        // Given
+        when(clock.instant()).thenReturn(NOW, NOW.plus(Duration.ofMinutes(14)));
+        when(mdmService.getBcps()).thenReturn(response(bcp("BCP001", "BCP 1", "active")));
+
+        // When
+        ReferenceData first = service.snapshot();
+        ReferenceData second = service.snapshot();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(mdmService, times(1)).getBcps();
+    }
+
+    @Test
+    void snapshot_shouldReloadOnceStale() {
+        // Given
+        when(clock.instant()).thenReturn(NOW, NOW.plus(Duration.ofMinutes(15)));
+        when(mdmService.getBcps()).thenReturn(
+            response(bcp("BCP001", "Old name", "active")),
+            response(bcp("BCP001", "New name", "active")));
+
+        // When
+        service.snapshot();
+        ReferenceData reloaded = service.snapshot();
+
+        // Then
+        assertThat(reloaded.bcp("BCP001").getName()).isEqualTo("New name");
+    }
+
+    @Test
+    void snapshot_shouldKeepStaleCopyWhenReloadFails() {
+        // Given
+        when(clock.instant()).thenReturn(NOW, NOW.plus(Duration.ofHours(1)));
+        when(mdmService.getBcps())
+            .thenReturn(response(bcp("BCP001", "BCP 1", "active")))
+            .thenThrow(new RuntimeException("MDM unavailable"));
+        ReferenceData first = service.snapshot();
+
+        // When
+        ReferenceData second = service.snapshot();
+
+        // Then
+        assertThat(second).isSameAs(first);
+    }
+
+    private static MdmResponse response(MdmOrganisationDto... organisations) {
+        return MdmResponse.builder()
+            .data(MdmData.builder().result(List.of(organisations)).build())
+            .build();
+    }
+
+    private static MdmOrganisationDto bcp(String code, String name, String statusCode,
+        MdmPoeDto... poes) {
+        return MdmOrganisationDto.builder()
+            .code(code)
+            .name(name)
+            .status(status(statusCode))
+            .pointsOfEntry(List.of(poes))
+            .build();
+    }
+
+    private static MdmPoeDto poe(String code, String name, String statusCode) {
+        return MdmPoeDto.builder()
+            .code(code)
+            .name(name)
+            .status(status(statusCode))
+            .build();
+    }
+
+    private static MdmStatus status(String code) {
+        MdmStatus status = new MdmStatus();
+        status.setCode(code);
+        return status;
+    }
+}
@@ -9,6 +9,7 @@ import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
 import java.util.Date;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +22,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.test.util.ReflectionTestUtils;
 import uk.gov.defra.cdp.trade.demo.configuration.AwsConfig;
 import uk.gov.defra.cdp.trade.demo.exceptions.TradeDemoBackendException;
+import uk.gov.defra.cdp.trade.demo.metrics.TokenAcquisitionTimer;
 
 @ExtendWith(MockitoExtension.class)
 class WebIdentityTokenServiceTest {
@@ -40,12 +42,15 @@ class WebIdentityTokenServiceTest {
 
     private WebIdentityTokenService.TokenEntry tokenEntry;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private WebIdentityTokenService webIdentityTokenServiceUnderTest;
 
     @BeforeEach
     void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
         webIdentityTokenServiceUnderTest = new WebIdentityTokenService(mockAwsConfig,
-            mockCacheManager);
+            mockCacheManager, meterRegistry);
         ReflectionTestUtils.setField(webIdentityTokenServiceUnderTest, "audience", "audience");
         tokenEntry =
             new WebIdentityTokenService.TokenEntry(getToken(3600), Instant.now().plusSeconds(3600));
@@ -93,6 +98,24 @@ class WebIdentityTokenServiceTest {
         // Verify the results
         String expectedToken = tokenEntry.token;
         assertThat(result).isEqualTo(expectedToken);
+        assertThat(meterRegistry.get(TokenAcquisitionTimer.METRIC_NAME)
+            .tags("provider", "sts", "outcome", "SUCCESS")
+            .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void test_FetchAndCacheToken_RecordsFailedAcquisition() {
+        // Setup
+        when(mockAwsConfig.getWebIdentityToken()).thenThrow(new IllegalStateException("STS down"));
+
+        // Run the test
+        assertThatThrownBy(() -> webIdentityTokenServiceUnderTest.fetchAndCacheToken())
+            .isInstanceOf(IllegalStateException.class);
+
+        // Verify the results
+        assertThat(meterRegistry.get(TokenAcquisitionTimer.METRIC_NAME)
+            .tags("provider", "sts", "outcome", "FAILURE")
+            .timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -0,0 +1,130 @@
+package uk.gov.defra.cdp.trade.demo.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import uk.gov.defra.cdp.trade.demo.configuration.WarmUpConfig;
+import uk.gov.defra.cdp.trade.demo.warmup.StartupWarmUp.Outcome;
+
+class StartupWarmUpTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void warmUp_shouldRunAllTasksAndReportUp() {
+        // Given
+        StartupWarmUp warmUp = warmUp(Duration.ofSeconds(5),
+            task("first", () -> { }),
+            task("second", () -> { }));
+        WarmUpHealthIndicator health = new WarmUpHealthIndicator(warmUp);
+        assertThat(health.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        // When
+        warmUp.warmUp();
+
+        // Then
+        assertThat(warmUp.outcomes())
+            .containsEntry("first", Outcome.SUCCESS)
+            .containsEntry("second", Outcome.SUCCESS);
+        Health result = health.health();
+        assertThat(result.getStatus()).isEqualTo(Status.UP);
+        assertThat(result.getDetails()).containsKey("tasks");
+    }
+
+    @Test
+    void warmUp_shouldRunTasksConcurrently() {
+        // Given - each task waits for the other to start
+        CountDownLatch started = new CountDownLatch(2);
+        StartupWarmUp warmUp = warmUp(Duration.ofSeconds(5),
+            task("first", () -> {
+                started.countDown();
+                started.await();
+            }),
+            task("second", () -> {
+                started.countDown();
+                started.await();
+            }));
+
+        // When
+        warmUp.warmUp();
+
+        // Then
+        assertThat(warmUp.outcomes()).containsOnly(
+            entry("first", Outcome.SUCCESS),
+            entry("second", Outcome.SUCCESS));
+    }
+
+    @Test
+    void warmUp_shouldCompleteDespiteFailedTasks() {
+        // Given
+        StartupWarmUp warmUp = warmUp(Duration.ofSeconds(5),
+            task("broken", () -> {
+                throw new IllegalStateException("MDM unavailable");
+            }),
+            task("fine", () -> { }));
+
+        // When
+        warmUp.warmUp();
+
+        // Then
+        assertThat(warmUp.isComplete()).isTrue();
+        assertThat(warmUp.outcomes())
+            .containsEntry("broken", Outcome.FAILED)
+            .containsEntry("fine", Outcome.SUCCESS);
+    }
+
+    @Test
+    void warmUp_shouldStopWaitingAtTimeout() {
+        // Given
+        StartupWarmUp warmUp = warmUp(Duration.ofMillis(200),
+            task("slow", release::await));
+
+        // When
+        long start = System.nanoTime();
+        warmUp.warmUp();
+
+        // Then
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(warmUp.isComplete()).isTrue();
+        assertThat(warmUp.outcomes()).containsEntry("slow", Outcome.TIMED_OUT);
+        assertThat(new WarmUpHealthIndicator(warmUp).health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    private static StartupWarmUp warmUp(Duration timeout, WarmUpTask... tasks) {
+        WarmUpConfig config = new WarmUpConfig();
+        config.setTimeout(timeout);
+        return new StartupWarmUp(List.of(tasks), config);
+    }
+
+    private static WarmUpTask task(String name, ThrowingRunnable body) {
+        return new WarmUpTask() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void warmUp() throws Exception {
+                body.run();
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+
+        void run() throws Exception;
+    }
+}